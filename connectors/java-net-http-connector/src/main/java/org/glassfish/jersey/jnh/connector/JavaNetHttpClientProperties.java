@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jnh.connector;
+
+import java.util.Map;
+
+import org.glassfish.jersey.internal.util.PropertiesClass;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+
+/**
+ * Configuration options specific to the Client API that utilizes {@link JavaNetHttpConnectorProvider}.
+ *
+ * @since 2.39
+ */
+@PropertiesClass
+public final class JavaNetHttpClientProperties {
+
+    /**
+     * Prevents instantiation.
+     */
+    private JavaNetHttpClientProperties() {
+        throw new AssertionError("No instances allowed.");
+    }
+
+    /**
+     * The preferred HTTP protocol version used by the {@code java.net.http.HttpClient}.
+     * <p>
+     * The value MUST be an instance of {@link java.net.http.HttpClient.Version} or its {@code String} name,
+     * i.e. {@code HTTP_1_1} or {@code HTTP_2}. In case of {@code HTTP_2}, the requests to the same server
+     * are multiplexed over a single connection, the {@code HttpClient} negotiates the protocol using ALPN for
+     * {@code https} and using the {@code h2c} upgrade for {@code http} requests and falls back to HTTP/1.1
+     * if the server does not support HTTP/2. The {@code http} requests with an entity are always sent using
+     * HTTP/1.1, since not all the HTTP/1.1 servers read the entity of an upgrade request correctly.
+     * </p>
+     * <p>
+     * The default value is {@code HTTP_2}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String HTTP_VERSION = "jersey.config.jnh.client.httpVersion";
+
+    /**
+     * Get the value of the specified property.
+     *
+     * If the property is not set or the real value type is not compatible with the specified value type, returns {@code null}.
+     *
+     * @param properties  Map of properties to get the property value from.
+     * @param key         Name of the property.
+     * @param type        Type to retrieve the value as.
+     * @param <T>         Type of the property value.
+     * @return Value of the property or {@code null}.
+     */
+    public static <T> T getValue(final Map<String, ?> properties, final String key, final Class<T> type) {
+        return PropertiesHelper.getValue(properties, key, type, null);
+    }
+}
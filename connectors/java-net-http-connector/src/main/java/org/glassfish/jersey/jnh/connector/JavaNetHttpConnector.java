@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jnh.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.innate.ClientProxy;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
+import org.glassfish.jersey.internal.util.collection.LazyValue;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.message.internal.Statuses;
+
+/**
+ * A {@link Connector} that utilizes the JDK {@link HttpClient java.net.http.HttpClient} to send and receive
+ * HTTP requests and responses.
+ * <p>
+ * Both synchronous and asynchronous requests are sent using {@link HttpClient#sendAsync}. The request entity is written
+ * into an {@link OutputStreamBodyPublisher} once the request headers are committed and the response entity is read
+ * from the streaming {@link HttpResponse.BodyHandlers#ofInputStream() input stream body handler}.
+ * </p>
+ *
+ * @see JavaNetHttpConnectorProvider
+ */
+class JavaNetHttpConnector implements Connector {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaNetHttpConnector.class.getName());
+
+    // headers set by the HttpClient itself that cannot be set by a request
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.add("Connection");
+        RESTRICTED_HEADERS.add(HttpHeaders.CONTENT_LENGTH);
+        RESTRICTED_HEADERS.add(HttpHeaders.HOST);
+        RESTRICTED_HEADERS.add("Upgrade");
+    }
+
+    private static final String EXPECT = "Expect";
+    private static final String EXPECT_100_CONTINUE = "100-continue";
+
+    private final boolean followRedirects;
+    private final HttpClient httpClient;
+    // client with the opposite redirect policy, used by the requests overriding the follow redirects property
+    private final LazyValue<HttpClient> alternateHttpClient;
+    private final ExecutorService executor;
+
+    /**
+     * Create the new {@code java.net.http.HttpClient} connector.
+     *
+     * @param jaxrsClient JAX-RS client instance, for which the connector is created.
+     * @param config      client configuration.
+     */
+    JavaNetHttpConnector(final Client jaxrsClient, final Configuration config) {
+        final Integer threadPoolSize = ClientProperties.getValue(config.getProperties(),
+                ClientProperties.ASYNC_THREADPOOL_SIZE, 0, Integer.class);
+        this.executor = threadPoolSize > 0
+                ? Executors.newFixedThreadPool(threadPoolSize, new ThreadFactoryBuilder()
+                        .setNameFormat("jersey-jnh-connector-%d")
+                        .setDaemon(true)
+                        .build())
+                : null;
+
+        this.followRedirects = ClientProperties.getValue(config.getProperties(),
+                ClientProperties.FOLLOW_REDIRECTS, true, Boolean.class);
+        this.httpClient = createHttpClient(jaxrsClient, config, followRedirects);
+        this.alternateHttpClient = Values.lazy((Value<HttpClient>) () -> createHttpClient(jaxrsClient, config, !followRedirects));
+    }
+
+    private HttpClient createHttpClient(final Client jaxrsClient, final Configuration config, final boolean followRedirects) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(getHttpVersion(config))
+                .followRedirects(followRedirects ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER)
+                .sslContext(jaxrsClient.getSslContext());
+
+        final Integer connectTimeout = ClientProperties.getValue(config.getProperties(),
+                ClientProperties.CONNECT_TIMEOUT, 0, Integer.class);
+        if (connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeout));
+        }
+
+        if (executor != null) {
+            builder.executor(executor);
+        }
+
+        // the same as HttpURLConnection, the cookies are handled only if there is a system-wide cookie handler
+        final CookieHandler cookieHandler = CookieHandler.getDefault();
+        if (cookieHandler != null) {
+            builder.cookieHandler(cookieHandler);
+        }
+
+        final Optional<ClientProxy> proxy = ClientProxy.proxyFromConfiguration(config);
+        proxy.ifPresent(clientProxy -> {
+            final URI uri = clientProxy.uri();
+            builder.proxy(ProxySelector.of(new InetSocketAddress(uri.getHost(), uri.getPort())));
+            if (clientProxy.userName() != null) {
+                final PasswordAuthentication authentication = new PasswordAuthentication(clientProxy.userName(),
+                        clientProxy.password() == null ? new char[0] : clientProxy.password().toCharArray());
+                builder.authenticator(new Authenticator() {
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        return getRequestorType() == RequestorType.PROXY ? authentication : null;
+                    }
+                });
+            }
+        });
+
+        return builder.build();
+    }
+
+    private static HttpClient.Version getHttpVersion(final Configuration config) {
+        final Object version = config.getProperty(JavaNetHttpClientProperties.HTTP_VERSION);
+        if (version == null) {
+            return HttpClient.Version.HTTP_2;
+        }
+        if (version instanceof HttpClient.Version) {
+            return (HttpClient.Version) version;
+        }
+        try {
+            return HttpClient.Version.valueOf(version.toString());
+        } catch (final IllegalArgumentException e) {
+            LOGGER.warning(LocalizationMessages.INVALID_HTTP_VERSION(version));
+            return HttpClient.Version.HTTP_2;
+        }
+    }
+
+    /**
+     * Get the {@link HttpClient}.
+     *
+     * @return the {@link HttpClient}.
+     */
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) throws ProcessingException {
+        final CompletableFuture<HttpResponse<InputStream>> responseFuture = send(request);
+        try {
+            return translateResponse(request, responseFuture.get());
+        } catch (final InterruptedException e) {
+            responseFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (final ExecutionException e) {
+            throw new ProcessingException(e.getCause());
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final CompletableFuture<HttpResponse<InputStream>> responseFuture;
+        try {
+            responseFuture = send(request);
+        } catch (final Throwable t) {
+            callback.failure(t);
+            final CompletableFuture<Object> future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+            return future;
+        }
+
+        final CompletableFuture<ClientResponse> future =
+                responseFuture.thenApply(response -> translateResponse(request, response));
+        future.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                callback.response(response);
+            } else {
+                if (throwable instanceof CancellationException) {
+                    // take care of the future cancellation
+                    responseFuture.cancel(true);
+                }
+                callback.failure(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Send the request, the request entity (if any) is written by the calling thread before the method returns.
+     */
+    private CompletableFuture<HttpResponse<InputStream>> send(final ClientRequest request) {
+        final HttpClient client = request.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, followRedirects) == followRedirects
+                ? httpClient : alternateHttpClient.get();
+        final CompletableFuture<HttpResponse<InputStream>> responseFuture = new CompletableFuture<>();
+
+        if (!request.hasEntity()) {
+            sendAsync(client, request, HttpRequest.BodyPublishers.noBody(), responseFuture);
+            return responseFuture;
+        }
+
+        final OutputStreamBodyPublisher[] publisher = new OutputStreamBodyPublisher[1];
+        request.setStreamProvider(contentLength -> {
+            // the headers are committed, the request can be sent
+            publisher[0] = new OutputStreamBodyPublisher(contentLength);
+            sendAsync(client, request, publisher[0], responseFuture);
+            return publisher[0];
+        });
+        try {
+            request.writeEntity();
+        } catch (final IOException | RuntimeException e) {
+            if (publisher[0] != null) {
+                publisher[0].fail(e);
+            }
+            responseFuture.completeExceptionally(e);
+            throw e instanceof ProcessingException ? (ProcessingException) e : new ProcessingException(e);
+        }
+        return responseFuture;
+    }
+
+    private void sendAsync(final HttpClient client,
+                           final ClientRequest request,
+                           final HttpRequest.BodyPublisher bodyPublisher,
+                           final CompletableFuture<HttpResponse<InputStream>> responseFuture) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri())
+                .method(request.getMethod(), bodyPublisher);
+
+        if (request.hasEntity() && client.version() == HttpClient.Version.HTTP_2
+                && "http".equalsIgnoreCase(request.getUri().getScheme())) {
+            // the cleartext HTTP/2 upgrade is left to requests without an entity, some HTTP/1.1 servers
+            // do not read the entity of a request carrying the Upgrade header correctly
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+
+        final Integer readTimeout = request.resolveProperty(ClientProperties.READ_TIMEOUT, 0);
+        if (readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+
+        for (final Map.Entry<String, List<String>> header : request.getStringHeaders().entrySet()) {
+            final String name = header.getKey();
+            if (RESTRICTED_HEADERS.contains(name)) {
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                if (EXPECT.equalsIgnoreCase(name) && EXPECT_100_CONTINUE.equalsIgnoreCase(value)) {
+                    builder.expectContinue(true);
+                    continue;
+                }
+                try {
+                    builder.header(name, value);
+                } catch (final IllegalArgumentException e) {
+                    LOGGER.log(Level.WARNING, LocalizationMessages.RESTRICTED_HEADER_IGNORED(name), e);
+                }
+            }
+        }
+
+        final CompletableFuture<HttpResponse<InputStream>> sent =
+                client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        sent.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                responseFuture.complete(response);
+            } else {
+                if (bodyPublisher instanceof OutputStreamBodyPublisher) {
+                    // do not wait for the request to consume the rest of the entity
+                    ((OutputStreamBodyPublisher) bodyPublisher).abort();
+                }
+                responseFuture.completeExceptionally(throwable instanceof CompletionException
+                        ? throwable.getCause() : throwable);
+            }
+        });
+        responseFuture.whenComplete((response, throwable) -> {
+            if (throwable instanceof CancellationException) {
+                sent.cancel(true);
+            }
+        });
+    }
+
+    private static ClientResponse translateResponse(final ClientRequest request, final HttpResponse<InputStream> response) {
+        final ClientResponse jerseyResponse = new ClientResponse(Statuses.from(response.statusCode()), request);
+        for (final Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            // skip HTTP/2 pseudo-headers
+            if (!header.getKey().startsWith(":")) {
+                jerseyResponse.getHeaders().addAll(header.getKey(), header.getValue());
+            }
+        }
+        jerseyResponse.setResolvedRequestUri(response.uri());
+        jerseyResponse.setEntityStream(response.body());
+        return jerseyResponse;
+    }
+
+    @Override
+    public String getName() {
+        return "Java HttpClient " + Runtime.version().feature();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jnh.connector;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link HttpRequest.BodyPublisher} bridging the request entity written by Jersey into an {@link OutputStream}
+ * to the subscriber of the {@code java.net.http.HttpClient}.
+ * <p>
+ * The written bytes are published in chunks to the subscriber by the writing thread, which waits for the demand
+ * of the subscriber, i.e. the entity is streamed without being buffered as a whole. If the subscription is cancelled,
+ * a non-positive number of chunks is requested (which is signalled to the subscriber as an error) or the request is
+ * {@link #abort() aborted}, the bytes written from then on are discarded.
+ * </p>
+ */
+final class OutputStreamBodyPublisher extends OutputStream implements HttpRequest.BodyPublisher {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final long contentLength;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // guarded by lock
+    private Flow.Subscriber<? super ByteBuffer> subscriber;
+    private long demand;
+    private boolean discard;
+    private Throwable failure;
+
+    // accessed by the writing thread only
+    private byte[] chunk = new byte[CHUNK_SIZE];
+    private int count;
+    private boolean closed;
+
+    /**
+     * Create a new publisher.
+     *
+     * @param contentLength length of the request entity or {@code -1} if unknown.
+     */
+    OutputStreamBodyPublisher(final long contentLength) {
+        this.contentLength = contentLength < 0 ? -1 : contentLength;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+        final Throwable error;
+        lock.lock();
+        try {
+            if (this.subscriber == null) {
+                this.subscriber = subscriber;
+                error = failure;
+                changed.signalAll();
+            } else {
+                // the entity cannot be replayed, e.g. when following a redirect
+                error = new IllegalStateException(LocalizationMessages.BODY_PUBLISHER_ALREADY_SUBSCRIBED());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                final boolean invalid;
+                lock.lock();
+                try {
+                    invalid = n <= 0 && !discard && failure == null;
+                    if (n <= 0) {
+                        discard = true;
+                    } else {
+                        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    }
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                if (invalid) {
+                    // Reactive Streams rule 3.9, the bytes written from now on are discarded
+                    subscriber.onError(new IllegalArgumentException(
+                            LocalizationMessages.BODY_PUBLISHER_NON_POSITIVE_REQUEST(n)));
+                }
+            }
+
+            @Override
+            public void cancel() {
+                abort();
+            }
+        });
+
+        if (error != null) {
+            subscriber.onError(error);
+        }
+    }
+
+    /**
+     * Discard the bytes written from now on, e.g. because the request has failed.
+     */
+    void abort() {
+        lock.lock();
+        try {
+            discard = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signal the failure to write the entity to the subscriber.
+     *
+     * @param throwable failure.
+     */
+    void fail(final Throwable throwable) {
+        final Flow.Subscriber<? super ByteBuffer> current;
+        lock.lock();
+        try {
+            closed = true;
+            if (discard || failure != null) {
+                return;
+            }
+            failure = throwable;
+            current = subscriber;
+        } finally {
+            lock.unlock();
+        }
+        if (current != null) {
+            current.onError(throwable);
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        checkClosed();
+        chunk[count++] = (byte) b;
+        if (count == chunk.length) {
+            publish();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        checkClosed();
+        while (len > 0) {
+            final int n = Math.min(len, chunk.length - count);
+            System.arraycopy(b, off, chunk, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == chunk.length) {
+                publish();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkClosed();
+        if (count > 0) {
+            publish();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (count > 0) {
+            publish();
+        }
+        closed = true;
+
+        final Flow.Subscriber<? super ByteBuffer> current = await(false);
+        if (current != null) {
+            current.onComplete();
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.BODY_PUBLISHER_CLOSED());
+        }
+    }
+
+    private void publish() throws IOException {
+        // the subscriber may keep the published buffer, a new chunk is used for the following bytes
+        final ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, count);
+        chunk = new byte[CHUNK_SIZE];
+        count = 0;
+
+        final Flow.Subscriber<? super ByteBuffer> current = await(true);
+        if (current != null) {
+            current.onNext(buffer);
+        }
+    }
+
+    /**
+     * Wait for the subscriber (and its demand), returns {@code null} if the bytes should be discarded.
+     */
+    private Flow.Subscriber<? super ByteBuffer> await(final boolean demanded) throws IOException {
+        lock.lock();
+        try {
+            while (!discard && failure == null && (subscriber == null || (demanded && demand == 0))) {
+                changed.await();
+            }
+            if (discard || failure != null) {
+                return null;
+            }
+            if (demanded) {
+                demand--;
+            }
+            return subscriber;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
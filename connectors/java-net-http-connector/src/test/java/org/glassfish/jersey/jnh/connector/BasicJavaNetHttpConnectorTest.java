@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jnh.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Basic {@link JavaNetHttpConnector} tests.
+ */
+public class BasicJavaNetHttpConnectorTest extends JerseyTest {
+
+    private static final int LARGE_ENTITY_SIZE = 1024 * 1024 + 17;
+
+    @Path("basic")
+    public static class BasicResource {
+
+        @GET
+        public String get() {
+            return "GET";
+        }
+
+        @POST
+        public String post(final String entity) {
+            return entity + entity;
+        }
+
+        @PUT
+        @Path("size")
+        public String size(final InputStream entity) throws IOException {
+            long count = 0;
+            int read;
+            final byte[] buffer = new byte[4096];
+            while ((read = entity.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != (byte) ((count + i) % 127)) {
+                        return "corrupted at " + (count + i);
+                    }
+                }
+                count += read;
+            }
+            return Long.toString(count);
+        }
+
+        @GET
+        @Path("large")
+        public byte[] large() {
+            return createLargeEntity();
+        }
+
+        @GET
+        @Path("header")
+        public Response header(@HeaderParam("X-Test") final String header) {
+            return Response.ok(header).header("X-Test-Response", header + header).build();
+        }
+
+        @GET
+        @Path("missing")
+        public Response missing() {
+            return Response.status(Response.Status.NOT_FOUND).entity("missing").build();
+        }
+    }
+
+    private static byte[] createLargeEntity() {
+        final byte[] entity = new byte[LARGE_ENTITY_SIZE];
+        for (int i = 0; i < entity.length; i++) {
+            entity[i] = (byte) (i % 127);
+        }
+        return entity;
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(BasicResource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.connectorProvider(new JavaNetHttpConnectorProvider());
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals("GET", target("basic").request().get(String.class));
+    }
+
+    @Test
+    public void testPost() {
+        assertEquals("postpost", target("basic").request().post(Entity.text("post"), String.class));
+    }
+
+    @Test
+    public void testHeaders() {
+        final Response response = target("basic/header").request().header("X-Test", "value").get();
+        assertEquals(200, response.getStatus());
+        assertEquals("value", response.readEntity(String.class));
+        assertEquals("valuevalue", response.getHeaderString("X-Test-Response"));
+    }
+
+    @Test
+    public void testErrorResponse() {
+        final Response response = target("basic/missing").request().get();
+        assertEquals(404, response.getStatus());
+        assertEquals("missing", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testLargeResponseEntity() {
+        assertArrayEquals(createLargeEntity(), target("basic/large").request().get(byte[].class));
+    }
+
+    @Test
+    public void testLargeBufferedRequestEntity() {
+        final String size = target("basic/size").request()
+                .put(Entity.entity(createLargeEntity(), MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+        assertEquals(Integer.toString(LARGE_ENTITY_SIZE), size);
+    }
+
+    @Test
+    public void testLargeChunkedRequestEntity() {
+        final StreamingOutput entity = output -> {
+            final byte[] bytes = createLargeEntity();
+            // write in pieces not aligned with the publisher chunks
+            for (int i = 0; i < bytes.length; i += 1000) {
+                output.write(bytes, i, Math.min(1000, bytes.length - i));
+            }
+        };
+        final String size = target("basic/size")
+                .property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.CHUNKED)
+                .request()
+                .put(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+        assertEquals(Integer.toString(LARGE_ENTITY_SIZE), size);
+    }
+
+    @Test
+    public void testAsync() throws InterruptedException, ExecutionException, TimeoutException {
+        final Future<String> get = target("basic").request().async().get(String.class);
+        final Future<String> post = target("basic").request().async().post(Entity.text("async"), String.class);
+        assertEquals("GET", get.get(10, TimeUnit.SECONDS));
+        assertEquals("asyncasync", post.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncLargeEntities() throws InterruptedException, ExecutionException, TimeoutException {
+        final Future<String> put = target("basic/size").request().async()
+                .put(Entity.entity(createLargeEntity(), MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+        final Future<byte[]> get = target("basic/large").request().async().get(byte[].class);
+        assertEquals(Integer.toString(LARGE_ENTITY_SIZE), put.get(10, TimeUnit.SECONDS));
+        assertArrayEquals(createLargeEntity(), get.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testHttp11() {
+        final ClientConfig config = new ClientConfig()
+                .property(JavaNetHttpClientProperties.HTTP_VERSION, "HTTP_1_1")
+                .connectorProvider(new JavaNetHttpConnectorProvider());
+        final Client client = ClientBuilder.newClient(config);
+        try {
+            assertEquals("GET", client.target(getBaseUri()).path("basic").request().get(String.class));
+            assertSame(HttpClient.Version.HTTP_1_1, JavaNetHttpConnectorProvider.getHttpClient(client).version());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testUnderlyingHttpClientAccess() {
+        final HttpClient httpClient = JavaNetHttpConnectorProvider.getHttpClient(client());
+        assertSame(HttpClient.Version.HTTP_2, httpClient.version());
+        assertSame(httpClient, JavaNetHttpConnectorProvider.getHttpClient(target("basic")));
+    }
+}
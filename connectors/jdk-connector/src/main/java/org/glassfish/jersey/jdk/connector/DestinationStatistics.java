@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector;
+
+/**
+ * Statistics of the connection pool of a single destination (a host, port and scheme triple) of a client using
+ * {@link JdkConnectorProvider}.
+ * <p>
+ * The counters are accumulated over the whole lifetime of the client, the connection and request gauges reflect
+ * the state of the pool at the time the statistics were retrieved. Instances are immutable snapshots, use
+ * {@link JdkConnectorProvider#getDestinationStatistics(javax.ws.rs.core.Configurable)} to retrieve current values.
+ * </p>
+ *
+ * @since 2.39
+ */
+public interface DestinationStatistics {
+
+    /**
+     * Get the host of the destination.
+     *
+     * @return destination host.
+     */
+    String getHost();
+
+    /**
+     * Get the port of the destination.
+     *
+     * @return destination port.
+     */
+    int getPort();
+
+    /**
+     * Check whether the connections to the destination are secured by TLS.
+     *
+     * @return {@code true} for {@code https} destinations.
+     */
+    boolean isSecure();
+
+    /**
+     * Get the number of requests that have been sent to the destination.
+     *
+     * @return number of sent requests.
+     */
+    long getRequestCount();
+
+    /**
+     * Get the number of requests that have been sent over a connection that had already served another request.
+     *
+     * @return number of requests served by a reused connection.
+     */
+    long getReusedConnectionCount();
+
+    /**
+     * Get the ratio of the requests served by a reused connection to all the sent requests.
+     *
+     * @return connection reuse ratio in range {@code [0, 1]}, {@code 0} if no request has been sent.
+     */
+    double getConnectionReuseRatio();
+
+    /**
+     * Get the number of connections that have been opened to the destination.
+     *
+     * @return number of opened connections.
+     */
+    long getOpenedConnectionCount();
+
+    /**
+     * Get the number of idle connections that have been closed because they exceeded
+     * {@link JdkConnectorProperties#CONNECTION_IDLE_TIMEOUT}.
+     *
+     * @return number of idle evictions.
+     */
+    long getIdleEvictionCount();
+
+    /**
+     * Get the number of requests that had to wait for a connection, because there was no idle connection
+     * and {@link JdkConnectorProperties#MAX_CONNECTIONS_PER_DESTINATION} connections were already open.
+     *
+     * @return number of requests that found the pool saturated.
+     */
+    long getSaturationCount();
+
+    /**
+     * Get the number of currently open connections, including the connections being established.
+     *
+     * @return number of open connections.
+     */
+    int getOpenConnections();
+
+    /**
+     * Get the number of currently idle connections.
+     *
+     * @return number of idle connections.
+     */
+    int getIdleConnections();
+
+    /**
+     * Get the number of requests currently waiting for a connection.
+     *
+     * @return number of queued requests.
+     */
+    int getQueuedRequests();
+
+    /**
+     * Get the number of requests currently being sent or waiting for a response.
+     *
+     * @return number of active requests.
+     */
+    int getActiveRequests();
+
+    /**
+     * Get the statistics of the time the requests waited in the queue of the pool for a connection.
+     *
+     * @return queue wait time statistics.
+     */
+    DurationStatistics getQueueWaitTime();
+
+    /**
+     * Get the statistics of the time between a request has been handed to a connection and the response headers
+     * have been received.
+     *
+     * @return time-to-first-byte statistics.
+     */
+    DurationStatistics getTimeToFirstByte();
+}
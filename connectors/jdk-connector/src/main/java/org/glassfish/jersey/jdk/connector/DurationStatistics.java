@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated statistics of measured durations, such as the time a request waited for a connection.
+ * <p>
+ * Instances are immutable snapshots, the values do not change after the instance has been retrieved.
+ * </p>
+ *
+ * @since 2.39
+ */
+public interface DurationStatistics {
+
+    /**
+     * Get the number of measured durations.
+     *
+     * @return number of measurements.
+     */
+    long getCount();
+
+    /**
+     * Get the shortest measured duration.
+     *
+     * @param unit time unit of the returned value.
+     * @return minimal duration or {@code 0} if nothing has been measured.
+     */
+    long getMinimum(TimeUnit unit);
+
+    /**
+     * Get the longest measured duration.
+     *
+     * @param unit time unit of the returned value.
+     * @return maximal duration or {@code 0} if nothing has been measured.
+     */
+    long getMaximum(TimeUnit unit);
+
+    /**
+     * Get the average of the measured durations.
+     *
+     * @param unit time unit of the returned value.
+     * @return average duration or {@code 0} if nothing has been measured.
+     */
+    long getAverage(TimeUnit unit);
+}
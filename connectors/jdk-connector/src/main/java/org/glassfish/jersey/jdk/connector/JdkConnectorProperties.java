@@ -96,6 +96,23 @@ public final class JdkConnectorProperties {
      */
     public static final String CONNECTION_IDLE_TIMEOUT = "jersey.config.client.JdkConnectorProvider.connectionIdleTimeout";
 
+    /**
+     * A maximum number of requests ({@link Integer} value) that can be sent over a single connection before the response
+     * to the first of them has been received (HTTP/1.1 pipelining).
+     * <p/>
+     * Pipelining is disabled if the value is {@code 1} or less. When enabled, a request that cannot be served by an idle
+     * connection is written to a busy connection rather than to a newly opened connection, the responses are received
+     * in the order of the requests. Only requests with an idempotent method ({@code GET}, {@code HEAD},
+     * {@code OPTIONS}, {@code TRACE}, {@code PUT} and {@code DELETE}) and without an entity are pipelined, other
+     * requests always wait for a connection of their own. If a connection is closed before all the pipelined requests
+     * have been answered, the unanswered requests are sent again over another connection.
+     * <p/>
+     * The default value is {@value #DEFAULT_MAX_PIPELINED_REQUESTS}
+     *
+     * @since 2.39
+     */
+    public static final String MAX_PIPELINED_REQUESTS = "jersey.config.client.JdkConnectorProvider.maxPipelinedRequests";
+
     /**
      * Default value for the {@link org.glassfish.jersey.client.ClientProperties#CHUNKED_ENCODING_SIZE} property.
      */
@@ -126,6 +143,13 @@ public final class JdkConnectorProperties {
      */
     public static final int DEFAULT_CONNECTION_IDLE_TIMEOUT = 1000000;
 
+    /**
+     * Default value for the {@link #MAX_PIPELINED_REQUESTS} property.
+     *
+     * @since 2.39
+     */
+    public static final int DEFAULT_MAX_PIPELINED_REQUESTS = 1;
+
     /**
      * Default value for the {@link #CONTAINER_IDLE_TIMEOUT} property.
      */
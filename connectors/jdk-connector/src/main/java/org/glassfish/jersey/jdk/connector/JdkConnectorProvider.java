@@ -16,12 +16,17 @@
 
 package org.glassfish.jersey.jdk.connector;
 
+import java.util.List;
+
 import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configurable;
 import javax.ws.rs.core.Configuration;
 
+import org.glassfish.jersey.client.Initializable;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
 import org.glassfish.jersey.jdk.connector.internal.JdkConnector;
+import org.glassfish.jersey.jdk.connector.internal.LocalizationMessages;
 
 /**
  * @author Petr Janouch
@@ -31,4 +36,41 @@ public class JdkConnectorProvider implements ConnectorProvider {
     public Connector getConnector(Client client, Configuration config) {
         return new JdkConnector(client, config);
     }
+
+    /**
+     * Retrieve the connection pool statistics from {@link org.glassfish.jersey.client.JerseyClient}
+     * or {@link org.glassfish.jersey.client.JerseyWebTarget} configured to use {@code JdkConnectorProvider}.
+     * <p>
+     * The statistics contain one entry per destination (a host, port and scheme triple) the client has sent
+     * requests to and can be polled periodically to monitor the connection pool.
+     * </p>
+     *
+     * @param component {@code JerseyClient} or {@code JerseyWebTarget} instance that is configured to use
+     *                  {@code JdkConnectorProvider}.
+     * @return connection pool statistics snapshots.
+     *
+     * @throws java.lang.IllegalArgumentException in case the {@code component} is neither {@code JerseyClient}
+     *                                            nor {@code JerseyWebTarget} instance or in case the component
+     *                                            is not configured to use a {@code JdkConnectorProvider}.
+     * @since 2.39
+     */
+    public static List<DestinationStatistics> getDestinationStatistics(Configurable<?> component) {
+        if (!(component instanceof Initializable)) {
+            throw new IllegalArgumentException(
+                    LocalizationMessages.INVALID_CONFIGURABLE_COMPONENT_TYPE(component.getClass().getName()));
+        }
+
+        final Initializable<?> initializable = (Initializable<?>) component;
+        Connector connector = initializable.getConfiguration().getConnector();
+        if (connector == null) {
+            initializable.preInitialize();
+            connector = initializable.getConfiguration().getConnector();
+        }
+
+        if (connector instanceof JdkConnector) {
+            return ((JdkConnector) connector).getDestinationStatistics();
+        }
+
+        throw new IllegalArgumentException(LocalizationMessages.EXPECTED_CONNECTOR_PROVIDER_NOT_USED());
+    }
 }
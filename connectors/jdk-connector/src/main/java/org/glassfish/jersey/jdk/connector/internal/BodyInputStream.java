@@ -16,7 +16,10 @@
 
 package org.glassfish.jersey.jdk.connector.internal;
 
+import java.io.IOException;
+
 import org.glassfish.jersey.internal.util.collection.NonBlockingInputStream;
+import org.glassfish.jersey.spi.NonBlockingInput;
 
 /**
  * TODO consider exposing the mode as part of the API, so the user can make decisions based on the mode
@@ -37,8 +40,10 @@ import org.glassfish.jersey.internal.util.collection.NonBlockingInputStream;
  * If {@link #setReadListener(ReadListener)} is invoked before any of the read or tryRead methods, it commits to ASYNCHRONOUS
  * mode and similarly if any of the read or tryRead methods is invoked before {@link #setReadListener(ReadListener)},
  * it commits to SYNCHRONOUS mode.
+ * <p/>
+ * The ASYNCHRONOUS mode is also exposed to the Jersey client entity providers via {@link NonBlockingInput}.
  */
-abstract class BodyInputStream extends NonBlockingInputStream {
+abstract class BodyInputStream extends NonBlockingInputStream implements NonBlockingInput {
 
     /**
      * Returns true if data can be read without blocking else returns
@@ -67,4 +72,24 @@ abstract class BodyInputStream extends NonBlockingInputStream {
      * @throws NullPointerException  if readListener is null
      */
     public abstract void setReadListener(ReadListener readListener);
+
+    @Override
+    public void setReadListener(final NonBlockingInput.Listener listener) {
+        setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                listener.onDataAvailable();
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                listener.onAllDataRead();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                listener.onError(t);
+            }
+        });
+    }
 }
@@ -54,6 +54,7 @@ class ConnectorConfiguration {
     private final CookiePolicy cookiePolicy;
     private final int maxConnectionsPerDestination;
     private final int connectionIdleTimeout;
+    private final int maxPipelinedRequests;
     private final SSLContext sslContext;
     private final HostnameVerifier hostnameVerifier;
     private final int responseTimeout;
@@ -98,6 +99,10 @@ class ConnectorConfiguration {
                 .getValue(properties, JdkConnectorProperties.CONNECTION_IDLE_TIMEOUT,
                         JdkConnectorProperties.DEFAULT_CONNECTION_IDLE_TIMEOUT, Integer.class);
 
+        maxPipelinedRequests = JdkConnectorProperties.getValue(properties,
+                JdkConnectorProperties.MAX_PIPELINED_REQUESTS,
+                JdkConnectorProperties.DEFAULT_MAX_PIPELINED_REQUESTS, Integer.class);
+
         responseTimeout = ClientProperties.getValue(properties, ClientProperties.READ_TIMEOUT, 0, Integer.class);
 
         connectTimeout = ClientProperties.getValue(properties, ClientProperties.CONNECT_TIMEOUT, 0, Integer.class);
@@ -153,6 +158,10 @@ class ConnectorConfiguration {
         return connectionIdleTimeout;
     }
 
+    int getMaxPipelinedRequests() {
+        return maxPipelinedRequests;
+    }
+
     SSLContext getSslContext() {
         return sslContext;
     }
@@ -193,6 +202,7 @@ class ConnectorConfiguration {
                 + ", cookiePolicy=" + cookiePolicy
                 + ", maxConnectionsPerDestination=" + maxConnectionsPerDestination
                 + ", connectionIdleTimeout=" + connectionIdleTimeout
+                + ", maxPipelinedRequests=" + maxPipelinedRequests
                 + ", sslContext=" + sslContext
                 + ", hostnameVerifier=" + hostnameVerifier
                 + ", responseTimeout=" + responseTimeout
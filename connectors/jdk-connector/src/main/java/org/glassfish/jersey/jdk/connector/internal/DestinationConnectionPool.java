@@ -19,13 +19,16 @@ package org.glassfish.jersey.jdk.connector.internal;
 import java.io.IOException;
 import java.net.CookieManager;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * @author Petr Janouch
@@ -35,10 +38,13 @@ class DestinationConnectionPool {
     private final ConnectorConfiguration configuration;
     private final Queue<HttpConnection> idleConnections = new ConcurrentLinkedDeque<>();
     private final Set<HttpConnection> connections = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    private final Queue<RequestRecord> pendingRequests = new ConcurrentLinkedDeque<>();
+    private final Deque<RequestRecord> pendingRequests = new ConcurrentLinkedDeque<>();
     private final Map<HttpConnection, RequestRecord> requestsInProgress = new ConcurrentHashMap<>();
+    // requests pipelined after the request in progress, in the order they have been written to the connection
+    private final Map<HttpConnection, Queue<RequestRecord>> pipelinedRequests = new ConcurrentHashMap<>();
     private final CookieManager cookieManager;
-    private final ScheduledExecutorService scheduler;
+    private final HashedWheelTimer scheduler;
+    private final DestinationStatisticsCollector statistics;
     private final ConnectionStateListener connectionStateListener;
 
     private volatile ConnectionCloseListener connectionCloseListener;
@@ -48,10 +54,12 @@ class DestinationConnectionPool {
 
     DestinationConnectionPool(ConnectorConfiguration configuration,
                               CookieManager cookieManager,
-                              ScheduledExecutorService scheduler) {
+                              HashedWheelTimer scheduler,
+                              DestinationStatisticsCollector statistics) {
         this.configuration = configuration;
         this.cookieManager = cookieManager;
         this.scheduler = scheduler;
+        this.statistics = statistics;
         this.connectionStateListener = new ConnectionStateListener();
     }
 
@@ -60,18 +68,24 @@ class DestinationConnectionPool {
     }
 
     void send(HttpRequest httpRequest, CompletionHandler<HttpResponse> completionHandler) {
+        synchronized (this) {
+            if (idleConnections.isEmpty() && connectionCounter >= configuration.getMaxConnectionsPerDestination()) {
+                // the request will have to wait until a connection becomes idle or closes
+                statistics.poolSaturated();
+            }
+        }
+
         pendingRequests.add(new RequestRecord(httpRequest, completionHandler));
-        processPendingRequests();
+        processPendingRequests(true);
     }
 
     private void processPendingRequests(HttpConnection connection) {
-        HttpRequest httpRequest;
-        CompletionHandler<HttpResponse> completionHandler;
+        RequestRecord pendingHead;
 
         synchronized (this) {
         /* this is synchronized so that another thread does not steal the pending request at the head of the queue
            while we investigate if we can execute it. */
-            RequestRecord pendingHead = pendingRequests.poll();
+            pendingHead = pendingRequests.poll();
             if (pendingHead == null) {
 
                 idleConnections.add(connection);
@@ -79,33 +93,31 @@ class DestinationConnectionPool {
                 // no pending requests
                 return;
             }
-
-            httpRequest = pendingHead.request;
-            completionHandler = pendingHead.completionHandler;
         }
 
         // if there was a connection available just use it
-        requestsInProgress.put(connection, new RequestRecord(httpRequest, completionHandler));
-        connection.send(httpRequest);
+        sendRequest(connection, pendingHead);
     }
 
-    private void processPendingRequests() {
+    /**
+     * Process the request at the head of the queue.
+     *
+     * @param mayPipeline {@code true} if the request may be pipelined to a busy connection. Must be {@code false}
+     *                    if the calling thread holds a connection lock, since pipelining locks the other connections.
+     */
+    private void processPendingRequests(boolean mayPipeline) {
         HttpConnection connection;
-        HttpRequest httpRequest;
-        CompletionHandler<HttpResponse> completionHandler;
+        RequestRecord pendingHead;
 
         synchronized (this) {
             /* this is synchronized so that another thread does not steal the pending request at the head of the queue
             while we investigate if we can execute it. */
-            RequestRecord pendingHead = pendingRequests.peek();
+            pendingHead = pendingRequests.peek();
             if (pendingHead == null) {
                 // no pending requests
                 return;
             }
 
-            httpRequest = pendingHead.request;
-            completionHandler = pendingHead.completionHandler;
-
             connection = idleConnections.poll();
             if (connection != null) {
                 pendingRequests.poll();
@@ -114,11 +126,19 @@ class DestinationConnectionPool {
 
         if (connection != null) {
             // if there was a connection available just use it
-            requestsInProgress.put(connection, new RequestRecord(httpRequest, completionHandler));
-            connection.send(httpRequest);
+            sendRequest(connection, pendingHead);
             return;
         }
 
+        if (mayPipeline && configuration.getMaxPipelinedRequests() > 1) {
+            // prefer the connections with the least pipelined requests
+            final List<HttpConnection> candidates = new ArrayList<>(connections);
+            candidates.sort(Comparator.comparingInt(this::getPipelinedRequestCount));
+            if (pipelinePendingRequest(candidates)) {
+                return;
+            }
+        }
+
         // if there was not a connection available keep this requests in pending list and try to create a connection
         synchronized (this) {
             // synchronized because other thread might open/close connections, so we have to make sure we get the limits right.
@@ -129,16 +149,84 @@ class DestinationConnectionPool {
             }
 
             // create a connection
-            connection = new HttpConnection(httpRequest.getUri(), cookieManager, configuration, scheduler,
+            connection = new HttpConnection(pendingHead.request.getUri(), cookieManager, configuration, scheduler,
                     connectionStateListener);
             connections.add(connection);
             connectionCounter++;
         }
 
+        statistics.connectionOpened();
+
         // we don't want to connect inside the synchronized block
         connection.connect();
     }
 
+    /**
+     * Try to pipeline the pending request at the head of the queue to one of the given busy connections.
+     *
+     * @param candidates connections to try in the given order.
+     * @return {@code true} if the request has been pipelined.
+     */
+    private boolean pipelinePendingRequest(List<HttpConnection> candidates) {
+        final RequestRecord pendingHead;
+        synchronized (this) {
+            pendingHead = pendingRequests.peek();
+            if (pendingHead == null || !HttpConnection.isPipelinable(pendingHead.request)) {
+                return false;
+            }
+
+            // take the request out of the queue, so that no other thread sends it while we try the connections
+            pendingRequests.poll();
+        }
+
+        /* The connection lock is held while the request is registered, this must not happen inside a block synchronized
+        on the pool, since the connection notifies the pool about state changes while holding its lock. */
+        for (HttpConnection connection : candidates) {
+            final boolean pipelined = connection.pipeline(pendingHead.request, () -> {
+                pendingHead.sent = System.nanoTime();
+                statistics.requestSent(true, pendingHead.sent - pendingHead.created);
+                pipelinedRequests.computeIfAbsent(connection, c -> new ConcurrentLinkedDeque<>()).add(pendingHead);
+            });
+
+            if (pipelined) {
+                return true;
+            }
+        }
+
+        // no connection can take the request, return it to the queue and let it wait for a connection of its own
+        pendingRequests.addFirst(pendingHead);
+        return false;
+    }
+
+    private int getPipelinedRequestCount(HttpConnection connection) {
+        final Queue<RequestRecord> pipelined = pipelinedRequests.get(connection);
+        return pipelined == null ? 0 : pipelined.size();
+    }
+
+    private void sendRequest(HttpConnection connection, RequestRecord requestRecord) {
+        requestRecord.sent = System.nanoTime();
+        statistics.requestSent(connection.getRequestCount() > 0, requestRecord.sent - requestRecord.created);
+
+        requestsInProgress.put(connection, requestRecord);
+        connection.send(requestRecord.request);
+    }
+
+    synchronized int getConnectionCount() {
+        return connectionCounter;
+    }
+
+    int getIdleConnectionCount() {
+        return idleConnections.size();
+    }
+
+    int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    int getActiveRequestCount() {
+        return requestsInProgress.size() + pipelinedRequests.values().stream().mapToInt(Queue::size).sum();
+    }
+
     synchronized void close() {
         if (closed) {
             return;
@@ -159,7 +247,7 @@ class DestinationConnectionPool {
     }
 
     private RequestRecord removeRequest(HttpConnection connection) {
-        RequestRecord requestRecord = requestsInProgress.get(connection);
+        RequestRecord requestRecord = requestsInProgress.remove(connection);
         if (requestRecord == null) {
             throw new IllegalStateException("Request not found");
         }
@@ -168,7 +256,13 @@ class DestinationConnectionPool {
     }
 
     private void cleanClosedConnection(HttpConnection connection) {
+        final Queue<RequestRecord> unansweredRequests = pipelinedRequests.remove(connection);
+
         if (closed) {
+            if (unansweredRequests != null) {
+                unansweredRequests.forEach(request -> request.completionHandler
+                        .failed(new IOException(LocalizationMessages.CLOSED_BY_CLIENT_WHILE_RECEIVING())));
+            }
             return;
         }
 
@@ -176,6 +270,15 @@ class DestinationConnectionPool {
         synchronized (this) {
             idleConnections.remove(connection);
             connections.remove(connection);
+            requestsInProgress.remove(connection);
+
+            if (unansweredRequests != null) {
+                // pipelined requests are idempotent, send them again over another connection before the other pending requests
+                final List<RequestRecord> requests = new ArrayList<>(unansweredRequests);
+                for (int i = requests.size() - 1; i >= 0; i--) {
+                    pendingRequests.addFirst(requests.get(i));
+                }
+            }
             connectionCounter--;
 
             pendingRequest = pendingRequests.peek();
@@ -187,7 +290,7 @@ class DestinationConnectionPool {
             }
         }
 
-        processPendingRequests();
+        processPendingRequests(false);
     }
 
     private void handleIllegalStateTransition(HttpConnection.State oldState, HttpConnection.State newState) {
@@ -222,10 +325,33 @@ class DestinationConnectionPool {
                     }
                 }
 
+                case IDLE_TIMEOUT: {
+                    statistics.idleConnectionEvicted();
+                    return;
+                }
+
+                case RECEIVING_HEADER: {
+                    if (oldState == HttpConnection.State.RECEIVED) {
+                        // the response to the next pipelined request is expected
+                        requestsInProgress.put(connection, pipelinedRequests.get(connection).poll());
+                    }
+
+                    if (configuration.getMaxPipelinedRequests() > 1) {
+                        // the connection is busy now, it can take the requests waiting in the queue
+                        final List<HttpConnection> candidates = Collections.singletonList(connection);
+                        boolean pipelined = true;
+                        while (pipelined) {
+                            pipelined = pipelinePendingRequest(candidates);
+                        }
+                    }
+                    return;
+                }
+
                 case RECEIVED: {
                     switch (oldState) {
                         case RECEIVING_HEADER: {
                             RequestRecord request = removeRequest(connection);
+                            statistics.responseHeaderReceived(System.nanoTime() - request.sent);
                             request.completionHandler.completed(connection.getHttResponse());
                             return;
                         }
@@ -246,6 +372,7 @@ class DestinationConnectionPool {
                     switch (oldState) {
                         case RECEIVING_HEADER: {
                             RequestRecord request = getRequest(connection);
+                            statistics.responseHeaderReceived(System.nanoTime() - request.sent);
                             request.response = connection.getHttResponse();
                             request.completionHandler.completed(connection.getHttResponse());
                             return;
@@ -399,7 +526,10 @@ class DestinationConnectionPool {
 
         private final HttpRequest request;
         private final CompletionHandler<HttpResponse> completionHandler;
+        private final long created = System.nanoTime();
         private HttpResponse response;
+        // the time the request has been handed to a connection
+        private long sent;
 
         RequestRecord(HttpRequest request, CompletionHandler<HttpResponse> completionHandler) {
             this.request = request;
@@ -419,6 +549,18 @@ class DestinationConnectionPool {
             secure = Constants.HTTPS.equalsIgnoreCase(uri.getScheme());
         }
 
+        String getHost() {
+            return host;
+        }
+
+        int getPort() {
+            return port;
+        }
+
+        boolean isSecure() {
+            return secure;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
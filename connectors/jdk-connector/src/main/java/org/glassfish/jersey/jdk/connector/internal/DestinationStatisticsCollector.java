@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.jersey.jdk.connector.DestinationStatistics;
+import org.glassfish.jersey.jdk.connector.DurationStatistics;
+
+/**
+ * Collects the statistics of a {@link DestinationConnectionPool}.
+ * <p>
+ * The collector outlives the destination pool, which is discarded once its last connection is closed, so that
+ * the counters are accumulated over the whole lifetime of the {@link HttpConnectionPool}.
+ * </p>
+ */
+class DestinationStatisticsCollector {
+
+    private final DestinationConnectionPool.DestinationKey destinationKey;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder reusedConnections = new LongAdder();
+    private final LongAdder openedConnections = new LongAdder();
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder saturations = new LongAdder();
+    private final DurationCollector queueWaitTime = new DurationCollector();
+    private final DurationCollector timeToFirstByte = new DurationCollector();
+
+    DestinationStatisticsCollector(DestinationConnectionPool.DestinationKey destinationKey) {
+        this.destinationKey = destinationKey;
+    }
+
+    void requestSent(boolean reusedConnection, long queueWaitNanos) {
+        requests.increment();
+        if (reusedConnection) {
+            reusedConnections.increment();
+        }
+        queueWaitTime.add(queueWaitNanos);
+    }
+
+    void responseHeaderReceived(long timeToFirstByteNanos) {
+        timeToFirstByte.add(timeToFirstByteNanos);
+    }
+
+    void connectionOpened() {
+        openedConnections.increment();
+    }
+
+    void idleConnectionEvicted() {
+        idleEvictions.increment();
+    }
+
+    void poolSaturated() {
+        saturations.increment();
+    }
+
+    /**
+     * Create an immutable snapshot of the collected statistics.
+     *
+     * @param pool destination pool providing the current connection and request gauges, {@code null} if the destination
+     *             pool has already been discarded.
+     * @return statistics snapshot.
+     */
+    DestinationStatistics snapshot(DestinationConnectionPool pool) {
+        return new DestinationStatisticsImpl(this, pool);
+    }
+
+    private static class DurationCollector {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong(0);
+
+        void add(long durationNanos) {
+            count.increment();
+            total.add(durationNanos);
+            min.accumulateAndGet(durationNanos, Math::min);
+            max.accumulateAndGet(durationNanos, Math::max);
+        }
+
+        DurationStatistics snapshot() {
+            final long count = this.count.sum();
+            if (count == 0) {
+                return new DurationStatisticsImpl(0, 0, 0, 0);
+            }
+            return new DurationStatisticsImpl(count, min.get(), max.get(), total.sum() / count);
+        }
+    }
+
+    private static class DurationStatisticsImpl implements DurationStatistics {
+
+        private final long count;
+        private final long min;
+        private final long max;
+        private final long average;
+
+        private DurationStatisticsImpl(long count, long min, long max, long average) {
+            this.count = count;
+            this.min = min;
+            this.max = max;
+            this.average = average;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public long getMinimum(TimeUnit unit) {
+            return unit.convert(min, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long getMaximum(TimeUnit unit) {
+            return unit.convert(max, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long getAverage(TimeUnit unit) {
+            return unit.convert(average, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "DurationStatistics{count=" + count + ", min=" + min + "ns, max=" + max + "ns, average=" + average + "ns}";
+        }
+    }
+
+    private static class DestinationStatisticsImpl implements DestinationStatistics {
+
+        private final String host;
+        private final int port;
+        private final boolean secure;
+        private final long requests;
+        private final long reusedConnections;
+        private final long openedConnections;
+        private final long idleEvictions;
+        private final long saturations;
+        private final int openConnections;
+        private final int idleConnections;
+        private final int queuedRequests;
+        private final int activeRequests;
+        private final DurationStatistics queueWaitTime;
+        private final DurationStatistics timeToFirstByte;
+
+        private DestinationStatisticsImpl(DestinationStatisticsCollector collector, DestinationConnectionPool pool) {
+            this.host = collector.destinationKey.getHost();
+            this.port = collector.destinationKey.getPort();
+            this.secure = collector.destinationKey.isSecure();
+            this.requests = collector.requests.sum();
+            this.reusedConnections = collector.reusedConnections.sum();
+            this.openedConnections = collector.openedConnections.sum();
+            this.idleEvictions = collector.idleEvictions.sum();
+            this.saturations = collector.saturations.sum();
+            this.queueWaitTime = collector.queueWaitTime.snapshot();
+            this.timeToFirstByte = collector.timeToFirstByte.snapshot();
+
+            if (pool != null) {
+                this.openConnections = pool.getConnectionCount();
+                this.idleConnections = pool.getIdleConnectionCount();
+                this.queuedRequests = pool.getPendingRequestCount();
+                this.activeRequests = pool.getActiveRequestCount();
+            } else {
+                this.openConnections = 0;
+                this.idleConnections = 0;
+                this.queuedRequests = 0;
+                this.activeRequests = 0;
+            }
+        }
+
+        @Override
+        public String getHost() {
+            return host;
+        }
+
+        @Override
+        public int getPort() {
+            return port;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return secure;
+        }
+
+        @Override
+        public long getRequestCount() {
+            return requests;
+        }
+
+        @Override
+        public long getReusedConnectionCount() {
+            return reusedConnections;
+        }
+
+        @Override
+        public double getConnectionReuseRatio() {
+            return requests == 0 ? 0 : (double) reusedConnections / requests;
+        }
+
+        @Override
+        public long getOpenedConnectionCount() {
+            return openedConnections;
+        }
+
+        @Override
+        public long getIdleEvictionCount() {
+            return idleEvictions;
+        }
+
+        @Override
+        public long getSaturationCount() {
+            return saturations;
+        }
+
+        @Override
+        public int getOpenConnections() {
+            return openConnections;
+        }
+
+        @Override
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        @Override
+        public int getQueuedRequests() {
+            return queuedRequests;
+        }
+
+        @Override
+        public int getActiveRequests() {
+            return activeRequests;
+        }
+
+        @Override
+        public DurationStatistics getQueueWaitTime() {
+            return queueWaitTime;
+        }
+
+        @Override
+        public DurationStatistics getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        @Override
+        public String toString() {
+            return "DestinationStatistics{" + (secure ? "https://" : "http://") + host + ":" + port
+                    + ", requests=" + requests
+                    + ", reusedConnections=" + reusedConnections
+                    + ", openedConnections=" + openedConnections
+                    + ", idleEvictions=" + idleEvictions
+                    + ", saturations=" + saturations
+                    + ", openConnections=" + openConnections
+                    + ", idleConnections=" + idleConnections
+                    + ", queuedRequests=" + queuedRequests
+                    + ", activeRequests=" + activeRequests
+                    + ", queueWaitTime=" + queueWaitTime
+                    + ", timeToFirstByte=" + timeToFirstByte + "}";
+        }
+    }
+}
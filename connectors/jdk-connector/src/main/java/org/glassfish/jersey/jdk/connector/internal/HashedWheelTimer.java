@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A timer scheduling the connection timeouts.
+ * <p>
+ * Scheduling and cancelling a timeout takes constant time regardless of the number of the pending timeouts, since
+ * the timeouts are only queued by the calling thread and distributed into the buckets of the wheel by the worker thread.
+ * The worker thread advances the wheel by one bucket every tick and expires the timeouts of the bucket whose number
+ * of remaining wheel rounds has dropped to zero. The timeouts are therefore not expired exactly on time, but within
+ * one tick after their deadline, which is precise enough for connect, response and idle timeouts.
+ * </p>
+ * <p>
+ * The worker thread is a daemon thread that is started lazily when the first timeout is scheduled.
+ * </p>
+ */
+class HashedWheelTimer {
+
+    private static final Logger LOGGER = Logger.getLogger(HashedWheelTimer.class.getName());
+
+    // the maximal number of new timeouts transferred to the wheel during a single tick
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private static final int WORKER_INIT = 0;
+    private static final int WORKER_STARTED = 1;
+    private static final int WORKER_STOPPED = 2;
+
+    private final AtomicInteger workerState = new AtomicInteger(WORKER_INIT);
+    private final Thread workerThread;
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    // accessed only by the worker thread once it has been started
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * Create a new timer.
+     *
+     * @param threadFactory factory of the worker thread.
+     * @param tickDuration  duration of a tick.
+     * @param unit          time unit of the {@code tickDuration}.
+     * @param ticksPerWheel number of buckets of the wheel, rounded up to the nearest power of two.
+     */
+    HashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be greater than 0: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("Ticks per wheel must be in range (0, 2^30]: " + ticksPerWheel);
+        }
+
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.workerThread = threadFactory.newThread(this::run);
+    }
+
+    /**
+     * Schedule a one-shot task that is executed after the given delay.
+     * <p>
+     * The task is executed by the worker thread of the timer, it must therefore not block.
+     * </p>
+     *
+     * @param task  task to be executed.
+     * @param delay delay after which the task is executed.
+     * @param unit  time unit of the {@code delay}.
+     * @return handle of the scheduled task that can be used to cancel the task.
+     * @throws IllegalStateException in case the timer has been stopped.
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        start();
+
+        final Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stop the worker thread. The timeouts that have not expired yet are never executed.
+     */
+    void stop() {
+        if (workerState.getAndSet(WORKER_STOPPED) == WORKER_STARTED) {
+            workerThread.interrupt();
+        }
+    }
+
+    private void start() {
+        switch (workerState.get()) {
+            case WORKER_INIT: {
+                if (workerState.compareAndSet(WORKER_INIT, WORKER_STARTED)) {
+                    startTime = System.nanoTime();
+                    if (startTime == 0) {
+                        // 0 means not initialized yet
+                        startTime = 1;
+                    }
+                    workerThread.start();
+                }
+                break;
+            }
+
+            case WORKER_STARTED: {
+                break;
+            }
+
+            default: {
+                throw new IllegalStateException("The timer has been stopped.");
+            }
+        }
+
+        // wait until the start time is published by the thread that has started the worker
+        while (startTime == 0) {
+            Thread.yield();
+        }
+    }
+
+    private void run() {
+        while (workerState.get() == WORKER_STARTED) {
+            if (!waitForNextTick()) {
+                break;
+            }
+
+            removeCancelledTimeouts();
+            transferNewTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private boolean waitForNextTick() {
+        final long deadline = tickDuration * (tick + 1);
+
+        while (true) {
+            final long currentTime = System.nanoTime() - startTime;
+            // round up to the nearest millisecond
+            final long sleepTimeMs = (deadline - currentTime + 999999) / 1000000;
+
+            if (sleepTimeMs <= 0) {
+                return true;
+            }
+
+            try {
+                Thread.sleep(sleepTimeMs);
+            } catch (InterruptedException e) {
+                if (workerState.get() == WORKER_STOPPED) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            final Timeout timeout = newTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+
+            final long expiryTick = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+
+            // a timeout whose deadline has already passed is expired in the current tick
+            final long ticks = Math.max(expiryTick, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A handle of a task scheduled by the timer.
+     */
+    final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // accessed only by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task. The task is not executed if it has not been executed yet.
+         *
+         * @return {@code true} if the task has been cancelled, {@code false} if it has already been executed or cancelled.
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+
+            // the timeout is removed from its bucket by the worker thread
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * Check whether the task has been cancelled.
+         *
+         * @return {@code true} if the task has been cancelled.
+         */
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "A task scheduled by the timer has thrown an exception.", t);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts, so that a cancelled timeout can be removed in constant time.
+     * Accessed only by the worker thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts() {
+            Timeout timeout = head;
+
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+
+            final Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+
+            if (timeout == head) {
+                if (timeout == tail) {
+                    head = tail = null;
+                } else {
+                    head = next;
+                }
+            } else if (timeout == tail) {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -21,10 +21,13 @@ import java.net.CookieManager;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -54,12 +57,18 @@ class HttpConnection {
 
     private static final Logger LOGGER = Logger.getLogger(HttpConnection.class.getName());
 
+    /**
+     * Methods of the requests that can be pipelined, see RFC 7230 section 6.3.2.
+     */
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(
+            Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE"));
+
     private final Filter<HttpRequest, HttpResponse, HttpRequest, HttpResponse> filterChain;
     private final CookieManager cookieManager;
     // we are interested only in host-port pair, but URI is a convenient holder for it
     private final URI uri;
     private final StateChangeListener stateListener;
-    private final ScheduledExecutorService scheduler;
+    private final HashedWheelTimer scheduler;
     private final ConnectorConfiguration configuration;
 
     private HttpRequest httpRequest;
@@ -71,14 +80,19 @@ class HttpConnection {
     // this flag will change to false if we receive "Connection: Close" header
     private boolean persistentConnection = true;
 
-    private Future<?> responseTimeout;
-    private Future<?> idleTimeout;
-    private Future<?> connectTimeout;
+    // number of requests sent over this connection
+    private int requestCount = 0;
+    // requests written after the current request that wait for their responses
+    private final Queue<HttpRequest> pipelinedRequests = new ArrayDeque<>();
+
+    private HashedWheelTimer.Timeout responseTimeout;
+    private HashedWheelTimer.Timeout idleTimeout;
+    private HashedWheelTimer.Timeout connectTimeout;
 
     HttpConnection(URI uri,
                    CookieManager cookieManager,
                    ConnectorConfiguration configuration,
-                   ScheduledExecutorService scheduler,
+                   HashedWheelTimer scheduler,
                    StateChangeListener stateListener) {
         this.uri = uri;
         this.cookieManager = cookieManager;
@@ -106,13 +120,14 @@ class HttpConnection {
         cancelIdleTimeout();
 
         this.httpRequest = httpRequest;
+        requestCount++;
         // clean state left by previous request
         httResponse = null;
         error = null;
         persistentConnection = true;
         changeState(State.SENDING_REQUEST);
 
-        addRequestHeaders();
+        addRequestHeaders(httpRequest);
 
         filterChain.write(httpRequest, new CompletionHandler<HttpRequest>() {
             @Override
@@ -127,6 +142,57 @@ class HttpConnection {
         });
     }
 
+    /**
+     * Write the request while the response to the current request has not been received yet (HTTP pipelining).
+     * <p>
+     * The request is pipelined only if pipelining is enabled, the connection is waiting for a response, both the current
+     * and the given request can be pipelined (see {@link #isPipelinable(HttpRequest)}) and the configured maximum
+     * of pipelined requests has not been reached. The response to the pipelined request is reported by changing
+     * the state from {@link State#RECEIVED} to {@link State#RECEIVING_HEADER} once the previous response has been received.
+     * </p>
+     *
+     * @param httpRequest request to be written.
+     * @param onAccepted  invoked while holding the connection lock before the request is written, so that the caller
+     *                    can register the request before its response arrives.
+     * @return {@code true} if the request has been written, {@code false} if the request cannot be pipelined.
+     */
+    synchronized boolean pipeline(final HttpRequest httpRequest, Runnable onAccepted) {
+        if ((state != State.RECEIVING_HEADER && state != State.RECEIVING_BODY)
+                || !persistentConnection
+                || pipelinedRequests.size() + 1 >= configuration.getMaxPipelinedRequests()
+                || !isPipelinable(this.httpRequest)
+                || !isPipelinable(httpRequest)) {
+            return false;
+        }
+
+        onAccepted.run();
+        pipelinedRequests.add(httpRequest);
+        requestCount++;
+        addRequestHeaders(httpRequest);
+
+        filterChain.write(httpRequest, new CompletionHandler<HttpRequest>() {
+            @Override
+            public void failed(Throwable throwable) {
+                handleError(throwable);
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * Check whether the request can be pipelined. Only requests with an idempotent method and without a body can
+     * be pipelined, because such requests can be safely sent again over another connection if the connection is closed
+     * before the response arrives.
+     *
+     * @param httpRequest request to be checked.
+     * @return {@code true} if the request can be pipelined.
+     */
+    static boolean isPipelinable(HttpRequest httpRequest) {
+        return httpRequest.getBodyMode() == HttpRequest.BodyMode.NONE
+                && IDEMPOTENT_METHODS.contains(httpRequest.getMethod());
+    }
+
     void close() {
         if (state == State.CLOSED) {
             return;
@@ -160,7 +226,7 @@ class HttpConnection {
         }
     }
 
-    private void addRequestHeaders() {
+    private void addRequestHeaders(HttpRequest httpRequest) {
         Map<String, List<String>> cookies;
         try {
             cookies = cookieManager.get(httpRequest.getUri(), httpRequest.getHeaders());
@@ -252,7 +318,7 @@ class HttpConnection {
 
     private void cancelResponseTimeout() {
         if (responseTimeout != null) {
-            responseTimeout.cancel(true);
+            responseTimeout.cancel();
             responseTimeout = null;
         }
     }
@@ -277,7 +343,7 @@ class HttpConnection {
 
     private void cancelConnectTimeout() {
         if (connectTimeout != null) {
-            connectTimeout.cancel(true);
+            connectTimeout.cancel();
             connectTimeout = null;
         }
     }
@@ -301,7 +367,7 @@ class HttpConnection {
 
     private void cancelIdleTimeout() {
         if (idleTimeout != null) {
-            idleTimeout.cancel(true);
+            idleTimeout.cancel();
             idleTimeout = null;
         }
     }
@@ -324,6 +390,15 @@ class HttpConnection {
         changeState(State.IDLE);
     }
 
+    /**
+     * Get the number of requests that have been sent over this connection, including the request being processed.
+     *
+     * @return number of requests sent over this connection.
+     */
+    synchronized int getRequestCount() {
+        return requestCount;
+    }
+
     Throwable getError() {
         return error;
     }
@@ -339,6 +414,18 @@ class HttpConnection {
             changeState(State.CLOSED);
             return;
         }
+
+        HttpRequest pipelinedRequest = pipelinedRequests.poll();
+        if (pipelinedRequest != null) {
+            // the next response belongs to a pipelined request that has already been written
+            httpRequest = pipelinedRequest;
+            httResponse = null;
+            error = null;
+            scheduleResponseTimeout();
+            changeState(State.RECEIVING_HEADER);
+            return;
+        }
+
         changeStateToIdle();
     }
 
@@ -23,8 +23,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.glassfish.jersey.jdk.connector.DestinationStatistics;
 
 /**
  * @author Petr Janouch
@@ -32,16 +34,22 @@ import java.util.concurrent.ScheduledExecutorService;
 class HttpConnectionPool {
 
     // TODO better solution, containers won't like this
-    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread thread = new Thread(r);
+    /* Every request schedules and cancels a response timeout and every idle connection an idle timeout. That costs
+       O(log n) on the heap of a scheduled executor shared by all the connections, but O(1) on the wheel. The tick
+       of 10 ms bounds the imprecision of the timeouts. */
+    private static final HashedWheelTimer scheduler = new HashedWheelTimer(r -> {
+        Thread thread = new Thread(r, "jdk-connector-timer");
         thread.setDaemon(true);
         return thread;
-    });
+    }, 10, TimeUnit.MILLISECONDS, 512);
 
     private final ConnectorConfiguration connectorConfiguration;
     private final CookieManager cookieManager;
     private final Map<DestinationConnectionPool.DestinationKey, DestinationConnectionPool> destinationPools = new
             ConcurrentHashMap<>();
+    // statistics survive the destination pools that are discarded when their last connection closes
+    private final Map<DestinationConnectionPool.DestinationKey, DestinationStatisticsCollector> statistics = new
+            ConcurrentHashMap<>();
 
     HttpConnectionPool(ConnectorConfiguration connectorConfiguration, CookieManager cookieManager) {
         this.connectorConfiguration = connectorConfiguration;
@@ -65,8 +73,10 @@ class HttpConnectionPool {
                 destinationConnectionPool = destinationPools.get(destinationKey);
 
                 if (destinationConnectionPool == null) {
+                    final DestinationStatisticsCollector collector = statistics.computeIfAbsent(destinationKey,
+                            DestinationStatisticsCollector::new);
                     final DestinationConnectionPool pool = new DestinationConnectionPool(connectorConfiguration, cookieManager,
-                            scheduler);
+                            scheduler, collector);
                     pool.setConnectionCloseListener(() -> {
                         /* There is a potential race when there is a request just about to be submitted to the pool
                         we are just removing. Such request will be executed on the removed pool without any problems.
@@ -84,6 +94,17 @@ class HttpConnectionPool {
         destinationConnectionPool.send(httpRequest, completionHandler);
     }
 
+    /**
+     * Get the statistics of all the destinations the requests have been sent to.
+     *
+     * @return statistics snapshots, one per destination.
+     */
+    List<DestinationStatistics> getStatistics() {
+        return statistics.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(destinationPools.get(entry.getKey())))
+                .collect(Collectors.toList());
+    }
+
     synchronized void close() {
         destinationPools.values().forEach(DestinationConnectionPool::close);
     }
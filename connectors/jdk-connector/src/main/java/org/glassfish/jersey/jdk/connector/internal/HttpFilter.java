@@ -18,6 +18,8 @@ package org.glassfish.jersey.jdk.connector.internal;
 
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
 
 import javax.ws.rs.core.HttpHeaders;
 
@@ -26,8 +28,14 @@ import javax.ws.rs.core.HttpHeaders;
  */
 class HttpFilter extends Filter<HttpRequest, HttpResponse, ByteBuffer, ByteBuffer> {
 
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
     private final HttpParser httpParser;
 
+    // requests waiting until the previous request has been written, used with HTTP pipelining
+    private final Queue<PendingWrite> pendingWrites = new ArrayDeque<>();
+    private boolean writing = false;
+
     /**
      * Constructor.
      *
@@ -43,11 +51,35 @@ class HttpFilter extends Filter<HttpRequest, HttpResponse, ByteBuffer, ByteBuffe
         addTransportHeaders(httpRequest);
 
         ByteBuffer header = HttpRequestEncoder.encodeHeader(httpRequest);
-        prepareForReply(httpRequest, completionHandler);
+        prepareForReply(httpRequest);
+
+        final boolean writeNow;
+        synchronized (this) {
+            // a pipelined request must not be written before the previous request has been written completely
+            writeNow = !writing;
+            if (writeNow) {
+                writing = true;
+            } else {
+                pendingWrites.add(new PendingWrite(header, httpRequest, completionHandler));
+            }
+        }
+
+        /* the completion handler might pipeline another request, which must be registered with the parser and queued
+           only after this one */
+        completionHandler.completed(httpRequest);
+
+        if (writeNow) {
+            writeRequest(header, httpRequest, completionHandler);
+        }
+    }
+
+    private void writeRequest(ByteBuffer header,
+                              final HttpRequest httpRequest,
+                              final CompletionHandler<HttpRequest> completionHandler) {
         downstreamFilter.write(header, new CompletionHandler<ByteBuffer>() {
             @Override
             public void failed(Throwable throwable) {
-                completionHandler.failed(throwable);
+                writeFailed(throwable, completionHandler);
             }
 
             @Override
@@ -63,6 +95,8 @@ class HttpFilter extends Filter<HttpRequest, HttpResponse, ByteBuffer, ByteBuffe
             case CHUNKED: {
                 ChunkedBodyOutputStream bodyStream = (ChunkedBodyOutputStream) httpRequest.getBodyStream();
                 bodyStream.open(downstreamFilter);
+                // requests with a chunked body are never pipelined, the body is written directly to the downstream filter
+                writeNext();
                 break;
             }
 
@@ -71,42 +105,105 @@ class HttpFilter extends Filter<HttpRequest, HttpResponse, ByteBuffer, ByteBuffe
                 downstreamFilter.write(body, new CompletionHandler<ByteBuffer>() {
                     @Override
                     public void failed(Throwable throwable) {
-                        completionHandler.failed(throwable);
+                        writeFailed(throwable, completionHandler);
+                    }
+
+                    @Override
+                    public void completed(ByteBuffer result) {
+                        writeNext();
                     }
                 });
 
                 break;
             }
+
+            default: {
+                writeNext();
+            }
         }
     }
 
-    private void prepareForReply(HttpRequest httpRequest, CompletionHandler<HttpRequest> completionHandler) {
-        completionHandler.completed(httpRequest);
+    private void writeNext() {
+        final PendingWrite next;
+        synchronized (this) {
+            next = pendingWrites.poll();
+            if (next == null) {
+                writing = false;
+                return;
+            }
+        }
 
+        writeRequest(next.header, next.httpRequest, next.completionHandler);
+    }
+
+    private void writeFailed(Throwable throwable, CompletionHandler<HttpRequest> completionHandler) {
+        final Queue<PendingWrite> failedWrites;
+        synchronized (this) {
+            failedWrites = new ArrayDeque<>(pendingWrites);
+            pendingWrites.clear();
+            writing = false;
+        }
+
+        completionHandler.failed(throwable);
+        failedWrites.forEach(pendingWrite -> pendingWrite.completionHandler.failed(throwable));
+    }
+
+    private void prepareForReply(HttpRequest httpRequest) {
         boolean expectResponseBody = true;
 
         if (Constants.HEAD.equals(httpRequest.getMethod()) || Constants.CONNECT.equals(httpRequest.getMethod())) {
             expectResponseBody = false;
         }
 
-        httpParser.reset(expectResponseBody);
+        httpParser.expectResponse(expectResponseBody);
     }
 
     @Override
     boolean processRead(ByteBuffer data) {
-        boolean headerParsed = httpParser.isHeaderParsed();
-        try {
-            httpParser.parse(data);
-        } catch (ParseException e) {
-            onError(e);
-        }
+        ByteBuffer input = data;
+
+        // with HTTP pipelining the data might contain more responses
+        while (true) {
+            if (!httpParser.isResponseInProgress() && !httpParser.startNextResponse()) {
+                if (input.hasRemaining()) {
+                    onError(new ParseException(LocalizationMessages.UNEXPECTED_DATA_IN_BUFFER()));
+                }
+                return false;
+            }
+
+            boolean headerParsed = httpParser.isHeaderParsed();
+            try {
+                httpParser.parse(input);
+            } catch (ParseException e) {
+                onError(e);
+                return false;
+            }
+
+            if (!headerParsed && httpParser.isHeaderParsed()) {
+                HttpResponse httpResponse = httpParser.getHttpResponse();
+                upstreamFilter.onRead(httpResponse);
+            }
+
+            if (!httpParser.isComplete() || !httpParser.hasBufferedData()) {
+                return false;
+            }
 
-        if (!headerParsed && httpParser.isHeaderParsed()) {
-            HttpResponse httpResponse = httpParser.getHttpResponse();
-            upstreamFilter.onRead(httpResponse);
+            // the parser keeps the data following the complete response
+            input = EMPTY_BUFFER;
         }
+    }
+
+    private static class PendingWrite {
 
-        return false;
+        private final ByteBuffer header;
+        private final HttpRequest httpRequest;
+        private final CompletionHandler<HttpRequest> completionHandler;
+
+        PendingWrite(ByteBuffer header, HttpRequest httpRequest, CompletionHandler<HttpRequest> completionHandler) {
+            this.header = header;
+            this.httpRequest = httpRequest;
+            this.completionHandler = completionHandler;
+        }
     }
 
     private void addTransportHeaders(HttpRequest httpRequest) {
@@ -20,6 +20,8 @@ import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.nio.Buffer;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.ws.rs.core.HttpHeaders;
 
@@ -49,6 +51,10 @@ class HttpParser {
     private volatile TransferEncodingParser transferEncodingParser;
     private volatile boolean complete;
 
+    // one entry per written request whose response has not been started to be parsed yet, in the order of the requests
+    private final Queue<Boolean> expectedResponses = new ConcurrentLinkedQueue<>();
+    private volatile boolean responseInProgress;
+
     HttpParser(int maxHeaderSize, int bufferMaxSize) {
         headerParsingState = new HttpParserUtils.HeaderParsingState(maxHeaderSize);
         this.bufferMaxSize = bufferMaxSize;
@@ -56,12 +62,51 @@ class HttpParser {
     }
 
     void reset(boolean expectContent) {
-        this.expectContent = expectContent;
-        headerParsed = false;
         // see https://jira.mongodb.org/browse/JAVA-2559 for the casts
         ((Buffer) buffer).clear();
         ((Buffer) buffer).flip();
+        prepareForResponse(expectContent);
+    }
+
+    /**
+     * Register a response to a request that has been written. With HTTP pipelining more responses might be expected
+     * at once, the responses are parsed in the order they have been registered.
+     *
+     * @param expectContent {@code false} if the response does not have a body regardless of its headers
+     *                      (e.g. a response to {@code HEAD} request).
+     */
+    void expectResponse(boolean expectContent) {
+        expectedResponses.add(expectContent);
+    }
+
+    /**
+     * Start parsing the next expected response. Data remaining after the previous response are kept.
+     *
+     * @return {@code false} if no response is expected.
+     */
+    boolean startNextResponse() {
+        final Boolean expectContent = expectedResponses.poll();
+        if (expectContent == null) {
+            return false;
+        }
+
+        prepareForResponse(expectContent);
+        return true;
+    }
+
+    boolean isResponseInProgress() {
+        return responseInProgress;
+    }
+
+    boolean hasBufferedData() {
+        return buffer.hasRemaining();
+    }
+
+    private void prepareForResponse(boolean expectContent) {
+        this.expectContent = expectContent;
+        headerParsed = false;
         complete = false;
+        responseInProgress = true;
         headerParsingState.recycle();
     }
 
@@ -79,7 +124,7 @@ class HttpParser {
 
     void parse(ByteBuffer input) throws ParseException {
         if (buffer.remaining() > 0) {
-            input = Utils.appendBuffers(buffer, input, bufferMaxSize, BUFFER_STEP_SIZE);
+            input = input.hasRemaining() ? Utils.appendBuffers(buffer, input, bufferMaxSize, BUFFER_STEP_SIZE) : buffer;
         }
 
         if (!headerParsed && !parseHeader(input)) {
@@ -99,11 +144,14 @@ class HttpParser {
             complete = true;
         }
 
-        if (complete && input.hasRemaining()) {
+        if (complete && input.hasRemaining() && expectedResponses.isEmpty()) {
             throw new ParseException(LocalizationMessages.UNEXPECTED_DATA_IN_BUFFER());
         }
 
         if (complete) {
+            responseInProgress = false;
+            // the remaining data belong to the response to a pipelined request, keep them until it gets parsed
+            keepRemaining(input);
             httpResponse.getBodyStream().notifyAllDataRead();
         }
     }
@@ -134,6 +182,19 @@ class HttpParser {
         }
     }
 
+    private void keepRemaining(ByteBuffer input) {
+        if (!input.hasRemaining()) {
+            ((Buffer) buffer).clear();
+            ((Buffer) buffer).flip();
+            return;
+        }
+
+        final ByteBuffer remaining = ByteBuffer.allocate(Math.max(INIT_BUFFER_SIZE, input.remaining()));
+        remaining.put(input);
+        ((Buffer) remaining).flip();
+        buffer = remaining;
+    }
+
     // Taken with small modifications from Grizzly HttpCodecFilter.parseHeaderFromBuffer
     // (change: operations in phase 2 are translated to fit this parser)
     private boolean parseHeader(ByteBuffer input) throws ParseException {
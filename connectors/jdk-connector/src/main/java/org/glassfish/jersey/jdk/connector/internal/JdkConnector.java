@@ -37,6 +37,7 @@ import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.jdk.connector.DestinationStatistics;
 
 /**
  * @author Petr Janouch
@@ -236,6 +237,15 @@ public class JdkConnector implements Connector {
         return responseContext;
     }
 
+    /**
+     * Get the statistics of the connection pool, one entry per destination the requests have been sent to.
+     *
+     * @return connection pool statistics snapshots.
+     */
+    public List<DestinationStatistics> getDestinationStatistics() {
+        return httpConnectionPool.getStatistics();
+    }
+
     @Override
     public String getName() {
         return "JDK connector";
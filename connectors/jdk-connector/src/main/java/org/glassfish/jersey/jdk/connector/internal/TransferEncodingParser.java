@@ -53,11 +53,9 @@ abstract class TransferEncodingParser {
 
         @Override
         boolean parse(ByteBuffer input) throws ParseException {
-            if (input.remaining() + consumedLength > expectedLength) {
-                throw new ParseException(LocalizationMessages.HTTP_BODY_SIZE_OVERFLOW());
-            }
-
-            byte[] data = new byte[input.remaining()];
+            /* the data following the body are left in the input, they either belong to the response to a pipelined request
+               or are reported as unexpected by the HTTP parser */
+            byte[] data = new byte[Math.min(input.remaining(), expectedLength - consumedLength)];
             input.get(data);
             ByteBuffer parsed = ByteBuffer.wrap(data);
             responseBody.notifyDataAvailable(parsed);
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of the connection pool statistics available via {@link JdkConnectorProvider#getDestinationStatistics}.
+ */
+public class DestinationStatisticsTest extends JerseyTest {
+
+    private static final int IDLE_TIMEOUT = 500;
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(SlowResource.class);
+    }
+
+    @Override
+    protected void configureClient(ClientConfig config) {
+        config.connectorProvider(new JdkConnectorProvider());
+        config.property(JdkConnectorProperties.MAX_CONNECTIONS_PER_DESTINATION, 1);
+        config.property(JdkConnectorProperties.CONNECTION_IDLE_TIMEOUT, IDLE_TIMEOUT);
+    }
+
+    @Path("/slow")
+    public static class SlowResource {
+
+        @GET
+        public String get() throws InterruptedException {
+            Thread.sleep(50);
+            return "slow";
+        }
+    }
+
+    @Test
+    public void testSequentialRequests() {
+        assertTrue(JdkConnectorProvider.getDestinationStatistics(client()).isEmpty());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("slow", target("slow").request().get(String.class));
+        }
+
+        final DestinationStatistics statistics = getStatistics();
+        assertEquals("localhost", statistics.getHost());
+        assertEquals(getPort(), statistics.getPort());
+        assertFalse(statistics.isSecure());
+        assertEquals(3, statistics.getRequestCount());
+        assertEquals(2, statistics.getReusedConnectionCount());
+        assertEquals(2.0 / 3, statistics.getConnectionReuseRatio(), 0.001);
+        assertEquals(1, statistics.getOpenedConnectionCount());
+        assertEquals(0, statistics.getSaturationCount());
+        assertEquals(1, statistics.getOpenConnections());
+        assertEquals(0, statistics.getQueuedRequests());
+        assertEquals(3, statistics.getQueueWaitTime().getCount());
+        assertEquals(3, statistics.getTimeToFirstByte().getCount());
+        assertTrue(statistics.getTimeToFirstByte().getMinimum(TimeUnit.MILLISECONDS) >= 50);
+        assertTrue(statistics.getTimeToFirstByte().getMaximum(TimeUnit.MILLISECONDS)
+                >= statistics.getTimeToFirstByte().getAverage(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSaturatedPool() throws Exception {
+        final List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            responses.add(target("slow").request().async().get(String.class));
+        }
+        for (Future<String> response : responses) {
+            assertEquals("slow", response.get(5, TimeUnit.SECONDS));
+        }
+
+        final DestinationStatistics statistics = getStatistics();
+        assertEquals(4, statistics.getRequestCount());
+        assertEquals(1, statistics.getOpenedConnectionCount());
+        // the first request opens the connection, the others wait for it
+        assertEquals(3, statistics.getSaturationCount());
+        assertTrue(statistics.getQueueWaitTime().getMaximum(TimeUnit.MILLISECONDS) >= 100);
+    }
+
+    @Test
+    public void testIdleEviction() throws InterruptedException {
+        assertEquals("slow", target("slow").request().get(String.class));
+        assertEquals(1, getStatistics().getOpenConnections());
+
+        DestinationStatistics statistics = getStatistics();
+        // the connection is evicted first and then removed from the pool
+        for (int i = 0; i < 50 && (statistics.getIdleEvictionCount() == 0 || statistics.getOpenConnections() > 0); i++) {
+            Thread.sleep(100);
+            statistics = getStatistics();
+        }
+
+        assertEquals(1, statistics.getIdleEvictionCount());
+        assertEquals(0, statistics.getOpenConnections());
+        assertEquals(0, statistics.getIdleConnections());
+
+        // the statistics survive the discarded destination pool
+        assertEquals("slow", target("slow").request().get(String.class));
+        statistics = getStatistics();
+        assertEquals(2, statistics.getRequestCount());
+        assertEquals(2, statistics.getOpenedConnectionCount());
+        assertEquals(0, statistics.getReusedConnectionCount());
+    }
+
+    @Test
+    public void testOtherConnector() {
+        final Client client = ClientBuilder.newClient();
+        try {
+            assertThrows(IllegalArgumentException.class, () -> JdkConnectorProvider.getDestinationStatistics(client));
+        } finally {
+            client.close();
+        }
+    }
+
+    private DestinationStatistics getStatistics() {
+        final List<DestinationStatistics> statistics = JdkConnectorProvider.getDestinationStatistics(client());
+        assertEquals(1, statistics.size());
+        return statistics.get(0);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector.internal;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of {@link HashedWheelTimer}.
+ */
+public class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(Executors.defaultThreadFactory(), 10,
+            TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        timer.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+    }
+
+    @Test
+    public void testDelayLongerThanWheelRound() throws InterruptedException {
+        // the wheel of 8 buckets with 10 ms tick turns in 80 ms
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        timer.schedule(latch::countDown, 250, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250);
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        final AtomicInteger executed = new AtomicInteger();
+        final HashedWheelTimer.Timeout timeout = timer.schedule(executed::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(latch::countDown, 150, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, executed.get());
+    }
+
+    @Test
+    public void testManyTimeouts() throws InterruptedException {
+        final int count = 10000;
+        final CountDownLatch latch = new CountDownLatch(count / 2);
+        final AtomicInteger executed = new AtomicInteger();
+
+        for (int i = 0; i < count; i++) {
+            final HashedWheelTimer.Timeout timeout = timer.schedule(() -> {
+                executed.incrementAndGet();
+                latch.countDown();
+            }, i % 200, TimeUnit.MILLISECONDS);
+
+            if (i % 2 == 1) {
+                timeout.cancel();
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // give the cancelled timeouts a chance to be executed if the cancellation did not work
+        Thread.sleep(100);
+        assertEquals(count / 2, executed.get());
+    }
+
+    @Test
+    public void testStopped() {
+        timer.stop();
+        assertThrows(IllegalStateException.class, () -> timer.schedule(() -> { }, 10, TimeUnit.MILLISECONDS));
+    }
+}
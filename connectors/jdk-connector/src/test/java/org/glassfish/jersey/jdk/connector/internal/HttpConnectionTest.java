@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -61,12 +60,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  */
 public class HttpConnectionTest extends JerseyTest {
 
-    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private static final HashedWheelTimer scheduler = new HashedWheelTimer(Executors.defaultThreadFactory(), 10,
+            TimeUnit.MILLISECONDS, 512);
     private static final Throwable testError = new Throwable();
 
     @AfterAll
     public static void cleanUp() {
-        scheduler.shutdownNow();
+        scheduler.stop();
     }
 
     @Test
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.jdk.connector.JdkConnectorProperties;
+import org.glassfish.jersey.jdk.connector.JdkConnectorProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test of HTTP/1.1 pipelining enabled by {@link JdkConnectorProperties#MAX_PIPELINED_REQUESTS}.
+ */
+public class PipeliningTest {
+
+    private TestServer server;
+    private Client client;
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testPipelinedRequests() throws Exception {
+        // the server does not respond until it has received 3 requests, which cannot happen without pipelining
+        server = new TestServer(3, -1);
+        client = createClient(3);
+
+        final List<Future<String>> responses = new ArrayList<>();
+        for (String path : new String[] {"a", "b", "c"}) {
+            responses.add(client.target(server.getUri()).path(path).request().async().get(String.class));
+        }
+
+        assertEquals("/a", responses.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("/b", responses.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals("/c", responses.get(2).get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getConnectionCount());
+        assertEquals(3, server.getMaxBatchSize());
+    }
+
+    @Test
+    public void testMaxPipelinedRequests() throws Exception {
+        server = new TestServer(3, -1);
+        client = createClient(2);
+
+        final List<Future<String>> responses = new ArrayList<>();
+        for (String path : new String[] {"a", "b", "c", "d"}) {
+            responses.add(client.target(server.getUri()).path(path).request().async().get(String.class));
+        }
+
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals("/" + (char) ('a' + i), responses.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, server.getMaxBatchSize());
+    }
+
+    @Test
+    public void testNonIdempotentRequestNotPipelined() throws Exception {
+        server = new TestServer(2, -1);
+        client = createClient(3);
+
+        final Future<String> get = client.target(server.getUri()).path("a").request().async().get(String.class);
+        final Future<String> post = client.target(server.getUri()).path("b").request().async()
+                .post(Entity.text("entity"), String.class);
+
+        assertEquals("/a", get.get(5, TimeUnit.SECONDS));
+        assertEquals("/b", post.get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getMaxBatchSize());
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        server = new TestServer(2, -1);
+        client = createClient(JdkConnectorProperties.DEFAULT_MAX_PIPELINED_REQUESTS);
+
+        final Future<String> first = client.target(server.getUri()).path("a").request().async().get(String.class);
+        final Future<String> second = client.target(server.getUri()).path("b").request().async().get(String.class);
+
+        assertEquals("/a", first.get(5, TimeUnit.SECONDS));
+        assertEquals("/b", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getMaxBatchSize());
+    }
+
+    @Test
+    public void testUnansweredRequestsResent() throws Exception {
+        // the first connection answers only the first request and closes
+        server = new TestServer(2, 1);
+        client = createClient(2);
+
+        final Future<String> first = client.target(server.getUri()).path("a").request().async().get(String.class);
+        final Future<String> second = client.target(server.getUri()).path("b").request().async().get(String.class);
+
+        assertEquals("/a", first.get(5, TimeUnit.SECONDS));
+        assertEquals("/b", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    private static Client createClient(int maxPipelinedRequests) {
+        final ClientConfig config = new ClientConfig();
+        config.connectorProvider(new JdkConnectorProvider());
+        config.property(JdkConnectorProperties.MAX_CONNECTIONS_PER_DESTINATION, 1);
+        config.property(JdkConnectorProperties.MAX_PIPELINED_REQUESTS, maxPipelinedRequests);
+        return ClientBuilder.newClient(config);
+    }
+
+    /**
+     * A server collecting the requests received over a connection into batches. The requests of a batch are answered
+     * once the batch is full or no other request arrives for a while.
+     */
+    private static class TestServer {
+
+        private static final int BATCH_TIMEOUT = 500;
+
+        private final int batchSize;
+        private final int closeAfter;
+        private final ServerSocket serverSocket;
+        private final ExecutorService executorService = Executors.newCachedThreadPool();
+        private final AtomicInteger connectionCount = new AtomicInteger();
+        private final AtomicInteger maxBatchSize = new AtomicInteger();
+
+        private volatile boolean stopped = false;
+
+        /**
+         * @param batchSize  maximal number of requests answered at once.
+         * @param closeAfter number of responses after which the first connection is closed, {@code -1} for never.
+         */
+        TestServer(int batchSize, int closeAfter) throws IOException {
+            this.batchSize = batchSize;
+            this.closeAfter = closeAfter;
+            serverSocket = new ServerSocket(0);
+            executorService.execute(() -> {
+                try {
+                    while (!stopped) {
+                        final Socket socket = serverSocket.accept();
+                        final int connection = connectionCount.incrementAndGet();
+                        executorService.execute(() -> handleConnection(socket, connection));
+                    }
+                } catch (IOException e) {
+                    // do nothing
+                }
+            });
+        }
+
+        String getUri() {
+            return "http://localhost:" + serverSocket.getLocalPort();
+        }
+
+        int getConnectionCount() {
+            return connectionCount.get();
+        }
+
+        int getMaxBatchSize() {
+            return maxBatchSize.get();
+        }
+
+        private void handleConnection(Socket socket, int connection) {
+            try {
+                final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                final OutputStream outputStream = socket.getOutputStream();
+                int responses = 0;
+
+                while (!stopped) {
+                    final List<String> batch = new ArrayList<>();
+                    while (batch.size() < batchSize) {
+                        socket.setSoTimeout(batch.isEmpty() ? 0 : BATCH_TIMEOUT);
+                        final String path;
+                        try {
+                            path = readRequest(reader);
+                        } catch (SocketTimeoutException e) {
+                            break;
+                        }
+                        if (path == null) {
+                            return;
+                        }
+                        batch.add(path);
+                    }
+
+                    maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+
+                    for (String path : batch) {
+                        responses++;
+                        final boolean close = connection == 1 && responses == closeAfter;
+                        final String response = "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: "
+                                + path.length() + "\r\n" + (close ? "Connection: Close\r\n" : "") + "\r\n" + path;
+                        outputStream.write(response.getBytes(StandardCharsets.ISO_8859_1));
+                        outputStream.flush();
+                        if (close) {
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // do nothing
+            } finally {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // do nothing
+                }
+            }
+        }
+
+        private static String readRequest(BufferedReader reader) throws IOException {
+            final String requestLine = reader.readLine();
+            if (requestLine == null) {
+                return null;
+            }
+
+            int contentLength = 0;
+            String line;
+            while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                if (line.toLowerCase().startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                }
+            }
+
+            for (int i = 0; i < contentLength; i++) {
+                reader.read();
+            }
+
+            return requestLine.split(" ")[1];
+        }
+
+        void stop() throws IOException {
+            stopped = true;
+            serverSocket.close();
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.netty.connector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+
+/**
+ * Pool of the HTTP/2 connections the requests are multiplexed over.
+ * <p>
+ * A connection is shared by the concurrent requests to the same destination up to the maximum number of concurrent
+ * streams allowed by the server. A new connection is opened only if all the pooled connections reached the limit and
+ * the number of connections to the destination is below the configured maximum, otherwise the requests wait for a stream
+ * to be released.
+ * </p>
+ */
+class Http2ConnectionPool {
+
+    /**
+     * Opens a new connection to the destination.
+     */
+    interface Connect {
+
+        /**
+         * Open a new connection.
+         *
+         * @return new connection, an HTTP/1.1 connection if HTTP/2 has not been selected by the server.
+         * @throws InterruptedException if interrupted while waiting for the connection to be established.
+         */
+        Channel connect() throws InterruptedException;
+    }
+
+    private final int maxConnections;
+
+    // guarded by this
+    private final Map<String, List<Channel>> connections = new HashMap<>();
+    private final Map<Channel, Integer> streams = new HashMap<>();
+    private final Map<String, Integer> pending = new HashMap<>();
+    private final Set<String> http1Destinations = new HashSet<>();
+
+    /**
+     * Create a new pool.
+     *
+     * @param maxConnections maximum number of HTTP/2 connections per destination.
+     */
+    Http2ConnectionPool(final int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Check whether the channel is an HTTP/2 connection.
+     *
+     * @param channel channel to be checked.
+     * @return {@code true} if the HTTP/2 protocol is used.
+     */
+    static boolean isHttp2(final Channel channel) {
+        return channel.pipeline().get(Http2FrameCodec.class) != null;
+    }
+
+    /**
+     * Reserve a stream of a connection to the destination.
+     * <p>
+     * Returns the least loaded pooled connection which is able to open a new stream, or a new connection. The new
+     * connection is an HTTP/1.1 connection in case the server has not selected HTTP/2, the method returns {@code null}
+     * for such a destination from then on. The stream reserved in an HTTP/2 connection MUST be {@link #release(Channel)
+     * released} once the request is done.
+     * </p>
+     *
+     * @param key     destination key.
+     * @param connect opens a new connection to the destination.
+     * @param mayWait {@code false} if the calling thread must not wait for a stream to be released, the least loaded
+     *                connection is returned in such case.
+     * @return HTTP/2 connection, a new HTTP/1.1 connection or {@code null} if the destination does not support HTTP/2.
+     * @throws InterruptedException if interrupted while waiting for a connection.
+     */
+    Channel acquire(final String key, final Connect connect, final boolean mayWait) throws InterruptedException {
+        synchronized (this) {
+            while (true) {
+                if (http1Destinations.contains(key)) {
+                    return null;
+                }
+
+                final List<Channel> channels = connections.getOrDefault(key, new ArrayList<>(0));
+                Channel available = leastLoaded(channels, true);
+                if (available == null) {
+                    final int connecting = pending.getOrDefault(key, 0);
+                    if (channels.size() + connecting < maxConnections) {
+                        pending.put(key, connecting + 1);
+                        break;
+                    }
+                    if (!mayWait) {
+                        available = leastLoaded(channels, false);
+                    }
+                }
+                if (available != null) {
+                    streams.merge(available, 1, Integer::sum);
+                    return available;
+                }
+                wait();
+            }
+        }
+
+        Channel channel = null;
+        try {
+            channel = connect.connect();
+            return channel;
+        } finally {
+            synchronized (this) {
+                pending.compute(key, (k, count) -> count == 1 ? null : count - 1);
+                if (channel != null) {
+                    if (isHttp2(channel)) {
+                        add(key, channel);
+                    } else {
+                        http1Destinations.add(key);
+                    }
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Release a stream reserved by {@link #acquire(String, Connect, boolean)}.
+     *
+     * @param channel HTTP/2 connection.
+     */
+    synchronized void release(final Channel channel) {
+        streams.computeIfPresent(channel, (c, count) -> count - 1);
+        notifyAll();
+    }
+
+    private void add(final String key, final Channel channel) {
+        connections.computeIfAbsent(key, k -> new ArrayList<>()).add(channel);
+        streams.put(channel, 1);
+        channel.closeFuture().addListener(future -> remove(key, channel));
+    }
+
+    private synchronized void remove(final String key, final Channel channel) {
+        final List<Channel> channels = connections.get(key);
+        if (channels != null && channels.remove(channel) && channels.isEmpty()) {
+            connections.remove(key);
+        }
+        streams.remove(channel);
+        notifyAll();
+    }
+
+    private Channel leastLoaded(final List<Channel> channels, final boolean belowLimit) {
+        Channel result = null;
+        int resultStreams = Integer.MAX_VALUE;
+        for (final Channel channel : channels) {
+            final Http2Connection connection = connection(channel);
+            if (connection == null || !channel.isActive() || connection.goAwayReceived() || connection.goAwaySent()) {
+                continue;
+            }
+            // the streams are reserved before they are created, the active streams of the connection cannot be used
+            final int reserved = streams.getOrDefault(channel, 0);
+            if ((!belowLimit || reserved < connection.local().maxActiveStreams()) && reserved < resultStreams) {
+                result = channel;
+                resultStreams = reserved;
+            }
+        }
+        return result;
+    }
+
+    private static Http2Connection connection(final Channel channel) {
+        final Http2FrameCodec codec = channel.pipeline().get(Http2FrameCodec.class);
+        return codec == null ? null : codec.connection();
+    }
+
+    /**
+     * Closes the HTTP/2 connection once it has been idle, i.e. without any active stream, for the idle timeout.
+     */
+    static class PruneIdleConnection extends ChannelDuplexHandler {
+
+        @Override
+        public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                final Http2Connection connection = connection(ctx.channel());
+                if (((IdleStateEvent) evt).state() == IdleState.ALL_IDLE
+                        && (connection == null || connection.numActiveStreams() == 0)) {
+                    ctx.close();
+                }
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
+}
@@ -167,7 +167,24 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             if ((response.headers().contains(HttpHeaderNames.CONTENT_LENGTH) && HttpUtil.getContentLength(response) > 0)
                     || HttpUtil.isTransferEncodingChunked(response)) {
 
-                nis = new NettyInputStream();
+                nis = ctx.channel().config().isAutoRead()
+                        ? new NettyInputStream()
+                        : new NettyInputStream() {
+                            @Override
+                            protected void demand() {
+                                // e.g. an HTTP/2 stream, the flow control window is updated once the data are read
+                                ctx.channel().read();
+                            }
+
+                            @Override
+                            public void close() {
+                                super.close();
+                                if (!responseDone.isDone()) {
+                                    // the rest of the entity is not going to be read, abort the stream
+                                    ctx.close();
+                                }
+                            }
+                        };
                 responseDone.whenComplete((_r, th) -> nis.complete(th));
 
                 jerseyResponse.setEntityStream(nis);
@@ -178,6 +195,8 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
                         return -1;
                     }
                 });
+                // no entity to wait for, read the rest of the response
+                ctx.channel().config().setAutoRead(true);
             }
         }
         if (msg instanceof HttpContent) {
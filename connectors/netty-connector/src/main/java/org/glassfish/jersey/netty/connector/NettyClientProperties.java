@@ -82,4 +82,48 @@ public class NettyClientProperties {
      * @see org.glassfish.jersey.netty.connector.internal.RedirectException
      */
     public static final String MAX_REDIRECTS = "jersey.config.client.NettyConnectorProvider.maxRedirects";
+
+    /**
+     * Enable HTTP/2.
+     * <p/>
+     * If enabled, the requests with {@code https} scheme offer HTTP/2 ({@code h2}) and HTTP/1.1 during the TLS handshake
+     * using ALPN and use HTTP/1.1 if the server does not select HTTP/2. The requests with {@code http} scheme use HTTP/2
+     * without an upgrade ({@code h2c} with prior knowledge), i.e. the server MUST support it.
+     * <p/>
+     * Concurrent HTTP/2 requests to the same destination are multiplexed as streams over at most
+     * {@link #MAX_HTTP2_CONNECTIONS} connections. The response entity of a stream is read from the connection only
+     * as fast as the application consumes it, the HTTP/2 flow control window of the stream limits the amount of
+     * data buffered for the response.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.39
+     */
+    public static final String HTTP2 = "jersey.config.client.netty.http2";
+
+    /**
+     * The maximum number of HTTP/2 connections, per destination, the HTTP/2 streams are multiplexed over.
+     * <p/>
+     * A new connection is opened only if the existing connections to the destination cannot open a new stream, since
+     * the number of concurrent streams allowed by the server is reached. Idle HTTP/2 connections are closed after
+     * {@link #IDLE_CONNECTION_PRUNE_TIMEOUT}.
+     * <p/>
+     * The value MUST be a positive {@link Integer}. The default value is {@value #DEFAULT_MAX_HTTP2_CONNECTIONS}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @since 2.39
+     * @see #HTTP2
+     */
+    public static final String MAX_HTTP2_CONNECTIONS = "jersey.config.client.netty.maxHttp2Connections";
+
+    /**
+     * The default maximum number of HTTP/2 connections per destination.
+     *
+     * @since 2.39
+     */
+    public static final int DEFAULT_MAX_HTTP2_CONNECTIONS = 2;
 }
@@ -31,10 +31,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
@@ -44,6 +46,7 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
@@ -63,9 +66,18 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.proxy.ProxyHandler;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty.handler.ssl.JdkSslContext;
@@ -75,6 +87,7 @@ import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.resolver.NoopAddressResolverGroup;
+import io.netty.util.concurrent.FastThreadLocalThread;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.ClientRequest;
@@ -115,12 +128,21 @@ class NettyConnector implements Connector {
     private final Integer maxPoolSize; // either from system property, or from Jersey config, or default
     private final Integer maxPoolSizeTotal; //either from Jersey config, or default
     private final Integer maxPoolIdle; // either from Jersey config, or default
+    private final Http2ConnectionPool http2Pool; // null unless HTTP/2 is enabled
 
     static final String INACTIVE_POOLED_CONNECTION_HANDLER = "inactive_pooled_connection_handler";
     private static final String PRUNE_INACTIVE_POOL = "prune_inactive_pool";
     private static final String READ_TIMEOUT_HANDLER = "read_timeout_handler";
     private static final String REQUEST_HANDLER = "request_handler";
 
+    // HTTP/2 preferred over HTTP/1.1 when HTTP/2 is enabled
+    private static final ApplicationProtocolConfig ALPN_CONFIG = new ApplicationProtocolConfig(
+            ApplicationProtocolConfig.Protocol.ALPN,
+            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+            ApplicationProtocolNames.HTTP_2,
+            ApplicationProtocolNames.HTTP_1_1);
+
     NettyConnector(Client client) {
 
         final Map<String, Object> properties = client.getConfiguration().getProperties();
@@ -153,6 +175,17 @@ class NettyConnector implements Connector {
         if (maxPoolSize < 0) {
             throw new ProcessingException(LocalizationMessages.WRONG_MAX_POOL_SIZE(maxPoolSize));
         }
+
+        if (ClientProperties.getValue(properties, NettyClientProperties.HTTP2, false, Boolean.class)) {
+            final int maxHttp2Connections = ClientProperties.getValue(properties, NettyClientProperties.MAX_HTTP2_CONNECTIONS,
+                    NettyClientProperties.DEFAULT_MAX_HTTP2_CONNECTIONS, Integer.class);
+            if (maxHttp2Connections <= 0) {
+                throw new ProcessingException(LocalizationMessages.WRONG_MAX_HTTP_2_CONNECTIONS(maxHttp2Connections));
+            }
+            http2Pool = new Http2ConnectionPool(maxHttp2Connections);
+        } else {
+            http2Pool = null;
+        }
     }
 
     @Override
@@ -198,114 +231,25 @@ class NettyConnector implements Connector {
 
         try {
 
-            String key = requestUri.getScheme() + "://" + host + ":" + port;
-            ArrayList<Channel> conns;
-            synchronized (connections) {
-               conns = connections.get(key);
-               if (conns == null) {
-                  conns = new ArrayList<>(0);
-                  connections.put(key, conns);
-               }
-            }
+            final String key = requestUri.getScheme() + "://" + host + ":" + port;
+            final Integer connectTimeout = jerseyRequest.resolveProperty(ClientProperties.CONNECT_TIMEOUT, 0);
 
             Channel chan = null;
-            synchronized (conns) {
-               while (chan == null && !conns.isEmpty()) {
-                  chan = conns.remove(conns.size() - 1);
-                  try {
-                      chan.pipeline().remove(INACTIVE_POOLED_CONNECTION_HANDLER);
-                      chan.pipeline().remove(PRUNE_INACTIVE_POOL);
-                  } catch (NoSuchElementException e) {
-                      /*
-                       *  Eat it.
-                       *  It could happen that the channel was closed, pipeline cleared and
-                       *  then it will fail to remove the names with this exception.
-                       */
-                  }
-                  if (!chan.isOpen()) {
-                      chan = null;
-                  }
-               }
+            if (http2Pool != null) {
+                // redirects are executed by the event loop, which must not wait for a stream to be released
+                final boolean mayWait = !(Thread.currentThread() instanceof FastThreadLocalThread);
+                chan = http2Pool.acquire(key, () -> connect(jerseyRequest, host, port, connectTimeout), mayWait);
+                if (chan != null && Http2ConnectionPool.isHttp2(chan)) {
+                    executeHttp2(jerseyRequest, chan, timeout, redirectUriHistory, responseAvailable, responseDone);
+                    return;
+                }
             }
 
-            Integer connectTimeout = jerseyRequest.resolveProperty(ClientProperties.CONNECT_TIMEOUT, 0);
-
             if (chan == null) {
-               Bootstrap b = new Bootstrap();
-
-               // http proxy
-               Optional<ClientProxy> proxy = ClientProxy.proxyFromRequest(jerseyRequest);
-               if (!proxy.isPresent()) {
-                   proxy = ClientProxy.proxyFromProperties(requestUri);
-               }
-               proxy.ifPresent(clientProxy -> {
-                   b.resolver(NoopAddressResolverGroup.INSTANCE); // request hostname resolved by the HTTP proxy
-               });
-
-               final Optional<ClientProxy> handlerProxy = proxy;
-
-               b.group(group)
-                .channel(NioSocketChannel.class)
-                .handler(new ChannelInitializer<SocketChannel>() {
-                    @Override
-                    protected void initChannel(SocketChannel ch) throws Exception {
-                     ChannelPipeline p = ch.pipeline();
-
-                     Configuration config = jerseyRequest.getConfiguration();
-
-                     // http proxy
-                     handlerProxy.ifPresent(clientProxy -> {
-                         final URI u = clientProxy.uri();
-                         InetSocketAddress proxyAddr = new InetSocketAddress(u.getHost(),
-                                 u.getPort() == -1 ? 8080 : u.getPort());
-                         ProxyHandler proxy1 = createProxyHandler(jerseyRequest, proxyAddr,
-                                 clientProxy.userName(), clientProxy.password(), connectTimeout);
-                         p.addLast(proxy1);
-                     });
-
-                     // Enable HTTPS if necessary.
-                     if ("https".equals(requestUri.getScheme())) {
-                         // making client authentication optional for now; it could be extracted to configurable property
-                         JdkSslContext jdkSslContext = new JdkSslContext(
-                                 client.getSslContext(),
-                                 true,
-                                 (Iterable) null,
-                                 IdentityCipherSuiteFilter.INSTANCE,
-                                 (ApplicationProtocolConfig) null,
-                                 ClientAuth.NONE,
-                                 (String[]) null, /* enable default protocols */
-                                 false /* true if the first write request shouldn't be encrypted */
-                         );
-
-                         final int port = requestUri.getPort();
-                         final SSLParamConfigurator sslConfig = SSLParamConfigurator.builder()
-                                 .request(jerseyRequest).setSNIAlways(true).build();
-                         final SslHandler sslHandler = jdkSslContext.newHandler(
-                                 ch.alloc(), sslConfig.getSNIHostName(), port <= 0 ? 443 : port, executorService
-                         );
-                         if (ClientProperties.getValue(config.getProperties(),
-                                                       NettyClientProperties.ENABLE_SSL_HOSTNAME_VERIFICATION, true)) {
-                             sslConfig.setEndpointIdentificationAlgorithm(sslHandler.engine());
-                         }
-
-                         sslConfig.setSNIServerName(sslHandler.engine());
-
-                         p.addLast(sslHandler);
-                     }
-
-                     p.addLast(new HttpClientCodec());
-                     p.addLast(new ChunkedWriteHandler());
-                     p.addLast(new HttpContentDecompressor());
-                    }
-                });
-
-               // connect timeout
-               if (connectTimeout > 0) {
-                   b.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
-               }
-
-               // Make the connection attempt.
-               chan = b.connect(host, port).sync().channel();
+                chan = acquirePooled(key);
+            }
+            if (chan == null) {
+                chan = connect(jerseyRequest, host, port, connectTimeout);
             }
 
             // assert: clientHandler will always notify responseDone: either normally, or exceptionally
@@ -358,84 +302,338 @@ class NettyConnector implements Connector {
                }
             });
 
-            HttpRequest nettyRequest;
-            String pathWithQuery = buildPathWithQueryParameters(requestUri);
+            writeRequest(jerseyRequest, ch, responseDone, false);
 
-            if (jerseyRequest.hasEntity()) {
-                nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
-                                                      HttpMethod.valueOf(jerseyRequest.getMethod()),
-                                                      pathWithQuery);
+        } catch (InterruptedException e) {
+            responseDone.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Get an idle pooled HTTP/1.1 connection to the destination.
+     */
+    private Channel acquirePooled(final String key) {
+        ArrayList<Channel> conns;
+        synchronized (connections) {
+           conns = connections.get(key);
+           if (conns == null) {
+              conns = new ArrayList<>(0);
+              connections.put(key, conns);
+           }
+        }
+
+        Channel chan = null;
+        synchronized (conns) {
+           while (chan == null && !conns.isEmpty()) {
+              chan = conns.remove(conns.size() - 1);
+              try {
+                  chan.pipeline().remove(INACTIVE_POOLED_CONNECTION_HANDLER);
+                  chan.pipeline().remove(PRUNE_INACTIVE_POOL);
+              } catch (NoSuchElementException e) {
+                  /*
+                   *  Eat it.
+                   *  It could happen that the channel was closed, pipeline cleared and
+                   *  then it will fail to remove the names with this exception.
+                   */
+              }
+              if (!chan.isOpen()) {
+                  chan = null;
+              }
+           }
+        }
+        return chan;
+    }
+
+    /**
+     * Open a new connection, the method returns once the connection is ready to be used for the requests, i.e. once
+     * the application protocol is selected in case of HTTP/2 over TLS.
+     */
+    private Channel connect(final ClientRequest jerseyRequest, final String host, final int port, final Integer connectTimeout)
+            throws InterruptedException {
+        final URI requestUri = jerseyRequest.getUri();
+        final boolean https = "https".equals(requestUri.getScheme());
+        final CompletableFuture<Void> negotiated = new CompletableFuture<>();
+
+        Bootstrap b = new Bootstrap();
+
+        // http proxy
+        Optional<ClientProxy> proxy = ClientProxy.proxyFromRequest(jerseyRequest);
+        if (!proxy.isPresent()) {
+            proxy = ClientProxy.proxyFromProperties(requestUri);
+        }
+        proxy.ifPresent(clientProxy -> {
+            b.resolver(NoopAddressResolverGroup.INSTANCE); // request hostname resolved by the HTTP proxy
+        });
+
+        final Optional<ClientProxy> handlerProxy = proxy;
+
+        b.group(group)
+         .channel(NioSocketChannel.class)
+         .handler(new ChannelInitializer<SocketChannel>() {
+             @Override
+             protected void initChannel(SocketChannel ch) throws Exception {
+              ChannelPipeline p = ch.pipeline();
+
+              Configuration config = jerseyRequest.getConfiguration();
+
+              // http proxy
+              handlerProxy.ifPresent(clientProxy -> {
+                  final URI u = clientProxy.uri();
+                  InetSocketAddress proxyAddr = new InetSocketAddress(u.getHost(),
+                          u.getPort() == -1 ? 8080 : u.getPort());
+                  ProxyHandler proxy1 = createProxyHandler(jerseyRequest, proxyAddr,
+                          clientProxy.userName(), clientProxy.password(), connectTimeout);
+                  p.addLast(proxy1);
+              });
+
+              // Enable HTTPS if necessary.
+              if (https) {
+                  // making client authentication optional for now; it could be extracted to configurable property
+                  JdkSslContext jdkSslContext = new JdkSslContext(
+                          client.getSslContext(),
+                          true,
+                          (Iterable) null,
+                          IdentityCipherSuiteFilter.INSTANCE,
+                          http2Pool == null ? null : ALPN_CONFIG,
+                          ClientAuth.NONE,
+                          (String[]) null, /* enable default protocols */
+                          false /* true if the first write request shouldn't be encrypted */
+                  );
+
+                  final int port = requestUri.getPort();
+                  final SSLParamConfigurator sslConfig = SSLParamConfigurator.builder()
+                          .request(jerseyRequest).setSNIAlways(true).build();
+                  final SslHandler sslHandler = jdkSslContext.newHandler(
+                          ch.alloc(), sslConfig.getSNIHostName(), port <= 0 ? 443 : port, executorService
+                  );
+                  if (ClientProperties.getValue(config.getProperties(),
+                                                NettyClientProperties.ENABLE_SSL_HOSTNAME_VERIFICATION, true)) {
+                      sslConfig.setEndpointIdentificationAlgorithm(sslHandler.engine());
+                  }
+
+                  sslConfig.setSNIServerName(sslHandler.engine());
+
+                  p.addLast(sslHandler);
+              }
+
+              if (http2Pool == null) {
+                  addHttp1Handlers(p);
+                  negotiated.complete(null);
+              } else if (https) {
+                  // the handlers are added once the protocol is selected by the server
+                  p.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                      @Override
+                      protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                          if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                              addHttp2Handlers(ctx.pipeline(), negotiated);
+                          } else {
+                              addHttp1Handlers(ctx.pipeline());
+                              negotiated.complete(null);
+                          }
+                      }
+
+                      @Override
+                      protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+                          negotiated.completeExceptionally(cause);
+                          super.handshakeFailure(ctx, cause);
+                      }
+                  });
+              } else {
+                  // HTTP/2 with prior knowledge
+                  addHttp2Handlers(p, negotiated);
+              }
+             }
+         });
+
+        // connect timeout
+        if (connectTimeout > 0) {
+            b.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+        }
+
+        // Make the connection attempt.
+        final Channel chan = b.connect(host, port).sync().channel();
+        chan.closeFuture().addListener(future -> negotiated.completeExceptionally(new IOException("Channel closed.")));
+        try {
+            // the protocol negotiation is a part of the connection establishment, limited by the connect timeout
+            if (connectTimeout > 0) {
+                negotiated.get(connectTimeout, TimeUnit.MILLISECONDS);
             } else {
-                nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
-                                                          HttpMethod.valueOf(jerseyRequest.getMethod()),
-                                                          pathWithQuery);
+                negotiated.get();
             }
+        } catch (ExecutionException e) {
+            chan.close();
+            throw new ProcessingException(e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            chan.close();
+            throw new ProcessingException(LocalizationMessages.PROTOCOL_NEGOTIATION_TIMEOUT(connectTimeout), e);
+        } catch (InterruptedException e) {
+            chan.close();
+            throw e;
+        }
+        return chan;
+    }
 
-            // headers
-            setHeaders(jerseyRequest, nettyRequest.headers());
+    private static void addHttp1Handlers(ChannelPipeline p) {
+        p.addLast(new HttpClientCodec());
+        p.addLast(new ChunkedWriteHandler());
+        p.addLast(new HttpContentDecompressor());
+    }
 
-            // host header - http 1.1
-            if (!nettyRequest.headers().contains(HttpHeaderNames.HOST)) {
-                nettyRequest.headers().add(HttpHeaderNames.HOST, jerseyRequest.getUri().getHost());
+    /**
+     * Add the HTTP/2 connection handlers, the {@code ready} future is completed once the settings of the server
+     * are received, so that the maximum number of concurrent streams is known.
+     */
+    private void addHttp2Handlers(ChannelPipeline p, CompletableFuture<Void> ready) {
+        p.addLast(new IdleStateHandler(0, 0, maxPoolIdle));
+        p.addLast(new Http2ConnectionPool.PruneIdleConnection());
+        p.addLast(Http2FrameCodecBuilder.forClient()
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                .build());
+        p.addLast(new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                // server push is disabled
+                ch.close();
             }
-
-            if (jerseyRequest.hasEntity()) {
-                // guard against prematurely closed channel
-                final GenericFutureListener<io.netty.util.concurrent.Future<? super Void>> closeListener =
-                    new GenericFutureListener<io.netty.util.concurrent.Future<? super Void>>() {
-                        @Override
-                        public void operationComplete(io.netty.util.concurrent.Future<? super Void> future) throws Exception {
-                            if (!responseDone.isDone()) {
-                                responseDone.completeExceptionally(new IOException("Channel closed."));
-                            }
-                        }
-                    };
-                ch.closeFuture().addListener(closeListener);
-                if (jerseyRequest.getLengthLong() == -1) {
-                    HttpUtil.setTransferEncodingChunked(nettyRequest, true);
-                } else {
-                    nettyRequest.headers().add(HttpHeaderNames.CONTENT_LENGTH, jerseyRequest.getLengthLong());
+        }));
+        p.addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                if (msg instanceof Http2SettingsFrame) {
+                    ready.complete(null);
                 }
+                ctx.fireChannelRead(msg);
+            }
+        });
+    }
 
-                // Send the HTTP request.
-                ch.writeAndFlush(nettyRequest);
-
-                final JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ch);
-                jerseyRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+    /**
+     * Send the request as a new stream of the HTTP/2 connection.
+     */
+    private void executeHttp2(final ClientRequest jerseyRequest, final Channel connection, final int timeout,
+                              final Set<URI> redirectUriHistory, final CompletableFuture<ClientResponse> responseAvailable,
+                              final CompletableFuture<?> responseDone) {
+        final JerseyClientHandler clientHandler =
+                new JerseyClientHandler(jerseyRequest, responseAvailable, responseDone, redirectUriHistory, this);
+        responseDone.whenComplete((_r, th) -> http2Pool.release(connection));
+
+        new Http2StreamChannelBootstrap(connection)
+                // the response entity is read as it is consumed, see NettyInputStream#demand()
+                .option(ChannelOption.AUTO_READ, false)
+                .handler(new ChannelInitializer<Http2StreamChannel>() {
                     @Override
-                    public OutputStream getOutputStream(int contentLength) throws IOException {
-                        return jerseyChunkedInput;
+                    protected void initChannel(Http2StreamChannel ch) {
+                        ChannelPipeline p = ch.pipeline();
+                        p.addLast(new Http2StreamFrameToHttpObjectCodec(false));
+                        p.addLast(new ChunkedWriteHandler());
+                        p.addLast(new HttpContentDecompressor());
+                        p.addLast(READ_TIMEOUT_HANDLER, new IdleStateHandler(0, 0, timeout, TimeUnit.MILLISECONDS));
+                        p.addLast(REQUEST_HANDLER, clientHandler);
                     }
+                })
+                .open()
+                .addListener((GenericFutureListener<io.netty.util.concurrent.Future<Http2StreamChannel>>) future -> {
+                    if (!future.isSuccess()) {
+                        responseDone.completeExceptionally(future.cause());
+                        responseAvailable.completeExceptionally(future.cause());
+                        return;
+                    }
+
+                    final Http2StreamChannel stream = future.getNow();
+                    // streams are not reused, the stream is closed (or reset if not completed yet) once the response is done
+                    responseDone.whenComplete((_r, th) -> {
+                        stream.close();
+                        if (th != null) {
+                            responseAvailable.completeExceptionally(th);
+                        }
+                    });
+
+                    writeRequest(jerseyRequest, stream, responseDone, true);
+                    stream.read();
                 });
+    }
 
-                if (HttpUtil.isTransferEncodingChunked(nettyRequest)) {
-                    ch.write(new HttpChunkedInput(jerseyChunkedInput));
-                } else {
-                    ch.write(jerseyChunkedInput);
-                }
+    /**
+     * Write the request and its entity (if any) to the channel, which is either an HTTP/1.1 connection
+     * or an HTTP/2 stream.
+     */
+    private void writeRequest(final ClientRequest jerseyRequest, final Channel ch, final CompletableFuture<?> responseDone,
+                              final boolean http2) {
+        HttpRequest nettyRequest;
+        String pathWithQuery = buildPathWithQueryParameters(jerseyRequest.getUri());
+
+        if (jerseyRequest.hasEntity()) {
+            nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                                                  HttpMethod.valueOf(jerseyRequest.getMethod()),
+                                                  pathWithQuery);
+        } else {
+            nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+                                                      HttpMethod.valueOf(jerseyRequest.getMethod()),
+                                                      pathWithQuery);
+        }
+
+        // headers
+        setHeaders(jerseyRequest, nettyRequest.headers());
 
-                executorService.execute(new Runnable() {
+        // host header - http 1.1
+        if (!nettyRequest.headers().contains(HttpHeaderNames.HOST)) {
+            nettyRequest.headers().add(HttpHeaderNames.HOST, jerseyRequest.getUri().getHost());
+        }
+
+        if (jerseyRequest.hasEntity()) {
+            // guard against prematurely closed channel
+            final GenericFutureListener<io.netty.util.concurrent.Future<? super Void>> closeListener =
+                new GenericFutureListener<io.netty.util.concurrent.Future<? super Void>>() {
                     @Override
-                    public void run() {
-                        // close listener is not needed any more.
-                        ch.closeFuture().removeListener(closeListener);
-
-                        try {
-                            jerseyRequest.writeEntity();
-                        } catch (IOException e) {
-                            responseDone.completeExceptionally(e);
+                    public void operationComplete(io.netty.util.concurrent.Future<? super Void> future) throws Exception {
+                        if (!responseDone.isDone()) {
+                            responseDone.completeExceptionally(new IOException("Channel closed."));
                         }
                     }
-                });
+                };
+            ch.closeFuture().addListener(closeListener);
+            if (jerseyRequest.getLengthLong() != -1) {
+                nettyRequest.headers().add(HttpHeaderNames.CONTENT_LENGTH, jerseyRequest.getLengthLong());
+            } else if (!http2) {
+                HttpUtil.setTransferEncodingChunked(nettyRequest, true);
+            }
+
+            // Send the HTTP request.
+            ch.writeAndFlush(nettyRequest);
 
-                ch.flush();
+            final JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ch);
+            jerseyRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+                @Override
+                public OutputStream getOutputStream(int contentLength) throws IOException {
+                    return jerseyChunkedInput;
+                }
+            });
+
+            if (http2 || HttpUtil.isTransferEncodingChunked(nettyRequest)) {
+                // HTTP/2 frames are encoded from the HTTP content, the last content ends the stream
+                ch.write(new HttpChunkedInput(jerseyChunkedInput));
             } else {
-                // Send the HTTP request.
-                ch.writeAndFlush(nettyRequest);
+                ch.write(jerseyChunkedInput);
             }
 
-        } catch (InterruptedException e) {
-            responseDone.completeExceptionally(e);
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    // close listener is not needed any more.
+                    ch.closeFuture().removeListener(closeListener);
+
+                    try {
+                        jerseyRequest.writeEntity();
+                    } catch (IOException e) {
+                        responseDone.completeExceptionally(e);
+                    }
+                }
+            });
+
+            ch.flush();
+        } else {
+            // Send the HTTP request.
+            ch.writeAndFlush(nettyRequest);
         }
     }
 
@@ -36,6 +36,10 @@ import org.glassfish.jersey.client.spi.ConnectorProvider;
  * </ul>
  * </p>
  * <p>
+ * HTTP/2 is enabled by {@link NettyClientProperties#HTTP2}, the concurrent requests to the same destination are
+ * then sent as streams multiplexed over a limited number of connections.
+ * </p>
+ * <p>
  * If a {@link org.glassfish.jersey.client.ClientResponse} is obtained and an entity is not read from the response then
  * {@link org.glassfish.jersey.client.ClientResponse#close()} MUST be called after processing the response to release
  * connection-based resources.
@@ -19,6 +19,11 @@ package org.glassfish.jersey.netty.connector.internal;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
@@ -27,19 +32,32 @@ import javax.inject.Provider;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledHeapByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.stream.ChunkedInput;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.spi.OutputBufferPool;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
 
 /**
  * Netty {@link ChunkedInput} implementation which also serves as an output
  * stream to Jersey {@link javax.ws.rs.container.ContainerResponseContext}.
+ * <p>
+ * Pooled entity buffers {@link OutputBufferPool.Handoff handed over} to the stream are passed to Netty without
+ * copying and returned into their pool once Netty releases the chunk.
+ * </p>
+ * <p>
+ * {@link ZeroCopyOutput Zero-copy} writes pass the byte buffers to Netty without copying, file regions are
+ * memory-mapped and written the same way.
+ * </p>
  *
  * @author Pavel Bucek
  */
-public class JerseyChunkedInput extends OutputStream implements ChunkedInput<ByteBuf>, ChannelFutureListener {
+public class JerseyChunkedInput extends OutputStream
+        implements ChunkedInput<ByteBuf>, ChannelFutureListener, OutputBufferPool.Handoff, ZeroCopyOutput {
 
     private static final ByteBuffer VOID = ByteBuffer.allocate(0);
     private static final int CAPACITY = Integer.getInteger("jersey.ci.capacity", 8);
@@ -47,6 +65,8 @@ public class JerseyChunkedInput extends OutputStream implements ChunkedInput<Byt
     private static final int READ_TIMEOUT = Integer.getInteger("jersey.ci.write.timeout", 10000);
 
     private final LinkedBlockingDeque<ByteBuffer> queue = new LinkedBlockingDeque<>(CAPACITY);
+    private final Map<ByteBuffer, OutputBufferPool> pooled = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Set<ByteBuffer> wrapped = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
     private final Channel ctx;
     private final ChannelFuture future;
 
@@ -82,6 +102,8 @@ public class JerseyChunkedInput extends OutputStream implements ChunkedInput<Byt
         // forcibly closed connection.
         open = false;
         queue.clear();
+        pooled.clear();
+        wrapped.clear();
 
         close();
         removeCloseListener();
@@ -119,6 +141,16 @@ public class JerseyChunkedInput extends OutputStream implements ChunkedInput<Byt
         }
 
         int topRemaining = top.remaining();
+        OutputBufferPool pool = pooled.remove(top);
+        if (pool != null) {
+            offset += topRemaining;
+            return new PooledHeapByteBuf(allocator, top.array(), topRemaining, pool);
+        }
+        if (wrapped.remove(top)) {
+            offset += topRemaining;
+            return Unpooled.wrappedBuffer(top);
+        }
+
         ByteBuf buffer = allocator.buffer(topRemaining);
 
         buffer.setBytes(0, top);
@@ -196,6 +228,47 @@ public class JerseyChunkedInput extends OutputStream implements ChunkedInput<Byt
         });
     }
 
+    @Override
+    public void writePooled(final byte[] buffer, final int length, final OutputBufferPool pool) throws IOException {
+        final ByteBuffer wrapped = ByteBuffer.wrap(buffer, 0, length);
+        pooled.put(wrapped, pool);
+        try {
+            write(new Provider<ByteBuffer>() {
+                @Override
+                public ByteBuffer get() {
+                    return wrapped;
+                }
+            });
+        } catch (IOException e) {
+            pooled.remove(wrapped);
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer) throws IOException {
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        wrapped.add(buffer);
+        try {
+            write(new Provider<ByteBuffer>() {
+                @Override
+                public ByteBuffer get() {
+                    return buffer;
+                }
+            });
+        } catch (IOException e) {
+            wrapped.remove(buffer);
+            throw e;
+        }
+    }
+
+    @Override
+    public void transferFrom(final FileChannel channel, final long position, final long count) throws IOException {
+        ReaderWriter.writeMapped(channel, position, count, this);
+    }
+
     @Override
     public void flush() throws IOException {
         ctx.flush();
@@ -221,4 +294,23 @@ public class JerseyChunkedInput extends OutputStream implements ChunkedInput<Byt
             throw new IOException("Stream already closed.");
         }
     }
+
+    /**
+     * Heap buffer wrapping a pooled array, returns the array into the pool when deallocated.
+     */
+    private static final class PooledHeapByteBuf extends UnpooledHeapByteBuf {
+
+        private final OutputBufferPool pool;
+
+        private PooledHeapByteBuf(ByteBufAllocator allocator, byte[] array, int length, OutputBufferPool pool) {
+            super(allocator, array, array.length);
+            this.pool = pool;
+            setIndex(0, length);
+        }
+
+        @Override
+        protected void freeArray(byte[] array) {
+            pool.release(array);
+        }
+    }
 }
@@ -21,6 +21,9 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 
+import org.glassfish.jersey.netty.connector.LocalizationMessages;
+import org.glassfish.jersey.spi.NonBlockingInput;
+
 import io.netty.buffer.ByteBuf;
 
 /**
@@ -28,10 +31,12 @@ import io.netty.buffer.ByteBuf;
  * <p>
  * Converts Netty NIO buffers to an input streams and stores them in the queue,
  * waiting for Jersey to process it.
+ * <p>
+ * The stream can also be read without blocking, see {@link NonBlockingInput}.
  *
  * @author Pavel Bucek
  */
-public class NettyInputStream extends InputStream {
+public class NettyInputStream extends InputStream implements NonBlockingInput {
 
     private volatile boolean end = false;
     private Throwable cause;
@@ -43,6 +48,11 @@ public class NettyInputStream extends InputStream {
     private byte[] ONE_BYTE;
     private boolean reading;
 
+    private NonBlockingInput.Listener listener;
+    // the listener is notified when the data are published after isReady returned false
+    private boolean notifyListener;
+    private boolean endNotified;
+
     public NettyInputStream() {
         this.isList = new ArrayDeque<>();
     }
@@ -109,6 +119,8 @@ public class NettyInputStream extends InputStream {
              return null;
           }
 
+          demand();
+
           try {
              reading = true;
              wait();
@@ -122,9 +134,31 @@ public class NettyInputStream extends InputStream {
        return current.nioBuffer().asReadOnlyBuffer();
     }
 
+    /**
+     * Invoked when the stream is about to wait for the next published buffer, i.e. all the published buffers
+     * have been consumed.
+     * <p>
+     * Can be overridden to request more data from a channel that is not read automatically, so that the data are only
+     * read from the channel as fast as the stream is consumed. The default implementation does nothing.
+     * </p>
+     *
+     * @since 2.39
+     */
+    protected void demand() {
+    }
+
     public void complete(Throwable cause) {
        this.cause = cause;
        cleanup(cause != null);
+
+       final boolean notify;
+       synchronized (this) {
+          notify = notifyListener;
+          notifyListener = false;
+       }
+       if (notify) {
+          notifyEnd();
+       }
     }
 
     protected synchronized void cleanup(boolean drain) {
@@ -146,15 +180,74 @@ public class NettyInputStream extends InputStream {
         return buffer == null ? 0 : buffer.remaining();
     }
 
-    public synchronized void publish(ByteBuf content) {
-       if (end || content.nioBuffer().remaining() == 0) {
-          content.release();
-          return;
+    public void publish(ByteBuf content) {
+       final NonBlockingInput.Listener toNotify;
+       synchronized (this) {
+          if (end || content.nioBuffer().remaining() == 0) {
+             content.release();
+             return;
+          }
+
+          isList.add(content);
+          if (reading) {
+             notifyAll();
+          }
+
+          toNotify = notifyListener ? listener : null;
+          notifyListener = false;
        }
 
-       isList.add(content);
-       if (reading) {
-          notifyAll();
+       if (toNotify != null) {
+          toNotify.onDataAvailable();
+       }
+    }
+
+    @Override
+    public boolean isReady() {
+       synchronized (this) {
+          if (current != null || !isList.isEmpty()) {
+             return true;
+          }
+
+          if (!end) {
+             notifyListener = true;
+             demand();
+             return false;
+          }
+       }
+
+       notifyEnd();
+       return false;
+    }
+
+    @Override
+    public void setReadListener(NonBlockingInput.Listener listener) {
+       synchronized (this) {
+          if (this.listener != null) {
+             throw new IllegalStateException(LocalizationMessages.READ_LISTENER_SET_ONLY_ONCE());
+          }
+          this.listener = listener;
+       }
+
+       if (isReady()) {
+          listener.onDataAvailable();
+       }
+    }
+
+    private void notifyEnd() {
+       final NonBlockingInput.Listener toNotify;
+       synchronized (this) {
+          if (listener == null || endNotified) {
+             return;
+          }
+          endNotified = true;
+          toNotify = listener;
+       }
+
+       if (cause == null) {
+          toNotify.onAllDataRead();
+       } else {
+          toNotify.onError(cause);
        }
     }
 
@@ -166,6 +259,10 @@ public class NettyInputStream extends InputStream {
         buffer = null;
         current = null;
 
+        listener = null;
+        notifyListener = false;
+        endNotified = false;
+
         isList.clear();
     }
 }
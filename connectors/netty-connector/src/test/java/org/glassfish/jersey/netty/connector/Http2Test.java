@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.netty.connector;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the HTTP/2 (h2c with prior knowledge) support of the Netty connector against a plain Netty HTTP/2 server.
+ */
+public class Http2Test {
+
+    private static final int LARGE_ENTITY_SIZE = 1024 * 1024 + 17;
+    private static final int MAX_CONCURRENT_STREAMS = 4;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger streams = new AtomicInteger();
+    private final AtomicReference<ChannelFuture> largeWrite = new AtomicReference<>();
+
+    private EventLoopGroup serverGroup;
+    private Channel server;
+    private URI baseUri;
+    private Client client;
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        serverGroup = new NioEventLoopGroup();
+        server = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        connections.incrementAndGet();
+                        ch.pipeline().addLast(Http2FrameCodecBuilder.forServer()
+                                .initialSettings(Http2Settings.defaultSettings().maxConcurrentStreams(MAX_CONCURRENT_STREAMS))
+                                .build());
+                        ch.pipeline().addLast(new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                            @Override
+                            protected void initChannel(Http2StreamChannel stream) {
+                                streams.incrementAndGet();
+                                stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true));
+                                stream.pipeline().addLast(new HttpObjectAggregator(16 * 1024 * 1024));
+                                stream.pipeline().addLast(new ServerHandler());
+                            }
+                        }));
+                    }
+                })
+                .bind(0).sync().channel();
+        baseUri = URI.create("http://localhost:" + ((InetSocketAddress) server.localAddress()).getPort());
+
+        client = ClientBuilder.newClient(new ClientConfig()
+                .property(NettyClientProperties.HTTP2, true)
+                .connectorProvider(new NettyConnectorProvider()));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        client.close();
+        server.close().sync();
+        serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+
+    private class ServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            final String path = request.uri();
+            if (path.startsWith("/echo")) {
+                final FullHttpResponse response = response(request.content().retain());
+                response.headers().set(HttpHeaderNames.CONTENT_TYPE, request.headers().get(HttpHeaderNames.CONTENT_TYPE));
+                ctx.writeAndFlush(response);
+            } else if (path.startsWith("/large")) {
+                largeWrite.set(ctx.writeAndFlush(response(Unpooled.wrappedBuffer(createLargeEntity()))));
+            } else if (path.startsWith("/delay")) {
+                ctx.executor().schedule(() -> ctx.writeAndFlush(response(Unpooled.copiedBuffer(
+                        "delayed", StandardCharsets.UTF_8))), 200, TimeUnit.MILLISECONDS);
+            } else {
+                ctx.writeAndFlush(response(Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8)));
+            }
+        }
+
+        private FullHttpResponse response(final ByteBuf content) {
+            final FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, content);
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+            return response;
+        }
+    }
+
+    private static byte[] createLargeEntity() {
+        final byte[] entity = new byte[LARGE_ENTITY_SIZE];
+        for (int i = 0; i < entity.length; i++) {
+            entity[i] = (byte) (i % 127);
+        }
+        return entity;
+    }
+
+    @Test
+    public void testGet() {
+        final Response response = client.target(baseUri).path("hello").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("hello", response.readEntity(String.class));
+        assertEquals(1, streams.get());
+    }
+
+    @Test
+    public void testPost() {
+        assertEquals("post", client.target(baseUri).path("echo").request().post(Entity.text("post"), String.class));
+
+        final byte[] entity = createLargeEntity();
+        assertArrayEquals(entity, client.target(baseUri).path("echo").request()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM_TYPE), byte[].class));
+    }
+
+    @Test
+    public void testPostChunked() {
+        final StreamingOutput entity = output -> {
+            final byte[] bytes = createLargeEntity();
+            for (int i = 0; i < bytes.length; i += 1000) {
+                output.write(bytes, i, Math.min(1000, bytes.length - i));
+            }
+        };
+        final byte[] echoed = client.target(baseUri).path("echo")
+                .property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.CHUNKED)
+                .request()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM_TYPE), byte[].class);
+        assertArrayEquals(createLargeEntity(), echoed);
+    }
+
+    @Test
+    public void testStreamsMultiplexed() throws Exception {
+        final List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 3 * MAX_CONCURRENT_STREAMS; i++) {
+            responses.add(client.target(baseUri).path("delay").request().async().get(String.class));
+        }
+        for (final Future<String> response : responses) {
+            assertEquals("delayed", response.get(10, TimeUnit.SECONDS));
+        }
+
+        // the streams exceeding the server limit of concurrent streams wait for a released stream or a new connection
+        assertEquals(NettyClientProperties.DEFAULT_MAX_HTTP2_CONNECTIONS, connections.get());
+        assertEquals(3 * MAX_CONCURRENT_STREAMS, streams.get());
+    }
+
+    @Test
+    public void testMaxConnections() throws Exception {
+        client.property(NettyClientProperties.MAX_HTTP2_CONNECTIONS, 1);
+
+        final List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 2 * MAX_CONCURRENT_STREAMS; i++) {
+            responses.add(client.target(baseUri).path("delay").request().async().get(String.class));
+        }
+        for (final Future<String> response : responses) {
+            assertEquals("delayed", response.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    public void testResponseFlowControl() throws Exception {
+        final Response response = client.target(baseUri).path("large").request().get();
+        assertEquals(200, response.getStatus());
+
+        // the entity is not consumed, the server cannot send more than the stream flow control window
+        Thread.sleep(300);
+        assertFalse(largeWrite.get().isDone());
+
+        final byte[] entity = new byte[LARGE_ENTITY_SIZE];
+        try (InputStream stream = response.readEntity(InputStream.class)) {
+            int offset = 0;
+            int read;
+            while ((read = stream.read(entity, offset, entity.length - offset)) > 0) {
+                offset += read;
+            }
+            assertEquals(LARGE_ENTITY_SIZE, offset);
+            assertEquals(-1, stream.read());
+        }
+        assertArrayEquals(createLargeEntity(), entity);
+        assertTrue(largeWrite.get().await(5, TimeUnit.SECONDS));
+        assertTrue(largeWrite.get().isSuccess());
+    }
+
+    @Test
+    public void testConnectionReused() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("hello", client.target(baseUri).path("hello").request().get(String.class));
+        }
+        assertEquals(1, connections.get());
+        assertEquals(5, streams.get());
+    }
+
+    @Test
+    public void testNegotiationTimeout() throws Exception {
+        // the connection is accepted by the backlog, but the server never sends its settings
+        try (ServerSocket silent = new ServerSocket(0)) {
+            final long start = System.nanoTime();
+            final ProcessingException e = assertThrows(ProcessingException.class, () -> client
+                    .target("http://localhost:" + silent.getLocalPort())
+                    .property(ClientProperties.CONNECT_TIMEOUT, 500)
+                    .request().get());
+            assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5, "Not limited by the connect timeout");
+            assertTrue(hasCause(e, TimeoutException.class), e::toString);
+        }
+    }
+
+    private static boolean hasCause(Throwable throwable, final Class<? extends Throwable> type) {
+        while (throwable != null) {
+            if (type.isInstance(throwable)) {
+                return true;
+            }
+            throwable = throwable.getCause();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.netty.connector;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the HTTP/2 protocol negotiation (ALPN) of the Netty connector.
+ */
+public class Http2TlsTest {
+
+    private static final char[] PASSWORD = "secret".toCharArray();
+
+    private EventLoopGroup serverGroup;
+    private Channel server;
+    private Client client;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (client != null) {
+            client.close();
+        }
+        server.close().sync();
+        serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+
+    private static KeyStore keyStore(final String name) throws Exception {
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream stream = Http2TlsTest.class.getResourceAsStream("/" + name)) {
+            keyStore.load(stream, PASSWORD);
+        }
+        return keyStore;
+    }
+
+    private URI startServer(final boolean http2) throws Exception {
+        final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore("server-identity.jks"), PASSWORD);
+        final SslContextBuilder sslContextBuilder = SslContextBuilder.forServer(keyManagerFactory).sslProvider(SslProvider.JDK);
+        if (http2) {
+            sslContextBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1));
+        }
+        final SslContext sslContext = sslContextBuilder.build();
+
+        serverGroup = new NioEventLoopGroup();
+        server = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(sslContext.newHandler(ch.alloc()));
+                        ch.pipeline().addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                            @Override
+                            protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                                final ChannelPipeline p = ctx.pipeline();
+                                if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                                    p.addLast(Http2FrameCodecBuilder.forServer().build());
+                                    p.addLast(new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                                        @Override
+                                        protected void initChannel(Http2StreamChannel stream) {
+                                            stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true));
+                                            stream.pipeline().addLast(new HttpObjectAggregator(1024 * 1024));
+                                            stream.pipeline().addLast(new ProtocolHandler("h2"));
+                                        }
+                                    }));
+                                } else {
+                                    p.addLast(new HttpServerCodec());
+                                    p.addLast(new HttpObjectAggregator(1024 * 1024));
+                                    p.addLast(new ProtocolHandler("http/1.1"));
+                                }
+                            }
+                        });
+                    }
+                })
+                .bind(0).sync().channel();
+        return URI.create("https://localhost:" + ((InetSocketAddress) server.localAddress()).getPort());
+    }
+
+    private static Client createClient() throws Exception {
+        final TrustManagerFactory trustManagerFactory =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(keyStore("client-truststore.jks"));
+        final SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, trustManagerFactory.getTrustManagers(), null);
+
+        return ClientBuilder.newBuilder()
+                .withConfig(new ClientConfig()
+                        .property(NettyClientProperties.HTTP2, true)
+                        .connectorProvider(new NettyConnectorProvider()))
+                .sslContext(sslContext)
+                .build();
+    }
+
+    /**
+     * Responds with the name of the protocol used.
+     */
+    private static class ProtocolHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        private final String protocol;
+
+        private ProtocolHandler(final String protocol) {
+            this.protocol = protocol;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            final FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(protocol, StandardCharsets.UTF_8));
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            ctx.writeAndFlush(response);
+        }
+    }
+
+    @Test
+    public void testHttp2Negotiated() throws Exception {
+        final URI uri = startServer(true);
+        client = createClient();
+        for (int i = 0; i < 3; i++) {
+            final Response response = client.target(uri).request().get();
+            assertEquals(200, response.getStatus());
+            assertEquals("h2", response.readEntity(String.class));
+        }
+    }
+
+    @Test
+    public void testHttp11Fallback() throws Exception {
+        final URI uri = startServer(false);
+        client = createClient();
+        for (int i = 0; i < 3; i++) {
+            final Response response = client.target(uri).request().get();
+            assertEquals(200, response.getStatus());
+            assertEquals("http/1.1", response.readEntity(String.class));
+        }
+    }
+}
@@ -247,7 +247,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                     }
                 }
 
-                return grizzlyResponse.getOutputStream();
+                return new GrizzlyResponseOutputStream(grizzlyResponse);
             } finally {
                 logger.debugLog("{0} - writeResponseStatusAndHeaders() called", name);
             }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.grizzly2.httpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.spi.OutputBufferPool;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
+
+import org.glassfish.grizzly.http.io.OutputBuffer;
+import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.memory.HeapBuffer;
+
+/**
+ * Grizzly response output stream able to write pooled entity buffers, byte buffers and file regions without copying them.
+ * <p>
+ * A {@link OutputBufferPool.Handoff handed over} buffer is wrapped into a Grizzly {@link HeapBuffer} and passed to the
+ * response {@link OutputBuffer}. Grizzly disposes the buffer once written, the pooled array is returned into its pool then.
+ * </p>
+ * <p>
+ * {@link ZeroCopyOutput Zero-copy} writes wrap the byte buffer into a Grizzly buffer, file regions are memory-mapped and
+ * written the same way. The Grizzly file {@link OutputBuffer#sendfile sendfile} support is not used as it requires
+ * the response to be written asynchronously.
+ * </p>
+ */
+final class GrizzlyResponseOutputStream extends OutputStream implements OutputBufferPool.Handoff, ZeroCopyOutput {
+
+    private final OutputStream outputStream;
+    private final OutputBuffer outputBuffer;
+
+    GrizzlyResponseOutputStream(final Response response) {
+        this.outputStream = response.getOutputStream();
+        this.outputBuffer = response.getOutputBuffer();
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        outputStream.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b) throws IOException {
+        outputStream.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        outputStream.write(b, off, len);
+    }
+
+    @Override
+    public void writePooled(final byte[] buffer, final int length, final OutputBufferPool pool) throws IOException {
+        final PooledHeapBuffer heapBuffer = new PooledHeapBuffer(buffer, length, pool);
+        heapBuffer.allowBufferDispose(true);
+        outputBuffer.writeBuffer(heapBuffer);
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer) throws IOException {
+        outputBuffer.writeByteBuffer(buffer);
+    }
+
+    @Override
+    public void transferFrom(final FileChannel channel, final long position, final long count) throws IOException {
+        ReaderWriter.writeMapped(channel, position, count, this);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+
+    /**
+     * Heap buffer wrapping a pooled array, returns the array into the pool when disposed.
+     */
+    private static final class PooledHeapBuffer extends HeapBuffer {
+
+        private final OutputBufferPool pool;
+        private byte[] pooled;
+
+        private PooledHeapBuffer(final byte[] array, final int length, final OutputBufferPool pool) {
+            super(array, 0, length);
+            this.pool = pool;
+            this.pooled = array;
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            final byte[] array = pooled;
+            if (array != null) {
+                pooled = null;
+                pool.release(array);
+            }
+        }
+    }
+}
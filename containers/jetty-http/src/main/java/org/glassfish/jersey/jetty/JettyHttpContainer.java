@@ -63,6 +63,7 @@ import org.eclipse.jetty.continuation.Continuation;
 import org.eclipse.jetty.continuation.ContinuationListener;
 import org.eclipse.jetty.continuation.ContinuationSupport;
 import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.server.HttpOutput;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.server.handler.AbstractHandler;
@@ -289,7 +290,9 @@ public final class JettyHttpContainer extends AbstractHandler implements Contain
             }
 
             try {
-                return response.getOutputStream();
+                final OutputStream outputStream = response.getOutputStream();
+                return outputStream instanceof HttpOutput
+                        ? new JettyResponseOutputStream((HttpOutput) outputStream) : outputStream;
             } catch (final IOException ioe) {
                 throw new ContainerException("Error during writing out the response headers.", ioe);
             }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jetty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
+
+import org.eclipse.jetty.server.HttpOutput;
+
+/**
+ * Jetty response output stream able to write byte buffers and file regions without copying them.
+ * <p>
+ * Byte buffers are passed to the blocking {@link HttpOutput#write(ByteBuffer)}, file regions are memory-mapped and
+ * written the same way.
+ * </p>
+ */
+final class JettyResponseOutputStream extends OutputStream implements ZeroCopyOutput {
+
+    private final HttpOutput output;
+
+    JettyResponseOutputStream(final HttpOutput output) {
+        this.output = output;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        output.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b) throws IOException {
+        output.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        output.write(b, off, len);
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer) throws IOException {
+        output.write(buffer);
+    }
+
+    @Override
+    public void transferFrom(final FileChannel channel, final long position, final long count) throws IOException {
+        ReaderWriter.writeMapped(channel, position, count, this);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
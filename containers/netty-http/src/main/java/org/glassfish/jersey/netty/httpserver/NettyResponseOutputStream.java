@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.httpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.glassfish.jersey.netty.connector.internal.JerseyChunkedInput;
+import org.glassfish.jersey.spi.OutputBufferPool;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+
+/**
+ * Netty HTTP/1.1 response entity output stream.
+ * <p>
+ * The entity bytes are written through a {@link JerseyChunkedInput} which is created once the first bytes are written.
+ * File regions written before that are passed to Netty as a {@link DefaultFileRegion} so that the file is sent
+ * without being copied into the user space (unless the connection is encrypted). Other zero-copy writes and file regions
+ * written after the first bytes are passed to the chunked input.
+ * </p>
+ */
+final class NettyResponseOutputStream extends OutputStream implements OutputBufferPool.Handoff, ZeroCopyOutput {
+
+    private final ChannelHandlerContext ctx;
+    private final boolean chunked;
+
+    private JerseyChunkedInput input;
+    private boolean regionWritten;
+
+    /**
+     * Create new response output stream.
+     *
+     * @param ctx     channel handler context.
+     * @param chunked {@code true} if the response uses the chunked transfer encoding.
+     */
+    NettyResponseOutputStream(final ChannelHandlerContext ctx, final boolean chunked) {
+        this.ctx = ctx;
+        this.chunked = chunked;
+    }
+
+    private synchronized JerseyChunkedInput input() {
+        if (input == null) {
+            input = new JerseyChunkedInput(ctx.channel());
+            if (chunked) {
+                ctx.writeAndFlush(new HttpChunkedInput(input));
+            } else {
+                ctx.write(new HttpChunkedInput(input)).addListener(NettyResponseWriter.FLUSH_FUTURE);
+            }
+        }
+        return input;
+    }
+
+    private synchronized boolean isFileRegionSupported() {
+        return input == null
+                && !ctx.executor().inEventLoop()
+                && ctx.pipeline().get(SslHandler.class) == null;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        input().write(b);
+    }
+
+    @Override
+    public void write(final byte[] b) throws IOException {
+        input().write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        input().write(b, off, len);
+    }
+
+    @Override
+    public void writePooled(final byte[] buffer, final int length, final OutputBufferPool pool) throws IOException {
+        input().writePooled(buffer, length, pool);
+    }
+
+    @Override
+    public void write(final ByteBuffer buffer) throws IOException {
+        input().write(buffer);
+    }
+
+    @Override
+    public void transferFrom(final FileChannel channel, final long position, final long count) throws IOException {
+        if (!isFileRegionSupported()) {
+            input().transferFrom(channel, position, count);
+            return;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        final ChannelFuture future = ctx.writeAndFlush(new UnownedFileRegion(channel, position, count));
+        // the region must be written before the caller closes the channel
+        future.awaitUninterruptibly();
+        if (!future.isSuccess()) {
+            throw new IOException(future.cause());
+        }
+        regionWritten = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        final JerseyChunkedInput current;
+        synchronized (this) {
+            current = input;
+        }
+        if (current != null) {
+            current.flush();
+        } else {
+            ctx.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (input == null && regionWritten) {
+                ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+                return;
+            }
+        }
+        input().close();
+    }
+
+    /**
+     * File region that does not close the file channel owned by the caller when released.
+     */
+    private static final class UnownedFileRegion extends DefaultFileRegion {
+
+        private UnownedFileRegion(final FileChannel channel, final long position, final long count) {
+            super(channel, position, count);
+        }
+
+        @Override
+        protected void deallocate() {
+        }
+    }
+}
@@ -24,7 +24,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.glassfish.jersey.netty.connector.internal.JerseyChunkedInput;
 import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
@@ -34,11 +33,11 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpResponse;
-import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
@@ -103,6 +102,10 @@ class NettyResponseWriter implements ContainerResponseWriter {
             response.headers().add(e.getKey(), e.getValue());
         }
 
+        if (contentLength == -1) {
+            // the length declared by the application, e.g. of a large file entity written without being buffered
+            contentLength = declaredContentLength(response);
+        }
         if (contentLength == -1) {
             HttpUtil.setTransferEncodingChunked(response, true);
         } else {
@@ -117,14 +120,7 @@ class NettyResponseWriter implements ContainerResponseWriter {
 
         if (req.method() != HttpMethod.HEAD && (contentLength > 0 || contentLength == -1)) {
 
-            JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ctx.channel());
-
-            if (HttpUtil.isTransferEncodingChunked(response)) {
-                ctx.writeAndFlush(new HttpChunkedInput(jerseyChunkedInput));
-            } else {
-                ctx.write(new HttpChunkedInput(jerseyChunkedInput)).addListener(FLUSH_FUTURE);
-            }
-            return jerseyChunkedInput;
+            return new NettyResponseOutputStream(ctx, HttpUtil.isTransferEncodingChunked(response));
 
         } else {
             ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
@@ -132,6 +128,14 @@ class NettyResponseWriter implements ContainerResponseWriter {
         }
     }
 
+    private static long declaredContentLength(final HttpResponse response) {
+        try {
+            return HttpUtil.getContentLength(response, -1L);
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
     @Override
     public boolean suspend(long timeOut, TimeUnit timeUnit, final ContainerResponseWriter.TimeoutHandler
             timeoutHandler) {
@@ -24,6 +24,7 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -101,5 +102,9 @@ class ClientBinder extends AbstractBinder {
 
         // ChunkedInput entity support
         bind(ChunkedInputReader.class).to(MessageBodyReader.class).in(Singleton.class);
+
+        // Flow.Publisher entity support
+        bind(FlowPublisherReader.class).to(MessageBodyReader.class).in(Singleton.class);
+        bind(FlowPublisherWriter.class).to(MessageBodyWriter.class).in(Singleton.class);
     }
 }
@@ -36,6 +36,7 @@ import org.glassfish.jersey.model.internal.ManagedObjectsFinalizer;
 import org.glassfish.jersey.process.internal.AbstractExecutorProvidersConfigurator;
 import org.glassfish.jersey.spi.ExecutorServiceProvider;
 import org.glassfish.jersey.spi.ScheduledExecutorServiceProvider;
+import org.glassfish.jersey.spi.VirtualThreadExecutorProvider;
 
 /**
  * Configurator which initializes and register {@link ExecutorServiceProvider} and
@@ -81,6 +82,8 @@ class ClientExecutorProvidersConfigurator extends AbstractExecutorProvidersConfi
             // otherwise, check for ClientProperties.ASYNC_THREADPOOL_SIZE - if that is set, Jersey will create the
             // ExecutorService to be used. If not and running on Java EE container, ManagedExecutorService will be used.
             // Final fallback is DefaultClientAsyncExecutorProvider with defined default.
+        } else if (ClientProperties.getValue(runtimeProperties, ClientProperties.ASYNC_VIRTUAL_THREADS_ENABLED, false)) {
+            defaultAsyncExecutorProvider = new ClientVirtualThreadExecutorProvider();
         } else {
             // Default async request executors support
             Integer asyncThreadPoolSize = ClientProperties
@@ -202,6 +205,18 @@ class ClientExecutorProvidersConfigurator extends AbstractExecutorProvidersConfi
         }
     }
 
+    /**
+     * Default client async {@link ExecutorServiceProvider} used when {@link ClientProperties#ASYNC_VIRTUAL_THREADS_ENABLED}
+     * is enabled.
+     */
+    @ClientAsyncExecutor
+    static class ClientVirtualThreadExecutorProvider extends VirtualThreadExecutorProvider {
+
+        ClientVirtualThreadExecutorProvider() {
+            super("jersey-client-async-executor");
+        }
+    }
+
     @ClientBackgroundScheduler
     public static class ClientScheduledExecutorServiceProvider implements ScheduledExecutorServiceProvider {
 
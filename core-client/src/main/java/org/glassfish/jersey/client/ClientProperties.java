@@ -125,6 +125,30 @@ public final class ClientProperties {
      */
     public static final String ASYNC_THREADPOOL_SIZE = "jersey.config.client.async.threadPoolSize";
 
+    /**
+     * If {@code true} then the default executor used for asynchronous requests starts a new virtual thread for each request
+     * instead of using a thread pool. When enabled, {@link #ASYNC_THREADPOOL_SIZE} is ignored.
+     * <p>
+     * Virtual threads are only available since JDK 21, on older JDKs a cached thread pool is used instead
+     * (see {@link org.glassfish.jersey.spi.VirtualThreadExecutorProvider}).
+     * </p>
+     * <p>
+     * Note that the property is ignored if an executor service is set using
+     * {@link javax.ws.rs.client.ClientBuilder#executorService(java.util.concurrent.ExecutorService)} or if a custom
+     * {@link org.glassfish.jersey.spi.ExecutorServiceProvider} is configured to execute asynchronous requests in the client
+     * runtime (see {@link org.glassfish.jersey.client.ClientAsyncExecutor}).
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.39
+     */
+    public static final String ASYNC_VIRTUAL_THREADS_ENABLED = "jersey.config.client.async.virtualThreads.enabled";
+
     /**
      * Scheduler thread pool size.
      * <p>
@@ -426,6 +450,56 @@ public final class ClientProperties {
      */
     public static final String REQUEST_ENTITY_PROCESSING = "jersey.config.client.request.entity.processing";
 
+    /**
+     * If {@code true}, identical {@code GET} and {@code HEAD} requests without an entity are coalesced while in flight.
+     * <p>
+     * A request identical to a request that has already been sent by the client and whose response has not been received
+     * yet is not sent again; it gets a copy of the response to the request in flight instead. The requests are identical
+     * if they have the same method, URI and the same values of the headers specified by
+     * {@link #REQUEST_COALESCING_HEADERS}. The response entity is buffered once and each of the coalesced requests gets
+     * a response with its own entity stream.
+     * </p>
+     * <p>
+     * As the whole response entity of a coalesced request is read before the response is returned, streamed responses
+     * must not be coalesced. Requests accepting {@code text/event-stream} and requests invoked for a
+     * {@link ChunkedInput} or a {@code Flow.Publisher} response type (e.g. {@code target.request().get(ChunkedInput.class)})
+     * are never coalesced. Other requests whose response is read as a stream (e.g. a {@link javax.ws.rs.core.Response}
+     * whose entity is later read as a {@code ChunkedInput}) need to opt out by setting this property to {@code false}
+     * on the particular request (see {@link javax.ws.rs.client.Invocation.Builder#property(String, Object)}).
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see RequestCoalescingFeature
+     * @since 2.39
+     */
+    public static final String REQUEST_COALESCING = "jersey.config.client.requestCoalescing";
+
+    /**
+     * Names of the request headers whose values have to be equal for the requests to be coalesced
+     * (see {@link #REQUEST_COALESCING}).
+     * <p>
+     * The value MUST be an instance of {@link String} with comma separated header names or an instance
+     * of {@code String[]}.
+     * </p>
+     * <p>
+     * The default value is {@code Accept, Accept-Encoding, Accept-Language, Authorization, Cookie}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.39
+     */
+    public static final String REQUEST_COALESCING_HEADERS = "jersey.config.client.requestCoalescing.headers";
+
     /**
      * Allows for HTTP Expect:100-Continue being handled by the HttpUrlConnector (default Jersey
      * connector).
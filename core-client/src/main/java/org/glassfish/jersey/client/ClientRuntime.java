@@ -16,7 +16,10 @@
 
 package org.glassfish.jersey.client;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -42,6 +45,7 @@ import org.glassfish.jersey.internal.BootstrapBag;
 import org.glassfish.jersey.internal.Version;
 import org.glassfish.jersey.internal.inject.InjectionManager;
 import org.glassfish.jersey.internal.inject.Providers;
+import org.glassfish.jersey.internal.util.Tokenizer;
 import org.glassfish.jersey.internal.util.collection.LazyValue;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.internal.util.collection.Value;
@@ -63,10 +67,15 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
 
     private static final Logger LOG = Logger.getLogger(ClientRuntime.class.getName());
 
+    private static final Collection<String> DEFAULT_COALESCING_HEADERS = Arrays.asList(HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
     private final Stage<ClientRequest> requestProcessingRoot;
     private final Stage<ClientResponse> responseProcessingRoot;
 
     private final Connector connector;
+    private final Connector invocationConnector;
+    private final ConcurrencyLimiter concurrencyLimiter;
     private final ClientConfig config;
 
     private final RequestScope requestScope;
@@ -129,6 +138,19 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
                         ? injectionManager.getInstance(ScheduledExecutorService.class, ClientBackgroundSchedulerLiteral.INSTANCE)
                         : config.getScheduledExecutorService());
 
+        final List<HedgingPolicy> hedgingPolicies = injectionManager.getAllInstances(HedgingPolicy.class);
+        final Connector hedgingConnector = hedgingPolicies.isEmpty()
+                ? connector : new HedgingConnector(connector, hedgingPolicies.get(0), backgroundScheduler,
+                        asyncRequestExecutor);
+        this.invocationConnector = ClientProperties.getValue(config.getProperties(), ClientProperties.REQUEST_COALESCING,
+                false, Boolean.class)
+                ? new CoalescingConnector(hedgingConnector, getCoalescingHeaders(config), command -> asyncRequestExecutor.get()
+                        .execute(command))
+                : hedgingConnector;
+
+        final List<ConcurrencyLimiter> limiters = injectionManager.getAllInstances(ConcurrencyLimiter.class);
+        this.concurrencyLimiter = limiters.isEmpty() ? null : limiters.get(0);
+
         this.injectionManager = injectionManager;
         this.lifecycleListeners = Providers.getAllProviders(injectionManager, ClientLifecycleListener.class);
 
@@ -156,8 +178,10 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
             return () -> requestScope.runInScope(() -> processFailure(request, throwable, callback));
         }
 
+        // the concurrency limit permit is acquired once the task runs (a rejected task would never release it)
+        // and once the request filters have set the final request URI
         return () -> requestScope.runInScope(() -> {
-            RuntimeException runtimeException = null;
+            ResponseCallback responseCallback = callback;
             try {
                 ClientRequest processedRequest;
 
@@ -169,24 +193,29 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
                     return;
                 }
 
-                final AsyncConnectorCallback connectorCallback = new AsyncConnectorCallback() {
+                if (concurrencyLimiter != null) {
+                    responseCallback = concurrencyLimiter.acquire(processedRequest.getUri()).wrap(callback);
+                }
+                invocationConnector.apply(processedRequest, createConnectorCallback(request, responseCallback));
+            } catch (final Throwable throwable) {
+                processFailure(request, throwable, responseCallback);
+            }
+        });
+    }
 
-                    @Override
-                    public void response(final ClientResponse response) {
-                        requestScope.runInScope(() -> processResponse(request, response, callback));
-                    }
+    private AsyncConnectorCallback createConnectorCallback(final ClientRequest request, final ResponseCallback callback) {
+        return new AsyncConnectorCallback() {
 
-                    @Override
-                    public void failure(final Throwable failure) {
-                        requestScope.runInScope(() -> processFailure(request, failure, callback));
-                    }
-                };
+            @Override
+            public void response(final ClientResponse response) {
+                requestScope.runInScope(() -> processResponse(request, response, callback));
+            }
 
-                connector.apply(processedRequest, connectorCallback);
-            } catch (final Throwable throwable) {
-                processFailure(request, throwable, callback);
+            @Override
+            public void failure(final Throwable failure) {
+                requestScope.runInScope(() -> processFailure(request, failure, callback));
             }
-        });
+        };
     }
 
     @Override
@@ -255,6 +284,16 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
         return executor.submit(() -> requestScope.runInScope(task));
     }
 
+    private static Collection<String> getCoalescingHeaders(final ClientConfig config) {
+        final Object headers = config.getProperty(ClientProperties.REQUEST_COALESCING_HEADERS);
+        if (headers instanceof String[]) {
+            return Arrays.asList(Tokenizer.tokenize((String[]) headers));
+        } else if (headers != null) {
+            return Arrays.asList(Tokenizer.tokenize(headers.toString()));
+        }
+        return DEFAULT_COALESCING_HEADERS;
+    }
+
     private ClientRequest addUserAgent(final ClientRequest clientRequest, final String connectorName) {
         final MultivaluedMap<String, Object> headers = clientRequest.getHeaders();
 
@@ -293,11 +332,18 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
     public ClientResponse invoke(final ClientRequest request) {
         ProcessingException processingException = null;
         ClientResponse response = null;
+        ConcurrencyLimiter.Permit permit = null;
         try {
             preInvocationInterceptorStage.beforeRequest(request);
 
             try {
-                response = connector.apply(addUserAgent(Stages.process(request, requestProcessingRoot), connector.getName()));
+                final ClientRequest processedRequest =
+                        addUserAgent(Stages.process(request, requestProcessingRoot), connector.getName());
+                if (concurrencyLimiter != null) {
+                    // limited under the URI set by the request filters
+                    permit = concurrencyLimiter.acquire(processedRequest.getUri());
+                }
+                response = invocationConnector.apply(processedRequest);
             } catch (final AbortException aborted) {
                 response = aborted.getAbortResponse();
             }
@@ -311,6 +357,9 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
         } catch (final Throwable t) {
             processingException = new ProcessingException(t.getMessage(), t);
         } finally {
+            if (permit != null) {
+                permit.release(processingException != null);
+            }
             response = postInvocationInterceptorStage.afterRequest(request, response, processingException);
             return response;
         }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.message.internal.Statuses;
+
+/**
+ * Connector decorator coalescing identical in-flight requests (see {@link ClientProperties#REQUEST_COALESCING}).
+ * <p>
+ * A {@code GET} or {@code HEAD} request without an entity is sent only if there is no identical request (same method, URI
+ * and values of the {@link ClientProperties#REQUEST_COALESCING_HEADERS selected headers}) in flight. Otherwise the
+ * request waits for the response of the in-flight request. The response entity is buffered once and each of the
+ * coalesced requests gets its own response with an independent entity stream.
+ * </p>
+ * <p>
+ * Requests with the {@link ClientProperties#REQUEST_COALESCING} property set to {@code false}, requests accepting
+ * {@code text/event-stream} and requests invoked for a {@link ChunkedInput} or a {@code Flow.Publisher} response type
+ * are passed to the decorated connector directly.
+ * </p>
+ */
+class CoalescingConnector implements Connector {
+
+    private final Connector connector;
+    private final Collection<String> keyHeaders;
+    private final Executor executor;
+    private final Map<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new coalescing connector.
+     *
+     * @param connector  decorated connector.
+     * @param keyHeaders names of the request headers whose values have to match for the requests to be coalesced.
+     * @param executor   executor used to buffer the responses received asynchronously.
+     */
+    CoalescingConnector(final Connector connector, final Collection<String> keyHeaders, final Executor executor) {
+        this.connector = connector;
+        this.keyHeaders = keyHeaders;
+        this.executor = executor;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+        final String key = key(request);
+        if (key == null) {
+            return connector.apply(request);
+        }
+
+        final CompletableFuture<BufferedResponse> response = new CompletableFuture<>();
+        final CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, response);
+        if (existing != null) {
+            return await(existing).toResponse(request);
+        }
+
+        try {
+            final BufferedResponse buffered = BufferedResponse.read(connector.apply(request));
+            response.complete(buffered);
+            return buffered.toResponse(request);
+        } catch (final Throwable t) {
+            response.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, response);
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final String key = key(request);
+        if (key == null) {
+            return connector.apply(request, callback);
+        }
+
+        final CompletableFuture<BufferedResponse> response = new CompletableFuture<>();
+        final CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, response);
+        if (existing != null) {
+            return existing.whenComplete((buffered, failure) -> {
+                if (failure == null) {
+                    callback.response(buffered.toResponse(request));
+                } else {
+                    callback.failure(failure);
+                }
+            });
+        }
+
+        response.whenComplete((buffered, failure) -> inFlight.remove(key, response));
+        return connector.apply(request, new AsyncConnectorCallback() {
+            @Override
+            public void response(final ClientResponse clientResponse) {
+                // the entity is not read on the connector I/O thread
+                executor.execute(() -> {
+                    final BufferedResponse buffered;
+                    try {
+                        buffered = BufferedResponse.read(clientResponse);
+                    } catch (final Throwable t) {
+                        response.completeExceptionally(t);
+                        callback.failure(t);
+                        return;
+                    }
+                    response.complete(buffered);
+                    callback.response(buffered.toResponse(request));
+                });
+            }
+
+            @Override
+            public void failure(final Throwable failure) {
+                response.completeExceptionally(failure);
+                callback.failure(failure);
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return connector.getName();
+    }
+
+    @Override
+    public void close() {
+        connector.close();
+    }
+
+    /**
+     * Get the key identifying the identical requests.
+     *
+     * @param request client request.
+     * @return request key or {@code null} if the request must not be coalesced.
+     */
+    private String key(final ClientRequest request) {
+        final String method = request.getMethod();
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method) || request.hasEntity()) {
+            return null;
+        }
+
+        // coalescing disabled for the particular request
+        if (!request.resolveProperty(ClientProperties.REQUEST_COALESCING, true)) {
+            return null;
+        }
+
+        // streamed responses cannot be buffered
+        final String accept = request.getHeaderString(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.SERVER_SENT_EVENTS)) {
+            return null;
+        }
+
+        final StringBuilder key = new StringBuilder(method).append(' ').append(request.getUri());
+        for (String header : keyHeaders) {
+            final String value = request.getHeaderString(header);
+            if (value != null) {
+                key.append('\n').append(header).append(": ").append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static BufferedResponse await(final CompletableFuture<BufferedResponse> response) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return response.get();
+                } catch (final InterruptedException e) {
+                    // the request being coalesced with is not interrupted, wait for it
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof ProcessingException) {
+                        throw (ProcessingException) cause;
+                    }
+                    throw new ProcessingException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Response with the buffered entity.
+     */
+    private static final class BufferedResponse {
+
+        private final Response.StatusType status;
+        private final URI resolvedUri;
+        private final Map<String, List<String>> headers;
+        private final byte[] entity;
+
+        private BufferedResponse(final Response.StatusType status, final URI resolvedUri,
+                                 final Map<String, List<String>> headers, final byte[] entity) {
+            this.status = status;
+            this.resolvedUri = resolvedUri;
+            this.headers = headers;
+            this.entity = entity;
+        }
+
+        private static BufferedResponse read(final ClientResponse response) {
+            final Map<String, List<String>> headers = HeaderUtils.createInbound();
+            for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+
+            byte[] entity = null;
+            if (response.hasEntity()) {
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                try (InputStream entityStream = response.getEntityStream()) {
+                    ReaderWriter.writeTo(entityStream, buffer);
+                } catch (final IOException e) {
+                    throw new ProcessingException(LocalizationMessages.ERROR_BUFFERING_COALESCED_RESPONSE(), e);
+                }
+                entity = buffer.toByteArray();
+            }
+
+            return new BufferedResponse(Statuses.from(response.getStatusInfo().getStatusCode(),
+                    response.getStatusInfo().getReasonPhrase()), response.getResolvedRequestUri(), headers, entity);
+        }
+
+        private ClientResponse toResponse(final ClientRequest request) {
+            final ClientResponse response = new ClientResponse(status, request, resolvedUri);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                response.getHeaders().put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+            if (entity != null) {
+                response.setEntityStream(new ByteArrayInputStream(entity));
+            }
+            return response;
+        }
+    }
+}
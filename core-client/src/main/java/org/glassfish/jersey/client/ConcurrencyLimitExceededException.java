@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Exception thrown when a request is rejected because the number of requests in flight to the target host has reached
+ * the concurrency limit computed by the {@link ConcurrencyLimitFeature}.
+ * <p>
+ * The request has not been sent, it is safe to retry it later.
+ * </p>
+ *
+ * @since 2.39
+ */
+public class ConcurrencyLimitExceededException extends ProcessingException {
+
+    private static final long serialVersionUID = 4517409153224938125L;
+
+    private final String host;
+    private final int limit;
+
+    /**
+     * Create a new exception.
+     *
+     * @param host  host the request was targeted to.
+     * @param limit concurrency limit of the host at the time the request was rejected.
+     */
+    public ConcurrencyLimitExceededException(final String host, final int limit) {
+        super(LocalizationMessages.CONCURRENCY_LIMIT_EXCEEDED(host, limit));
+        this.host = host;
+        this.limit = limit;
+    }
+
+    /**
+     * Get the host the rejected request was targeted to.
+     *
+     * @return host and port of the request URI.
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Get the concurrency limit of the host at the time the request was rejected.
+     *
+     * @return concurrency limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
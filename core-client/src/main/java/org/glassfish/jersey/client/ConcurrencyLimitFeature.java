@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.util.Map;
+
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+
+/**
+ * Feature that limits the number of concurrent requests sent by the client to a single host.
+ * <p>
+ * The limit of each host ({@code host:port} of the request URI) adapts to the observed latencies: it grows while
+ * the latency of the responses stays close to the minimal latency observed and shrinks once the latency grows, i.e.
+ * once the requests are queued by a slowed down server. Failed requests decrease the limit multiplicatively.
+ * A request exceeding the limit is not sent (nor queued for asynchronous processing), it fails immediately with
+ * {@link ConcurrencyLimitExceededException} instead. This prevents the callers from piling up when the server slows down.
+ * </p>
+ * <p>
+ * The limits are shared by all the clients the feature instance is registered to. Example of the configuration:
+ * <pre>
+ * ConcurrencyLimitFeature limit = new ConcurrencyLimitFeature(10, 1, 100);
+ * Client client = ClientBuilder.newClient().register(limit);
+ * ...
+ * int inFlight = limit.getStatistics().get("example.org:8080").getInFlight();
+ * </pre>
+ * </p>
+ *
+ * @since 2.39
+ */
+public class ConcurrencyLimitFeature implements Feature {
+
+    /**
+     * Default initial concurrency limit of a host ({@value}).
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    /**
+     * Default minimal concurrency limit of a host ({@value}).
+     */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * Default maximal concurrency limit of a host ({@value}).
+     */
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    private final ConcurrencyLimiter limiter;
+
+    /**
+     * Create a new feature with the default limits.
+     */
+    public ConcurrencyLimitFeature() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    /**
+     * Create a new feature.
+     *
+     * @param initialLimit initial concurrency limit of a host.
+     * @param minLimit     minimal concurrency limit of a host.
+     * @param maxLimit     maximal concurrency limit of a host.
+     */
+    public ConcurrencyLimitFeature(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException(
+                    LocalizationMessages.CONCURRENCY_LIMIT_INVALID(initialLimit, minLimit, maxLimit));
+        }
+        this.limiter = new ConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        if (context.getConfiguration().getRuntimeType() != RuntimeType.CLIENT) {
+            return false;
+        }
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(limiter).to(ConcurrencyLimiter.class);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Get the snapshot of the concurrency limits of all the hosts the requests have been sent to.
+     *
+     * @return map of {@code host:port} (or just {@code host} if the request URI contains no port) to the statistics
+     * of the host concurrency limit.
+     */
+    public Map<String, ConcurrencyLimitStatistics> getStatistics() {
+        return limiter.getStatistics();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+/**
+ * Snapshot of the state of the adaptive concurrency limit of a single host
+ * (see {@link ConcurrencyLimitFeature#getStatistics()}).
+ *
+ * @since 2.39
+ */
+public interface ConcurrencyLimitStatistics {
+
+    /**
+     * Get the current concurrency limit, i.e. the maximal number of requests in flight to the host.
+     *
+     * @return current concurrency limit.
+     */
+    int getLimit();
+
+    /**
+     * Get the number of requests in flight to the host.
+     *
+     * @return number of requests sent and not completed yet.
+     */
+    int getInFlight();
+
+    /**
+     * Get the number of requests rejected because the concurrency limit has been reached.
+     *
+     * @return number of rejected requests.
+     */
+    long getRejectedCount();
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.process.internal.RequestScope;
+
+/**
+ * Adaptive per-host concurrency limiter used by the {@link ClientRuntime} when the {@link ConcurrencyLimitFeature} is
+ * enabled.
+ * <p>
+ * The limit of each host is estimated from the observed request latencies in the way of the TCP Vegas congestion
+ * control: the minimal latency is taken for the latency of the unloaded server and the number of requests queued
+ * by the server is estimated as {@code limit * (1 - minLatency / latency)}. The limit is increased by one if fewer than
+ * {@value #ALPHA} requests are estimated to be queued and decreased by one if more than {@value #BETA} requests are.
+ * A failed request decreases the limit multiplicatively.
+ * </p>
+ */
+class ConcurrencyLimiter {
+
+    /**
+     * Estimated number of queued requests below which the limit is increased.
+     */
+    static final int ALPHA = 3;
+    /**
+     * Estimated number of queued requests above which the limit is decreased.
+     */
+    static final int BETA = 6;
+    /**
+     * Factor the limit is multiplied by when a request fails.
+     */
+    static final double BACKOFF_RATIO = 0.9;
+    /**
+     * Number of samples after which the minimal latency is measured again to follow the changes of the server.
+     */
+    static final int PROBE_INTERVAL = 1000;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Map<String, HostLimit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new limiter.
+     *
+     * @param initialLimit initial concurrency limit of a host.
+     * @param minLimit     minimal concurrency limit of a host.
+     * @param maxLimit     maximal concurrency limit of a host.
+     */
+    ConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Acquire a permit to send a request to the given URI.
+     *
+     * @param uri request URI.
+     * @return permit to be released once the response is received or the request fails.
+     * @throws ConcurrencyLimitExceededException in case the number of requests in flight to the host of the URI has
+     *                                           reached the limit.
+     */
+    Permit acquire(final URI uri) {
+        final String host = uri.getPort() == -1 ? String.valueOf(uri.getHost()) : uri.getHost() + ':' + uri.getPort();
+        final HostLimit limit = limits.computeIfAbsent(host, HostLimit::new);
+        if (!limit.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(host, limit.limit);
+        }
+        return new Permit(limit);
+    }
+
+    /**
+     * Get the snapshot of the limits of all the hosts requests have been sent to.
+     *
+     * @return map of host to its concurrency limit statistics.
+     */
+    Map<String, ConcurrencyLimitStatistics> getStatistics() {
+        final Map<String, ConcurrencyLimitStatistics> statistics = new TreeMap<>();
+        for (HostLimit limit : limits.values()) {
+            statistics.put(limit.host, new Snapshot(limit.limit, limit.inFlight.get(), limit.rejected.sum()));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Permit to send a single request.
+     */
+    final class Permit {
+
+        private final HostLimit limit;
+        private final long start = System.nanoTime();
+
+        private Permit(final HostLimit limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Release the permit and update the limit with the latency of the request.
+         *
+         * @param failed {@code true} if the request has failed.
+         */
+        void release(final boolean failed) {
+            release(System.nanoTime() - start, failed);
+        }
+
+        /**
+         * Release the permit and update the limit with the given latency of the request.
+         *
+         * @param latency latency of the request in nanoseconds.
+         * @param failed  {@code true} if the request has failed.
+         */
+        void release(final long latency, final boolean failed) {
+            limit.release(latency, failed);
+        }
+
+        /**
+         * Wrap the response callback to release the permit once the request completes.
+         *
+         * @param callback response callback to be wrapped.
+         * @return response callback releasing the permit.
+         */
+        ResponseCallback wrap(final ResponseCallback callback) {
+            return new ResponseCallback() {
+                @Override
+                public void completed(final ClientResponse response, final RequestScope scope) {
+                    release(false);
+                    callback.completed(response, scope);
+                }
+
+                @Override
+                public void failed(final ProcessingException error) {
+                    release(true);
+                    callback.failed(error);
+                }
+            };
+        }
+    }
+
+    /**
+     * Concurrency limit of a single host.
+     */
+    private final class HostLimit {
+
+        private final String host;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+        private volatile int limit = initialLimit;
+
+        // guarded by this
+        private double estimatedLimit = initialLimit;
+        private long minLatency;
+        private int samples;
+
+        private HostLimit(final String host) {
+            this.host = host;
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                final int current = inFlight.get();
+                if (current >= limit) {
+                    rejected.increment();
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release(final long latency, final boolean failed) {
+            final int current = inFlight.getAndDecrement();
+            update(Math.max(latency, 1), current, failed);
+        }
+
+        private synchronized void update(final long latency, final int inFlight, final boolean failed) {
+            if (failed) {
+                estimatedLimit = estimatedLimit * BACKOFF_RATIO;
+            } else {
+                if (minLatency == 0 || latency < minLatency || ++samples >= PROBE_INTERVAL) {
+                    minLatency = latency;
+                    samples = 0;
+                }
+
+                final double queued = estimatedLimit * (1 - (double) minLatency / latency);
+                if (queued < ALPHA) {
+                    // do not grow the limit unless it is being used
+                    if (inFlight * 2 >= estimatedLimit) {
+                        estimatedLimit++;
+                    }
+                } else if (queued > BETA) {
+                    estimatedLimit--;
+                }
+            }
+
+            estimatedLimit = Math.min(maxLimit, Math.max(minLimit, estimatedLimit));
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    private static final class Snapshot implements ConcurrencyLimitStatistics {
+
+        private final int limit;
+        private final int inFlight;
+        private final long rejected;
+
+        private Snapshot(final int limit, final int inFlight, final long rejected) {
+            this.limit = limit;
+            this.inFlight = inFlight;
+            this.rejected = rejected;
+        }
+
+        @Override
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        @Override
+        public long getRejectedCount() {
+            return rejected;
+        }
+    }
+}
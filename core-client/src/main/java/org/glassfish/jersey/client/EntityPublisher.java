@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.ReaderInterceptor;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.PropertiesDelegate;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.util.IteratorPublisher;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.spi.NonBlockingInput;
+
+/**
+ * {@link Flow.Publisher} of a response entity.
+ * <p>
+ * The entity is read only as the items are requested by the subscriber. If the entity input stream provided by the
+ * connector implements {@link NonBlockingInput}, the entity is read only when the data are available and no thread
+ * waits for the data to arrive. Otherwise the entity is read by blocking the client async executor thread until the
+ * requested items are delivered. The subscriber is always notified from the client async executor threads.
+ * </p>
+ * <p>
+ * The publisher emits either the {@link ByteBuffer chunks} of the entity as they are read, or the entity items
+ * delimited by new lines (e.g. the NDJSON documents), each of them read by a message body reader of the item type.
+ * The demand and the subscription are handled by the {@link IteratorPublisher} taking the items from the entity source.
+ * </p>
+ *
+ * @param <T> item type.
+ */
+final class EntityPublisher<T> implements Flow.Publisher<T>, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(EntityPublisher.class.getName());
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final IteratorPublisher<T> publisher;
+
+    private EntityPublisher(final InputStream input, final Executor executor, final Decoder<T> decoder) {
+        this.publisher = new IteratorPublisher<>(new EntitySource(input, decoder), executor);
+    }
+
+    /**
+     * Create a publisher of the entity chunks.
+     *
+     * @param input    entity input stream.
+     * @param executor executor used to read the entity and to notify the subscriber.
+     * @return new publisher of the entity chunks.
+     */
+    static EntityPublisher<ByteBuffer> chunks(final InputStream input, final Executor executor) {
+        return new EntityPublisher<>(input, executor, new Decoder<ByteBuffer>() {
+            @Override
+            public void decode(final byte[] data, final int length, final Consumer<ByteBuffer> items) {
+                items.accept(ByteBuffer.wrap(Arrays.copyOf(data, length)));
+            }
+
+            @Override
+            public void finish(final Consumer<ByteBuffer> items) {
+            }
+        });
+    }
+
+    /**
+     * Create a publisher of the new line delimited entity items.
+     *
+     * @param input              entity input stream.
+     * @param executor           executor used to read the entity and to notify the subscriber.
+     * @param rawType            raw item type.
+     * @param type               generic item type.
+     * @param annotations        entity annotations.
+     * @param mediaType          entity media type.
+     * @param headers            response headers.
+     * @param workers            message body workers used to read the items.
+     * @param propertiesDelegate request properties delegate.
+     * @param <T>                item type.
+     * @return new publisher of the entity items.
+     */
+    static <T> EntityPublisher<T> items(final InputStream input,
+                                        final Executor executor,
+                                        final Class<T> rawType,
+                                        final Type type,
+                                        final Annotation[] annotations,
+                                        final MediaType mediaType,
+                                        final MultivaluedMap<String, String> headers,
+                                        final MessageBodyWorkers workers,
+                                        final PropertiesDelegate propertiesDelegate) {
+        final MediaType itemMediaType = itemMediaType(mediaType);
+        return new EntityPublisher<>(input, executor, new LineDecoder<>(line -> rawType.cast(workers.readFrom(
+                rawType,
+                type,
+                annotations,
+                itemMediaType,
+                headers,
+                propertiesDelegate,
+                line,
+                Collections.<ReaderInterceptor>emptyList(),
+                false))));
+    }
+
+    /**
+     * Get the media type of a single item of a new line delimited entity, e.g. {@code application/json} for
+     * the {@code application/x-ndjson} entity.
+     *
+     * @param mediaType entity media type.
+     * @return item media type.
+     */
+    static MediaType itemMediaType(final MediaType mediaType) {
+        if (mediaType != null && "application".equalsIgnoreCase(mediaType.getType())) {
+            switch (mediaType.getSubtype().toLowerCase()) {
+                case "x-ndjson":
+                case "ndjson":
+                case "jsonl":
+                case "x-jsonlines":
+                    return new MediaType("application", "json", mediaType.getParameters());
+                default:
+                    break;
+            }
+        }
+        return mediaType;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Cancel the subscription and close the entity input stream.
+     */
+    @Override
+    public void close() {
+        publisher.close();
+    }
+
+    /**
+     * Source of the entity items read from the entity input stream as the data are available.
+     */
+    private final class EntitySource implements IteratorPublisher.Source<T> {
+
+        private final InputStream input;
+        private final Decoder<T> decoder;
+        private volatile boolean inputEnded;
+        private volatile Throwable failure;
+
+        // accessed by the publisher drain loop only
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private NonBlockingInput nonBlockingInput;
+        private boolean listenerRegistered;
+        private boolean decoderFinished;
+
+        private EntitySource(final InputStream input, final Decoder<T> decoder) {
+            this.input = input;
+            this.nonBlockingInput = input instanceof NonBlockingInput ? (NonBlockingInput) input : null;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public T next() throws Exception {
+            while (true) {
+                final T item = items.poll();
+                if (item != null) {
+                    return item;
+                }
+
+                final Throwable t = failure;
+                if (t instanceof Error) {
+                    throw (Error) t;
+                } else if (t != null) {
+                    throw t instanceof Exception ? (Exception) t : new IOException(t);
+                }
+
+                if (inputEnded) {
+                    if (decoderFinished) {
+                        return null;
+                    }
+                    decoderFinished = true;
+                    decoder.finish(items::add);
+                    continue;
+                }
+
+                if (!awaitData()) {
+                    // the publisher is resumed by the read listener once the data can be read
+                    return null;
+                }
+
+                final int read = input.read(buffer);
+                if (read < 0) {
+                    inputEnded = true;
+                } else if (read > 0) {
+                    decoder.decode(buffer, read, items::add);
+                }
+            }
+        }
+
+        @Override
+        public boolean isEnded() {
+            return decoderFinished && items.isEmpty();
+        }
+
+        @Override
+        public void close() throws IOException {
+            items.clear();
+            input.close();
+        }
+
+        private boolean awaitData() {
+            if (nonBlockingInput == null) {
+                // blocking read
+                return true;
+            }
+
+            if (!listenerRegistered) {
+                listenerRegistered = true;
+                return !registerListener();
+            }
+            return nonBlockingInput.isReady();
+        }
+
+        /**
+         * Register the read listener to the non-blocking input.
+         *
+         * @return {@code true} if the listener has been registered, {@code false} if the input stream has already been
+         * read in the blocking way and has to be read in the blocking way from now on.
+         */
+        private boolean registerListener() {
+            try {
+                // the listener resumes the publisher once the data can be read
+                nonBlockingInput.setReadListener(new NonBlockingInput.Listener() {
+                    @Override
+                    public void onDataAvailable() {
+                        publisher.resume();
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        inputEnded = true;
+                        publisher.resume();
+                    }
+
+                    @Override
+                    public void onError(final Throwable t) {
+                        failure = t;
+                        publisher.resume();
+                    }
+                });
+                return true;
+            } catch (final IllegalStateException | UnsupportedOperationException e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.ENTITY_PUBLISHER_BLOCKING_FALLBACK(), e);
+                nonBlockingInput = null;
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Decoder of the entity bytes to the items.
+     *
+     * @param <T> item type.
+     */
+    private interface Decoder<T> {
+
+        void decode(byte[] data, int length, Consumer<T> items) throws IOException;
+
+        void finish(Consumer<T> items) throws IOException;
+    }
+
+    /**
+     * Item reader.
+     *
+     * @param <T> item type.
+     */
+    @FunctionalInterface
+    private interface ItemReader<T> {
+
+        T read(InputStream item) throws IOException;
+    }
+
+    /**
+     * Decoder of the new line delimited items. Empty lines are skipped and the trailing carriage returns are ignored.
+     *
+     * @param <T> item type.
+     */
+    private static final class LineDecoder<T> implements Decoder<T> {
+
+        private final ItemReader<T> reader;
+        private byte[] line = new byte[256];
+        private int lineLength;
+
+        private LineDecoder(final ItemReader<T> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public void decode(final byte[] data, final int length, final Consumer<T> items) throws IOException {
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                if (data[i] == '\n') {
+                    append(data, start, i - start);
+                    emit(items);
+                    start = i + 1;
+                }
+            }
+            append(data, start, length - start);
+        }
+
+        @Override
+        public void finish(final Consumer<T> items) throws IOException {
+            emit(items);
+        }
+
+        private void append(final byte[] data, final int offset, final int length) {
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(data, offset, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private void emit(final Consumer<T> items) throws IOException {
+            int length = lineLength;
+            lineLength = 0;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            if (length > 0) {
+                items.accept(reader.read(new ByteArrayInputStream(line, 0, length)));
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.internal.util.collection.LazyValue;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.EntityInputStream;
+import org.glassfish.jersey.message.internal.ReaderInterceptorExecutor;
+
+/**
+ * {@link MessageBodyReader} for {@link Flow.Publisher} response entities.
+ * <p>
+ * {@code Flow.Publisher<ByteBuffer>} (or a raw {@code Flow.Publisher}) publishes the entity chunks as they are read,
+ * any other item type is read from the new line delimited entity (e.g. NDJSON), one item per line.
+ * </p>
+ *
+ * @see EntityPublisher
+ */
+@ConstrainedTo(RuntimeType.CLIENT)
+class FlowPublisherReader implements MessageBodyReader<Flow.Publisher<?>> {
+
+    private final Provider<MessageBodyWorkers> messageBodyWorkers;
+    private final Provider<ClientRequest> requestProvider;
+    private final LazyValue<ExecutorService> executor;
+
+    @Inject
+    public FlowPublisherReader(Provider<MessageBodyWorkers> messageBodyWorkers,
+                               Provider<ClientRequest> requestProvider,
+                               InjectionManager injectionManager) {
+        this.messageBodyWorkers = messageBodyWorkers;
+        this.requestProvider = requestProvider;
+        this.executor = Values.lazy((Value<ExecutorService>) () ->
+                injectionManager.getInstance(ExecutorService.class, ClientAsyncExecutorLiteral.INSTANCE));
+    }
+
+    @Override
+    public boolean isReadable(Class<?> aClass, Type type, Annotation[] annotations, MediaType mediaType) {
+        return aClass.equals(Flow.Publisher.class);
+    }
+
+    @Override
+    public Flow.Publisher<?> readFrom(Class<Flow.Publisher<?>> publisherClass,
+                                     Type type,
+                                     Annotation[] annotations,
+                                     MediaType mediaType,
+                                     MultivaluedMap<String, String> headers,
+                                     InputStream inputStream) throws IOException, WebApplicationException {
+
+        final InputStream input = unwrap(inputStream);
+
+        final Type itemType = ReflectionHelper.getTypeArgument(type, 0);
+        if (!(itemType instanceof Class || itemType instanceof ParameterizedType) || itemType == ByteBuffer.class) {
+            return EntityPublisher.chunks(input, executor.get());
+        }
+
+        // the request is not available in the request scope of the asynchronously processed responses
+        final ClientRequest request = requestProvider.get();
+        return EntityPublisher.items(
+                input,
+                executor.get(),
+                ReflectionHelper.erasure(itemType),
+                itemType,
+                annotations,
+                mediaType,
+                headers,
+                messageBodyWorkers.get(),
+                request == null ? new MapPropertiesDelegate() : request.getPropertiesDelegate());
+    }
+
+    /**
+     * Get the closeable entity stream, unwrapped down to the connector entity stream, unless the stream has been
+     * replaced by a reader interceptor (e.g. decompressed).
+     */
+    private static InputStream unwrap(final InputStream inputStream) {
+        InputStream input = ReaderInterceptorExecutor.closeableInputStream(inputStream);
+        while (input instanceof EntityInputStream && ((EntityInputStream) input).getWrappedStream() != null) {
+            input = ((EntityInputStream) input).getWrappedStream();
+        }
+        return input;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.WriterInterceptor;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.PropertiesDelegate;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * {@link MessageBodyWriter} for {@link Flow.Publisher} request entities.
+ * <p>
+ * The {@link ByteBuffer} and {@code byte[]} items are written as they are, any other item is written by a message body
+ * writer of the item type followed by a new line (e.g. NDJSON). The items are requested from the publisher as they are
+ * written, so that the publisher is not requested more items than can be sent.
+ * </p>
+ */
+@ConstrainedTo(RuntimeType.CLIENT)
+class FlowPublisherWriter implements MessageBodyWriter<Flow.Publisher<?>> {
+
+    private static final int PREFETCH = 16;
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final Provider<MessageBodyWorkers> messageBodyWorkers;
+    private final Provider<PropertiesDelegate> propertiesDelegateProvider;
+
+    @Inject
+    public FlowPublisherWriter(Provider<MessageBodyWorkers> messageBodyWorkers,
+                               Provider<PropertiesDelegate> propertiesDelegateProvider) {
+        this.messageBodyWorkers = messageBodyWorkers;
+        this.propertiesDelegateProvider = propertiesDelegateProvider;
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> aClass, Type type, Annotation[] annotations, MediaType mediaType) {
+        return Flow.Publisher.class.isAssignableFrom(aClass);
+    }
+
+    @Override
+    public void writeTo(Flow.Publisher<?> publisher,
+                        Class<?> aClass,
+                        Type type,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> headers,
+                        OutputStream entityStream) throws IOException, WebApplicationException {
+
+        final Type declaredItemType = type instanceof ParameterizedType
+                && ((ParameterizedType) type).getRawType() == Flow.Publisher.class
+                ? ReflectionHelper.getTypeArgument(type, 0) : null;
+        final MediaType itemMediaType = EntityPublisher.itemMediaType(mediaType);
+
+        final ItemSubscriber subscriber = new ItemSubscriber();
+        publisher.subscribe(subscriber);
+
+        try {
+            Object item;
+            while ((item = subscriber.next()) != ItemSubscriber.COMPLETE) {
+                if (item instanceof ByteBuffer) {
+                    ReaderWriter.writeTo((ByteBuffer) item, entityStream);
+                } else if (item instanceof byte[]) {
+                    entityStream.write((byte[]) item);
+                } else {
+                    final Class<?> itemClass = item.getClass();
+                    final Type itemType = declaredItemType != null && ReflectionHelper.erasure(declaredItemType) == itemClass
+                            ? declaredItemType : itemClass;
+                    messageBodyWorkers.get().writeTo(
+                            item,
+                            itemClass,
+                            itemType,
+                            annotations,
+                            itemMediaType,
+                            headers,
+                            propertiesDelegateProvider.get(),
+                            new NonClosingOutputStream(entityStream),
+                            Collections.<WriterInterceptor>emptyList());
+                    entityStream.write(NEW_LINE);
+                }
+                entityStream.flush();
+                subscriber.written();
+            }
+        } catch (final IOException | RuntimeException e) {
+            subscriber.cancel();
+            throw e;
+        }
+    }
+
+    /**
+     * Subscriber handing the published items over to the writing thread.
+     */
+    private static final class ItemSubscriber implements Flow.Subscriber<Object> {
+
+        private static final Object COMPLETE = new Object();
+
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(PREFETCH);
+        }
+
+        @Override
+        public void onNext(final Object item) {
+            queue.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            queue.add(new Failure(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            queue.add(COMPLETE);
+        }
+
+        private Object next() throws IOException {
+            final Object item;
+            try {
+                item = queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(LocalizationMessages.ENTITY_PUBLISHER_WRITE_INTERRUPTED());
+            }
+
+            if (item instanceof Failure) {
+                final Throwable cause = ((Failure) item).cause;
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+            return item;
+        }
+
+        private void written() {
+            subscription.request(1);
+        }
+
+        private void cancel() {
+            final Flow.Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+        }
+    }
+
+    /**
+     * Failure published by the publisher.
+     */
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        private Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Prevents the item writers from closing the entity stream.
+     */
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(final OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.internal.util.collection.Value;
+
+/**
+ * Connector decorator hedging and retrying idempotent requests (see {@link HedgingFeature}).
+ * <p>
+ * A {@code GET}, {@code HEAD} or {@code OPTIONS} request without an entity is sent again if no response has been
+ * received within the {@link HedgingPolicy#getHedgeDelay() hedge delay}, or immediately if the request fails. The first
+ * response received is used, the other request is cancelled. A request is sent at most twice and the second request is
+ * sent only if the {@link HedgingPolicy#tryWithdraw() retry budget} permits.
+ * </p>
+ */
+class HedgingConnector implements Connector {
+
+    /**
+     * Maximal number of attempts to send a request.
+     */
+    static final int MAX_ATTEMPTS = 2;
+
+    private final Connector connector;
+    private final HedgingPolicy policy;
+    private final Value<ScheduledExecutorService> scheduler;
+    private final Value<ExecutorService> executor;
+
+    /**
+     * Create a new hedging connector.
+     *
+     * @param connector decorated connector.
+     * @param policy    hedging policy.
+     * @param scheduler scheduler used to schedule the hedged requests.
+     * @param executor  executor used to send the requests.
+     */
+    HedgingConnector(final Connector connector,
+                     final HedgingPolicy policy,
+                     final Value<ScheduledExecutorService> scheduler,
+                     final Value<ExecutorService> executor) {
+        this.connector = connector;
+        this.policy = policy;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+        if (!isIdempotent(request)) {
+            return connector.apply(request);
+        }
+
+        final CompletableFuture<ClientResponse> response = new CompletableFuture<>();
+        final HedgedRequest hedged = send(request, new AsyncConnectorCallback() {
+            @Override
+            public void response(final ClientResponse clientResponse) {
+                response.complete(clientResponse);
+            }
+
+            @Override
+            public void failure(final Throwable failure) {
+                response.completeExceptionally(failure);
+            }
+        });
+
+        try {
+            return response.get();
+        } catch (final InterruptedException e) {
+            hedged.abort();
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ProcessingException) {
+                throw (ProcessingException) cause;
+            }
+            throw new ProcessingException(cause);
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        if (!isIdempotent(request)) {
+            return connector.apply(request, callback);
+        }
+        return send(request, callback).result;
+    }
+
+    @Override
+    public String getName() {
+        return connector.getName();
+    }
+
+    @Override
+    public void close() {
+        connector.close();
+    }
+
+    private HedgedRequest send(final ClientRequest request, final AsyncConnectorCallback callback) {
+        policy.deposit();
+
+        final HedgedRequest hedged = new HedgedRequest(request, callback);
+        // schedule the hedge first, a synchronous connector may not return before the response is received
+        final long delay = policy.getHedgeDelay();
+        if (delay >= 0) {
+            hedged.schedule(scheduler.get().schedule(hedged::hedge, delay, TimeUnit.NANOSECONDS));
+        }
+        hedged.start(hedged.reserve());
+        return hedged;
+    }
+
+    private static boolean isIdempotent(final ClientRequest request) {
+        final String method = request.getMethod();
+        return (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method))
+                && !request.hasEntity();
+    }
+
+    /**
+     * Request being sent, possibly more than once.
+     * <p>
+     * The attempts are sent on the executor so that a connector sending the request synchronously (e.g. the default
+     * {@link HttpUrlConnector}) does not block the hedge. The decorated connector and the callbacks are never invoked while
+     * holding the lock of the request.
+     * </p>
+     */
+    private final class HedgedRequest {
+
+        private static final int NONE = -1;
+        private static final int FAILED = -2;
+
+        private final ClientRequest request;
+        private final AsyncConnectorCallback callback;
+        private final CompletableFuture<ClientResponse> result = new CompletableFuture<>();
+        private final AtomicInteger winner = new AtomicInteger(NONE);
+
+        // guarded by this
+        private final List<Attempt> attempts = new ArrayList<>(MAX_ATTEMPTS);
+        private int failed;
+        private ScheduledFuture<?> hedge;
+
+        private HedgedRequest(final ClientRequest request, final AsyncConnectorCallback callback) {
+            this.request = request;
+            this.callback = callback;
+        }
+
+        private synchronized void schedule(final ScheduledFuture<?> hedge) {
+            if (winner.get() == NONE) {
+                this.hedge = hedge;
+            } else {
+                hedge.cancel(false);
+            }
+        }
+
+        /**
+         * Send the hedged request if no response has been received yet and the budget permits.
+         */
+        private void hedge() {
+            final Attempt attempt;
+            synchronized (this) {
+                if (winner.get() != NONE || attempts.size() >= MAX_ATTEMPTS || !policy.tryWithdraw()) {
+                    return;
+                }
+                attempt = reserve();
+            }
+            start(attempt);
+        }
+
+        /**
+         * Reserve the next attempt, the first attempt sends the original request, the others send its copy.
+         *
+         * @return reserved attempt.
+         */
+        private synchronized Attempt reserve() {
+            final int index = attempts.size();
+            final Attempt attempt = new Attempt(index, index == 0 ? request : new ClientRequest(request));
+            attempts.add(attempt);
+            return attempt;
+        }
+
+        /**
+         * Send the reserved attempt on the executor.
+         *
+         * @param attempt attempt to be sent.
+         */
+        private void start(final Attempt attempt) {
+            final Future<?> task;
+            try {
+                task = executor.get().submit(attempt::send);
+            } catch (final RejectedExecutionException e) {
+                failure(new ProcessingException(e));
+                return;
+            }
+            attempt.task(task);
+        }
+
+        private void failure(final Throwable failure) {
+            final Attempt retry;
+            synchronized (this) {
+                if (winner.get() != NONE) {
+                    return;
+                }
+                failed++;
+                if (failed < attempts.size()) {
+                    // wait for the other request
+                    return;
+                }
+                retry = attempts.size() < MAX_ATTEMPTS && policy.tryWithdraw() ? reserve() : null;
+            }
+            if (retry != null) {
+                start(retry);
+            } else if (winner.compareAndSet(NONE, FAILED)) {
+                cancel(FAILED);
+                result.completeExceptionally(failure);
+                callback.failure(failure);
+            }
+        }
+
+        /**
+         * Cancel the scheduled hedge and all the requests except the request of the given index.
+         *
+         * @param winner index of the request not to be cancelled.
+         */
+        private void cancel(final int winner) {
+            final ScheduledFuture<?> hedge;
+            final List<Attempt> attempts;
+            synchronized (this) {
+                hedge = this.hedge;
+                attempts = new ArrayList<>(this.attempts);
+            }
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            for (final Attempt attempt : attempts) {
+                if (attempt.index != winner) {
+                    attempt.cancel();
+                }
+            }
+        }
+
+        /**
+         * Cancel all the requests, the responses received later are closed.
+         */
+        private void abort() {
+            if (winner.compareAndSet(NONE, FAILED)) {
+                cancel(FAILED);
+            }
+        }
+
+        /**
+         * Single attempt to send the request.
+         */
+        private final class Attempt {
+
+            private final int index;
+            private final ClientRequest request;
+
+            // guarded by this
+            private final List<Future<?>> futures = new ArrayList<>(2);
+            private boolean cancelled;
+
+            private Attempt(final int index, final ClientRequest request) {
+                this.index = index;
+                this.request = request;
+            }
+
+            private void send() {
+                if (winner.get() != NONE) {
+                    return;
+                }
+                final long start = System.nanoTime();
+                final Future<?> future;
+                try {
+                    future = connector.apply(request, new AsyncConnectorCallback() {
+                        @Override
+                        public void response(final ClientResponse response) {
+                            policy.recordLatency(System.nanoTime() - start);
+                            if (winner.compareAndSet(NONE, index)) {
+                                HedgedRequest.this.cancel(index);
+                                result.complete(response);
+                                callback.response(response);
+                            } else {
+                                // lost the race with the other request
+                                response.close();
+                            }
+                        }
+
+                        @Override
+                        public void failure(final Throwable failure) {
+                            HedgedRequest.this.failure(failure);
+                        }
+                    });
+                } catch (final Throwable t) {
+                    HedgedRequest.this.failure(t);
+                    return;
+                }
+                task(future);
+            }
+
+            /**
+             * Record the future of the attempt, the future is cancelled right away if the attempt has been cancelled.
+             *
+             * @param future future to be recorded.
+             */
+            private void task(final Future<?> future) {
+                synchronized (this) {
+                    if (!cancelled) {
+                        futures.add(future);
+                        return;
+                    }
+                }
+                future.cancel(true);
+            }
+
+            private void cancel() {
+                final List<Future<?>> futures;
+                synchronized (this) {
+                    cancelled = true;
+                    futures = new ArrayList<>(this.futures);
+                }
+                for (final Future<?> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+
+/**
+ * Feature that hedges and retries idempotent requests to cut the tail latency.
+ * <p>
+ * A {@code GET}, {@code HEAD} or {@code OPTIONS} request without an entity is sent once more if no response has been
+ * received within the given percentile of the latencies of the recent responses. The first response received is used,
+ * the other request is cancelled. A request that fails is retried immediately. The hedged and retried requests are
+ * limited by a retry budget: each request sent earns {@code budgetRatio} of a token, each hedged or retried request
+ * costs a token. The budget prevents the hedging from amplifying the load of an already overloaded server, at most
+ * about {@code budgetRatio * 100} percent of requests (plus a small burst) are sent twice.
+ * </p>
+ * <p>
+ * The latencies and the budget are shared by all the clients the feature instance is registered to. The requests are
+ * hedged through the asynchronous {@link org.glassfish.jersey.client.spi.Connector connector} API, synchronous
+ * invocations wait for the first response.
+ * </p>
+ *
+ * @since 2.39
+ */
+public class HedgingFeature implements Feature {
+
+    /**
+     * Default percentile of the recent latencies after which a request is hedged ({@value}).
+     */
+    public static final double DEFAULT_PERCENTILE = 95;
+
+    /**
+     * Default number of hedged or retried requests allowed per request sent ({@value}).
+     */
+    public static final double DEFAULT_BUDGET_RATIO = 0.1;
+
+    private final HedgingPolicy policy;
+
+    /**
+     * Create a new feature with the {@link #DEFAULT_PERCENTILE default percentile} and
+     * {@link #DEFAULT_BUDGET_RATIO default budget}.
+     */
+    public HedgingFeature() {
+        this(DEFAULT_PERCENTILE, DEFAULT_BUDGET_RATIO);
+    }
+
+    /**
+     * Create a new feature.
+     *
+     * @param percentile  percentile of the recent latencies after which a request is hedged, greater than {@code 0}
+     *                    and not greater than {@code 100}.
+     * @param budgetRatio number of hedged or retried requests allowed per request sent, greater than {@code 0} and
+     *                    not greater than {@code 1}.
+     */
+    public HedgingFeature(double percentile, double budgetRatio) {
+        if (!(percentile > 0 && percentile <= 100) || !(budgetRatio > 0 && budgetRatio <= 1)) {
+            throw new IllegalArgumentException(LocalizationMessages.HEDGING_INVALID(percentile, budgetRatio));
+        }
+        this.policy = new HedgingPolicy(percentile, budgetRatio);
+    }
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        if (context.getConfiguration().getRuntimeType() != RuntimeType.CLIENT) {
+            return false;
+        }
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(policy).to(HedgingPolicy.class);
+            }
+        });
+        return true;
+    }
+}
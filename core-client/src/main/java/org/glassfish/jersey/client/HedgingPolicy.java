@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.util.Arrays;
+
+/**
+ * Hedging policy shared by the {@link HedgingConnector connectors} of the clients the {@link HedgingFeature} is registered
+ * to.
+ * <p>
+ * The policy tracks the latencies of the recent responses to compute the delay after which a request is hedged, and
+ * the retry budget limiting the number of the hedged and retried requests.
+ * </p>
+ */
+final class HedgingPolicy {
+
+    /**
+     * Number of the recent latencies the hedge delay is computed from.
+     */
+    static final int WINDOW = 256;
+    /**
+     * Number of the latency samples needed before the requests start to be hedged.
+     */
+    static final int MIN_SAMPLES = 16;
+    /**
+     * Number of the latency samples after which the hedge delay is recomputed.
+     */
+    static final int RECOMPUTE_INTERVAL = 16;
+    /**
+     * Maximal number of the budget tokens, i.e. the maximal number of hedged or retried requests in a burst.
+     */
+    static final double MAX_TOKENS = 10;
+
+    private final double percentile;
+    private final double budgetRatio;
+
+    // guarded by this
+    private final long[] latencies = new long[WINDOW];
+    private int samples;
+    private double tokens = MAX_TOKENS;
+
+    private volatile long delay = -1;
+
+    /**
+     * Create a new hedging policy.
+     *
+     * @param percentile  percentile of the recent latencies after which the request is hedged.
+     * @param budgetRatio number of the hedged or retried requests allowed per request sent.
+     */
+    HedgingPolicy(final double percentile, final double budgetRatio) {
+        this.percentile = percentile;
+        this.budgetRatio = budgetRatio;
+    }
+
+    /**
+     * Get the delay after which a request should be hedged.
+     *
+     * @return hedge delay in nanoseconds or {@code -1} if not enough latencies have been observed yet.
+     */
+    long getHedgeDelay() {
+        return delay;
+    }
+
+    /**
+     * Record the latency of a response.
+     *
+     * @param latency latency in nanoseconds.
+     */
+    synchronized void recordLatency(final long latency) {
+        latencies[samples % WINDOW] = latency;
+        samples++;
+        if (samples >= MIN_SAMPLES && samples % RECOMPUTE_INTERVAL == 0) {
+            final long[] sorted = Arrays.copyOf(latencies, Math.min(samples, WINDOW));
+            Arrays.sort(sorted);
+            delay = sorted[(int) Math.ceil(percentile / 100 * sorted.length) - 1];
+        }
+    }
+
+    /**
+     * Deposit the budget earned by sending a request.
+     */
+    synchronized void deposit() {
+        tokens = Math.min(MAX_TOKENS, tokens + budgetRatio);
+    }
+
+    /**
+     * Try to withdraw the budget of a single hedged or retried request.
+     *
+     * @return {@code true} if the request can be sent, {@code false} if the budget is exhausted.
+     */
+    synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
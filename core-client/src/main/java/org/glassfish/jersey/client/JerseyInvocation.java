@@ -66,6 +66,7 @@ import org.glassfish.jersey.internal.inject.Bindings;
 import org.glassfish.jersey.internal.inject.DisposableSupplier;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.inject.ServiceHolder;
+import org.glassfish.jersey.internal.jsr166.Flow;
 import org.glassfish.jersey.internal.util.Producer;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
@@ -653,6 +654,15 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
         return copyRequestContext ? new ClientRequest(requestContext) : requestContext;
     }
 
+    private ClientRequest requestForCall(final ClientRequest requestContext, final Class<?> responseType) {
+        final ClientRequest request = requestForCall(requestContext);
+        if (ChunkedInput.class.isAssignableFrom(responseType) || Flow.Publisher.class.isAssignableFrom(responseType)) {
+            // streamed response entities cannot be buffered and shared with the coalesced requests
+            request.setProperty(ClientProperties.REQUEST_COALESCING, false);
+        }
+        return request;
+    }
+
     @Override
     public Response invoke() throws ProcessingException, WebApplicationException {
         final ClientRuntime runtime = request().getClientRuntime();
@@ -672,7 +682,8 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
         final RequestScope requestScope = runtime.getRequestScope();
 
         return runInScope(() ->
-                translate(runtime.invoke(requestForCall(requestContext)), requestScope, responseType), requestScope);
+                translate(runtime.invoke(requestForCall(requestContext, responseType)), requestScope, responseType),
+                requestScope);
     }
 
     @Override
@@ -684,7 +695,8 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
         final RequestScope requestScope = runtime.getRequestScope();
 
         return runInScope(() ->
-                translate(runtime.invoke(requestForCall(requestContext)), requestScope, responseType), requestScope);
+                translate(runtime.invoke(requestForCall(requestContext, responseType.getRawType())), requestScope, responseType),
+                requestScope);
     }
 
     private <T> T runInScope(Producer<T> producer, RequestScope scope) throws ProcessingException, WebApplicationException {
@@ -725,7 +737,7 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
         final CompletableFuture<T> responseFuture = new CompletableFuture<>();
         final ClientRuntime runtime = request().getClientRuntime();
 
-        runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext),
+        runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext, responseType),
                 new InvocationResponseCallback<T>(responseFuture, (request, scope) -> translate(request, scope, responseType))));
 
         return responseFuture;
@@ -764,7 +776,7 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
         final CompletableFuture<T> responseFuture = new CompletableFuture<>();
         final ClientRuntime runtime = request().getClientRuntime();
 
-        runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext),
+        runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext, responseType.getRawType()),
                 new InvocationResponseCallback<T>(responseFuture, (request, scope) -> translate(request, scope, responseType))));
 
         return responseFuture;
@@ -888,7 +900,8 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
                 }
             };
             final ClientRuntime runtime = request().getClientRuntime();
-            runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext), responseCallback));
+            runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext, callbackParamClass),
+                    responseCallback));
         } catch (final Throwable error) {
             final ProcessingException ce;
             //noinspection ChainOfInstanceofChecks
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Feature enabling the coalescing of identical in-flight requests on the client side
+ * (see {@link ClientProperties#REQUEST_COALESCING}).
+ * <p>
+ * Identical {@code GET} and {@code HEAD} requests sent while the first of them is waiting for the response share
+ * the response; the request is sent only once. This reduces the load of the server in case of e.g. many concurrent
+ * requests for the same resource issued by different parts of the application.
+ * </p>
+ *
+ * @since 2.39
+ */
+@ConstrainedTo(RuntimeType.CLIENT)
+public class RequestCoalescingFeature implements Feature {
+
+    private final String[] headers;
+
+    /**
+     * Create a new feature coalescing the requests that have the same method, URI and the same values of the
+     * {@link ClientProperties#REQUEST_COALESCING_HEADERS default set} of headers.
+     */
+    public RequestCoalescingFeature() {
+        this.headers = null;
+    }
+
+    /**
+     * Create a new feature coalescing the requests that have the same method, URI and the same values of the given
+     * headers. Unless the {@link ClientProperties#REQUEST_COALESCING_HEADERS} property is set in the client configuration
+     * at the time when this feature gets enabled, the provided header names will be used.
+     *
+     * @param headers names of the headers whose values have to be equal for the requests to be coalesced.
+     */
+    public RequestCoalescingFeature(final String... headers) {
+        this.headers = headers.clone();
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.property(ClientProperties.REQUEST_COALESCING, true);
+        // properties take precedence over the constructor value
+        if (headers != null
+                && !context.getConfiguration().getProperties().containsKey(ClientProperties.REQUEST_COALESCING_HEADERS)) {
+            context.property(ClientProperties.REQUEST_COALESCING_HEADERS, headers);
+        }
+        return true;
+    }
+}
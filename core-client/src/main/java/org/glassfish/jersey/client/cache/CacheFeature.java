@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.cache;
+
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Feature that configures a private HTTP response cache on the client side.
+ * <p>
+ * Responses to {@code GET} requests are stored in a size-bounded in-memory cache shared by all the clients the feature
+ * instance is registered to. The cache honours the {@code Cache-Control}, {@code Expires} and {@code Vary} response
+ * headers: fresh responses are served without contacting the server, stale responses that carry an {@code ETag} or
+ * {@code Last-Modified} header are revalidated with a conditional request and served from the cache once the server
+ * responds with {@code 304 Not Modified}. Successful unsafe requests (e.g. {@code POST} or {@code DELETE}) invalidate
+ * the cached responses for the target URI. The least recently used responses are evicted once the size of the cached
+ * responses exceeds the maximum size.
+ * </p>
+ * <p>
+ * Example of the cache configuration:
+ * <pre>
+ * CacheFeature cache = new CacheFeature(50 * 1024 * 1024);
+ * Client client = ClientBuilder.newClient().register(cache);
+ * ...
+ * double hitRatio = cache.getStatistics().getHitRatio();
+ * </pre>
+ * </p>
+ *
+ * @since 2.39
+ */
+public class CacheFeature implements Feature {
+
+    /**
+     * Default maximum size of the cached responses in bytes ({@value}).
+     */
+    public static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * Default maximum size of a single cached response entity in bytes ({@value}). Larger responses are not cached.
+     */
+    public static final long DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private final ResponseCache cache;
+
+    /**
+     * Create a new feature with the {@link #DEFAULT_MAX_SIZE default maximum size} of the cache.
+     */
+    public CacheFeature() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Create a new feature.
+     *
+     * @param maxSize maximum size of the cached responses in bytes.
+     */
+    public CacheFeature(long maxSize) {
+        this(maxSize, DEFAULT_MAX_ENTRY_SIZE);
+    }
+
+    /**
+     * Create a new feature.
+     *
+     * @param maxSize      maximum size of the cached responses in bytes.
+     * @param maxEntrySize maximum size of a single cached response entity in bytes.
+     */
+    public CacheFeature(long maxSize, long maxEntrySize) {
+        if (maxSize <= 0 || maxEntrySize <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.CACHE_SIZE_NOT_POSITIVE(maxSize, maxEntrySize));
+        }
+        this.cache = new ResponseCache(maxSize, maxEntrySize);
+    }
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        if (context.getConfiguration().getRuntimeType() != RuntimeType.CLIENT) {
+            return false;
+        }
+        context.register(new CacheFilter(cache));
+        return true;
+    }
+
+    /**
+     * Get the snapshot of the cache statistics.
+     *
+     * @return cache statistics.
+     */
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
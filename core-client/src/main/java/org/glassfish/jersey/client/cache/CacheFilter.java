@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+/**
+ * Client filter serving the responses from the {@link ResponseCache}.
+ * <p>
+ * The cache is a private cache as described by RFC 7234: fresh responses to {@code GET} requests are served without
+ * contacting the server, stale responses are validated using the {@code If-None-Match} and {@code If-Modified-Since}
+ * conditional requests and the responses are invalidated by the successful unsafe requests to the same URI.
+ * </p>
+ * <p>
+ * The filter runs after the other request filters with the default priority, so that the request headers the response
+ * may vary on have already been set, and before the other response filters, so that they see the cached response as
+ * any other response.
+ * </p>
+ */
+@Priority(Priorities.USER + 1000)
+final class CacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String CACHED_RESPONSE_PROPERTY = CacheFilter.class.getName() + ".cachedResponse";
+    private static final String VALIDATED_RESPONSE_PROPERTY = CacheFilter.class.getName() + ".validatedResponse";
+    private static final String CACHEABLE_PROPERTY = CacheFilter.class.getName() + ".cacheable";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ResponseCache cache;
+
+    /**
+     * Create a new filter.
+     *
+     * @param cache response cache.
+     */
+    CacheFilter(final ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+
+        final MultivaluedMap<String, String> requestHeaders = request.getStringHeaders();
+        final Map<String, String> directives = CachedResponse.directives(requestHeaders.get(HttpHeaders.CACHE_CONTROL));
+        if (directives.containsKey("no-store")) {
+            return;
+        }
+        request.setProperty(CACHEABLE_PROPERTY, Boolean.TRUE);
+
+        final CachedResponse cached = cache.get(key(request.getUri()), requestHeaders);
+        final String pragma = request.getHeaderString("Pragma");
+        final boolean noCache = directives.containsKey("no-cache")
+                || CachedResponse.parseSeconds(directives.get("max-age")) == 0
+                || pragma != null && pragma.toLowerCase(Locale.ROOT).contains("no-cache");
+
+        if (cached != null && !noCache && cached.isFresh(System.currentTimeMillis())) {
+            request.setProperty(CACHED_RESPONSE_PROPERTY, cached);
+            request.abortWith(Response.status(cached.getStatus()).build());
+            return;
+        }
+
+        if (directives.containsKey("only-if-cached")) {
+            request.removeProperty(CACHEABLE_PROPERTY);
+            request.abortWith(Response.status(Response.Status.GATEWAY_TIMEOUT).build());
+            return;
+        }
+
+        if (cached != null && cached.hasValidator()
+                && !request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                && !request.getHeaders().containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            final String etag = cached.getHeaders().getFirst(HttpHeaders.ETAG);
+            if (etag != null) {
+                request.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            final String lastModified = cached.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+            if (lastModified != null) {
+                request.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+            request.setProperty(VALIDATED_RESPONSE_PROPERTY, cached);
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final long now = System.currentTimeMillis();
+
+        final CachedResponse cached = (CachedResponse) request.getProperty(CACHED_RESPONSE_PROPERTY);
+        if (cached != null) {
+            cache.hit();
+            setResponse(response, cached, now);
+            return;
+        }
+
+        if (request.getProperty(CACHEABLE_PROPERTY) == null) {
+            invalidate(request, response);
+            return;
+        }
+
+        final String key = key(request.getUri());
+        final CachedResponse validated = (CachedResponse) request.getProperty(VALIDATED_RESPONSE_PROPERTY);
+        if (validated != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            cache.revalidatedHit();
+            final CachedResponse updated = validated.update(response.getHeaders(), request.getStringHeaders(), now);
+            cache.put(key, updated);
+            setResponse(response, updated, now);
+            return;
+        }
+
+        cache.miss();
+        if (!CachedResponse.isStorable(response.getStatus(), response.getHeaders())) {
+            if (validated != null) {
+                cache.invalidate(key);
+            }
+            return;
+        }
+
+        final byte[] entity = readEntity(response);
+        if (entity != null) {
+            cache.put(key, new CachedResponse(response.getStatus(), response.getHeaders(), entity,
+                    request.getStringHeaders(), now));
+        }
+    }
+
+    /**
+     * Read the response entity to be stored in the cache and replace the response entity stream with the buffered one.
+     *
+     * @return response entity or {@code null} if the entity is too large to be cached.
+     */
+    private byte[] readEntity(final ClientResponseContext response) throws IOException {
+        if (!response.hasEntity()) {
+            return new byte[0];
+        }
+
+        final long maxEntrySize = cache.getMaxEntrySize();
+        if (response.getLength() > maxEntrySize) {
+            return null;
+        }
+
+        final InputStream entityStream = response.getEntityStream();
+        final ByteArrayOutputStream buffered = new ByteArrayOutputStream(
+                response.getLength() >= 0 ? response.getLength() : BUFFER_SIZE);
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = entityStream.read(buffer)) >= 0) {
+            buffered.write(buffer, 0, read);
+            if (buffered.size() > maxEntrySize) {
+                // too large, stream the rest of the entity
+                response.setEntityStream(new SequenceInputStream(
+                        new ByteArrayInputStream(buffered.toByteArray()), entityStream));
+                return null;
+            }
+        }
+        entityStream.close();
+
+        final byte[] entity = buffered.toByteArray();
+        response.setEntityStream(new ByteArrayInputStream(entity));
+        return entity;
+    }
+
+    private void invalidate(final ClientRequestContext request, final ClientResponseContext response) {
+        final String method = request.getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)
+                || "TRACE".equals(method)) {
+            // safe methods
+            return;
+        }
+
+        final Response.Status.Family family = response.getStatusInfo().getFamily();
+        if (family != Response.Status.Family.SUCCESSFUL && family != Response.Status.Family.REDIRECTION) {
+            return;
+        }
+
+        final URI uri = request.getUri();
+        cache.invalidate(key(uri));
+        for (String header : new String[] {HttpHeaders.LOCATION, HttpHeaders.CONTENT_LOCATION}) {
+            final String location = response.getHeaderString(header);
+            if (location != null) {
+                try {
+                    cache.invalidate(key(uri.resolve(location)));
+                } catch (final IllegalArgumentException e) {
+                    // ignore invalid location
+                }
+            }
+        }
+    }
+
+    private static void setResponse(final ClientResponseContext response, final CachedResponse cached, final long now) {
+        response.setStatus(cached.getStatus());
+
+        final MultivaluedMap<String, String> headers = response.getHeaders();
+        headers.clear();
+        for (Map.Entry<String, List<String>> header : cached.getHeaders().entrySet()) {
+            headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+        headers.putSingle("Age", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(cached.getAge(now))));
+
+        response.setEntityStream(new ByteArrayInputStream(cached.getEntity()));
+    }
+
+    private static String key(final URI uri) {
+        return uri.toString();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.cache;
+
+/**
+ * Statistics of the client response cache configured by {@link CacheFeature}.
+ *
+ * @since 2.39
+ */
+public interface CacheStatistics {
+
+    /**
+     * Get the number of responses served from the cache without contacting the server.
+     *
+     * @return number of fresh cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * Get the number of cached responses served after the server confirmed they are still valid
+     * ({@code 304 Not Modified} response to a conditional request).
+     *
+     * @return number of revalidated cache hits.
+     */
+    long getRevalidatedHitCount();
+
+    /**
+     * Get the number of cacheable requests that have been answered by the server with a full response.
+     *
+     * @return number of cache misses.
+     */
+    long getMissCount();
+
+    /**
+     * Get the ratio of the cache hits (both fresh and revalidated) to all the cacheable requests.
+     *
+     * @return hit ratio between {@code 0} and {@code 1}, {@code 0} if there has not been any cacheable request.
+     */
+    double getHitRatio();
+
+    /**
+     * Get the number of cached responses evicted from the cache to keep the cache size within the configured
+     * limit.
+     *
+     * @return number of evictions.
+     */
+    long getEvictionCount();
+
+    /**
+     * Get the number of responses currently stored in the cache.
+     *
+     * @return number of cached responses.
+     */
+    int getEntryCount();
+
+    /**
+     * Get the approximate size of the responses currently stored in the cache in bytes.
+     *
+     * @return size of the cached responses.
+     */
+    long getSize();
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.cache;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+
+/**
+ * Immutable cached response.
+ */
+final class CachedResponse {
+
+    private static final String AGE = "Age";
+
+    private final int status;
+    private final MultivaluedMap<String, String> headers;
+    private final byte[] entity;
+    private final Map<String, String> varyingHeaders;
+    private final long responseTime;
+    private final long initialAge;
+    private final long freshnessLifetime;
+    private final long size;
+
+    /**
+     * Create a new cached response.
+     *
+     * @param status         response status code.
+     * @param headers        response headers.
+     * @param entity         response entity.
+     * @param requestHeaders headers of the request the response has been received for.
+     * @param responseTime   time the response has been received at in milliseconds.
+     */
+    CachedResponse(final int status,
+                   final MultivaluedMap<String, String> headers,
+                   final byte[] entity,
+                   final MultivaluedMap<String, String> requestHeaders,
+                   final long responseTime) {
+        this.status = status;
+        this.headers = copy(headers);
+        this.entity = entity;
+        this.responseTime = responseTime;
+
+        final Map<String, String> varying = new HashMap<>();
+        for (String name : varyHeaderNames(headers)) {
+            varying.put(name, headerValue(requestHeaders, name));
+        }
+        this.varyingHeaders = Collections.unmodifiableMap(varying);
+
+        final Map<String, String> directives = directives(headers.get(HttpHeaders.CACHE_CONTROL));
+        this.freshnessLifetime = freshnessLifetime(headers, directives);
+        this.initialAge = TimeUnit.SECONDS.toMillis(Math.max(0, parseSeconds(headers.getFirst(AGE))));
+
+        long headersSize = 0;
+        for (Map.Entry<String, List<String>> header : this.headers.entrySet()) {
+            for (String value : header.getValue()) {
+                headersSize += header.getKey().length() + value.length();
+            }
+        }
+        this.size = entity.length + headersSize;
+    }
+
+    /**
+     * Check whether the response can be stored in the cache.
+     *
+     * @param status  response status code.
+     * @param headers response headers.
+     * @return {@code true} if the response can be stored.
+     */
+    static boolean isStorable(final int status, final MultivaluedMap<String, String> headers) {
+        switch (status) {
+            case 200:
+            case 203:
+            case 300:
+            case 301:
+            case 404:
+            case 410:
+                break;
+            default:
+                return false;
+        }
+
+        if (varyHeaderNames(headers).contains("*")) {
+            return false;
+        }
+
+        final Map<String, String> directives = directives(headers.get(HttpHeaders.CACHE_CONTROL));
+        if (directives.containsKey("no-store")) {
+            return false;
+        }
+
+        // a response without the explicit expiration and validators would never be used
+        return directives.containsKey("max-age")
+                || headers.containsKey(HttpHeaders.EXPIRES)
+                || headers.containsKey(HttpHeaders.ETAG)
+                || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * Parse the {@code Cache-Control} header values to a map of directive names (in lower case) and values (empty for
+     * directives without a value).
+     *
+     * @param values header values, may be {@code null}.
+     * @return cache control directives.
+     */
+    static Map<String, String> directives(final List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, String> directives = new HashMap<>();
+        for (String value : values) {
+            for (String directive : value.split(",")) {
+                final int eq = directive.indexOf('=');
+                final String name = (eq < 0 ? directive : directive.substring(0, eq)).trim().toLowerCase(Locale.ROOT);
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String argument = eq < 0 ? "" : directive.substring(eq + 1).trim();
+                if (argument.length() > 1 && argument.startsWith("\"") && argument.endsWith("\"")) {
+                    argument = argument.substring(1, argument.length() - 1);
+                }
+                directives.put(name, argument);
+            }
+        }
+        return directives;
+    }
+
+    /**
+     * Parse the delta-seconds value.
+     *
+     * @param value value to be parsed, may be {@code null}.
+     * @return number of seconds, {@code -1} if the value is missing or invalid.
+     */
+    static long parseSeconds(final String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Check whether the response has been received for a request with the same values of the headers the response
+     * varies on.
+     *
+     * @param requestHeaders request headers.
+     * @return {@code true} if the response matches the request.
+     */
+    boolean matches(final MultivaluedMap<String, String> requestHeaders) {
+        for (Map.Entry<String, String> varying : varyingHeaders.entrySet()) {
+            if (!varying.getValue().equals(headerValue(requestHeaders, varying.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the response has been received for a request with the same values of the headers the response
+     * varies on as the request the given response has been received for.
+     *
+     * @param other other cached response.
+     * @return {@code true} if both the responses are variants for the same request headers.
+     */
+    boolean isSameVariant(final CachedResponse other) {
+        return varyingHeaders.equals(other.varyingHeaders);
+    }
+
+    /**
+     * Check whether the response can be served without the validation.
+     *
+     * @param now current time in milliseconds.
+     * @return {@code true} if the response is fresh.
+     */
+    boolean isFresh(final long now) {
+        return getAge(now) < freshnessLifetime;
+    }
+
+    /**
+     * Get the age of the response.
+     *
+     * @param now current time in milliseconds.
+     * @return age of the response in milliseconds.
+     */
+    long getAge(final long now) {
+        return initialAge + Math.max(0, now - responseTime);
+    }
+
+    /**
+     * Check whether the response can be validated with the server.
+     *
+     * @return {@code true} if the response has got an entity tag or the last modification date.
+     */
+    boolean hasValidator() {
+        return headers.containsKey(HttpHeaders.ETAG) || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * Create the updated cached response from the headers of the {@code 304 Not Modified} response received when
+     * the response has been validated.
+     *
+     * @param notModifiedHeaders headers of the {@code 304} response.
+     * @param requestHeaders     headers of the validation request.
+     * @param now                time the {@code 304} response has been received at.
+     * @return updated cached response.
+     */
+    CachedResponse update(final MultivaluedMap<String, String> notModifiedHeaders,
+                          final MultivaluedMap<String, String> requestHeaders,
+                          final long now) {
+        final MultivaluedMap<String, String> updated = copy(headers);
+        for (Map.Entry<String, List<String>> header : notModifiedHeaders.entrySet()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())) {
+                updated.put(header.getKey(), header.getValue());
+            }
+        }
+        return new CachedResponse(status, updated, entity, requestHeaders, now);
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    MultivaluedMap<String, String> getHeaders() {
+        return headers;
+    }
+
+    byte[] getEntity() {
+        return entity;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    private static long freshnessLifetime(final MultivaluedMap<String, String> headers, final Map<String, String> directives) {
+        if (directives.containsKey("no-cache")) {
+            return 0;
+        }
+
+        final long maxAge = parseSeconds(directives.get("max-age"));
+        if (maxAge >= 0) {
+            return TimeUnit.SECONDS.toMillis(maxAge);
+        }
+
+        final long expires = parseDate(headers.getFirst(HttpHeaders.EXPIRES));
+        if (expires >= 0) {
+            final long date = parseDate(headers.getFirst(HttpHeaders.DATE));
+            return Math.max(0, expires - (date >= 0 ? date : System.currentTimeMillis()));
+        }
+
+        return 0;
+    }
+
+    private static long parseDate(final String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return HttpDateFormat.readDate(value).getTime();
+        } catch (final ParseException e) {
+            // invalid dates (e.g. "0") represent the time in the past
+            return 0;
+        }
+    }
+
+    private static List<String> varyHeaderNames(final MultivaluedMap<String, String> headers) {
+        final List<String> values = headers.get(HttpHeaders.VARY);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+
+        final List<String> names = new ArrayList<>();
+        for (String value : values) {
+            for (String name : value.split(",")) {
+                final String trimmed = name.trim();
+                if (!trimmed.isEmpty()) {
+                    names.add(trimmed.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String headerValue(final MultivaluedMap<String, String> headers, final String name) {
+        final StringBuilder value = new StringBuilder();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                for (String v : header.getValue()) {
+                    if (value.length() > 0) {
+                        value.append(',');
+                    }
+                    value.append(v.trim());
+                }
+            }
+        }
+        return value.toString();
+    }
+
+    private static MultivaluedMap<String, String> copy(final MultivaluedMap<String, String> headers) {
+        final MultivaluedMap<String, String> copy = HeaderUtils.createInbound();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            copy.put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+        return copy;
+    }
+}
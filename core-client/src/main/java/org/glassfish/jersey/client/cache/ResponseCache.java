@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Size-bounded in-memory store of the cached responses. The responses are stored per request URI (with one variant per
+ * combination of the values of the request headers the response varies on) and the least recently used URIs are evicted
+ * once the size of the stored responses exceeds the maximum size.
+ */
+final class ResponseCache {
+
+    private final long maxSize;
+    private final long maxEntrySize;
+
+    // access ordered
+    private final LinkedHashMap<String, List<CachedResponse>> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private int entryCount;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidatedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize      maximum size of all the stored responses in bytes.
+     * @param maxEntrySize maximum size of a single stored response entity in bytes.
+     */
+    ResponseCache(final long maxSize, final long maxEntrySize) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = Math.min(maxSize, maxEntrySize);
+    }
+
+    /**
+     * Get the maximum size of a response entity that can be stored.
+     *
+     * @return maximum entity size in bytes.
+     */
+    long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Get the cached response matching the request.
+     *
+     * @param key            request URI.
+     * @param requestHeaders request headers.
+     * @return matching cached response or {@code null} if there is none.
+     */
+    synchronized CachedResponse get(final String key, final MultivaluedMap<String, String> requestHeaders) {
+        final List<CachedResponse> variants = responses.get(key);
+        if (variants != null) {
+            for (CachedResponse variant : variants) {
+                if (variant.matches(requestHeaders)) {
+                    return variant;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Store the response, replacing the cached variant for the same request headers.
+     *
+     * @param key      request URI.
+     * @param response response to be stored.
+     */
+    synchronized void put(final String key, final CachedResponse response) {
+        if (response.getSize() > maxSize) {
+            return;
+        }
+
+        List<CachedResponse> variants = responses.get(key);
+        if (variants == null) {
+            variants = new ArrayList<>(1);
+            responses.put(key, variants);
+        }
+
+        final Iterator<CachedResponse> iterator = variants.iterator();
+        while (iterator.hasNext()) {
+            final CachedResponse variant = iterator.next();
+            if (variant.isSameVariant(response)) {
+                iterator.remove();
+                size -= variant.getSize();
+                entryCount--;
+            }
+        }
+        variants.add(response);
+        size += response.getSize();
+        entryCount++;
+
+        final Iterator<Map.Entry<String, List<CachedResponse>>> eldest = responses.entrySet().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            final Map.Entry<String, List<CachedResponse>> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                // the most recently used one
+                continue;
+            }
+            eldest.remove();
+            for (CachedResponse evicted : entry.getValue()) {
+                size -= evicted.getSize();
+                entryCount--;
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached responses for the request URI.
+     *
+     * @param key request URI.
+     */
+    synchronized void invalidate(final String key) {
+        final List<CachedResponse> variants = responses.remove(key);
+        if (variants != null) {
+            for (CachedResponse variant : variants) {
+                size -= variant.getSize();
+                entryCount--;
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    synchronized void clear() {
+        responses.clear();
+        size = 0;
+        entryCount = 0;
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void revalidatedHit() {
+        revalidatedHits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Get the snapshot of the cache statistics.
+     *
+     * @return cache statistics.
+     */
+    CacheStatistics getStatistics() {
+        final int entries;
+        final long currentSize;
+        synchronized (this) {
+            entries = entryCount;
+            currentSize = size;
+        }
+        return new CacheStatisticsImpl(hits.sum(), revalidatedHits.sum(), misses.sum(), evictions.sum(), entries, currentSize);
+    }
+
+    /**
+     * Immutable statistics snapshot.
+     */
+    private static final class CacheStatisticsImpl implements CacheStatistics {
+
+        private final long hitCount;
+        private final long revalidatedHitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int entryCount;
+        private final long size;
+
+        private CacheStatisticsImpl(final long hitCount, final long revalidatedHitCount, final long missCount,
+                                    final long evictionCount, final int entryCount, final long size) {
+            this.hitCount = hitCount;
+            this.revalidatedHitCount = revalidatedHitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.entryCount = entryCount;
+            this.size = size;
+        }
+
+        @Override
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        @Override
+        public long getRevalidatedHitCount() {
+            return revalidatedHitCount;
+        }
+
+        @Override
+        public long getMissCount() {
+            return missCount;
+        }
+
+        @Override
+        public double getHitRatio() {
+            final long total = hitCount + revalidatedHitCount + missCount;
+            return total == 0 ? 0 : (double) (hitCount + revalidatedHitCount) / total;
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        @Override
+        public int getEntryCount() {
+            return entryCount;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStatistics{hits=" + hitCount + ", revalidatedHits=" + revalidatedHitCount + ", misses=" + missCount
+                    + ", evictions=" + evictionCount + ", entries=" + entryCount + ", size=" + size + '}';
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the adaptive client concurrency limit.
+ */
+public class ConcurrencyLimitTest {
+
+    private static final URI HOST_A = URI.create("http://a.example.org:8080/resource");
+    private static final URI HOST_B = URI.create("http://b.example.org/resource");
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private Client client;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if (client != null) {
+            client.close();
+        }
+        executor.shutdown();
+    }
+
+    private Client client(final ConcurrencyLimitFeature feature) {
+        client = ClientBuilder.newClient(new ClientConfig().connectorProvider(new TestConnectorProvider()).register(feature));
+        return client;
+    }
+
+    private void awaitRequests(final int count) throws InterruptedException {
+        while (requests.get() < count) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testRejectedWhenSaturated() throws Exception {
+        final ConcurrencyLimitFeature feature = new ConcurrencyLimitFeature(2, 1, 10);
+        final Client client = client(feature);
+
+        final List<Future<String>> responses = new ArrayList<>();
+        responses.add(client.target(HOST_A).request().async().get(String.class));
+        responses.add(client.target(HOST_A).request().async().get(String.class));
+        awaitRequests(2);
+
+        final ProcessingException exception = assertThrows(ProcessingException.class,
+                () -> client.target(HOST_A).request().get(String.class));
+        assertInstanceOf(ConcurrencyLimitExceededException.class, exception);
+        assertEquals("a.example.org:8080", ((ConcurrencyLimitExceededException) exception).getHost());
+        assertEquals(2, ((ConcurrencyLimitExceededException) exception).getLimit());
+
+        final Future<String> rejected = client.target(HOST_A).request().async().get(String.class);
+        // rejected immediately, without waiting for the requests in flight
+        final ExecutionException failure = assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ConcurrencyLimitExceededException.class, failure.getCause());
+
+        ConcurrencyLimitStatistics statistics = feature.getStatistics().get("a.example.org:8080");
+        assertEquals(2, statistics.getLimit());
+        assertEquals(2, statistics.getInFlight());
+        assertEquals(2, statistics.getRejectedCount());
+        assertEquals(2, requests.get());
+
+        release.countDown();
+        for (Future<String> response : responses) {
+            assertEquals("response", response.get(10, TimeUnit.SECONDS));
+        }
+        statistics = feature.getStatistics().get("a.example.org:8080");
+        assertEquals(0, statistics.getInFlight());
+        assertEquals("response", client.target(HOST_A).request().get(String.class));
+    }
+
+    @Test
+    public void testHostsLimitedIndependently() throws Exception {
+        final ConcurrencyLimitFeature feature = new ConcurrencyLimitFeature(1, 1, 10);
+        final Client client = client(feature);
+
+        final Future<String> first = client.target(HOST_A).request().async().get(String.class);
+        final Future<String> second = client.target(HOST_B).request().async().get(String.class);
+        awaitRequests(2);
+        assertThrows(ConcurrencyLimitExceededException.class, () -> client.target(HOST_B).request().get(String.class));
+
+        release.countDown();
+        assertEquals("response", first.get(10, TimeUnit.SECONDS));
+        assertEquals("response", second.get(10, TimeUnit.SECONDS));
+        assertEquals(0, feature.getStatistics().get("a.example.org:8080").getRejectedCount());
+        assertEquals(1, feature.getStatistics().get("b.example.org").getRejectedCount());
+    }
+
+    @Test
+    public void testLimitedAfterRequestFilters() throws Exception {
+        final ConcurrencyLimitFeature feature = new ConcurrencyLimitFeature(1, 1, 10);
+        final Client client = client(feature);
+        client.register((ClientRequestFilter) requestContext -> requestContext.setUri(HOST_B));
+        release.countDown();
+
+        assertEquals("response", client.target(HOST_A).request().get(String.class));
+        assertEquals("response", client.target(HOST_A).request().async().get(String.class).get(10, TimeUnit.SECONDS));
+        assertTrue(feature.getStatistics().containsKey("b.example.org"));
+        assertFalse(feature.getStatistics().containsKey("a.example.org:8080"));
+    }
+
+    @Test
+    public void testRejectedSubmission() {
+        final ConcurrencyLimitFeature feature = new ConcurrencyLimitFeature(1, 1, 10);
+        final ExecutorService shutdown = Executors.newSingleThreadExecutor();
+        shutdown.shutdown();
+        client = ClientBuilder.newBuilder().withConfig(new ClientConfig().connectorProvider(new TestConnectorProvider()))
+                .register(feature).executorService(shutdown).build();
+        release.countDown();
+
+        assertThrows(RejectedExecutionException.class, () -> client.target(HOST_A).request().async().get(String.class));
+        // no permit has been taken by the request that has never been sent
+        assertEquals("response", client.target(HOST_A).request().get(String.class));
+        assertEquals(0, feature.getStatistics().get("a.example.org:8080").getInFlight());
+    }
+
+    @Test
+    public void testLimitGrowsWithStableLatency() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 10);
+
+        for (int i = 0; i < 20; i++) {
+            final List<ConcurrencyLimiter.Permit> permits = acquireAll(limiter);
+            for (ConcurrencyLimiter.Permit permit : permits) {
+                permit.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+            }
+        }
+        assertEquals(10, limiter.getStatistics().get("a.example.org:8080").getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksWithGrowingLatency() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 1, 100);
+
+        limiter.acquire(HOST_A).release(TimeUnit.MILLISECONDS.toNanos(10), false);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(HOST_A).release(TimeUnit.MILLISECONDS.toNanos(100), false);
+        }
+        final int limit = limiter.getStatistics().get("a.example.org:8080").getLimit();
+        assertTrue(limit < 20, "Limit: " + limit);
+    }
+
+    @Test
+    public void testLimitShrinksOnFailure() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 5, 100);
+
+        limiter.acquire(HOST_A).release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        assertEquals(18, limiter.getStatistics().get("a.example.org:8080").getLimit());
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire(HOST_A).release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        }
+        assertEquals(5, limiter.getStatistics().get("a.example.org:8080").getLimit());
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitFeature(0, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitFeature(5, 10, 20));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitFeature(20, 1, 10));
+    }
+
+    private static List<ConcurrencyLimiter.Permit> acquireAll(final ConcurrencyLimiter limiter) {
+        final List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        try {
+            while (true) {
+                permits.add(limiter.acquire(HOST_A));
+            }
+        } catch (final ConcurrencyLimitExceededException e) {
+            return permits;
+        }
+    }
+
+    private class TestConnectorProvider implements ConnectorProvider {
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return new Connector() {
+                @Override
+                public ClientResponse apply(final ClientRequest request) {
+                    requests.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        throw new ProcessingException(e);
+                    }
+                    final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+                    response.setEntityStream(new ByteArrayInputStream("response".getBytes(StandardCharsets.UTF_8)));
+                    return response;
+                }
+
+                @Override
+                public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                    return executor.submit(() -> {
+                        try {
+                            callback.response(apply(request));
+                        } catch (final Throwable t) {
+                            callback.failure(t);
+                        }
+                    });
+                }
+
+                @Override
+                public String getName() {
+                    return "concurrency-limit-test";
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
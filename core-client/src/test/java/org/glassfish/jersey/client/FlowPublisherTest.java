@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.spi.NonBlockingInput;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link Flow.Publisher} request and response entities.
+ */
+public class FlowPublisherTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private volatile InputStream responseEntity;
+    private volatile String responseType = NDJSON;
+    private final Client client = ClientBuilder.newClient(new ClientConfig().connectorProvider(new TestConnectorProvider()));
+
+    @AfterEach
+    public void tearDown() {
+        client.close();
+    }
+
+    private WebTarget target() {
+        return client.target("http://localhost/publisher");
+    }
+
+    @Test
+    public void testChunks() throws Exception {
+        final byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        responseEntity = new ByteArrayInputStream(data);
+        responseType = "application/octet-stream";
+
+        final Flow.Publisher<ByteBuffer> publisher = target().request().get(new GenericType<Flow.Publisher<ByteBuffer>>() {
+        });
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        for (ByteBuffer chunk : new CollectingSubscriber<>(publisher, Long.MAX_VALUE).get()) {
+            received.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+        }
+        assertTrue(Arrays.equals(data, received.toByteArray()));
+    }
+
+    @Test
+    public void testItems() throws Exception {
+        responseEntity = new ByteArrayInputStream("a\nbb\r\n\nccc".getBytes(StandardCharsets.UTF_8));
+
+        final CompletionStage<Flow.Publisher<String>> stage = target().request().rx()
+                .get(new GenericType<Flow.Publisher<String>>() {
+                });
+        final Flow.Publisher<String> publisher = stage.toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList("a", "bb", "ccc"), new CollectingSubscriber<>(publisher, 1).get());
+    }
+
+    @Test
+    public void testNonBlockingInput() throws Exception {
+        final TestNonBlockingInput input = new TestNonBlockingInput();
+        responseEntity = input;
+
+        final Flow.Publisher<String> publisher = target().request().get(new GenericType<Flow.Publisher<String>>() {
+        });
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(publisher, 1);
+        assertTrue(input.listenerSet.get(10, TimeUnit.SECONDS));
+
+        input.publish("first\nsec");
+        input.publish("ond\n");
+        input.end();
+
+        assertEquals(Arrays.asList("first", "second"), subscriber.get());
+        assertFalse(input.blockingRead);
+    }
+
+    @Test
+    public void testNonBlockingInputFailure() throws Exception {
+        final TestNonBlockingInput input = new TestNonBlockingInput() {
+            @Override
+            public synchronized boolean isReady() {
+                throw new IllegalStateException("Input failed.");
+            }
+        };
+        responseEntity = input;
+
+        final Flow.Publisher<String> publisher = target().request().get(new GenericType<Flow.Publisher<String>>() {
+        });
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(publisher, 1);
+        assertTrue(input.listenerSet.get(10, TimeUnit.SECONDS));
+
+        input.publish("first\n");
+
+        assertTrue(subscriber.failure.get(10, TimeUnit.SECONDS) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testNonPositiveRequest() throws Exception {
+        responseEntity = new ByteArrayInputStream("a\n".getBytes(StandardCharsets.UTF_8));
+
+        final Flow.Publisher<String> publisher = target().request().get(new GenericType<Flow.Publisher<String>>() {
+        });
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(publisher, 0);
+        assertTrue(subscriber.failure.get(10, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testSingleSubscriber() throws Exception {
+        responseEntity = new ByteArrayInputStream("a\n".getBytes(StandardCharsets.UTF_8));
+
+        final Flow.Publisher<String> publisher = target().request().get(new GenericType<Flow.Publisher<String>>() {
+        });
+        final CollectingSubscriber<String> first = new CollectingSubscriber<>(publisher, 1);
+        final CollectingSubscriber<String> second = new CollectingSubscriber<>(publisher, 1);
+
+        assertEquals(Arrays.asList("a"), first.get());
+        assertTrue(second.failure.get(10, TimeUnit.SECONDS) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testRequestEntity() throws Exception {
+        final Flow.Publisher<Object> publisher = new ListPublisher(Arrays.asList(
+                "a", ByteBuffer.wrap("b\n".getBytes(StandardCharsets.UTF_8)), "c"));
+
+        final String echo = target().request().post(Entity.entity(publisher, NDJSON), String.class);
+        assertEquals("a\nb\nc\n", echo);
+    }
+
+    /**
+     * Subscriber collecting the items, requesting the given number of items at once.
+     */
+    private static class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final List<T> items = new ArrayList<>();
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        private final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        private final long batch;
+        private long outstanding;
+        private Flow.Subscription subscription;
+
+        private CollectingSubscriber(final Flow.Publisher<T> publisher, final long batch) {
+            this.batch = batch;
+            publisher.subscribe(this);
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = batch;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+            if (--outstanding == 0) {
+                outstanding = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            failure.complete(throwable);
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(items);
+        }
+
+        private List<T> get() throws Exception {
+            return result.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Publisher of a list of items, honouring the demand.
+     */
+    private static class ListPublisher implements Flow.Publisher<Object> {
+
+        private final List<Object> items;
+
+        private ListPublisher(final List<Object> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super Object> subscriber) {
+            final Iterator<Object> iterator = items.iterator();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private boolean done;
+
+                @Override
+                public synchronized void request(final long n) {
+                    for (long i = 0; i < n && iterator.hasNext(); i++) {
+                        subscriber.onNext(iterator.next());
+                    }
+                    if (!iterator.hasNext() && !done) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+
+    /**
+     * Entity input stream the test publishes the data to.
+     */
+    private static class TestNonBlockingInput extends InputStream implements NonBlockingInput {
+
+        private final CompletableFuture<Boolean> listenerSet = new CompletableFuture<>();
+        private final Queue<byte[]> chunks = new ArrayDeque<>();
+        private boolean ended;
+        private boolean notify;
+        private volatile boolean blockingRead;
+        private Listener listener;
+
+        @Override
+        public synchronized boolean isReady() {
+            if (!chunks.isEmpty()) {
+                return true;
+            }
+            notify = true;
+            if (ended) {
+                listener.onAllDataRead();
+            }
+            return false;
+        }
+
+        @Override
+        public synchronized void setReadListener(final Listener listener) {
+            this.listener = listener;
+            // the listener is notified once the first data are published
+            notify = true;
+            listenerSet.complete(true);
+        }
+
+        @Override
+        public int read() throws IOException {
+            blockingRead = true;
+            throw new IOException("Blocking read.");
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) {
+            final byte[] chunk = chunks.poll();
+            System.arraycopy(chunk, 0, b, off, chunk.length);
+            return chunk.length;
+        }
+
+        private synchronized void publish(final String data) {
+            chunks.add(data.getBytes(StandardCharsets.UTF_8));
+            if (notify) {
+                notify = false;
+                listener.onDataAvailable();
+            }
+        }
+
+        private synchronized void end() {
+            ended = true;
+            if (notify) {
+                notify = false;
+                listener.onAllDataRead();
+            }
+        }
+    }
+
+    private class TestConnectorProvider implements ConnectorProvider {
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return new Connector() {
+                @Override
+                public ClientResponse apply(final ClientRequest request) {
+                    final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+                    if (request.hasEntity()) {
+                        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+                        request.setStreamProvider(contentLength -> entity);
+                        try {
+                            request.writeEntity();
+                        } catch (final IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                        response.header(HttpHeaders.CONTENT_TYPE, "text/plain");
+                        response.setEntityStream(new ByteArrayInputStream(entity.toByteArray()));
+                    } else {
+                        response.header(HttpHeaders.CONTENT_TYPE, responseType);
+                        response.setEntityStream(responseEntity);
+                    }
+                    return response;
+                }
+
+                @Override
+                public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                    callback.response(apply(request));
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                @Override
+                public String getName() {
+                    return "flow-publisher-test";
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the hedged and retried client requests.
+ */
+public class HedgingTest {
+
+    private enum Behaviour {
+        RESPOND, FAIL, HANG
+    }
+
+    private final Queue<Behaviour> behaviours = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+    private final CountDownLatch hang = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private Client client;
+
+    @AfterEach
+    public void tearDown() {
+        hang.countDown();
+        if (client != null) {
+            client.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private WebTarget target(final HedgingFeature feature) {
+        client = ClientBuilder.newClient(new ClientConfig().connectorProvider(new TestConnectorProvider()).register(feature));
+        return client.target("http://localhost/resource");
+    }
+
+    private static void prime(final WebTarget target) {
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            assertEquals("response", target.request().get(String.class));
+        }
+    }
+
+    @Test
+    public void testSlowRequestHedged() throws Exception {
+        final WebTarget target = target(new HedgingFeature(50, 1));
+        prime(target);
+        calls.set(0);
+        attempts.clear();
+
+        behaviours.add(Behaviour.HANG);
+        assertEquals("response", target.request().get(String.class));
+        assertEquals(2, calls.get());
+        // the loser is cancelled
+        assertTrue(attempts.get(0).isCancelled());
+    }
+
+    @Test
+    public void testAsyncSlowRequestHedged() throws Exception {
+        final WebTarget target = target(new HedgingFeature(50, 1));
+        prime(target);
+        calls.set(0);
+        attempts.clear();
+
+        behaviours.add(Behaviour.HANG);
+        assertEquals("response", target.request().async().get(String.class).get(10, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertTrue(attempts.get(0).isCancelled());
+    }
+
+    @Test
+    public void testSlowRequestHedgedWithDefaultConnector() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/resource", exchange -> {
+            if (requests.incrementAndGet() == HedgingPolicy.MIN_SAMPLES + 1) {
+                try {
+                    hang.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final byte[] entity = "response".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, entity.length);
+            exchange.getResponseBody().write(entity);
+            exchange.close();
+        });
+        server.start();
+        try {
+            client = ClientBuilder.newClient(new ClientConfig().register(new HedgingFeature(50, 1)));
+            final WebTarget target = client.target("http://localhost:" + server.getAddress().getPort() + "/resource");
+            prime(target);
+
+            assertEquals("response", target.request().get(String.class));
+            assertEquals(HedgingPolicy.MIN_SAMPLES + 2, requests.get());
+            assertEquals("response", target.request().async().get(String.class).get(10, TimeUnit.SECONDS));
+        } finally {
+            hang.countDown();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testNotHedgedWithoutLatencies() throws Exception {
+        final WebTarget target = target(new HedgingFeature(50, 1));
+
+        behaviours.add(Behaviour.HANG);
+        final Future<String> response = target.request().async().get(String.class);
+        Thread.sleep(100);
+        assertEquals(1, calls.get());
+        hang.countDown();
+        assertEquals("response", response.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedRequestRetried() {
+        final WebTarget target = target(new HedgingFeature());
+
+        behaviours.add(Behaviour.FAIL);
+        assertEquals("response", target.request().get(String.class));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testRetriesLimitedByBudget() {
+        final WebTarget target = target(new HedgingFeature(95, 0.1));
+
+        final int requests = 30;
+        for (int i = 0; i < requests * 2; i++) {
+            behaviours.add(Behaviour.FAIL);
+        }
+        for (int i = 0; i < requests; i++) {
+            assertThrows(ProcessingException.class, () -> target.request().get(String.class));
+        }
+        final int retries = calls.get() - requests;
+        assertTrue(retries >= HedgingPolicy.MAX_TOKENS && retries < requests / 2, "Retries: " + retries);
+    }
+
+    @Test
+    public void testNonIdempotentRequestNotRetried() {
+        final WebTarget target = target(new HedgingFeature());
+
+        behaviours.add(Behaviour.FAIL);
+        assertThrows(ProcessingException.class, () -> target.request().post(Entity.text("entity"), String.class));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new HedgingFeature(0, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new HedgingFeature(101, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new HedgingFeature(95, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HedgingFeature(95, 2));
+    }
+
+    private class TestConnectorProvider implements ConnectorProvider {
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return new Connector() {
+                @Override
+                public ClientResponse apply(final ClientRequest request) {
+                    calls.incrementAndGet();
+                    final Behaviour behaviour = behaviours.poll();
+                    if (behaviour == Behaviour.FAIL) {
+                        throw new ProcessingException("failure");
+                    } else if (behaviour == Behaviour.HANG) {
+                        try {
+                            hang.await();
+                        } catch (final InterruptedException e) {
+                            throw new ProcessingException(e);
+                        }
+                    }
+                    final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+                    response.setEntityStream(new ByteArrayInputStream("response".getBytes(StandardCharsets.UTF_8)));
+                    return response;
+                }
+
+                @Override
+                public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                    final Future<?> attempt = executor.submit(() -> {
+                        try {
+                            callback.response(apply(request));
+                        } catch (final Throwable t) {
+                            callback.failure(t);
+                        }
+                    });
+                    attempts.add(attempt);
+                    return attempt;
+                }
+
+                @Override
+                public String getName() {
+                    return "hedging-test";
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the coalescing of identical in-flight requests.
+ */
+public class RequestCoalescingTest {
+
+    private static final int FOLLOWERS = 4;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch sent = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile Function<ClientRequest, ClientResponse> server = request -> response(request, "response");
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private Client client;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if (client != null) {
+            client.close();
+        }
+        executor.shutdown();
+    }
+
+    private WebTarget target(final Object... features) {
+        final ClientConfig config = new ClientConfig().connectorProvider(new TestConnectorProvider());
+        for (Object feature : features) {
+            config.register(feature);
+        }
+        client = ClientBuilder.newClient(config);
+        return client.target("http://localhost/resource");
+    }
+
+    private static ClientResponse response(final ClientRequest request, final String entity) {
+        final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+        response.getHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN);
+        response.setEntityStream(new ByteArrayInputStream(entity.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+
+    /**
+     * Invoke the requests in separate threads and wait until they are blocked waiting for the response.
+     */
+    private static <T> List<CompletableFuture<T>> invokeBlocked(final Invocation invocation, final Class<T> type)
+            throws InterruptedException {
+        final List<CompletableFuture<T>> responses = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            final CompletableFuture<T> response = new CompletableFuture<>();
+            final Thread thread = new Thread(() -> {
+                try {
+                    response.complete(invocation.invoke(type));
+                } catch (final Throwable t) {
+                    response.completeExceptionally(t);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+            responses.add(response);
+        }
+        for (Thread thread : threads) {
+            while (thread.isAlive() && !isCoalescing(thread)) {
+                Thread.sleep(10);
+            }
+        }
+        return responses;
+    }
+
+    private static boolean isCoalescing(final Thread thread) {
+        if (thread.getState() != Thread.State.WAITING) {
+            return false;
+        }
+        for (StackTraceElement element : thread.getStackTrace()) {
+            if (CoalescingConnector.class.getName().equals(element.getClassName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testIdenticalRequestsCoalesced() throws Exception {
+        final Invocation invocation = target(new RequestCoalescingFeature()).request(MediaType.TEXT_PLAIN).buildGet();
+
+        final List<CompletableFuture<String>> responses = invokeBlocked(invocation, String.class);
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        release.countDown();
+
+        for (CompletableFuture<String> response : responses) {
+            assertEquals("response", response.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testAsyncRequestCoalesced() throws Exception {
+        final WebTarget target = target(new RequestCoalescingFeature());
+
+        final Future<String> leader = target.request(MediaType.TEXT_PLAIN).async().get(String.class);
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        final List<CompletableFuture<String>> followers =
+                invokeBlocked(target.request(MediaType.TEXT_PLAIN).buildGet(), String.class);
+        release.countDown();
+
+        assertEquals("response", leader.get(10, TimeUnit.SECONDS));
+        for (CompletableFuture<String> follower : followers) {
+            assertEquals("response", follower.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testIndependentEntityStreams() throws Exception {
+        final WebTarget target = target(new RequestCoalescingFeature());
+
+        final Future<Response> leader = target.request(MediaType.TEXT_PLAIN).async().get();
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        final List<CompletableFuture<Response>> followers =
+                invokeBlocked(target.request(MediaType.TEXT_PLAIN).buildGet(), Response.class);
+        release.countDown();
+
+        assertEquals("response", leader.get(10, TimeUnit.SECONDS).readEntity(String.class));
+        for (CompletableFuture<Response> follower : followers) {
+            final Response response = follower.get(10, TimeUnit.SECONDS);
+            assertEquals(MediaType.TEXT_PLAIN_TYPE, response.getMediaType());
+            assertEquals("response", response.readEntity(String.class));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testDifferentHeadersNotCoalesced() throws Exception {
+        final WebTarget target = target(new RequestCoalescingFeature());
+
+        final Future<String> plain = target.request(MediaType.TEXT_PLAIN).async().get(String.class);
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        final Future<String> html = target.request(MediaType.TEXT_HTML).async().get(String.class);
+        while (requests.get() < 2) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("response", plain.get(10, TimeUnit.SECONDS));
+        assertEquals("response", html.get(10, TimeUnit.SECONDS));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testCustomHeaders() throws Exception {
+        final WebTarget target = target(new RequestCoalescingFeature("X-Tenant"));
+
+        final Future<String> first = target.request(MediaType.TEXT_PLAIN).header("X-Tenant", "a").async().get(String.class);
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        // Accept is not part of the key any more
+        final List<CompletableFuture<String>> followers =
+                invokeBlocked(target.request(MediaType.TEXT_HTML).header("X-Tenant", "a").buildGet(), String.class);
+        final Future<String> other = target.request(MediaType.TEXT_PLAIN).header("X-Tenant", "b").async().get(String.class);
+        while (requests.get() < 2) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("response", first.get(10, TimeUnit.SECONDS));
+        assertEquals("response", other.get(10, TimeUnit.SECONDS));
+        for (CompletableFuture<String> follower : followers) {
+            assertEquals("response", follower.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testPostNotCoalesced() throws Exception {
+        final WebTarget target = target(new RequestCoalescingFeature());
+        release.countDown();
+
+        target.request().post(Entity.text("a"), String.class);
+        target.request().post(Entity.text("a"), String.class);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testSequentialRequestsNotCoalesced() {
+        final WebTarget target = target(new RequestCoalescingFeature());
+        release.countDown();
+
+        assertEquals("response", target.request().get(String.class));
+        assertEquals("response", target.request().get(String.class));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testFailureShared() throws Exception {
+        server = request -> {
+            throw new ProcessingException("failure");
+        };
+        final WebTarget target = target(new RequestCoalescingFeature());
+
+        final List<CompletableFuture<String>> responses = invokeBlocked(target.request().buildGet(), String.class);
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        release.countDown();
+
+        for (CompletableFuture<String> response : responses) {
+            assertThrows(Exception.class, () -> response.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        final WebTarget target = target();
+
+        final Future<String> first = target.request().async().get(String.class);
+        final Future<String> second = target.request().async().get(String.class);
+        while (requests.get() < 2) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("response", first.get(10, TimeUnit.SECONDS));
+        assertEquals("response", second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRequestOptOut() throws Exception {
+        final WebTarget target = target(new RequestCoalescingFeature());
+
+        final Future<String> first = target.request().async().get(String.class);
+        final Future<String> second = target.request().property(ClientProperties.REQUEST_COALESCING, false)
+                .async().get(String.class);
+        while (requests.get() < 2) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("response", first.get(10, TimeUnit.SECONDS));
+        assertEquals("response", second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStreamedResponseNotCoalesced() throws Exception {
+        final WebTarget target = target(new RequestCoalescingFeature());
+
+        final GenericType<ChunkedInput<String>> type = new GenericType<ChunkedInput<String>>() { };
+        final Future<ChunkedInput<String>> first = executor.submit(() -> target.request().get(type));
+        final Future<ChunkedInput<String>> second = executor.submit(() -> target.request().get(type));
+        while (requests.get() < 2) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        first.get(10, TimeUnit.SECONDS).close();
+        second.get(10, TimeUnit.SECONDS).close();
+    }
+
+    private class TestConnectorProvider implements ConnectorProvider {
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return new Connector() {
+                @Override
+                public ClientResponse apply(final ClientRequest request) {
+                    requests.incrementAndGet();
+                    sent.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        throw new ProcessingException(e);
+                    }
+                    return server.apply(request);
+                }
+
+                @Override
+                public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                    return executor.submit(() -> {
+                        try {
+                            callback.response(apply(request));
+                        } catch (final Throwable t) {
+                            callback.failure(t);
+                        }
+                    });
+                }
+
+                @Override
+                public String getName() {
+                    return "coalescing-test";
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests of the client response cache.
+ */
+public class CacheFeatureTest {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private volatile Function<ClientRequest, ClientResponse> server;
+    private CacheFeature cache = new CacheFeature();
+    private Client client;
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    private WebTarget target(final String path) {
+        if (client == null) {
+            client = ClientBuilder.newClient(new ClientConfig().connectorProvider(new TestConnectorProvider()).register(cache));
+        }
+        return client.target("http://localhost/").path(path);
+    }
+
+    private static ClientResponse response(final ClientRequest request, final int status, final String entity,
+                                           final String... headers) {
+        final ClientResponse response = new ClientResponse(Response.Status.fromStatusCode(status), request);
+        for (int i = 0; i < headers.length; i += 2) {
+            response.getHeaders().add(headers[i], headers[i + 1]);
+        }
+        if (entity != null) {
+            response.setEntityStream(new ByteArrayInputStream(entity.getBytes(StandardCharsets.UTF_8)));
+        }
+        return response;
+    }
+
+    @Test
+    public void testFreshResponse() {
+        server = request -> response(request, 200, "fresh-" + requests.size(), HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+        assertEquals("fresh-1", target("fresh").request().get(String.class));
+        final Response cached = target("fresh").request().get();
+        assertEquals(200, cached.getStatus());
+        assertEquals("fresh-1", cached.readEntity(String.class));
+        assertNotNull(cached.getHeaderString("Age"));
+        assertEquals(1, requests.size());
+
+        final CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.5, statistics.getHitRatio(), 0.001);
+        assertEquals(1, statistics.getEntryCount());
+    }
+
+    @Test
+    public void testRequestNoCache() {
+        server = request -> response(request, 200, "fresh-" + requests.size(), HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+        assertEquals("fresh-1", target("fresh").request().get(String.class));
+        final CacheControl noCache = new CacheControl();
+        noCache.setNoCache(true);
+        assertEquals("fresh-2", target("fresh").request().cacheControl(noCache).get(String.class));
+        assertEquals("fresh-2", target("fresh").request().get(String.class));
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testRevalidation() {
+        server = request -> "\"v1\"".equals(request.getHeaderString(HttpHeaders.IF_NONE_MATCH))
+                ? response(request, 304, null, HttpHeaders.ETAG, "\"v1\"", "X-Validated", "true")
+                : response(request, 200, "validated", HttpHeaders.ETAG, "\"v1\"", HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        assertEquals("validated", target("etag").request().get(String.class));
+        final Response response = target("etag").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("validated", response.readEntity(String.class));
+        assertEquals("true", response.getHeaderString("X-Validated"));
+
+        assertEquals(2, requests.size());
+        assertNull(requests.get(0).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", requests.get(1).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, cache.getStatistics().getRevalidatedHitCount());
+    }
+
+    @Test
+    public void testLastModifiedRevalidation() {
+        final String lastModified = "Tue, 15 Nov 1994 12:45:26 GMT";
+        server = request -> lastModified.equals(request.getHeaderString(HttpHeaders.IF_MODIFIED_SINCE))
+                ? response(request, 304, null)
+                : response(request, 200, "modified", HttpHeaders.LAST_MODIFIED, lastModified);
+
+        assertEquals("modified", target("modified").request().get(String.class));
+        assertEquals("modified", target("modified").request().get(String.class));
+        assertEquals(lastModified, requests.get(1).getHeaderString(HttpHeaders.IF_MODIFIED_SINCE));
+        assertEquals(1, cache.getStatistics().getRevalidatedHitCount());
+    }
+
+    @Test
+    public void testVary() {
+        server = request -> response(request, 200, request.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE),
+                HttpHeaders.CACHE_CONTROL, "max-age=60", HttpHeaders.VARY, "Accept-Language");
+
+        assertEquals("en", target("vary").request().acceptLanguage("en").get(String.class));
+        assertEquals("de", target("vary").request().acceptLanguage("de").get(String.class));
+        assertEquals("en", target("vary").request().acceptLanguage("en").get(String.class));
+        assertEquals("de", target("vary").request().acceptLanguage("de").get(String.class));
+        assertEquals(2, requests.size());
+        assertEquals(2, cache.getStatistics().getEntryCount());
+    }
+
+    @Test
+    public void testNoStore() {
+        server = request -> response(request, 200, "no-store", HttpHeaders.CACHE_CONTROL, "no-store, max-age=60");
+
+        target("no-store").request().get(String.class);
+        target("no-store").request().get(String.class);
+        assertEquals(2, requests.size());
+        assertEquals(0, cache.getStatistics().getEntryCount());
+    }
+
+    @Test
+    public void testInvalidation() {
+        server = request -> "POST".equals(request.getMethod())
+                ? response(request, 204, null)
+                : response(request, 200, "invalidated-" + requests.size(), HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+        assertEquals("invalidated-1", target("invalidated").request().get(String.class));
+        assertEquals("invalidated-1", target("invalidated").request().get(String.class));
+        target("invalidated").request().post(Entity.text("update")).close();
+        assertEquals("invalidated-3", target("invalidated").request().get(String.class));
+    }
+
+    @Test
+    public void testEviction() {
+        cache = new CacheFeature(2500, 1000);
+        final String entity = new String(new char[900]).replace('\0', 'x');
+        server = request -> response(request, 200, entity, HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+        target("a").request().get(String.class);
+        target("b").request().get(String.class);
+        // "a" is the most recently used
+        target("a").request().get(String.class);
+        target("c").request().get(String.class);
+        assertEquals(3, requests.size());
+
+        target("a").request().get(String.class);
+        assertEquals(3, requests.size());
+        target("b").request().get(String.class);
+        assertEquals(4, requests.size());
+
+        final CacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getEvictionCount());
+        assertEquals(2, statistics.getEntryCount());
+    }
+
+    @Test
+    public void testLargeEntityNotCached() {
+        cache = new CacheFeature(10000, 100);
+        final String entity = new String(new char[1000]).replace('\0', 'x');
+        server = request -> response(request, 200, entity, HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+        assertEquals(entity, target("large").request().get(String.class));
+        assertEquals(entity, target("large").request().get(String.class));
+        assertEquals(2, requests.size());
+        assertEquals(0, cache.getStatistics().getEntryCount());
+    }
+
+    private class TestConnectorProvider implements ConnectorProvider {
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return new Connector() {
+                @Override
+                public ClientResponse apply(final ClientRequest request) {
+                    requests.add(request);
+                    return server.apply(request);
+                }
+
+                @Override
+                public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String getName() {
+                    return "cache-test";
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
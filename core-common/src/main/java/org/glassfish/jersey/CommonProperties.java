@@ -226,6 +226,26 @@ public final class CommonProperties {
      */
     public static final String OUTBOUND_CONTENT_LENGTH_BUFFER_SERVER = "jersey.config.server.contentLength.buffer";
 
+    /**
+     * An instance of {@link org.glassfish.jersey.spi.OutputBufferPool} the buffers used to buffer the outbound message
+     * entity (see {@link #OUTBOUND_CONTENT_LENGTH_BUFFER}) are borrowed from and returned to.
+     * <p>
+     * Containers and connectors whose output stream implements {@link org.glassfish.jersey.spi.OutputBufferPool.Handoff}
+     * write the pooled buffer to the transport directly without copying it.
+     * </p>
+     * The value of this property may be overridden by the client/server variant of this property
+     * (<tt>jersey.config.client.contentLength.buffer.pool</tt> or <tt>jersey.config.server.contentLength.buffer.pool</tt>).
+     * <p>
+     * There is no default value, a new buffer is allocated for each outbound message unless a pool is configured.
+     * See {@link org.glassfish.jersey.spi.StripedOutputBufferPool} for a ready to use implementation.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.39
+     */
+    public static final String OUTBOUND_CONTENT_LENGTH_BUFFER_POOL = "jersey.config.contentLength.buffer.pool";
+
     /**
      * Disable some of the default providers from being loaded. The following providers extend application footprint
      * by XML dependencies, which is too heavy for native image, or by AWT which may possibly be not available by JDK 11 desktop:
@@ -304,6 +324,33 @@ public final class CommonProperties {
      */
     public static final String JSON_JACKSON_DISABLED_MODULES_SERVER = "jersey.config.server.json.jackson.disabled.modules";
 
+    /**
+     * If {@code true}, the JSON-B entity provider builds the JSON-B mappings of the entity types of the resource methods
+     * when the application is initialized, rather than when the first request needs them. Only applies to the server.
+     * <p>
+     * The registered {@code ContextResolver<Jsonb>} is then asked for the entity types when the application is initialized.
+     * Whether warmed up or not, the resolver is asked only once per entity type, the returned {@code Jsonb} is cached
+     * and used for all the subsequent entities of that type.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.39
+     */
+    public static final String JSON_BINDING_WARM_UP = "jersey.config.json.binding.warmUp";
+
+    /**
+     * Server-specific version of {@link CommonProperties#JSON_BINDING_WARM_UP}.
+     *
+     * If present, it overrides the generic one for the server environment.
+     * @since 2.39
+     */
+    public static final String JSON_BINDING_WARM_UP_SERVER = "jersey.config.server.json.binding.warmUp";
+
     /**
      * Prevent instantiation.
      */
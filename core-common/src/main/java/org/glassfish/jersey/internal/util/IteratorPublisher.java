@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * {@link Flow.Publisher} publishing the items of an {@link Iterator} or of an item {@link Source} as they are requested
+ * by the subscriber.
+ * <p>
+ * The items are taken from the iterator by the thread requesting them, so that an iterator reading the items lazily
+ * (e.g. from an entity stream) reads no more items than requested. If an executor is given, the items are taken and
+ * the subscriber is notified by the executor threads instead. A source that has no item available at the moment
+ * (e.g. waiting for the entity data to arrive) lets the publisher wait for the {@link #resume()} call. Only a single
+ * subscriber is supported, the given resource (e.g. the entity stream) is closed once the publisher completes, fails,
+ * the subscription is cancelled or the publisher is {@link #close() closed}.
+ * </p>
+ *
+ * @param <T> item type.
+ * @since 2.39
+ */
+public final class IteratorPublisher<T> implements Flow.Publisher<T>, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(IteratorPublisher.class.getName());
+
+    private final Source<? extends T> source;
+    private final Executor executor;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Flow.Subscriber<? super T> subscriber;
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    // accessed by the draining thread only
+    private boolean done;
+
+    /**
+     * Create a new publisher of the iterator items.
+     *
+     * @param items    items to be published.
+     * @param resource resource to be closed once the items are no longer published, may be {@code null}.
+     */
+    public IteratorPublisher(final Iterator<? extends T> items, final Closeable resource) {
+        this(new IteratorSource<>(Objects.requireNonNull(items), resource), null);
+    }
+
+    /**
+     * Create a new publisher of the source items.
+     *
+     * @param source   source of the items to be published, closed once the items are no longer published.
+     * @param executor executor used to take the items and to notify the subscriber, {@code null} to use the thread
+     *                 requesting the items or {@link #resume() resuming} the publisher.
+     */
+    public IteratorPublisher(final Source<? extends T> source, final Executor executor) {
+        this.source = Objects.requireNonNull(source);
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException(LocalizationMessages.FLOW_PUBLISHER_ALREADY_SUBSCRIBED()));
+            return;
+        }
+
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException(LocalizationMessages.FLOW_PUBLISHER_NON_POSITIVE_REQUEST(n));
+                } else {
+                    demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+                }
+                resume();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                resume();
+            }
+        });
+    }
+
+    /**
+     * Resume publishing the items once the {@link Source source} may have more items available or has failed.
+     */
+    public void resume() {
+        // a request made by the subscriber while being notified is served by the loop, not by a recursive call
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        if (executor == null) {
+            drain();
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (final RejectedExecutionException e) {
+            failure = e;
+            drain();
+        }
+    }
+
+    /**
+     * Cancel the subscription and close the resource.
+     */
+    @Override
+    public void close() {
+        cancelled = true;
+        resume();
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            drainItems();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainItems() {
+        while (!done) {
+            if (cancelled) {
+                terminate(null, false);
+                return;
+            }
+
+            final Throwable t = failure;
+            if (t != null) {
+                terminate(t, true);
+                return;
+            }
+
+            if (demand.get() == 0) {
+                return;
+            }
+
+            final T item;
+            try {
+                item = source.next();
+            } catch (final Throwable e) {
+                failure = e;
+                continue;
+            }
+            if (item == null) {
+                if (source.isEnded()) {
+                    terminate(null, true);
+                }
+                // otherwise resumed by the source once more items may be available
+                return;
+            }
+
+            if (demand.get() != Long.MAX_VALUE) {
+                demand.decrementAndGet();
+            }
+            try {
+                subscriber.onNext(item);
+            } catch (final Throwable e) {
+                // the subscriber is not supposed to throw, consider the subscription cancelled
+                LOGGER.log(Level.FINE, LocalizationMessages.FLOW_PUBLISHER_SUBSCRIBER_FAILED(), e);
+                cancelled = true;
+            }
+        }
+    }
+
+    private void terminate(final Throwable failure, final boolean notify) {
+        done = true;
+        ReaderWriter.safelyClose(source);
+        if (notify && subscriber != null) {
+            if (failure == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(failure);
+            }
+        }
+    }
+
+    /**
+     * Source of the published items, which may not have the next item available at the moment.
+     *
+     * @param <T> item type.
+     */
+    public interface Source<T> extends Closeable {
+
+        /**
+         * Take the next item if available.
+         * <p>
+         * If no item is available at the moment, the source {@link IteratorPublisher#resume() resumes} the publisher
+         * once more items may be available or once the source fails.
+         * </p>
+         *
+         * @return next item, {@code null} if no item is available at the moment or if the source {@link #isEnded() ended}.
+         * @throws Exception if taking the next item fails.
+         */
+        T next() throws Exception;
+
+        /**
+         * Check whether all the items have been taken.
+         *
+         * @return {@code true} if there are no more items.
+         */
+        boolean isEnded();
+    }
+
+    private static final class IteratorSource<T> implements Source<T> {
+
+        private final Iterator<? extends T> items;
+        private final Closeable resource;
+        private boolean ended;
+
+        private IteratorSource(final Iterator<? extends T> items, final Closeable resource) {
+            this.items = items;
+            this.resource = resource;
+        }
+
+        @Override
+        public T next() {
+            if (items.hasNext()) {
+                // null items are not allowed by the Flow contract
+                return Objects.requireNonNull(items.next());
+            }
+            ended = true;
+            return null;
+        }
+
+        @Override
+        public boolean isEnded() {
+            return ended;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (resource != null) {
+                resource.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.jsr166.Flow;
+
+/**
+ * {@link Iterator} over the items of a {@link Flow.Publisher}.
+ * <p>
+ * The iterator subscribes to the publisher once created and requests a new item each time an item is taken, so that
+ * at most {@code prefetch} items are requested from the publisher and not taken yet. The iterator blocks until an item
+ * is published. A failure of the publisher is thrown from {@link #hasNext()} as a {@link ProcessingException};
+ * {@link #close()} cancels the subscription.
+ * </p>
+ *
+ * @param <T> item type.
+ * @since 2.39
+ */
+public final class PublisherIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private static final Object COMPLETE = new Object();
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private volatile Flow.Subscription subscription;
+    private volatile boolean closed;
+    private Object next;
+
+    /**
+     * Subscribe a new iterator to the publisher.
+     *
+     * @param publisher publisher of the items.
+     * @param prefetch  maximal number of items requested and not taken yet.
+     */
+    public PublisherIterator(final Flow.Publisher<? extends T> publisher, final int prefetch) {
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                PublisherIterator.this.subscription = subscription;
+                if (closed) {
+                    subscription.cancel();
+                } else {
+                    subscription.request(prefetch);
+                }
+            }
+
+            @Override
+            public void onNext(final T item) {
+                queue.add(item);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                queue.add(new Failure(throwable));
+            }
+
+            @Override
+            public void onComplete() {
+                queue.add(COMPLETE);
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new ProcessingException(LocalizationMessages.FLOW_SUBSCRIBER_INTERRUPTED(), e);
+            }
+            if (next instanceof Failure) {
+                throw new ProcessingException(((Failure) next).cause);
+            }
+        }
+        return next != COMPLETE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T item = (T) next;
+        next = null;
+        subscription.request(1);
+        return item;
+    }
+
+    /**
+     * Cancel the subscription to the publisher.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        final Flow.Subscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+
+    /**
+     * Failure published by the publisher.
+     */
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        private Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
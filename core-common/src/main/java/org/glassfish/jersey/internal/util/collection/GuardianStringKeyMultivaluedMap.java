@@ -17,8 +17,10 @@
 package org.glassfish.jersey.internal.util.collection;
 
 import javax.ws.rs.core.MultivaluedMap;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -26,6 +28,7 @@ import java.util.Set;
 
 /**
  * The {@link MultivaluedMap} wrapper that is able to set guards observing changes of values represented by a key.
+ * The keys are observed case insensitively.
  * @param <V> The value type of the wrapped {@code MultivaluedMap}.
  *
  * @since 2.38
@@ -33,7 +36,8 @@ import java.util.Set;
 public class GuardianStringKeyMultivaluedMap<V> implements MultivaluedMap<String, V> {
 
     private final MultivaluedMap<String, V> inner;
-    private final Map<String, Boolean> guards = new HashMap<>();
+    private String[] guards = new String[0];
+    private boolean[] observed = new boolean[0];
 
     public GuardianStringKeyMultivaluedMap(MultivaluedMap<String, V> inner) {
         this.inner = inner;
@@ -152,7 +156,14 @@ public class GuardianStringKeyMultivaluedMap<V> implements MultivaluedMap<String
      * @param key the key values to observe
      */
     public void setGuard(String key) {
-        guards.put(key, false);
+        final int i = guardIndex(key);
+        if (i >= 0) {
+            observed[i] = false;
+        } else {
+            guards = Arrays.copyOf(guards, guards.length + 1);
+            observed = Arrays.copyOf(observed, observed.length + 1);
+            guards[guards.length - 1] = key;
+        }
     }
 
     /**
@@ -160,7 +171,7 @@ public class GuardianStringKeyMultivaluedMap<V> implements MultivaluedMap<String
      * @return a {@link Set} of keys guarded.
      */
     public Set<String> getGuards() {
-        return guards.keySet();
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(guards)));
     }
 
     /**
@@ -169,23 +180,37 @@ public class GuardianStringKeyMultivaluedMap<V> implements MultivaluedMap<String
      * @return whether the value represented by the key has changed.
      */
     public boolean isObservedAndReset(String key) {
-        Boolean observed = guards.get(key);
-        guards.put(key, false);
-        return observed != null && observed;
+        final int i = guardIndex(key);
+        if (i < 0) {
+            // start observing the key
+            setGuard(key);
+            return false;
+        }
+        final boolean wasObserved = observed[i];
+        observed[i] = false;
+        return wasObserved;
+    }
+
+    private int guardIndex(String key) {
+        for (int i = 0; i < guards.length; i++) {
+            if (guards[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     private void observe(String key) {
-        for (Map.Entry<String, Boolean> guard : guards.entrySet()) {
-            if (guard.getKey().equals(key)) {
-                guard.setValue(true);
+        // called on every header modification, hence no iterators here
+        for (int i = 0; i < guards.length; i++) {
+            if (guards[i].equalsIgnoreCase(key)) {
+                observed[i] = true;
             }
         }
     }
 
     private void observeAll() {
-        for (Map.Entry<String, Boolean> guard : guards.entrySet()) {
-            guard.setValue(true);
-        }
+        Arrays.fill(observed, true);
     }
 
     @Override
@@ -198,11 +223,11 @@ public class GuardianStringKeyMultivaluedMap<V> implements MultivaluedMap<String
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         GuardianStringKeyMultivaluedMap<?> that = (GuardianStringKeyMultivaluedMap<?>) o;
-        return inner.equals(that.inner) && guards.equals(that.guards);
+        return inner.equals(that.inner) && Arrays.equals(guards, that.guards) && Arrays.equals(observed, that.observed);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(inner, guards);
+        return Objects.hash(inner, Arrays.hashCode(guards), Arrays.hashCode(observed));
     }
 }
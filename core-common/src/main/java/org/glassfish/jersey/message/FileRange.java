@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A region of a file to be written as an outbound message entity, e.g. in a response to a ranged request.
+ * <p>
+ * The region is written the same way as a {@link File} entity, i.e. without copying the file content through the heap if
+ * the container output stream supports it (see {@link org.glassfish.jersey.spi.ZeroCopyOutput}). The size of the entity is
+ * the length of the region. Note that the status code and the {@code Content-Range} header of a partial response are
+ * to be set by the application:
+ * </p>
+ * <pre>
+ *   return Response.status(206)
+ *           .header(HttpHeaders.CONTENT_RANGE, "bytes " + first + "-" + last + "/" + file.length())
+ *           .entity(FileRange.of(file, first, last - first + 1))
+ *           .build();
+ * </pre>
+ *
+ * @since 2.39
+ */
+public final class FileRange {
+
+    private final Path path;
+    private final long offset;
+    private final long length;
+
+    private FileRange(final Path path, final long offset, final long length) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid file range: offset=" + offset + ", length=" + length);
+        }
+        this.path = Objects.requireNonNull(path, "path");
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Create a region of a file.
+     *
+     * @param file   file.
+     * @param offset position of the first byte of the region in the file.
+     * @param length number of bytes of the region.
+     * @return the file region.
+     * @throws IllegalArgumentException if {@code offset} or {@code length} is negative.
+     */
+    public static FileRange of(final File file, final long offset, final long length) {
+        return new FileRange(file.toPath(), offset, length);
+    }
+
+    /**
+     * Create a region of a file.
+     *
+     * @param path   path of the file.
+     * @param offset position of the first byte of the region in the file.
+     * @param length number of bytes of the region.
+     * @return the file region.
+     * @throws IllegalArgumentException if {@code offset} or {@code length} is negative.
+     */
+    public static FileRange of(final Path path, final long offset, final long length) {
+        return new FileRange(path, offset, length);
+    }
+
+    /**
+     * Get the path of the file.
+     *
+     * @return path of the file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Get the position of the first byte of the region in the file.
+     *
+     * @return offset of the region.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the number of bytes of the region.
+     *
+     * @return length of the region.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "FileRange{path=" + path + ", offset=" + offset + ", length=" + length + '}';
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Default Jersey {@link ByteBuffer} entity provider (reader and writer).
+ * <p>
+ * The remaining bytes of the buffer are written using {@link ReaderWriter#writeTo(ByteBuffer, OutputStream)}, i.e.
+ * without copying them if the container output stream supports it. The position of the buffer is not changed.
+ * </p>
+ *
+ * @since 2.39
+ */
+@Produces({"application/octet-stream", "*/*"})
+@Consumes({"application/octet-stream", "*/*"})
+public final class ByteBufferProvider extends AbstractMessageReaderWriterProvider<ByteBuffer> {
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer readFrom(
+            Class<ByteBuffer> type,
+            Type genericType,
+            Annotation[] annotations,
+            MediaType mediaType,
+            MultivaluedMap<String, String> httpHeaders,
+            InputStream entityStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(entityStream, out);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return ByteBuffer.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(
+            ByteBuffer t,
+            Class<?> type,
+            Type genericType,
+            Annotation[] annotations,
+            MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders,
+            OutputStream entityStream) throws IOException {
+        ReaderWriter.writeTo(t, entityStream);
+    }
+
+    @Override
+    public long getSize(ByteBuffer t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return t.remaining();
+    }
+}
@@ -16,15 +16,19 @@
 
 package org.glassfish.jersey.message.internal;
 
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.guava.Preconditions;
+import org.glassfish.jersey.spi.OutputBufferPool;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
 
 /**
  * A committing output stream with optional serialized entity buffering functionality
@@ -50,12 +54,21 @@ import org.glassfish.jersey.internal.guava.Preconditions;
  * method enables buffering with the default size
  * <tt>{@value CommittingOutputStream#DEFAULT_BUFFER_SIZE}</tt> bytes specified in {@link #DEFAULT_BUFFER_SIZE}.
  * </p>
+ * <p>
+ * The internal buffer may be borrowed from an {@link OutputBufferPool} (see {@link #enableBuffering(int, OutputBufferPool)}).
+ * In such case the buffer is returned into the pool once its content is written into the committed output stream, or handed
+ * over to the committed output stream directly if the stream implements {@link OutputBufferPool.Handoff}.
+ * </p>
+ * <p>
+ * Buffers and file regions written via the {@link ZeroCopyOutput} methods are passed to the committed output stream
+ * without copying unless they fit into the remaining space of the internal buffer.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar
  * @author Miroslav Fuksa
  */
-public final class CommittingOutputStream extends OutputStream {
+public final class CommittingOutputStream extends OutputStream implements ZeroCopyOutput {
 
     private static final Logger LOGGER = Logger.getLogger(CommittingOutputStream.class.getName());
     /**
@@ -82,7 +95,15 @@ public final class CommittingOutputStream extends OutputStream {
     /**
      * Entity buffer.
      */
-    private ByteArrayOutputStream buffer;
+    private byte[] buffer;
+    /**
+     * Number of bytes in the entity buffer.
+     */
+    private int count;
+    /**
+     * Pool the entity buffer was borrowed from, {@code null} if the buffer is not pooled.
+     */
+    private OutputBufferPool bufferPool;
     /**
      * When {@code true}, the data are written directly to output stream and not to the buffer.
      */
@@ -133,15 +154,28 @@ public final class CommittingOutputStream extends OutputStream {
      *                   {@link org.glassfish.jersey.message.internal.OutboundMessageContext.StreamProvider#getOutputStream(int) callback}.
      */
     public void enableBuffering(int bufferSize) {
-        Preconditions.checkState(!isCommitted && (this.buffer == null || this.buffer.size() == 0),
-                                 COMMITTING_STREAM_BUFFERING_ILLEGAL_STATE);
+        enableBuffering(bufferSize, null);
+    }
+
+    /**
+     * Enable buffering of the serialized entity using a buffer borrowed from the given pool.
+     *
+     * @param bufferSize size of the buffer. When the value is less or equal to zero the buffering will be disabled and {@code -1}
+     *                   will be passed to the
+     *                   {@link org.glassfish.jersey.message.internal.OutboundMessageContext.StreamProvider#getOutputStream(int) callback}.
+     * @param bufferPool pool to borrow the buffer from. If {@code null}, a new buffer is allocated.
+     * @since 2.39
+     */
+    public void enableBuffering(int bufferSize, OutputBufferPool bufferPool) {
+        Preconditions.checkState(!isCommitted && count == 0, COMMITTING_STREAM_BUFFERING_ILLEGAL_STATE);
+        releaseBuffer();
         this.bufferSize = bufferSize;
         if (bufferSize <= 0) {
             this.directWrite = true;
-            this.buffer = null;
         } else {
             directWrite = false;
-            buffer = new ByteArrayOutputStream(bufferSize);
+            this.bufferPool = bufferPool;
+            buffer = bufferPool == null ? new byte[bufferSize] : bufferPool.acquire(bufferSize);
         }
     }
 
@@ -184,11 +218,12 @@ public final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b);
         } else {
-            if (b.length + buffer.size() > bufferSize) {
+            if (b.length + count > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b);
             } else {
-                buffer.write(b);
+                System.arraycopy(b, 0, buffer, count, b.length);
+                count += b.length;
             }
         }
     }
@@ -199,11 +234,12 @@ public final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b, off, len);
         } else {
-            if (len + buffer.size() > bufferSize) {
+            if (len + count > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b, off, len);
             } else {
-                buffer.write(b, off, len);
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
             }
         }
     }
@@ -214,15 +250,46 @@ public final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b);
         } else {
-            if (buffer.size() + 1 > bufferSize) {
+            if (count + 1 > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b);
             } else {
-                buffer.write(b);
+                buffer[count++] = (byte) b;
             }
         }
     }
 
+    @Override
+    public void write(ByteBuffer b) throws IOException {
+        if (!directWrite && b.remaining() + count <= bufferSize) {
+            final int length = b.remaining();
+            b.duplicate().get(buffer, count, length);
+            count += length;
+        } else {
+            flushBuffer(false);
+            commitStream();
+            ReaderWriter.writeTo(b, adaptedOutput);
+        }
+    }
+
+    @Override
+    public void transferFrom(FileChannel channel, long position, long count) throws IOException {
+        if (!directWrite && count + this.count <= bufferSize) {
+            final ByteBuffer target = ByteBuffer.wrap(buffer, this.count, (int) count);
+            while (target.hasRemaining()) {
+                if (channel.read(target, position + target.position() - this.count) < 0) {
+                    throw new EOFException(LocalizationMessages.FILE_REGION_END_OF_FILE(
+                            position + target.position() - this.count));
+                }
+            }
+            this.count += (int) count;
+        } else {
+            flushBuffer(false);
+            commitStream();
+            ReaderWriter.writeTo(channel, position, count, adaptedOutput);
+        }
+    }
+
     /**
      * Commit the output stream.
      *
@@ -268,16 +335,39 @@ public final class CommittingOutputStream extends OutputStream {
         if (!directWrite) {
             int currentSize;
             if (endOfStream) {
-                currentSize = buffer == null ? 0 : buffer.size();
+                currentSize = buffer == null ? 0 : count;
             } else {
                 currentSize = -1;
             }
 
             commitStream(currentSize);
             if (buffer != null) {
-                buffer.writeTo(adaptedOutput);
+                if (bufferPool != null && count > 0 && adaptedOutput instanceof OutputBufferPool.Handoff) {
+                    // the ownership of the pooled buffer passes to the committed stream
+                    final byte[] pooled = buffer;
+                    final OutputBufferPool pool = bufferPool;
+                    buffer = null;
+                    bufferPool = null;
+                    ((OutputBufferPool.Handoff) adaptedOutput).writePooled(pooled, count, pool);
+                } else {
+                    try {
+                        if (count > 0) {
+                            adaptedOutput.write(buffer, 0, count);
+                        }
+                    } finally {
+                        releaseBuffer();
+                    }
+                }
             }
         }
     }
 
+    private void releaseBuffer() {
+        if (bufferPool != null && buffer != null) {
+            bufferPool.release(buffer);
+        }
+        buffer = null;
+        bufferPool = null;
+    }
+
 }
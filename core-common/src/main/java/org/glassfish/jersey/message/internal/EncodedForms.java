@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serialized forms of a message (e.g. a chunk or an event) written to multiple outputs, one form per encoding key (e.g.
+ * the media type of the outputs).
+ * <p>
+ * The message is serialized at most once per encoding key and the serialized form is shared by all the outputs with the
+ * same key. Concurrent writers requesting a form that is not serialized yet wait for the first one to serialize it.
+ * </p>
+ *
+ * @param <K> encoding key type.
+ * @since 2.39
+ */
+public final class EncodedForms<K> {
+
+    // marks an encoding key the serialized form of which cannot be shared
+    private static final byte[] NOT_SHAREABLE = new byte[0];
+
+    private final ConcurrentMap<K, byte[]> forms;
+
+    /**
+     * Create new serialized forms.
+     *
+     * @param expectedKeys expected number of the distinct encoding keys.
+     */
+    public EncodedForms(final int expectedKeys) {
+        this.forms = new ConcurrentHashMap<>(expectedKeys);
+    }
+
+    /**
+     * Get the serialized form for the given encoding key, the message is serialized using the encoder if it has not been
+     * serialized for the key yet.
+     *
+     * @param key     encoding key.
+     * @param encoder encoder serializing the message, may return {@code null} if the serialized form cannot be shared.
+     * @return serialized form or {@code null} if the serialized form cannot be shared and the message has to be written
+     * directly.
+     * @throws IOException in case the message cannot be serialized.
+     */
+    public byte[] get(final K key, final Encoder encoder) throws IOException {
+        byte[] bytes = forms.get(key);
+        if (bytes == null) {
+            synchronized (this) {
+                bytes = forms.get(key);
+                if (bytes == null) {
+                    bytes = encoder.encode();
+                    if (bytes == null) {
+                        bytes = NOT_SHAREABLE;
+                    }
+                    forms.put(key, bytes);
+                }
+            }
+        }
+        //noinspection ArrayEquality
+        return bytes == NOT_SHAREABLE ? null : bytes;
+    }
+
+    /**
+     * Message serializer.
+     */
+    public interface Encoder {
+
+        /**
+         * Serialize the message.
+         *
+         * @return serialized message or {@code null} if the serialized form cannot be shared.
+         * @throws IOException in case the message cannot be serialized.
+         */
+        byte[] encode() throws IOException;
+    }
+}
@@ -16,7 +16,6 @@
 
 package org.glassfish.jersey.message.internal;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -26,6 +25,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -37,6 +37,10 @@ import javax.inject.Singleton;
 /**
  * Provider for marshalling/un-marshalling of {@code application/octet-stream}
  * entity type to/from a {@link File} instance.
+ * <p>
+ * The file is written using {@link ReaderWriter#writeTo(FileChannel, long, long, OutputStream)}, i.e. without copying
+ * its content through the heap if the container output stream supports it.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar
@@ -89,12 +93,10 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
                         final MediaType mediaType,
                         final MultivaluedMap<String, Object> httpHeaders,
                         final OutputStream entityStream) throws IOException {
-        final InputStream stream = new BufferedInputStream(new FileInputStream(t), ReaderWriter.BUFFER_SIZE);
-
-        try {
-            writeTo(stream, entityStream);
-        } finally {
-            stream.close();
+        // FileNotFoundException is thrown for a missing file
+        try (FileInputStream stream = new FileInputStream(t)) {
+            final FileChannel channel = stream.getChannel();
+            ReaderWriter.writeTo(channel, 0, channel.size(), entityStream);
         }
     }
 
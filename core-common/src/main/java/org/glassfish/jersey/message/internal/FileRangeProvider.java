@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.message.FileRange;
+
+/**
+ * Message body writer that supports {@link FileRange file region} marshalling.
+ *
+ * @since 2.39
+ */
+@Produces({"application/octet-stream", "*/*"})
+@Singleton
+public final class FileRangeProvider implements MessageBodyWriter<FileRange> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == FileRange.class;
+    }
+
+    @Override
+    public long getSize(FileRange range, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return range.getLength();
+    }
+
+    @Override
+    public void writeTo(FileRange range, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        try (FileChannel channel = FileChannel.open(range.getPath(), StandardOpenOption.READ)) {
+            ReaderWriter.writeTo(channel, range.getOffset(), range.getLength(), entityStream);
+        }
+    }
+}
@@ -0,0 +1,677 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Multivalued map of HTTP message headers with case insensitive header names.
+ * <p>
+ * Unlike {@link org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap} the map does not
+ * allocate any hash map entries or key wrappers. Header names, their case insensitive hashes and value lists are kept
+ * in flat arrays in the insertion order. Small maps (the usual case for HTTP messages) are searched linearly, larger
+ * maps additionally maintain an open addressing hash index. The case insensitive hashes of the well-known header names
+ * (e.g. {@link HttpHeaders} constants) are precomputed and incoming header names equal to a well-known name are
+ * replaced by the interned constant. The value lists are created with the capacity of a single value.
+ * </p>
+ * <p>
+ * Typed header values can be parsed lazily using {@link #getParsed(String, Function)} or
+ * {@link #getParsed(String, BiFunction, Object)}. The parsed value is cached
+ * until the header values are modified.
+ * </p>
+ * <p>
+ * The map is not thread-safe.
+ * </p>
+ *
+ * @param <V> header value type.
+ * @since 2.39
+ */
+public final class HeaderMultivaluedMap<V> extends AbstractMap<String, List<V>> implements MultivaluedMap<String, V> {
+
+    private static final String[] WELL_KNOWN_NAMES = {
+            HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_CHARSET,
+            HttpHeaders.ACCEPT_ENCODING,
+            HttpHeaders.ACCEPT_LANGUAGE,
+            HttpHeaders.ALLOW,
+            HttpHeaders.AUTHORIZATION,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.CONTENT_DISPOSITION,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_ID,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_LOCATION,
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.COOKIE,
+            HttpHeaders.DATE,
+            HttpHeaders.ETAG,
+            "Expect",
+            HttpHeaders.EXPIRES,
+            HttpHeaders.HOST,
+            HttpHeaders.IF_MATCH,
+            HttpHeaders.IF_MODIFIED_SINCE,
+            HttpHeaders.IF_NONE_MATCH,
+            HttpHeaders.IF_UNMODIFIED_SINCE,
+            HttpHeaders.LAST_EVENT_ID_HEADER,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.LINK,
+            HttpHeaders.LOCATION,
+            HttpHeaders.RETRY_AFTER,
+            HttpHeaders.SET_COOKIE,
+            HttpHeaders.USER_AGENT,
+            HttpHeaders.VARY,
+            HttpHeaders.WWW_AUTHENTICATE,
+            "Connection",
+            "Keep-Alive",
+            "Origin",
+            "Pragma",
+            "Range",
+            "Referer",
+            "Server",
+            "Transfer-Encoding",
+            "Upgrade",
+            "X-Forwarded-For",
+            "X-Forwarded-Host",
+            "X-Forwarded-Proto",
+            "X-Requested-With"
+    };
+
+    private static final int WELL_KNOWN_MASK = 0xFF;
+    /**
+     * Well-known names indexed by their (case sensitive) {@link String#hashCode()}.
+     */
+    private static final String[] WELL_KNOWN_BY_IDENTITY = new String[WELL_KNOWN_MASK + 1];
+    /**
+     * Case insensitive hashes of the names in {@link #WELL_KNOWN_BY_IDENTITY}.
+     */
+    private static final int[] WELL_KNOWN_HASHES = new int[WELL_KNOWN_MASK + 1];
+    /**
+     * Well-known names indexed by their case insensitive hash.
+     */
+    private static final String[] WELL_KNOWN_BY_HASH = new String[WELL_KNOWN_MASK + 1];
+
+    static {
+        for (final String name : WELL_KNOWN_NAMES) {
+            final int identitySlot = name.hashCode() & WELL_KNOWN_MASK;
+            if (WELL_KNOWN_BY_IDENTITY[identitySlot] == null) {
+                WELL_KNOWN_BY_IDENTITY[identitySlot] = name;
+                WELL_KNOWN_HASHES[identitySlot] = computeHash(name);
+            }
+            final int hashSlot = computeHash(name) & WELL_KNOWN_MASK;
+            if (WELL_KNOWN_BY_HASH[hashSlot] == null) {
+                WELL_KNOWN_BY_HASH[hashSlot] = name;
+            }
+        }
+    }
+
+    /**
+     * Maximal number of headers searched linearly.
+     */
+    private static final int LINEAR_SEARCH_THRESHOLD = 16;
+    // applies the plain parser passed as the parsing context
+    private static final BiFunction<List<Object>, Function<List<Object>, Object>, Object> APPLY =
+            (list, parser) -> parser.apply(list);
+    private static final int INITIAL_CAPACITY = 8;
+
+    private String[] names;
+    private int[] hashes;
+    private List<V>[] values;
+    private ParsedValue[] parsed;
+    private int size;
+    /**
+     * Open addressing index of header slots ({@code slot + 1}), {@code null} for small maps.
+     */
+    private int[] index;
+    private int modCount;
+    private EntrySet entrySet;
+
+    /**
+     * Create new empty header map.
+     */
+    public HeaderMultivaluedMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create new empty header map with the given initial capacity.
+     *
+     * @param initialCapacity initial number of headers the map can hold without growing.
+     */
+    @SuppressWarnings("unchecked")
+    public HeaderMultivaluedMap(final int initialCapacity) {
+        final int capacity = Math.max(initialCapacity, 1);
+        this.names = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = new List[capacity];
+    }
+
+    // Hashing
+
+    private static int hash(final String name) {
+        if (name == null) {
+            return 0;
+        }
+        final int slot = name.hashCode() & WELL_KNOWN_MASK;
+        if (WELL_KNOWN_BY_IDENTITY[slot] == name) {
+            return WELL_KNOWN_HASHES[slot];
+        }
+        return computeHash(name);
+    }
+
+    /**
+     * Compute a hash of the string that is consistent with {@link String#equalsIgnoreCase(String)}.
+     */
+    private static int computeHash(final String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            } else {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = 31 * h + c;
+        }
+        return h;
+    }
+
+    private static boolean equalNames(final String name, final String other) {
+        return name == other || (name != null && name.equalsIgnoreCase(other));
+    }
+
+    private static String intern(final String name, final int hash) {
+        final String wellKnown = WELL_KNOWN_BY_HASH[hash & WELL_KNOWN_MASK];
+        return wellKnown != null && wellKnown.equals(name) ? wellKnown : name;
+    }
+
+    // Slot management
+
+    private int find(final Object key) {
+        if (key != null && !(key instanceof String)) {
+            return -1;
+        }
+        final String name = (String) key;
+        final int h = hash(name);
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == h && equalNames(names[i], name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        final int mask = index.length - 1;
+        for (int i = mix(h) & mask; ; i = (i + 1) & mask) {
+            final int slot = index[i] - 1;
+            if (slot < 0) {
+                return -1;
+            }
+            if (hashes[slot] == h && equalNames(names[slot], name)) {
+                return slot;
+            }
+        }
+    }
+
+    private static int mix(final int h) {
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int insert(final String name, final List<V> list) {
+        if (size == names.length) {
+            final int capacity = names.length << 1;
+            names = Arrays.copyOf(names, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            values = Arrays.copyOf(values, capacity);
+            if (parsed != null) {
+                parsed = Arrays.copyOf(parsed, capacity);
+            }
+        }
+        final int h = hash(name);
+        final int slot = size++;
+        names[slot] = name == null ? null : intern(name, h);
+        hashes[slot] = h;
+        values[slot] = list;
+        modCount++;
+
+        if (index != null) {
+            if (size * 2 > index.length) {
+                rebuildIndex();
+            } else {
+                addToIndex(slot);
+            }
+        } else if (size > LINEAR_SEARCH_THRESHOLD) {
+            rebuildIndex();
+        }
+        return slot;
+    }
+
+    private void addToIndex(final int slot) {
+        final int mask = index.length - 1;
+        int i = mix(hashes[slot]) & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = slot + 1;
+    }
+
+    private void rebuildIndex() {
+        if (size <= LINEAR_SEARCH_THRESHOLD) {
+            index = null;
+            return;
+        }
+        index = new int[Integer.highestOneBit(size * 4 - 1) << 1];
+        for (int slot = 0; slot < size; slot++) {
+            addToIndex(slot);
+        }
+    }
+
+    private List<V> removeAt(final int slot) {
+        final List<V> old = values[slot];
+        final int moved = size - slot - 1;
+        if (moved > 0) {
+            System.arraycopy(names, slot + 1, names, slot, moved);
+            System.arraycopy(hashes, slot + 1, hashes, slot, moved);
+            System.arraycopy(values, slot + 1, values, slot, moved);
+            if (parsed != null) {
+                System.arraycopy(parsed, slot + 1, parsed, slot, moved);
+            }
+        }
+        size--;
+        names[size] = null;
+        values[size] = null;
+        if (parsed != null) {
+            parsed[size] = null;
+        }
+        modCount++;
+        if (index != null) {
+            rebuildIndex();
+        }
+        return old;
+    }
+
+    private List<V> getValues(final String key) {
+        final int slot = find(key);
+        if (slot >= 0) {
+            List<V> list = values[slot];
+            if (list == null) {
+                list = new ValueList<>();
+                values[slot] = list;
+            }
+            return list;
+        }
+        final List<V> list = new ValueList<>();
+        insert(key, list);
+        return list;
+    }
+
+    // Map
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public List<V> get(final Object key) {
+        final int slot = find(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public List<V> put(final String key, final List<V> value) {
+        final int slot = find(key);
+        if (slot >= 0) {
+            final List<V> old = values[slot];
+            values[slot] = value;
+            return old;
+        }
+        insert(key, value);
+        return null;
+    }
+
+    @Override
+    public List<V> remove(final Object key) {
+        final int slot = find(key);
+        return slot < 0 ? null : removeAt(slot);
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ? extends List<V>> m) {
+        for (final Map.Entry<? extends String, ? extends List<V>> e : m.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        if (parsed != null) {
+            Arrays.fill(parsed, 0, size, null);
+        }
+        size = 0;
+        index = null;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, List<V>>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    // MultivaluedMap
+
+    @Override
+    public void putSingle(final String key, final V value) {
+        final List<V> list = getValues(key);
+        list.clear();
+        if (value != null) {
+            list.add(value);
+        }
+    }
+
+    @Override
+    public void add(final String key, final V value) {
+        final List<V> list = getValues(key);
+        if (value != null) {
+            list.add(value);
+        }
+    }
+
+    @Override
+    @SafeVarargs
+    public final void addAll(final String key, final V... newValues) {
+        if (newValues == null) {
+            throw new NullPointerException("Supplied array of values must not be null.");
+        }
+        if (newValues.length == 0) {
+            return;
+        }
+        final List<V> list = getValues(key);
+        for (final V value : newValues) {
+            if (value != null) {
+                list.add(value);
+            }
+        }
+    }
+
+    @Override
+    public void addAll(final String key, final List<V> valueList) {
+        if (valueList == null) {
+            throw new NullPointerException("Supplied list of values must not be null.");
+        }
+        if (valueList.isEmpty()) {
+            return;
+        }
+        final List<V> list = getValues(key);
+        for (final V value : valueList) {
+            if (value != null) {
+                list.add(value);
+            }
+        }
+    }
+
+    @Override
+    public V getFirst(final String key) {
+        final List<V> list = get(key);
+        return list != null && !list.isEmpty() ? list.get(0) : null;
+    }
+
+    @Override
+    public void addFirst(final String key, final V value) {
+        final List<V> list = getValues(key);
+        if (value != null) {
+            list.add(0, value);
+        }
+    }
+
+    @Override
+    public boolean equalsIgnoreValueOrder(final MultivaluedMap<String, V> otherMap) {
+        if (this == otherMap) {
+            return true;
+        }
+        if (!keySet().equals(otherMap.keySet())) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            final List<V> list = values[i];
+            final List<V> otherList = otherMap.get(names[i]);
+            if (list.size() != otherList.size()) {
+                return false;
+            }
+            for (final V value : list) {
+                if (!otherList.contains(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Typed values
+
+    /**
+     * Get a typed value parsed from the values of the header.
+     * <p>
+     * The parser is invoked with the current (possibly {@code null}) list of header values. Unless the values are
+     * modified, the parsed value is cached and returned by subsequent calls with the same parser instance. To benefit
+     * from the cache the parser should therefore be a constant. The parser may throw a runtime exception to signal
+     * invalid header values; such results are not cached.
+     * </p>
+     *
+     * @param key    header name.
+     * @param parser header values parser.
+     * @param <T>    typed header value type.
+     * @return parsed header value.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> T getParsed(final String key, final Function<List<V>, T> parser) {
+        return getParsed(key, (BiFunction<List<V>, Function<List<V>, T>, T>) (BiFunction) APPLY, parser);
+    }
+
+    /**
+     * Get a typed value parsed from the values of the header using the given parsing context (e.g. a runtime delegate
+     * of the message).
+     * <p>
+     * The parser is invoked with the current (possibly {@code null}) list of header values and the context. Unless
+     * the values are modified, the parsed value is cached and returned by subsequent calls with the same parser and
+     * context instances. To benefit from the cache the parser should therefore be a constant. The parser may throw
+     * a runtime exception to signal invalid header values; such results are not cached.
+     * </p>
+     *
+     * @param key     header name.
+     * @param parser  header values parser.
+     * @param context parsing context passed to the parser.
+     * @param <C>     parsing context type.
+     * @param <T>     typed header value type.
+     * @return parsed header value.
+     */
+    @SuppressWarnings("unchecked")
+    public <C, T> T getParsed(final String key, final BiFunction<List<V>, C, T> parser, final C context) {
+        final int slot = find(key);
+        if (slot < 0) {
+            return parser.apply(null, context);
+        }
+
+        final List<V> list = values[slot];
+        if (!(list instanceof ValueList)) {
+            return parser.apply(list, context);
+        }
+        final int version = ((ValueList<V>) list).version();
+
+        ParsedValue cached = parsed == null ? null : parsed[slot];
+        if (cached != null && cached.parser == parser && cached.context == context
+                && cached.list == list && cached.version == version) {
+            return (T) cached.value;
+        }
+
+        final T value = parser.apply(list, context);
+        if (parsed == null) {
+            parsed = new ParsedValue[names.length];
+        }
+        if (cached == null) {
+            cached = new ParsedValue();
+            parsed[slot] = cached;
+        }
+        cached.parser = parser;
+        cached.context = context;
+        cached.list = list;
+        cached.version = version;
+        cached.value = value;
+        return value;
+    }
+
+    /**
+     * Cached typed header value.
+     */
+    private static final class ParsedValue {
+
+        private Object parser;
+        private Object context;
+        private List<?> list;
+        private int version;
+        private Object value;
+    }
+
+    /**
+     * Header value list that tracks modifications of its content.
+     */
+    private static final class ValueList<V> extends ArrayList<V> {
+
+        private static final long serialVersionUID = -6547236081386435042L;
+
+        private ValueList() {
+            super(1);
+        }
+
+        private int version() {
+            return modCount;
+        }
+
+        @Override
+        public V set(final int index, final V element) {
+            final V old = super.set(index, element);
+            modCount++;
+            return old;
+        }
+    }
+
+    // Views
+
+    private final class EntrySet extends AbstractSet<Entry<String, List<V>>> {
+
+        @Override
+        public Iterator<Entry<String, List<V>>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            HeaderMultivaluedMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, List<V>>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, List<V>> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new HeaderEntry(names[last], values[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class HeaderEntry extends SimpleEntry<String, List<V>> {
+
+        private static final long serialVersionUID = 2620451227465718390L;
+
+        private HeaderEntry(final String key, final List<V> value) {
+            super(key, value);
+        }
+
+        @Override
+        public List<V> setValue(final List<V> value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
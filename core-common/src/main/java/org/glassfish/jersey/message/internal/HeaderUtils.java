@@ -60,6 +60,17 @@ public final class HeaderUtils {
         return new StringKeyIgnoreCaseMultivaluedMap<String>();
     }
 
+    /**
+     * Create an empty inbound message headers container backed by the allocation-efficient
+     * {@link HeaderMultivaluedMap}. Created container is mutable.
+     *
+     * @return a new empty mutable container for storing inbound message headers.
+     * @since 2.39
+     */
+    public static HeaderMultivaluedMap<String> createInboundHeaders() {
+        return new HeaderMultivaluedMap<String>();
+    }
+
     /**
      * Get immutable empty message headers container. The factory method can be
      * used to for both message header container types&nbsp;&nbsp;&ndash;&nbsp;&nbsp;inbound
@@ -82,6 +93,17 @@ public final class HeaderUtils {
         return new StringKeyIgnoreCaseMultivaluedMap<Object>();
     }
 
+    /**
+     * Create an empty outbound message headers container backed by the allocation-efficient
+     * {@link HeaderMultivaluedMap}. Created container is mutable.
+     *
+     * @return a new empty mutable container for storing outbound message headers.
+     * @since 2.39
+     */
+    public static HeaderMultivaluedMap<Object> createOutboundHeaders() {
+        return new HeaderMultivaluedMap<Object>();
+    }
+
     /**
      * Convert a message header value, represented as a general object, to it's
      * string representation. If the supplied header value is {@code null},
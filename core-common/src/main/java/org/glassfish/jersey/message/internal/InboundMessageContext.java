@@ -37,7 +37,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.BaseStream;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Configuration;
@@ -95,6 +97,7 @@ public abstract class InboundMessageContext {
     private static final List<AcceptableMediaType> WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST =
             Collections.singletonList(MediaTypes.WILDCARD_ACCEPTABLE_TYPE);
 
+    private final HeaderMultivaluedMap<String> headerStore;
     private final GuardianStringKeyMultivaluedMap<String> headers;
     private final EntityContent entityContent;
     private final boolean translateNce;
@@ -166,7 +169,8 @@ public abstract class InboundMessageContext {
      *                      as required by JAX-RS specification on the server side.
      */
     public InboundMessageContext(Configuration configuration, boolean translateNce) {
-        this.headers = new GuardianStringKeyMultivaluedMap<>(HeaderUtils.createInbound());
+        this.headerStore = HeaderUtils.createInboundHeaders();
+        this.headers = new GuardianStringKeyMultivaluedMap<>(headerStore);
         this.entityContent = new EntityContent();
         this.translateNce = translateNce;
         this.configuration = configuration;
@@ -330,26 +334,122 @@ public abstract class InboundMessageContext {
      * @return value of the header, or (possibly converted) {@code null} if not present.
      */
     private <T> T singleHeader(String name, Function<String, T> converter, boolean convertNull) {
-        final List<String> values = this.headers.get(name);
+        return new SingleHeaderParser<>(name, converter, convertNull).apply(this.headers.get(name), runtimeDelegateDecorator);
+    }
 
-        if (values == null || values.isEmpty()) {
-            return convertNull ? converter.apply(null) : null;
+    /**
+     * Get a single typed header value parsed by a constant parser. The parsed value is cached until the header changes.
+     *
+     * @param parser single header value parser.
+     * @return value of the header, or (possibly converted) {@code null} if not present.
+     */
+    private <T> T cachedSingleHeader(SingleHeaderParser<T> parser) {
+        return headerStore.getParsed(parser.name, parser, runtimeDelegateDecorator);
+    }
+
+    /**
+     * Single typed header value parser.
+     */
+    private static final class SingleHeaderParser<T> implements BiFunction<List<String>, RuntimeDelegate, T> {
+
+        private final String name;
+        private final Function<String, T> converter;
+        private final boolean convertNull;
+
+        /**
+         * Create new single header value parser.
+         *
+         * @param name        header name.
+         * @param converter   from string conversion function. Is expected to throw {@link ProcessingException}
+         *                    if conversion fails.
+         * @param convertNull if {@code true} the parser calls the provided converter even for {@code null}. Otherwise the
+         *                    parser returns the {@code null} without calling the converter.
+         */
+        private SingleHeaderParser(String name, Function<String, T> converter, boolean convertNull) {
+            this.name = name;
+            this.converter = converter;
+            this.convertNull = convertNull;
         }
-        if (values.size() > 1) {
-            throw new HeaderValueException(LocalizationMessages.TOO_MANY_HEADER_VALUES(name, values.toString()),
-                    HeaderValueException.Context.INBOUND);
+
+        /**
+         * Parse the header values.
+         *
+         * @param values          header values.
+         * @param runtimeDelegate runtime delegate of the message used to convert non-string header values.
+         * @return value of the header, or (possibly converted) {@code null} if not present.
+         */
+        @Override
+        public T apply(List<String> values, RuntimeDelegate runtimeDelegate) {
+            if (values == null || values.isEmpty()) {
+                return convertNull ? converter.apply(null) : null;
+            }
+            if (values.size() > 1) {
+                throw new HeaderValueException(LocalizationMessages.TOO_MANY_HEADER_VALUES(name, values.toString()),
+                        HeaderValueException.Context.INBOUND);
+            }
+
+            Object value = values.get(0);
+            if (value == null) {
+                return convertNull ? converter.apply(null) : null;
+            }
+
+            try {
+                return converter.apply(HeaderUtils.asString(value, runtimeDelegate));
+            } catch (ProcessingException ex) {
+                throw exception(name, value, ex);
+            }
         }
+    }
 
-        Object value = values.get(0);
-        if (value == null) {
-            return convertNull ? converter.apply(null) : null;
+    private static final SingleHeaderParser<Date> DATE_PARSER = new SingleHeaderParser<>(HttpHeaders.DATE, input -> {
+        try {
+            return HttpHeaderReader.readDate(input);
+        } catch (ParseException ex) {
+            throw new ProcessingException(ex);
         }
+    }, false);
+
+    private static final SingleHeaderParser<Locale> LANGUAGE_PARSER = new SingleHeaderParser<>(HttpHeaders.CONTENT_LANGUAGE,
+            input -> {
+                try {
+                    return new LanguageTag(input).getAsLocale();
+                } catch (ParseException e) {
+                    throw new ProcessingException(e);
+                }
+            }, false);
+
+    private static final SingleHeaderParser<Integer> LENGTH_PARSER = new SingleHeaderParser<>(HttpHeaders.CONTENT_LENGTH,
+            input -> {
+                try {
+                    return (input != null && !input.isEmpty()) ? Integer.parseInt(input) : -1;
+                } catch (NumberFormatException ex) {
+                    throw new ProcessingException(ex);
+                }
+            }, true);
+
+    private static final SingleHeaderParser<EntityTag> ENTITY_TAG_PARSER =
+            new SingleHeaderParser<>(HttpHeaders.ETAG, EntityTag::valueOf, false);
+
+    private static final SingleHeaderParser<Date> LAST_MODIFIED_PARSER = new SingleHeaderParser<>(HttpHeaders.LAST_MODIFIED,
+            input -> {
+                try {
+                    return HttpHeaderReader.readDate(input);
+                } catch (ParseException e) {
+                    throw new ProcessingException(e);
+                }
+            }, false);
 
+    private static final SingleHeaderParser<URI> LOCATION_PARSER = new SingleHeaderParser<>(HttpHeaders.LOCATION, value -> {
         try {
-            return converter.apply(HeaderUtils.asString(value, runtimeDelegateDecorator));
-        } catch (ProcessingException ex) {
-            throw exception(name, value, ex);
+            return URI.create(value);
+        } catch (IllegalArgumentException ex) {
+            throw new ProcessingException(ex);
         }
+    }, false);
+
+    private static Date copyOf(Date date) {
+        // cached dates are shared, do not leak the mutable instance
+        return date == null ? null : new Date(date.getTime());
     }
 
     private static HeaderValueException exception(final String headerName, Object headerValue, Exception e) {
@@ -372,16 +472,7 @@ public abstract class InboundMessageContext {
      * @return the message date, otherwise {@code null} if not present.
      */
     public Date getDate() {
-        return singleHeader(HttpHeaders.DATE, new Function<String, Date>() {
-            @Override
-            public Date apply(String input) {
-                try {
-                    return HttpHeaderReader.readDate(input);
-                } catch (ParseException ex) {
-                    throw new ProcessingException(ex);
-                }
-            }
-        }, false);
+        return copyOf(cachedSingleHeader(DATE_PARSER));
     }
 
     /**
@@ -424,16 +515,7 @@ public abstract class InboundMessageContext {
      * @return the language of the entity or {@code null} if not specified.
      */
     public Locale getLanguage() {
-        return singleHeader(HttpHeaders.CONTENT_LANGUAGE, new Function<String, Locale>() {
-            @Override
-            public Locale apply(String input) {
-                try {
-                    return new LanguageTag(input).getAsLocale();
-                } catch (ParseException e) {
-                    throw new ProcessingException(e);
-                }
-            }
-        }, false);
+        return cachedSingleHeader(LANGUAGE_PARSER);
     }
 
     /**
@@ -442,16 +524,7 @@ public abstract class InboundMessageContext {
      * @return Content-Length as integer if present and valid number. In other cases returns -1.
      */
     public int getLength() {
-        return singleHeader(HttpHeaders.CONTENT_LENGTH, new Function<String, Integer>() {
-            @Override
-            public Integer apply(String input) {
-                try {
-                    return (input != null && !input.isEmpty()) ? Integer.parseInt(input) : -1;
-                } catch (NumberFormatException ex) {
-                    throw new ProcessingException(ex);
-                }
-            }
-        }, true);
+        return cachedSingleHeader(LENGTH_PARSER);
     }
 
     /**
@@ -638,12 +711,7 @@ public abstract class InboundMessageContext {
      * @return the entity tag, otherwise {@code null} if not present.
      */
     public EntityTag getEntityTag() {
-        return singleHeader(HttpHeaders.ETAG, new Function<String, EntityTag>() {
-            @Override
-            public EntityTag apply(String value) {
-                return EntityTag.valueOf(value);
-            }
-        }, false);
+        return cachedSingleHeader(ENTITY_TAG_PARSER);
     }
 
     /**
@@ -652,16 +720,7 @@ public abstract class InboundMessageContext {
      * @return the last modified date, otherwise {@code null} if not present.
      */
     public Date getLastModified() {
-        return singleHeader(HttpHeaders.LAST_MODIFIED, new Function<String, Date>() {
-            @Override
-            public Date apply(String input) {
-                try {
-                    return HttpHeaderReader.readDate(input);
-                } catch (ParseException e) {
-                    throw new ProcessingException(e);
-                }
-            }
-        }, false);
+        return copyOf(cachedSingleHeader(LAST_MODIFIED_PARSER));
     }
 
     /**
@@ -670,16 +729,7 @@ public abstract class InboundMessageContext {
      * @return the location URI, otherwise {@code null} if not present.
      */
     public URI getLocation() {
-        return singleHeader(HttpHeaders.LOCATION, new Function<String, URI>() {
-            @Override
-            public URI apply(String value) {
-                try {
-                    return URI.create(value);
-                } catch (IllegalArgumentException ex) {
-                    throw new ProcessingException(ex);
-                }
-            }
-        }, false);
+        return cachedSingleHeader(LOCATION_PARSER);
     }
 
     /**
@@ -927,7 +977,7 @@ public abstract class InboundMessageContext {
                     entityContent.hasContent() ? getReaderInterceptors() : Collections.<ReaderInterceptor>emptyList(),
                     translateNce);
 
-            shouldClose = shouldClose && !(t instanceof Closeable) && !(t instanceof Source);
+            shouldClose = shouldClose && !(t instanceof Closeable) && !(t instanceof BaseStream) && !(t instanceof Source);
 
             return t;
         } catch (IOException ex) {
@@ -90,6 +90,7 @@ public final class MessagingBinders {
 
             // Message body providers (both readers & writers)
             bindSingletonWorker(ByteArrayProvider.class);
+            bindSingletonWorker(ByteBufferProvider.class);
             // bindSingletonWorker(DataSourceProvider.class);
             bindSingletonWorker(FileProvider.class);
             bindSingletonWorker(FormMultivaluedMapProvider.class);
@@ -111,6 +112,7 @@ public final class MessagingBinders {
 
             // Message body writers
             bind(StreamingOutputProvider.class).to(MessageBodyWriter.class).in(Singleton.class);
+            bind(FileRangeProvider.class).to(MessageBodyWriter.class).in(Singleton.class);
             // bind(SourceProvider.SourceWriter.class).to(MessageBodyWriter.class).in(Singleton.class); - enabledProvidersBinder
 
             final EnabledProvidersBinder enabledProvidersBinder = new EnabledProvidersBinder();
@@ -18,8 +18,11 @@ package org.glassfish.jersey.message.internal;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
 
 /**
  * A {@code "dev/null"} output stream - an output stream implementation that discards all the
@@ -31,7 +34,7 @@ import org.glassfish.jersey.internal.LocalizationMessages;
  * @author Miroslav Fuksa
  * @author Marek Potociar
  */
-public class NullOutputStream extends OutputStream {
+public class NullOutputStream extends OutputStream implements ZeroCopyOutput {
 
     private boolean isClosed;
 
@@ -50,6 +53,16 @@ public class NullOutputStream extends OutputStream {
         }
     }
 
+    @Override
+    public void write(ByteBuffer buffer) throws IOException {
+        checkClosed();
+    }
+
+    @Override
+    public void transferFrom(FileChannel channel, long position, long count) throws IOException {
+        checkClosed();
+    }
+
     @Override
     public void flush() throws IOException {
         checkClosed();
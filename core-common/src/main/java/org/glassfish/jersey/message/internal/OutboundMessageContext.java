@@ -57,6 +57,7 @@ import org.glassfish.jersey.internal.util.collection.GuardianStringKeyMultivalue
 import org.glassfish.jersey.internal.util.collection.LazyValue;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.spi.OutputBufferPool;
 
 /**
  * Base outbound message context implementation.
@@ -108,7 +109,7 @@ public class OutboundMessageContext {
      */
     public OutboundMessageContext(Configuration configuration) {
         this.configuration = configuration;
-        this.headers = new GuardianStringKeyMultivaluedMap<>(HeaderUtils.createOutbound());
+        this.headers = new GuardianStringKeyMultivaluedMap<>(HeaderUtils.createOutboundHeaders());
         this.committingOutputStream = new CommittingOutputStream();
         this.entityStream = committingOutputStream;
         this.runtimeDelegateDecorator = RuntimeDelegateDecorator.configured(configuration);
@@ -124,7 +125,7 @@ public class OutboundMessageContext {
      * @param original the original outbound message context.
      */
     public OutboundMessageContext(OutboundMessageContext original) {
-        this.headers = new GuardianStringKeyMultivaluedMap<>(HeaderUtils.createOutbound());
+        this.headers = new GuardianStringKeyMultivaluedMap<>(HeaderUtils.createOutboundHeaders());
         this.headers.setGuard(HttpHeaders.CONTENT_LENGTH);
         this.headers.putAll(original.headers);
         this.committingOutputStream = new CommittingOutputStream();
@@ -801,7 +802,8 @@ public class OutboundMessageContext {
 
     /**
      * Enable a buffering of serialized entity. The buffering will be configured from configuration. The property
-     * determining the size of the buffer is {@link CommonProperties#OUTBOUND_CONTENT_LENGTH_BUFFER}.
+     * determining the size of the buffer is {@link CommonProperties#OUTBOUND_CONTENT_LENGTH_BUFFER}, the buffer is borrowed
+     * from the pool configured by {@link CommonProperties#OUTBOUND_CONTENT_LENGTH_BUFFER_POOL}, if any.
      * </p>
      * The buffering functionality is by default disabled and could be enabled by calling this method. In this case
      * this method must be called before first bytes are written to the {@link #getEntityStream() entity stream}.
@@ -811,11 +813,10 @@ public class OutboundMessageContext {
     public void enableBuffering(Configuration configuration) {
         final Integer bufferSize = CommonProperties.getValue(configuration.getProperties(),
                 configuration.getRuntimeType(), CommonProperties.OUTBOUND_CONTENT_LENGTH_BUFFER, Integer.class);
-        if (bufferSize != null) {
-            committingOutputStream.enableBuffering(bufferSize);
-        } else {
-            committingOutputStream.enableBuffering();
-        }
+        final OutputBufferPool bufferPool = CommonProperties.getValue(configuration.getProperties(),
+                configuration.getRuntimeType(), CommonProperties.OUTBOUND_CONTENT_LENGTH_BUFFER_POOL, OutputBufferPool.class);
+        committingOutputStream.enableBuffering(
+                bufferSize != null ? bufferSize : CommittingOutputStream.DEFAULT_BUFFER_SIZE, bufferPool);
     }
 
     /**
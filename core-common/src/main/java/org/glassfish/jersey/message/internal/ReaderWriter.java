@@ -17,12 +17,15 @@
 package org.glassfish.jersey.message.internal;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.security.AccessController;
 import java.util.ArrayList;
@@ -37,6 +40,7 @@ import javax.ws.rs.core.MediaType;
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.message.MessageProperties;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
 
 /**
  * A utility class for reading and writing using byte and character streams.
@@ -59,6 +63,14 @@ public final class ReaderWriter {
      * The buffer size for arrays of byte and character.
      */
     public static final int BUFFER_SIZE = getBufferSize();
+    /**
+     * Minimal size of a file region that is memory-mapped by {@link #writeMapped(FileChannel, long, long, ZeroCopyOutput)}.
+     */
+    private static final int MIN_MAPPED_SIZE = 64 * 1024;
+    /**
+     * Maximal size of a single memory-mapped file region.
+     */
+    private static final int MAX_MAPPED_SIZE = 4 * 1024 * 1024;
 
     private static int getBufferSize() {
         // TODO should we unify this buffer size and CommittingOutputStream buffer size (controlled by CommonProperties.OUTBOUND_CONTENT_LENGTH_BUFFER)?
@@ -96,6 +108,110 @@ public final class ReaderWriter {
         }
     }
 
+    /**
+     * Write the remaining bytes of a buffer to an output stream.
+     * <p>
+     * If the output stream is a {@link ZeroCopyOutput}, the buffer is passed to the stream as is. Otherwise the bytes
+     * are written directly from the backing array of the buffer or copied in chunks if the buffer has no accessible
+     * backing array. The position of the buffer is not changed.
+     * </p>
+     *
+     * @param buffer the buffer to write.
+     * @param out    the output stream to write to.
+     * @throws IOException if there is an error writing bytes.
+     * @since 2.39
+     */
+    public static void writeTo(ByteBuffer buffer, OutputStream out) throws IOException {
+        if (out instanceof ZeroCopyOutput) {
+            ((ZeroCopyOutput) out).write(buffer.duplicate());
+        } else if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            final ByteBuffer source = buffer.duplicate();
+            final byte[] data = new byte[Math.min(source.remaining(), BUFFER_SIZE)];
+            while (source.hasRemaining()) {
+                final int length = Math.min(source.remaining(), data.length);
+                source.get(data, 0, length);
+                out.write(data, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Write a region of a file channel to an output stream.
+     * <p>
+     * If the output stream is a {@link ZeroCopyOutput}, the region is passed to the stream which is able to transfer
+     * the bytes without copying them through the heap. Otherwise the bytes are read from the channel and written to
+     * the stream. The position of the channel is not changed.
+     * </p>
+     *
+     * @param channel  the file channel to read from.
+     * @param position position in the file to start with.
+     * @param count    number of bytes to write.
+     * @param out      the output stream to write to.
+     * @throws IOException if there is an error reading or writing bytes or if the file is shorter than expected.
+     * @since 2.39
+     */
+    public static void writeTo(FileChannel channel, long position, long count, OutputStream out) throws IOException {
+        if (out instanceof ZeroCopyOutput) {
+            ((ZeroCopyOutput) out).transferFrom(channel, position, count);
+            return;
+        }
+
+        final byte[] data = new byte[(int) Math.min(count, BUFFER_SIZE)];
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        long written = 0;
+        while (written < count) {
+            buffer.clear().limit((int) Math.min(count - written, data.length));
+            final int read = channel.read(buffer, position + written);
+            if (read < 0) {
+                throw new EOFException(LocalizationMessages.FILE_REGION_END_OF_FILE(position + written));
+            }
+            out.write(data, 0, read);
+            written += read;
+        }
+    }
+
+    /**
+     * Write a region of a file channel to a zero-copy output by passing memory-mapped regions of the file to
+     * {@link ZeroCopyOutput#write(ByteBuffer)}.
+     * <p>
+     * The method is intended to be used by {@link ZeroCopyOutput} implementations that are able to write a
+     * {@link ByteBuffer} directly to the underlying transport but are not able to transfer a file region. Small regions
+     * are read into a heap buffer as mapping them would not pay off.
+     * </p>
+     *
+     * @param channel  the file channel to read from.
+     * @param position position in the file to start with.
+     * @param count    number of bytes to write.
+     * @param out      the zero-copy output to write to.
+     * @throws IOException if there is an error reading or writing bytes or if the file is shorter than expected.
+     * @since 2.39
+     */
+    public static void writeMapped(FileChannel channel, long position, long count, ZeroCopyOutput out) throws IOException {
+        if (count < MIN_MAPPED_SIZE) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) count);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException(LocalizationMessages.FILE_REGION_END_OF_FILE(position + buffer.position()));
+                }
+            }
+            buffer.flip();
+            out.write(buffer);
+            return;
+        }
+
+        if (position + count > channel.size()) {
+            throw new EOFException(LocalizationMessages.FILE_REGION_END_OF_FILE(channel.size()));
+        }
+        long written = 0;
+        while (written < count) {
+            final long length = Math.min(count - written, MAX_MAPPED_SIZE);
+            out.write(channel.map(FileChannel.MapMode.READ_ONLY, position + written, length));
+            written += length;
+        }
+    }
+
     /**
      * Read characters from an input stream and write them to an output stream.
      *
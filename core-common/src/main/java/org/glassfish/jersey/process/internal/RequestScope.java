@@ -234,7 +234,12 @@ public abstract class RequestScope {
      * @param context storage with request scoped objects.
      */
     protected void resume(RequestContext context) {
-        currentRequestContext.set(context);
+        if (context == null) {
+            // do not keep an empty thread local entry, e.g. on short-lived virtual threads
+            currentRequestContext.remove();
+        } else {
+            currentRequestContext.set(context);
+        }
     }
 
     /**
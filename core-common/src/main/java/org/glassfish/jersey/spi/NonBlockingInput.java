@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.spi;
+
+/**
+ * An input stream extension implemented by connector input streams that receive the entity asynchronously and are
+ * able to notify when the entity data can be read without blocking.
+ * <p>
+ * The non-blocking mode works in a very similar way as the Servlet 3.1 asynchronous input: once a {@link Listener} is
+ * {@link #setReadListener(Listener) registered}, the stream may only be read while {@link #isReady()} returns
+ * {@code true}. When {@code isReady()} returns {@code false}, the listener is notified as soon as more data can be read,
+ * the whole entity has been read or the stream failed. Registering a listener commits the stream to the non-blocking
+ * mode, an input stream that has already been read in the blocking way may refuse the registration.
+ * </p>
+ * <p>
+ * Jersey client entity providers (e.g. the provider of {@code Flow.Publisher} entities) use this interface when the
+ * response entity input stream implements it and fall back to the blocking reads otherwise.
+ * </p>
+ *
+ * @since 2.39
+ */
+public interface NonBlockingInput {
+
+    /**
+     * Check whether data can be read without blocking.
+     * <p>
+     * If the method returns {@code false}, the registered {@link Listener} will be notified once data become
+     * available, or once the whole entity has been read or the stream has failed.
+     * </p>
+     *
+     * @return {@code true} if at least one byte can be read without blocking, {@code false} otherwise.
+     */
+    boolean isReady();
+
+    /**
+     * Register the listener to be notified when it is possible to read. The listener is invoked for the first time as
+     * soon as data can be read, subsequently only after {@link #isReady()} returned {@code false}.
+     *
+     * @param listener listener to be notified.
+     * @throws IllegalStateException if the listener has already been set or the stream has already been read in the
+     *                               blocking way.
+     */
+    void setReadListener(Listener listener);
+
+    /**
+     * Listener notified of the state of a {@link NonBlockingInput non-blocking input}.
+     * <p>
+     * The notifications are typically invoked from the I/O threads of the connector, the implementations should
+     * therefore not block.
+     * </p>
+     */
+    interface Listener {
+
+        /**
+         * Invoked when data can be read without blocking.
+         */
+        void onDataAvailable();
+
+        /**
+         * Invoked when the whole entity has been read.
+         */
+        void onAllDataRead();
+
+        /**
+         * Invoked when reading of the entity failed.
+         *
+         * @param t failure cause.
+         */
+        void onError(Throwable t);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.spi;
+
+import java.io.IOException;
+
+/**
+ * A pool of byte buffers used by Jersey to buffer the serialized outbound message entity in order to
+ * determine its size (see {@link org.glassfish.jersey.CommonProperties#OUTBOUND_CONTENT_LENGTH_BUFFER}).
+ * <p>
+ * The pool to be used is configured using the {@link org.glassfish.jersey.CommonProperties#OUTBOUND_CONTENT_LENGTH_BUFFER_POOL}
+ * property. Unless a pool is configured, a new buffer is allocated for each outbound message.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe as a buffer may be acquired and released by different threads.
+ * </p>
+ *
+ * @see StripedOutputBufferPool
+ * @since 2.39
+ */
+public interface OutputBufferPool {
+
+    /**
+     * Acquire a buffer from the pool.
+     *
+     * @param minSize minimal required size of the buffer.
+     * @return a buffer of at least the requested size. The content of the buffer is undefined.
+     */
+    byte[] acquire(int minSize);
+
+    /**
+     * Return a buffer previously {@link #acquire(int) acquired} from this pool back into the pool.
+     * <p>
+     * The buffer must not be accessed by the caller once it has been released.
+     * </p>
+     *
+     * @param buffer buffer to be returned into the pool.
+     */
+    void release(byte[] buffer);
+
+    /**
+     * An output stream extension implemented by container or connector output streams that are able to write a pooled
+     * buffer directly to the underlying transport without copying it.
+     * <p>
+     * The buffering output stream hands the buffer over to the stream instead of writing it via
+     * {@link java.io.OutputStream#write(byte[], int, int)}. The ownership of the buffer is passed along with it, i.e. the
+     * implementation is responsible for {@link #release(byte[]) releasing} the buffer into the pool once the buffered bytes
+     * have been written.
+     * </p>
+     */
+    interface Handoff {
+
+        /**
+         * Write the buffered bytes and take over the ownership of the pooled buffer.
+         *
+         * @param buffer pooled buffer.
+         * @param length number of bytes to be written from the start of the buffer.
+         * @param pool   pool the buffer is to be released into once written.
+         * @throws IOException in case the bytes cannot be written.
+         */
+        void writePooled(byte[] buffer, int length, OutputBufferPool pool) throws IOException;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.spi;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free {@link OutputBufferPool} implementation.
+ * <p>
+ * Pooled buffers are kept in a fixed number of slots. A thread acquiring or releasing a buffer starts probing the slots
+ * at a position derived from its id, so that concurrent threads mostly work with distinct slots. When no pooled buffer
+ * is available a new one is allocated, when all the probed slots are occupied the released buffer is dropped and left
+ * to the garbage collector. Buffers larger than the configured maximal size are never pooled.
+ * </p>
+ *
+ * @since 2.39
+ */
+public class StripedOutputBufferPool implements OutputBufferPool {
+
+    /**
+     * Default number of pooled buffers.
+     */
+    public static final int DEFAULT_CAPACITY = 4 * Runtime.getRuntime().availableProcessors();
+    /**
+     * Default size of the largest pooled buffer.
+     */
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 64 * 1024;
+
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<byte[]> slots;
+    private final int mask;
+    private final int maxBufferSize;
+
+    /**
+     * Create a new pool with the {@link #DEFAULT_CAPACITY default capacity} and
+     * {@link #DEFAULT_MAX_BUFFER_SIZE default maximal buffer size}.
+     */
+    public StripedOutputBufferPool() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a new pool.
+     *
+     * @param capacity      maximal number of pooled buffers, rounded up to the nearest power of two.
+     * @param maxBufferSize size of the largest buffer to be pooled.
+     */
+    public StripedOutputBufferPool(final int capacity, final int maxBufferSize) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive: " + capacity);
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    @Override
+    public byte[] acquire(final int minSize) {
+        if (minSize <= maxBufferSize) {
+            final int start = start();
+            for (int i = 0; i < PROBES && i <= mask; i++) {
+                final int index = (start + i) & mask;
+                final byte[] buffer = slots.get(index);
+                if (buffer != null && buffer.length >= minSize && slots.compareAndSet(index, buffer, null)) {
+                    return buffer;
+                }
+            }
+        }
+        return new byte[minSize];
+    }
+
+    @Override
+    public void release(final byte[] buffer) {
+        if (buffer == null || buffer.length > maxBufferSize) {
+            return;
+        }
+        final int start = start();
+        for (int i = 0; i < PROBES && i <= mask; i++) {
+            final int index = (start + i) & mask;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    private int start() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 32)) * 0x9E3779B9 >>> 16;
+    }
+}
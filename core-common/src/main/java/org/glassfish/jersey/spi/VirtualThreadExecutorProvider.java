@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.spi;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.PreDestroy;
+
+import org.glassfish.jersey.internal.util.collection.LazyValue;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+
+/**
+ * {@link ExecutorServiceProvider Executor service provider} that runs every submitted task in a new virtual thread.
+ * <p>
+ * Virtual threads are available since JDK 21. The provider detects the virtual thread support at runtime, so it can be used
+ * regardless of the JDK version Jersey runs on. When the virtual threads are not supported by the JDK, the provider falls back
+ * to a cached thread pool provisioned by {@link ThreadPoolExecutorProvider}.
+ * </p>
+ * <p>
+ * The virtual thread executor is suitable for tasks that spend most of the time blocked, e.g. waiting for downstream calls.
+ * Every instance of the provider creates at most one shared and lazily initialized executor service, that is shut down when
+ * the provider is {@link #close() closed}.
+ * </p>
+ *
+ * @since 2.39
+ */
+public class VirtualThreadExecutorProvider implements ExecutorServiceProvider, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadExecutorProvider.class.getName());
+
+    private static final int TERMINATION_TIMEOUT = ThreadPoolExecutorProvider.DEFAULT_TERMINATION_TIMEOUT;
+
+    private static final VirtualThreads VIRTUAL_THREADS = VirtualThreads.lookup();
+
+    private final String name;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final LazyValue<ExecutorService> executor;
+    private final ThreadPoolExecutorProvider fallback;
+
+    /**
+     * Create a new instance of the virtual thread executor provider.
+     *
+     * @param name provider name. The name will be used to name the threads created by the provisioned executor.
+     */
+    public VirtualThreadExecutorProvider(final String name) {
+        this.name = name;
+        this.fallback = VIRTUAL_THREADS == null ? new ThreadPoolExecutorProvider(name) : null;
+        this.executor = Values.lazy((Value<ExecutorService>) () -> VIRTUAL_THREADS.newExecutor(name + "-"));
+    }
+
+    /**
+     * Check whether the virtual threads are supported by the JDK.
+     *
+     * @return {@code true} if the tasks will be run in virtual threads, {@code false} if the provider falls back
+     * to a thread pool.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        if (fallback != null) {
+            return fallback.getExecutorService();
+        }
+        if (closed.get()) {
+            throw new IllegalStateException("Executor provider " + name + " has been closed.");
+        }
+        return executor.get();
+    }
+
+    @Override
+    public void dispose(final ExecutorService executorService) {
+        // NO-OP.
+    }
+
+    /**
+     * Check if this executor provider has been {@link #close() closed}.
+     *
+     * @return {@code true} if this provider has been closed, {@code false} otherwise.
+     */
+    public final boolean isClosed() {
+        return fallback != null ? fallback.isClosed() : closed.get();
+    }
+
+    /**
+     * Close this executor provider and shut down the provisioned executor service, if any.
+     * <p>
+     * The graceful shutdown is attempted first, running tasks are interrupted if they do not finish
+     * within {@value org.glassfish.jersey.spi.AbstractThreadPoolProvider#DEFAULT_TERMINATION_TIMEOUT} milliseconds.
+     * </p>
+     */
+    @Override
+    public final void close() {
+        if (fallback != null) {
+            fallback.close();
+            return;
+        }
+        if (!closed.compareAndSet(false, true) || !executor.isInitialized()) {
+            return;
+        }
+
+        final ExecutorService executorService = executor.get();
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Container pre-destroy handler method.
+     * <p>
+     * Invoking the method {@link #close() closes} this provider.
+     * </p>
+     */
+    @PreDestroy
+    public void preDestroy() {
+        close();
+    }
+
+    /**
+     * Reflective access to the JDK 21 virtual thread API, so that the provider can be compiled and loaded on older JDKs.
+     */
+    private static final class VirtualThreads {
+
+        private final Method ofVirtual;
+        private final Method name;
+        private final Method factory;
+        private final Method newThreadPerTaskExecutor;
+
+        private VirtualThreads(final Method ofVirtual, final Method name, final Method factory,
+                               final Method newThreadPerTaskExecutor) {
+            this.ofVirtual = ofVirtual;
+            this.name = name;
+            this.factory = factory;
+            this.newThreadPerTaskExecutor = newThreadPerTaskExecutor;
+        }
+
+        private static VirtualThreads lookup() {
+            try {
+                final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                final VirtualThreads virtualThreads = new VirtualThreads(
+                        Thread.class.getMethod("ofVirtual"),
+                        builder.getMethod("name", String.class, long.class),
+                        builder.getMethod("factory"),
+                        Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class));
+                // fails with JDK 19 and 20 unless the preview features are enabled
+                virtualThreads.ofVirtual.invoke(null);
+                return virtualThreads;
+            } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+                LOGGER.log(Level.FINE, "Virtual threads are not supported, falling back to a thread pool.", e);
+                return null;
+            }
+        }
+
+        private ExecutorService newExecutor(final String threadNamePrefix) {
+            try {
+                final Object builder = name.invoke(ofVirtual.invoke(null), threadNamePrefix, 0L);
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory.invoke(builder));
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An output stream extension implemented by container or connector output streams that are able to write
+ * a {@link ByteBuffer} or a region of a {@link FileChannel} to the underlying transport without copying the data
+ * through an intermediate {@code byte[]} buffer.
+ * <p>
+ * Jersey entity providers (e.g. the providers of {@link java.io.File} or {@link ByteBuffer} entities) use
+ * {@link org.glassfish.jersey.message.internal.ReaderWriter#writeTo(FileChannel, long, long, java.io.OutputStream)}
+ * and {@link org.glassfish.jersey.message.internal.ReaderWriter#writeTo(ByteBuffer, java.io.OutputStream)} which
+ * delegate to this interface when the entity output stream implements it and fall back to streaming the data
+ * otherwise. Jersey output streams wrapping the container output stream forward the calls as long as the data do not
+ * need to be buffered.
+ * </p>
+ *
+ * @since 2.39
+ */
+public interface ZeroCopyOutput {
+
+    /**
+     * Write the remaining bytes of the buffer.
+     * <p>
+     * The implementation may keep a reference to the buffer until its content is written to the underlying transport,
+     * the caller must therefore not modify the content of the buffer after the method is invoked. The position of the
+     * buffer passed in is not guaranteed to be updated.
+     * </p>
+     *
+     * @param buffer buffer to be written.
+     * @throws IOException in case the bytes cannot be written.
+     */
+    void write(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Write a region of the file channel. All the {@code count} bytes starting at the {@code position} must be written
+     * before the method returns, the position of the channel is not changed.
+     *
+     * @param channel  channel to read the bytes from.
+     * @param position position in the file to start with.
+     * @param count    number of bytes to be written.
+     * @throws IOException in case the bytes cannot be read or written.
+     */
+    void transferFrom(FileChannel channel, long position, long count) throws IOException;
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.jersey.internal.jsr166.Flow;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of the {@link IteratorPublisher} and {@link PublisherIterator} adapters.
+ */
+public class IteratorPublisherTest {
+
+    @Test
+    public void testItemsPublishedOnDemand() {
+        final AtomicInteger taken = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Iterator<Integer> items = Arrays.asList(1, 2, 3).iterator();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new IteratorPublisher<>(new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                taken.incrementAndGet();
+                return items.next();
+            }
+        }, () -> closed.set(true)).subscribe(subscriber);
+
+        assertEquals(0, taken.get());
+        subscriber.subscription.get().request(2);
+        assertEquals(Arrays.asList(1, 2), subscriber.signals);
+        assertEquals(2, taken.get());
+        assertFalse(closed.get());
+
+        subscriber.subscription.get().request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList(1, 2, 3, "complete"), subscriber.signals);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testReentrantRequest() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                super.onSubscribe(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final Object item) {
+                super.onNext(item);
+                // served by the draining loop once onNext returns
+                subscription.get().request(1);
+            }
+        };
+        new IteratorPublisher<>(Arrays.asList(1, 2, 3).iterator(), null).subscribe(subscriber);
+
+        assertEquals(Arrays.asList(1, 2, 3, "complete"), subscriber.signals);
+    }
+
+    @Test
+    public void testCancelClosesResource() {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new IteratorPublisher<>(Arrays.asList(1, 2).iterator(), () -> closed.set(true)).subscribe(subscriber);
+
+        subscriber.subscription.get().request(1);
+        subscriber.subscription.get().cancel();
+        subscriber.subscription.get().request(1);
+
+        assertTrue(closed.get());
+        assertEquals(Collections.singletonList(1), subscriber.signals);
+    }
+
+    @Test
+    public void testCloseBeforeSubscription() {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final IteratorPublisher<Integer> publisher = new IteratorPublisher<>(Arrays.asList(1, 2).iterator(),
+                () -> closed.set(true));
+
+        publisher.close();
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testNonPositiveRequestFails() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new IteratorPublisher<>(Arrays.asList(1, 2).iterator(), null).subscribe(subscriber);
+
+        subscriber.subscription.get().request(0);
+
+        assertEquals(1, subscriber.signals.size());
+        assertTrue(subscriber.signals.get(0) instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testSingleSubscriber() {
+        final IteratorPublisher<Integer> publisher = new IteratorPublisher<>(Arrays.asList(1, 2).iterator(), null);
+        publisher.subscribe(new RecordingSubscriber());
+        final RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(second);
+
+        assertTrue(second.signals.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testPublisherIterator() {
+        final AtomicInteger requested = new AtomicInteger();
+        final Flow.Publisher<Integer> publisher = subscriber -> new IteratorPublisher<>(Arrays.asList(1, 2, 3).iterator(), null)
+                .subscribe(new Flow.Subscriber<Integer>() {
+                    @Override
+                    public void onSubscribe(final Flow.Subscription subscription) {
+                        subscriber.onSubscribe(new Flow.Subscription() {
+                            @Override
+                            public void request(final long n) {
+                                requested.addAndGet((int) n);
+                                subscription.request(n);
+                            }
+
+                            @Override
+                            public void cancel() {
+                                subscription.cancel();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onNext(final Integer item) {
+                        subscriber.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) {
+                        subscriber.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        subscriber.onComplete();
+                    }
+                });
+
+        final List<Integer> items = new ArrayList<>();
+        try (PublisherIterator<Integer> iterator = new PublisherIterator<>(publisher, 1)) {
+            assertEquals(1, requested.get());
+            iterator.forEachRemaining(items::add);
+        }
+        assertEquals(Arrays.asList(1, 2, 3), items);
+        assertEquals(4, requested.get());
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Object> {
+
+        final List<Object> signals = new ArrayList<>();
+        final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription.set(subscription);
+        }
+
+        @Override
+        public void onNext(final Object item) {
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.ws.rs.core.HttpHeaders;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link HeaderMultivaluedMap} unit tests.
+ */
+public class HeaderMultivaluedMapTest {
+
+    @Test
+    public void testCaseInsensitiveKeys() {
+        final HeaderMultivaluedMap<String> map = new HeaderMultivaluedMap<>();
+        map.add("content-type", "text/plain");
+        map.add("X-Custom", "a");
+        map.add("x-CUSTOM", "b");
+
+        assertEquals("text/plain", map.getFirst(HttpHeaders.CONTENT_TYPE));
+        assertEquals("text/plain", map.getFirst("CONTENT-TYPE"));
+        assertEquals(Arrays.asList("a", "b"), map.get("x-custom"));
+        assertEquals(2, map.size());
+        // original casing of the first insertion is kept
+        assertEquals(Arrays.asList("content-type", "X-Custom"), Arrays.asList(map.keySet().toArray()));
+    }
+
+    @Test
+    public void testWellKnownNameInterned() {
+        final HeaderMultivaluedMap<String> map = new HeaderMultivaluedMap<>();
+        map.add(new String("Content-Type"), "text/plain");
+        assertSame(HttpHeaders.CONTENT_TYPE, map.keySet().iterator().next());
+    }
+
+    @Test
+    public void testSameBehaviourAsStringKeyIgnoreCaseMultivaluedMap() {
+        final HeaderMultivaluedMap<Object> map = new HeaderMultivaluedMap<>();
+        final StringKeyIgnoreCaseMultivaluedMap<Object> expected = new StringKeyIgnoreCaseMultivaluedMap<>();
+
+        for (int i = 0; i < 40; i++) {
+            map.add("Header-" + i, i);
+            expected.add("Header-" + i, i);
+            map.add("HEADER-" + (i / 2), "x" + i);
+            expected.add("HEADER-" + (i / 2), "x" + i);
+        }
+        map.putSingle("header-3", null);
+        expected.putSingle("header-3", null);
+        map.addFirst("header-4", "first");
+        expected.addFirst("header-4", "first");
+        map.addAll("header-5");
+        expected.addAll("header-5");
+        map.addAll("header-6", null, "six");
+        expected.addAll("header-6", null, "six");
+        for (int i = 0; i < 40; i += 3) {
+            assertEquals(expected.remove("header-" + i), map.remove("HEADER-" + i));
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.toString(), map.toString());
+        assertEquals(expected.size(), map.size());
+        for (final Map.Entry<String, List<Object>> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey().toLowerCase()));
+        }
+        assertTrue(map.equalsIgnoreValueOrder(expected));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final HeaderMultivaluedMap<String> map = new HeaderMultivaluedMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.add("h" + i, "v" + i);
+        }
+        final Iterator<String> keys = map.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().endsWith("1")) {
+                keys.remove();
+            }
+        }
+        assertEquals(18, map.size());
+        assertFalse(map.containsKey("H11"));
+        assertEquals("v12", map.getFirst("H12"));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("h12"));
+    }
+
+    @Test
+    public void testParsedValueCache() {
+        final AtomicInteger parsed = new AtomicInteger();
+        final Function<List<String>, Integer> parser = values -> {
+            parsed.incrementAndGet();
+            return values == null ? -1 : Integer.parseInt(values.get(0));
+        };
+
+        final HeaderMultivaluedMap<String> map = new HeaderMultivaluedMap<>();
+        assertEquals(-1, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser));
+
+        map.putSingle(HttpHeaders.CONTENT_LENGTH, "10");
+        assertEquals(10, (int) map.getParsed("content-length", parser));
+        assertEquals(10, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser));
+        assertEquals(2, parsed.get());
+
+        map.get(HttpHeaders.CONTENT_LENGTH).set(0, "20");
+        assertEquals(20, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser));
+        map.putSingle(HttpHeaders.CONTENT_LENGTH, "30");
+        assertEquals(30, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser));
+        map.remove(HttpHeaders.CONTENT_LENGTH);
+        map.add(HttpHeaders.CONTENT_LENGTH, "40");
+        assertEquals(40, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser));
+        assertEquals(5, parsed.get());
+    }
+
+    @Test
+    public void testParsedValueContext() {
+        final AtomicInteger parsed = new AtomicInteger();
+        final BiFunction<List<String>, Integer, Integer> parser = (values, radix) -> {
+            parsed.incrementAndGet();
+            return Integer.parseInt(values.get(0), radix);
+        };
+
+        final HeaderMultivaluedMap<String> map = new HeaderMultivaluedMap<>();
+        map.putSingle(HttpHeaders.CONTENT_LENGTH, "10");
+        final Integer decimal = 10;
+        final Integer hexadecimal = 16;
+        assertEquals(10, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser, decimal));
+        assertEquals(10, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser, decimal));
+        assertEquals(1, parsed.get());
+
+        // the value parsed with a different context is not reused
+        assertEquals(16, (int) map.getParsed(HttpHeaders.CONTENT_LENGTH, parser, hexadecimal));
+        assertEquals(2, parsed.get());
+    }
+}
@@ -88,6 +88,7 @@ import org.glassfish.jersey.server.internal.process.ReferencesInitializer;
 import org.glassfish.jersey.server.internal.process.RequestProcessingConfigurator;
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.server.internal.process.RequestProcessingContextReference;
+import org.glassfish.jersey.server.internal.routing.ContentNegotiationCounters;
 import org.glassfish.jersey.server.internal.routing.Routing;
 import org.glassfish.jersey.server.model.ComponentModelValidator;
 import org.glassfish.jersey.server.model.ModelProcessor;
@@ -400,6 +401,7 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
                     .createService(serviceType -> Injections.getOrCreate(injectionManager, serviceType))
                     .processingProviders(processingProviders)
                     .resourceMethodInvokerBuilder(bootstrapBag.getResourceMethodInvokerBuilder())
+                    .contentNegotiationCounters(injectionManager.getInstance(ContentNegotiationCounters.class))
                     .buildStage();
         /*
          *  Root linear request acceptor. This is the main entry point for the whole request processing.
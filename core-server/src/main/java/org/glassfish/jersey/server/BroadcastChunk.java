@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+
+import org.glassfish.jersey.message.internal.EncodedForms;
+
+/**
+ * A chunk broadcast to multiple {@link ChunkedOutput chunked outputs}.
+ * <p>
+ * The chunk is serialized only once per distinct encoding key (i.e. the type, media type and entity annotations of the
+ * chunked outputs) and the serialized form is shared by all the chunked outputs with the same key.
+ * </p>
+ *
+ * @param <T> chunk type.
+ */
+final class BroadcastChunk<T> {
+
+    private final T value;
+    private final EncodedForms<Object> encoded = new EncodedForms<>(4);
+
+    /**
+     * Create a new broadcast chunk.
+     *
+     * @param value chunk value.
+     */
+    BroadcastChunk(final T value) {
+        this.value = value;
+    }
+
+    /**
+     * Get the chunk value.
+     *
+     * @return chunk value.
+     */
+    T getValue() {
+        return value;
+    }
+
+    /**
+     * Get the serialized form of the chunk for the given encoding key, the chunk is serialized using the encoder if it has
+     * not been serialized for the key yet. The chunk is serialized at most once per encoding key.
+     *
+     * @param key     encoding key.
+     * @param encoder encoder serializing the chunk, may return {@code null} if the serialized form cannot be shared.
+     * @return serialized chunk or {@code null} if the serialized form cannot be shared and the chunk has to be written
+     * directly.
+     * @throws IOException in case the chunk cannot be serialized.
+     */
+    byte[] getEncoded(final Object key, final Encoder<T> encoder) throws IOException {
+        return encoded.get(key, () -> encoder.encode(value));
+    }
+
+    /**
+     * Chunk serializer.
+     *
+     * @param <T> chunk type.
+     */
+    interface Encoder<T> {
+
+        /**
+         * Serialize the chunk.
+         *
+         * @param value chunk value.
+         * @return serialized chunk or {@code null} if the serialized form cannot be shared.
+         * @throws IOException in case the chunk cannot be serialized.
+         */
+        byte[] encode(T value) throws IOException;
+    }
+}
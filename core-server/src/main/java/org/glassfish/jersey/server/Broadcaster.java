@@ -17,16 +17,36 @@
 package org.glassfish.jersey.server;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.monitoring.core.UniformTimeReservoir;
+import org.glassfish.jersey.server.internal.monitoring.core.UniformTimeValuesSnapshot;
 
 /**
  * Used for broadcasting response chunks to multiple {@link ChunkedOutput} instances.
+ * <p>
+ * The registered chunked outputs may be partitioned into several shards, each of which is handled by a separate task
+ * submitted to the executor the broadcaster has been created with, so that a chunk is delivered to large numbers of
+ * chunked outputs in parallel. By default, there is a single shard handled by the thread invoking
+ * {@link #broadcast(Object)}.
+ * </p>
+ * <p>
+ * By default, the chunks are written to the chunked outputs synchronously, i.e. {@link #broadcast(Object)} returns once
+ * the chunk has been written to all the chunked outputs (of the shard handled by the broadcasting thread) and write
+ * failures are reported to the {@link BroadcasterListener listeners} before it returns. A broadcaster created with
+ * asynchronous writes enabled only queues the chunk into the chunked outputs (see {@link ChunkedOutput#writeAsync(Object)}).
+ * </p>
  *
  * @param <T> broadcast type.
  * @author Pavel Bucek
@@ -37,8 +57,14 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
     private final CopyOnWriteArrayList<BroadcasterListener<T>> listeners =
             new CopyOnWriteArrayList<BroadcasterListener<T>>();
 
-    private final ConcurrentLinkedQueue<ChunkedOutput<T>> chunkedOutputs =
-            new ConcurrentLinkedQueue<ChunkedOutput<T>>();
+    private final ConcurrentLinkedQueue<ChunkedOutput<T>>[] shards;
+
+    private final Executor executor;
+
+    private final boolean asyncWrites;
+
+    private final UniformTimeReservoir fanOutLatencies = new UniformTimeReservoir(System.nanoTime(), TimeUnit.NANOSECONDS);
+    private final LongAdder broadcasts = new LongAdder();
 
     /**
      * Creates a new instance.
@@ -51,6 +77,45 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
         this(Broadcaster.class);
     }
 
+    /**
+     * Creates a new instance partitioning the registered {@link ChunkedOutput} instances into the given number of shards
+     * that are broadcast to in parallel using the executor.
+     * <p>
+     * Similarly to {@link #Broadcaster()}, a subclass calling this constructor is added as the listener.
+     * </p>
+     *
+     * @param executor executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                 in the thread invoking {@link #broadcast(Object)}.
+     * @param shards   number of shards, must be positive.
+     * @since 2.39
+     */
+    public Broadcaster(final Executor executor, final int shards) {
+        this(Broadcaster.class, executor, shards, false);
+    }
+
+    /**
+     * Creates a new instance partitioning the registered {@link ChunkedOutput} instances into the given number of shards
+     * that are broadcast to in parallel using the executor, optionally writing the chunks asynchronously.
+     * <p>
+     * If asynchronous writes are enabled, a chunk is written using {@link ChunkedOutput#writeAsync(Object)}, so that a slow
+     * or stuck client does not delay the delivery of the chunk to the other clients, at the cost of a task of the managed
+     * asynchronous executor per chunk and chunked output. Failures to write the chunk are then reported to the
+     * {@link BroadcasterListener listeners} once they occur, possibly after {@link #broadcast(Object)} has returned.
+     * </p>
+     * <p>
+     * Similarly to {@link #Broadcaster()}, a subclass calling this constructor is added as the listener.
+     * </p>
+     *
+     * @param executor    executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                    in the thread invoking {@link #broadcast(Object)}.
+     * @param shards      number of shards, must be positive.
+     * @param asyncWrites {@code true} to write the chunks asynchronously, {@code false} to write them synchronously.
+     * @since 2.39
+     */
+    public Broadcaster(final Executor executor, final int shards, final boolean asyncWrites) {
+        this(Broadcaster.class, executor, shards, asyncWrites);
+    }
+
     /**
      * Can be used by subclasses to override the default functionality of adding self to the set of
      * {@link BroadcasterListener listeners}. If creating a direct instance of a subclass passed in the parameter,
@@ -61,6 +126,51 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @see #Broadcaster()
      */
     protected Broadcaster(final Class<? extends Broadcaster> subclass) {
+        this(subclass, null, 1, false);
+    }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link BroadcasterListener listeners} when creating a sharded broadcaster.
+     *
+     * @param subclass subclass of Broadcaster that should not be registered as a listener - if creating a direct instance
+     *                 of this subclass, this constructor will not register the new instance as a listener.
+     * @param executor executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                 in the thread invoking {@link #broadcast(Object)}.
+     * @param shards   number of shards, must be positive.
+     * @see #Broadcaster(Executor, int)
+     * @since 2.39
+     */
+    protected Broadcaster(final Class<? extends Broadcaster> subclass, final Executor executor, final int shards) {
+        this(subclass, executor, shards, false);
+    }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link BroadcasterListener listeners} when creating a sharded broadcaster, optionally writing the chunks
+     * asynchronously.
+     *
+     * @param subclass    subclass of Broadcaster that should not be registered as a listener - if creating a direct
+     *                    instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param executor    executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                    in the thread invoking {@link #broadcast(Object)}.
+     * @param shards      number of shards, must be positive.
+     * @param asyncWrites {@code true} to write the chunks asynchronously, {@code false} to write them synchronously.
+     * @see #Broadcaster(Executor, int, boolean)
+     * @since 2.39
+     */
+    @SuppressWarnings("unchecked")
+    protected Broadcaster(final Class<? extends Broadcaster> subclass, final Executor executor, final int shards,
+                          final boolean asyncWrites) {
+        if (shards < 1) {
+            throw new IllegalArgumentException(LocalizationMessages.BROADCASTER_INVALID_SHARDS(shards));
+        }
+        this.executor = executor;
+        this.asyncWrites = asyncWrites;
+        this.shards = new ConcurrentLinkedQueue[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new ConcurrentLinkedQueue<ChunkedOutput<T>>();
+        }
         if (subclass != getClass()) {
             listeners.add(this);
         }
@@ -73,7 +183,7 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @return {@code true} if the instance was successfully registered, {@code false} otherwise.
      */
     public <OUT extends ChunkedOutput<T>> boolean add(final OUT chunkedOutput) {
-        return chunkedOutputs.offer(chunkedOutput);
+        return shardOf(chunkedOutput).offer(chunkedOutput);
     }
 
     /**
@@ -85,7 +195,11 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @return {@code true} if the instance was unregistered, {@code false} otherwise.
      */
     public <OUT extends ChunkedOutput<T>> boolean remove(final OUT chunkedOutput) {
-        return chunkedOutputs.remove(chunkedOutput);
+        return shardOf(chunkedOutput).remove(chunkedOutput);
+    }
+
+    private ConcurrentLinkedQueue<ChunkedOutput<T>> shardOf(final ChunkedOutput<T> chunkedOutput) {
+        return shards[(System.identityHashCode(chunkedOutput) & Integer.MAX_VALUE) % shards.length];
     }
 
     /**
@@ -120,14 +234,67 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
 
     /**
      * Broadcast a chunk to all registered {@link ChunkedOutput} instances.
+     * <p>
+     * Unless the broadcaster has been created with asynchronous writes enabled
+     * (see {@link #Broadcaster(Executor, int, boolean)}), the chunk is written synchronously and failures to write it are
+     * reported to the {@link BroadcasterListener listeners} before the chunk is written to the next chunked output.
+     * Otherwise the chunk is written using the non-blocking {@link ChunkedOutput#writeAsync(Object)} method (unless
+     * the chunked output is configured with a bounded queue and the {@link ChunkedOutput.OverflowPolicy#BLOCK} policy)
+     * and failures are reported once they occur.
+     * </p>
+     * <p>
+     * The chunk is serialized only once for all the chunked outputs of the same type, media type and entity annotations,
+     * the serialized bytes are then shared by these chunked outputs. If the broadcaster has been created with more than one
+     * shard and an executor, all the shards but one are handled by the executor and the method returns once the chunk has
+     * been passed to the chunked outputs of the remaining shard.
+     * </p>
      *
      * @param chunk chunk to be sent.
      */
     public void broadcast(final T chunk) {
-        forEachOutput(new Task<ChunkedOutput<T>>() {
-            @Override
-            public void run(final ChunkedOutput<T> cr) throws IOException {
-                cr.write(chunk);
+        final long start = System.nanoTime();
+        final BroadcastChunk<T> broadcastChunk = new BroadcastChunk<>(chunk);
+        final AtomicInteger remainingShards = new AtomicInteger(shards.length);
+        for (int i = shards.length - 1; i >= 0; i--) {
+            final ConcurrentLinkedQueue<ChunkedOutput<T>> shard = shards[i];
+            final Runnable fanOut = () -> {
+                forEachOutput(shard, new Task<ChunkedOutput<T>>() {
+                    @Override
+                    public void run(final ChunkedOutput<T> cr) throws IOException {
+                        if (asyncWrites) {
+                            writeAsync(cr, broadcastChunk);
+                        } else {
+                            cr.write(broadcastChunk);
+                        }
+                    }
+                });
+                if (remainingShards.decrementAndGet() == 0) {
+                    final long end = System.nanoTime();
+                    fanOutLatencies.update(end - start, end, TimeUnit.NANOSECONDS);
+                    broadcasts.increment();
+                }
+            };
+
+            if (i == 0 || executor == null) {
+                fanOut.run();
+            } else {
+                try {
+                    executor.execute(fanOut);
+                } catch (final RejectedExecutionException e) {
+                    fanOut.run();
+                }
+            }
+        }
+    }
+
+    private void writeAsync(final ChunkedOutput<T> cr, final BroadcastChunk<T> chunk) {
+        cr.writeAsync(chunk).whenComplete((result, exception) -> {
+            if (exception != null && !(exception instanceof CancellationException)) {
+                fireOnException(cr, exception instanceof Exception
+                        ? (Exception) exception : new ExecutionException(exception));
+            }
+            if (cr.isClosed() && shardOf(cr).remove(cr)) {
+                fireOnClose(cr);
             }
         });
     }
@@ -136,12 +303,32 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * Close all registered {@link ChunkedOutput} instances.
      */
     public void closeAll() {
-        forEachOutput(new Task<ChunkedOutput<T>>() {
-            @Override
-            public void run(final ChunkedOutput<T> cr) throws IOException {
-                cr.close();
-            }
-        });
+        for (final ConcurrentLinkedQueue<ChunkedOutput<T>> shard : shards) {
+            forEachOutput(shard, new Task<ChunkedOutput<T>>() {
+                @Override
+                public void run(final ChunkedOutput<T> cr) throws IOException {
+                    cr.close();
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the statistics of the fan-out latency, i.e. the time between the invocation of {@link #broadcast(Object)} and
+     * the moment the chunk has been passed to all the registered {@link ChunkedOutput} instances of all the shards.
+     * <p>
+     * The latency percentiles are computed from a uniform sample of the latencies of all the broadcasts performed
+     * by this broadcaster.
+     * </p>
+     *
+     * @return snapshot of the fan-out latency statistics.
+     * @since 2.39
+     */
+    public FanOutStatistics getFanOutStatistics() {
+        final long now = System.nanoTime();
+        // the uniform reservoir always returns a values snapshot
+        return new FanOutStatistics(broadcasts.sum(),
+                (UniformTimeValuesSnapshot) fanOutLatencies.getSnapshot(now, TimeUnit.NANOSECONDS));
     }
 
     /**
@@ -172,9 +359,8 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
         void run(T parameter) throws IOException;
     }
 
-    private void forEachOutput(final Task<ChunkedOutput<T>> t) {
-        for (Iterator<ChunkedOutput<T>> iterator = chunkedOutputs.iterator(); iterator.hasNext(); ) {
-            ChunkedOutput<T> chunkedOutput = iterator.next();
+    private void forEachOutput(final ConcurrentLinkedQueue<ChunkedOutput<T>> shard, final Task<ChunkedOutput<T>> t) {
+        for (final ChunkedOutput<T> chunkedOutput : shard) {
             if (!chunkedOutput.isClosed()) {
                 try {
                     t.run(chunkedOutput);
@@ -182,8 +368,8 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
                     fireOnException(chunkedOutput, e);
                 }
             }
-            if (chunkedOutput.isClosed()) {
-                iterator.remove();
+            // the output might have been removed by a completion of an asynchronous write already
+            if (chunkedOutput.isClosed() && shard.remove(chunkedOutput)) {
                 fireOnClose(chunkedOutput);
             }
         }
@@ -218,4 +404,58 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
             }
         });
     }
+
+    /**
+     * Immutable snapshot of the fan-out latency statistics of a {@link Broadcaster}.
+     *
+     * @since 2.39
+     */
+    public static final class FanOutStatistics {
+
+        private final long broadcastCount;
+        private final UniformTimeValuesSnapshot latencies;
+
+        private FanOutStatistics(final long broadcastCount, final UniformTimeValuesSnapshot latencies) {
+            this.broadcastCount = broadcastCount;
+            this.latencies = latencies;
+        }
+
+        /**
+         * Get the number of completed broadcasts.
+         *
+         * @return number of broadcasts the fan-out of which has completed.
+         */
+        public long getBroadcastCount() {
+            return broadcastCount;
+        }
+
+        /**
+         * Get the fan-out latency at the given quantile, e.g. {@code 0.99} for the 99th percentile.
+         *
+         * @param quantile quantile in the {@code [0..1]} range.
+         * @param unit     time unit of the returned latency.
+         * @return fan-out latency at the given quantile or {@code 0} if there has been no broadcast.
+         */
+        public long getLatency(final double quantile, final TimeUnit unit) {
+            return unit.convert((long) latencies.getValue(quantile), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Get the maximal sampled fan-out latency.
+         *
+         * @param unit time unit of the returned latency.
+         * @return maximal fan-out latency or {@code 0} if there has been no broadcast.
+         */
+        public long getMaxLatency(final TimeUnit unit) {
+            return unit.convert(latencies.getMax(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "FanOutStatistics{broadcasts=" + broadcastCount
+                    + ", p50=" + getLatency(0.5, TimeUnit.MICROSECONDS)
+                    + "us, p99=" + getLatency(0.99, TimeUnit.MICROSECONDS)
+                    + "us, max=" + getMaxLatency(TimeUnit.MICROSECONDS) + "us}";
+        }
+    }
 }
@@ -16,15 +16,29 @@
 
 package org.glassfish.jersey.server;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.concurrent.BlockingDeque;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.ws.rs.container.ConnectionCallback;
 import javax.ws.rs.core.GenericType;
@@ -40,6 +54,18 @@ import org.glassfish.jersey.server.internal.process.MappableException;
 /**
  * Used for sending messages in "typed" chunks. Useful for long running processes,
  * which needs to produce partial responses.
+ * <p>
+ * Chunks are queued and written to the response by a single thread at a time. By default the queue is unbounded.
+ * A chunked output created with a positive queue capacity limits the number of queued chunks and applies
+ * the configured {@link OverflowPolicy} when a chunk is written into a full queue, so that a slow client cannot
+ * make the queue grow without limit.
+ * </p>
+ * <p>
+ * Chunks can be written either using the blocking {@link #write(Object)} method, in which case the calling thread writes
+ * the queued chunks to the response unless another thread is already doing so, or using the non-blocking
+ * {@link #writeAsync(Object)} method, in which case the queued chunks are written to the response by the managed
+ * asynchronous executor.
+ * </p>
  *
  * @param <T> chunk type.
  * @author Pavel Bucek
@@ -48,16 +74,52 @@ import org.glassfish.jersey.server.internal.process.MappableException;
  */
 // TODO:  something like prequel/sequel - usable for EventChannelWriter and XML related writers
 public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ChunkedOutput.class.getName());
     private static final byte[] ZERO_LENGTH_DELIMITER = new byte[0];
+    private static final int UNBOUNDED = 0;
 
-    private final BlockingDeque<T> queue = new LinkedBlockingDeque<>();
+    /**
+     * Policy applied when a chunk is written into a full queue of a chunked output with a bounded queue.
+     *
+     * @since 2.39
+     */
+    public enum OverflowPolicy {
+        /**
+         * The writing thread waits until there is a free space in the queue.
+         * <p>
+         * The queue is only freed by writing the chunks to the response, which starts once the chunked output has been
+         * returned from the resource method. Chunks written before that are therefore always queued, even if the queue
+         * is full, instead of blocking the writing thread (possibly the thread of the resource method) forever.
+         * </p>
+         */
+        BLOCK,
+        /**
+         * The oldest queued chunk is dropped to make space for the new one. The completion stage of the dropped chunk
+         * (if it has been written using {@link ChunkedOutput#writeAsync(Object)}) is cancelled.
+         */
+        DROP_OLDEST,
+        /**
+         * The new chunk is rejected, the write fails with an {@link IOException}.
+         */
+        FAIL
+    }
+
+    private final Queue<Chunk<T>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final LongAdder droppedChunks = new LongAdder();
+    private final LongAdder rejectedChunks = new LongAdder();
     private final byte[] chunkDelimiter;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    // free slots of a bounded queue, null if the queue is unbounded
+    private final Semaphore queuePermits;
+    // chunks queued over the capacity before the response has been written to (see OverflowPolicy#BLOCK)
+    private final AtomicInteger excessChunks = new AtomicInteger();
     private final AtomicBoolean resumed = new AtomicBoolean(false);
-    private final Object lock = new Object();
-
-    // the following flushing and touchingEntityStream variables are used in a synchronized block exclusively
-    private boolean flushing = false;
-    private boolean touchingEntityStream = false;
+    // number of pending requests to write the queue; the thread that increments it from zero writes the queue
+    private final AtomicInteger flushRequests = new AtomicInteger();
 
     private volatile boolean closed = false;
 
@@ -68,13 +130,14 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
     private volatile ContainerRequest requestContext;
     private volatile ContainerResponse responseContext;
     private volatile ConnectionCallback connectionCallback;
+    private volatile Executor executor;
 
 
     /**
      * Create new {@code ChunkedOutput}.
      */
     protected ChunkedOutput() {
-        this.chunkDelimiter = ZERO_LENGTH_DELIMITER;
+        this(ZERO_LENGTH_DELIMITER, UNBOUNDED, OverflowPolicy.BLOCK);
     }
 
     /**
@@ -83,8 +146,19 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @param chunkType chunk type. Must not be {code null}.
      */
     public ChunkedOutput(final Type chunkType) {
-        super(chunkType);
-        this.chunkDelimiter = ZERO_LENGTH_DELIMITER;
+        this(chunkType, ZERO_LENGTH_DELIMITER, UNBOUNDED, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create {@code ChunkedOutput} with specified type and a bounded chunk queue.
+     *
+     * @param chunkType      chunk type. Must not be {code null}.
+     * @param queueCapacity  maximal number of queued chunks. The queue is unbounded if the value is not positive.
+     * @param overflowPolicy policy applied when a chunk is written into a full queue. Must not be {code null}.
+     * @since 2.39
+     */
+    public ChunkedOutput(final Type chunkType, final int queueCapacity, final OverflowPolicy overflowPolicy) {
+        this(chunkType, ZERO_LENGTH_DELIMITER, queueCapacity, overflowPolicy);
     }
 
     /**
@@ -94,12 +168,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @since 2.4.1
      */
     protected ChunkedOutput(final byte[] chunkDelimiter) {
-        if (chunkDelimiter.length > 0) {
-            this.chunkDelimiter = new byte[chunkDelimiter.length];
-            System.arraycopy(chunkDelimiter, 0, this.chunkDelimiter, 0, chunkDelimiter.length);
-        } else {
-            this.chunkDelimiter = ZERO_LENGTH_DELIMITER;
-        }
+        this(chunkDelimiter, UNBOUNDED, OverflowPolicy.BLOCK);
     }
 
     /**
@@ -109,16 +178,26 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @since 2.4.1
      */
     protected ChunkedOutput(final byte[] chunkDelimiter, Provider<AsyncContext> asyncContextProvider) {
-        if (chunkDelimiter.length > 0) {
-            this.chunkDelimiter = new byte[chunkDelimiter.length];
-            System.arraycopy(chunkDelimiter, 0, this.chunkDelimiter, 0, chunkDelimiter.length);
-        } else {
-            this.chunkDelimiter = ZERO_LENGTH_DELIMITER;
-        }
+        this(chunkDelimiter, UNBOUNDED, OverflowPolicy.BLOCK);
 
         this.asyncContext = asyncContextProvider == null ? null : asyncContextProvider.get();
     }
 
+    /**
+     * Create new {@code ChunkedOutput} with a custom chunk delimiter and a bounded chunk queue.
+     *
+     * @param chunkDelimiter custom chunk delimiter bytes. Must not be {code null}.
+     * @param queueCapacity  maximal number of queued chunks. The queue is unbounded if the value is not positive.
+     * @param overflowPolicy policy applied when a chunk is written into a full queue. Must not be {code null}.
+     * @since 2.39
+     */
+    protected ChunkedOutput(final byte[] chunkDelimiter, final int queueCapacity, final OverflowPolicy overflowPolicy) {
+        this.chunkDelimiter = copyDelimiter(chunkDelimiter);
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : UNBOUNDED;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        this.queuePermits = queueCapacity > 0 ? new Semaphore(queueCapacity) : null;
+    }
+
     /**
      * Create new {@code ChunkedOutput} with a custom chunk delimiter.
      *
@@ -127,13 +206,25 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @since 2.4.1
      */
     public ChunkedOutput(final Type chunkType, final byte[] chunkDelimiter) {
+        this(chunkType, chunkDelimiter, UNBOUNDED, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create new {@code ChunkedOutput} with a custom chunk delimiter and a bounded chunk queue.
+     *
+     * @param chunkType      chunk type. Must not be {code null}.
+     * @param chunkDelimiter custom chunk delimiter bytes. Must not be {code null}.
+     * @param queueCapacity  maximal number of queued chunks. The queue is unbounded if the value is not positive.
+     * @param overflowPolicy policy applied when a chunk is written into a full queue. Must not be {code null}.
+     * @since 2.39
+     */
+    public ChunkedOutput(final Type chunkType, final byte[] chunkDelimiter,
+                         final int queueCapacity, final OverflowPolicy overflowPolicy) {
         super(chunkType);
-        if (chunkDelimiter.length > 0) {
-            this.chunkDelimiter = new byte[chunkDelimiter.length];
-            System.arraycopy(chunkDelimiter, 0, this.chunkDelimiter, 0, chunkDelimiter.length);
-        } else {
-            this.chunkDelimiter = ZERO_LENGTH_DELIMITER;
-        }
+        this.chunkDelimiter = copyDelimiter(chunkDelimiter);
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : UNBOUNDED;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        this.queuePermits = queueCapacity > 0 ? new Semaphore(queueCapacity) : null;
     }
 
     /**
@@ -143,11 +234,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @since 2.4.1
      */
     protected ChunkedOutput(final String chunkDelimiter) {
-        if (chunkDelimiter.isEmpty()) {
-            this.chunkDelimiter = ZERO_LENGTH_DELIMITER;
-        } else {
-            this.chunkDelimiter = chunkDelimiter.getBytes();
-        }
+        this(chunkDelimiter.getBytes());
     }
 
     /**
@@ -158,16 +245,26 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @since 2.4.1
      */
     public ChunkedOutput(final Type chunkType, final String chunkDelimiter) {
-        super(chunkType);
-        if (chunkDelimiter.isEmpty()) {
-            this.chunkDelimiter = ZERO_LENGTH_DELIMITER;
+        this(chunkType, chunkDelimiter.getBytes());
+    }
+
+    private static byte[] copyDelimiter(final byte[] chunkDelimiter) {
+        if (chunkDelimiter.length > 0) {
+            final byte[] copy = new byte[chunkDelimiter.length];
+            System.arraycopy(chunkDelimiter, 0, copy, 0, chunkDelimiter.length);
+            return copy;
         } else {
-            this.chunkDelimiter = chunkDelimiter.getBytes();
+            return ZERO_LENGTH_DELIMITER;
         }
     }
 
     /**
      * Write a chunk.
+     * <p>
+     * The chunk is queued and the queue is written to the response by the calling thread unless another thread is already
+     * writing it. If the queue of this chunked output is bounded and full, the {@link OverflowPolicy overflow policy} is
+     * applied.
+     * </p>
      *
      * @param chunk a chunk instance to be written.
      * @throws IOException if this response is closed or when encountered any problem during serializing or writing a chunk.
@@ -178,121 +275,246 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         }
 
         if (chunk != null) {
-            queue.add(chunk);
+            enqueue(new Chunk<>(chunk, null, null));
         }
 
         flushQueue();
     }
 
-    protected void flushQueue() throws IOException {
+    /**
+     * Write a chunk without waiting for the chunk to be written to the response.
+     * <p>
+     * The chunk is queued and the queue is written to the response by the managed asynchronous executor unless another
+     * thread is already writing it. If the queue of this chunked output is bounded and full, the
+     * {@link OverflowPolicy overflow policy} is applied, i.e. the calling thread waits for a free space in the queue
+     * in case of the {@link OverflowPolicy#BLOCK} policy.
+     * </p>
+     *
+     * @param chunk a chunk instance to be written. Must not be {code null}.
+     * @return completion stage completed once the chunk is written to the response. The stage is completed exceptionally
+     * if this output is closed or the chunk cannot be written and it is cancelled if the chunk is dropped from a full queue.
+     * @since 2.39
+     */
+    public CompletionStage<Void> writeAsync(final T chunk) {
+        return writeAsync(Objects.requireNonNull(chunk, "chunk"), null);
+    }
+
+    /**
+     * Write a chunk broadcast to multiple chunked outputs. The serialized form of the chunk is shared with the other
+     * chunked outputs of the same type, media type and entity annotations.
+     *
+     * @param chunk a broadcast chunk.
+     * @throws IOException if this response is closed or when encountered any problem during serializing or writing a chunk.
+     * @see #write(Object)
+     */
+    void write(final BroadcastChunk<T> chunk) throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+        }
+
+        enqueue(new Chunk<>(chunk.getValue(), null, chunk));
+        flushQueue();
+    }
+
+    /**
+     * Write a chunk broadcast to multiple chunked outputs without waiting for the chunk to be written to the response.
+     * The serialized form of the chunk is shared with the other chunked outputs of the same type, media type and entity
+     * annotations.
+     *
+     * @param chunk a broadcast chunk.
+     * @return completion stage completed once the chunk is written to the response.
+     * @see #writeAsync(Object)
+     */
+    CompletionStage<Void> writeAsync(final BroadcastChunk<T> chunk) {
+        return writeAsync(chunk.getValue(), chunk);
+    }
+
+    private CompletionStage<Void> writeAsync(final T chunk, final BroadcastChunk<T> shared) {
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+        try {
+            if (closed) {
+                throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+            }
+            enqueue(new Chunk<>(chunk, completion, shared));
+        } catch (final IOException e) {
+            completion.completeExceptionally(e);
+            return completion;
+        }
+
+        resume();
+        if (isContextSet() && flushRequests.getAndIncrement() == 0) {
+            final Executor current = executor;
+            if (current == null) {
+                flushQueueAsync();
+            } else {
+                try {
+                    current.execute(this::flushQueueAsync);
+                } catch (final RejectedExecutionException e) {
+                    flushQueueAsync();
+                }
+            }
+        }
+        return completion;
+    }
+
+    private void enqueue(final Chunk<T> chunk) throws IOException {
+        if (queuePermits != null && !queuePermits.tryAcquire()) {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    if (!isContextSet()) {
+                        // nothing would free the queue until the context is set
+                        excessChunks.incrementAndGet();
+                        break;
+                    }
+                    try {
+                        queuePermits.acquire();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException(e.getMessage());
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!queuePermits.tryAcquire()) {
+                        final Chunk<T> dropped = poll();
+                        if (dropped != null) {
+                            droppedChunks.increment();
+                            if (dropped.completion != null) {
+                                dropped.completion.cancel(false);
+                            }
+                        }
+                    }
+                    break;
+                default:
+                    rejectedChunks.increment();
+                    throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_QUEUE_FULL(queueCapacity));
+            }
+        }
+
+        queue.add(chunk);
+        final int depth = queueDepth.incrementAndGet();
+        int peak;
+        while (depth > (peak = peakQueueDepth.get()) && !peakQueueDepth.compareAndSet(peak, depth)) {
+            // retry
+        }
+
+        // the output may have been closed (and its queue drained) while this chunk was being queued - unless the chunk
+        // has already been taken by the writing thread, it would never be written nor failed
+        if (closed && queue.remove(chunk)) {
+            dequeued();
+            throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+        }
+    }
+
+    private Chunk<T> poll() {
+        final Chunk<T> chunk = queue.poll();
+        if (chunk != null) {
+            dequeued();
+        }
+        return chunk;
+    }
+
+    private void dequeued() {
+        queueDepth.decrementAndGet();
+        if (queuePermits != null && !takeExcessChunk()) {
+            queuePermits.release();
+        }
+    }
+
+    private boolean takeExcessChunk() {
+        int excess;
+        while ((excess = excessChunks.get()) > 0) {
+            if (excessChunks.compareAndSet(excess, excess - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isContextSet() {
+        return requestScopeContext != null && requestContext != null && responseContext != null;
+    }
+
+    private void resume() {
         if (resumed.compareAndSet(false, true) && asyncContext != null) {
             asyncContext.resume(this);
         }
+    }
+
+    private void flushQueueAsync() {
+        try {
+            writeQueue();
+        } catch (final Exception e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), e);
+        }
+    }
+
+    protected void flushQueue() throws IOException {
+        resume();
 
-        if (requestScopeContext == null || requestContext == null || responseContext == null) {
+        if (!isContextSet()) {
             return;
         }
 
+        if (flushRequests.getAndIncrement() == 0) {
+            writeQueue();
+        }
+    }
+
+    /**
+     * Write the queued chunks to the response. Invoked only by the thread that incremented the flush requests counter
+     * from zero, i.e. by a single thread at a time.
+     */
+    private void writeQueue() throws IOException {
+        // set if the queue has been written out and the output is being closed
+        final AtomicBoolean shouldClose = new AtomicBoolean();
         Exception ex = null;
         try {
             requestScope.runInScope(requestScopeContext, new Callable<Void>() {
                 @Override
                 public Void call() throws IOException {
-                    boolean shouldClose;
-                    T t;
-
-                    synchronized (lock) {
-                        if (flushing) {
-                            // if another thread is already flushing the queue, we don't have to do anything
-                            return null;
-                        }
+                    int missed = 1;
+                    while (true) {
                         // remember the closed flag before polling the queue
                         // (if we did it after, we could miss the last chunk as some other thread may add a chunk
                         // and set closed to true right after we have polled the queue (i.e. we'd think the queue is empty),
                         // but before we check if we should close - so we would close the stream leaving the last chunk
                         // undelivered)
-                        shouldClose = closed;
-                        t = queue.poll();
-                        if (t != null || shouldClose) {
-                            // no other thread is flushing this queue at the moment and it is not empty and/or we should close ->
-                            // set the flushing flag so that other threads know it is already being taken care of
-                            // and they don't have to bother
-                            flushing = true;
-                        }
-                    }
-
-                    while (t != null) {
-                        try {
-                            synchronized (lock) {
-                                touchingEntityStream = true;
-                            }
-
-                            final OutputStream origStream = responseContext.getEntityStream();
-                            final OutputStream writtenStream = requestContext.getWorkers().writeTo(
-                                    t,
-                                    t.getClass(),
-                                    getType(),
-                                    responseContext.getEntityAnnotations(),
-                                    responseContext.getMediaType(),
-                                    responseContext.getHeaders(),
-                                    requestContext.getPropertiesDelegate(),
-                                    origStream,
-                                    // The output stream stored in the response context for this chunked output
-                                    // is already intercepted as a whole (if there are any interceptors);
-                                    // no need to intercept the individual chunks.
-                                    Collections.<WriterInterceptor>emptyList());
-
-                            //noinspection ArrayEquality
-                            if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
-                                // if the chunked output is configured with a custom delimiter, use it
-                                writtenStream.write(chunkDelimiter);
-                            }
+                        final boolean closing = closed;
+                        Chunk<T> chunk = poll();
+                        if (chunk != null) {
+                            do {
+                                try {
+                                    writeChunk(chunk);
+                                } catch (final IOException | RuntimeException e) {
+                                    if (chunk.completion != null) {
+                                        chunk.completion.completeExceptionally(e);
+                                    }
+                                    throw e;
+                                }
+                                if (chunk.completion != null) {
+                                    chunk.completion.complete(null);
+                                }
+                                chunk = poll();
+                            } while (chunk != null);
 
-                            // flush the chunk (some writers do it, but some don't)
-                            writtenStream.flush();
+                            // queue seems empty - flush the stream and check again
+                            responseContext.commitStream();
+                            continue;
+                        }
 
-                            if (origStream != writtenStream) {
-                                // if MBW replaced the stream, let's make sure to set it in the response context.
-                                responseContext.setEntityStream(writtenStream);
-                            }
-                        } catch (final IOException ioe) {
-                            connectionCallback.onDisconnect(asyncContext);
-                            throw ioe;
-                        } catch (final MappableException mpe) {
-                            if (mpe.getCause() instanceof IOException) {
-                                connectionCallback.onDisconnect(asyncContext);
-                            }
-                            throw mpe;
-                        } finally {
-                           synchronized (lock) {
-                               touchingEntityStream = false;
-                           }
+                        if (closing) {
+                            // keep the flush requests counter non-zero, no other thread needs to write this queue anymore -
+                            // finally clause will take care of closing the stream
+                            shouldClose.set(true);
+                            return null;
                         }
 
-                        t = queue.poll();
-                        if (t == null) {
-                            synchronized (lock) {
-                                // queue seems empty
-                                // check again in the synchronized block before clearing the flushing flag
-                                // first remember the closed flag (this has to be before polling the queue,
-                                // otherwise we could miss the last chunk)
-                                shouldClose = closed;
-                                t = queue.poll();
-                                if (t == null) {
-                                    // ok, it is really empty - if anyone adds a chunk while we are here,
-                                    // other thread will take care of it -> flush the stream and unset
-                                    // the flushing flag at the very end (to make sure it is unset only if no
-                                    // exception is thrown)
-                                    responseContext.commitStream();
-                                    // if closing, we keep the "flushing" flag set, since no other thread needs to flush
-                                    // this queue anymore - finally clause will take care of closing the stream
-                                    flushing = shouldClose;
-                                    break;
-                                }
-                            }
+                        missed = flushRequests.addAndGet(-missed);
+                        if (missed == 0) {
+                            // ok, it is really empty - if anyone adds a chunk from now on, other thread will take care of it
+                            return null;
                         }
                     }
-                    return null;
                 }
             });
         } catch (final Exception e) {
@@ -301,13 +523,18 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
             ex = e;
             onClose(e);
         } finally {
-            if (closed) {
-                try {
-                    synchronized (lock) {
-                        if (!touchingEntityStream) {
-                            responseContext.close();
-                        } // else the next thread will close responseContext
+            if (ex != null || shouldClose.get()) {
+                // fail the chunks that will never be written
+                Chunk<T> chunk;
+                while ((chunk = poll()) != null) {
+                    if (chunk.completion != null) {
+                        chunk.completion.completeExceptionally(
+                                ex != null ? ex : new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED()));
                     }
+                }
+
+                try {
+                    responseContext.close();
                 } catch (final Exception e) {
                     // if no exception remembered before, remember this one
                     // otherwise the previously remembered exception (from catch clause) takes precedence
@@ -328,6 +555,76 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         }
     }
 
+    private void writeChunk(final Chunk<T> chunk) throws IOException {
+        try {
+            final OutputStream origStream = responseContext.getEntityStream();
+            final byte[] encoded = chunk.shared == null ? null : chunk.shared.getEncoded(getEncodingKey(), this::serialize);
+            final OutputStream writtenStream;
+            if (encoded != null) {
+                origStream.write(encoded);
+                writtenStream = origStream;
+            } else {
+                writtenStream = serialize(chunk.value, origStream);
+            }
+
+            //noinspection ArrayEquality
+            if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
+                // if the chunked output is configured with a custom delimiter, use it
+                writtenStream.write(chunkDelimiter);
+            }
+
+            // flush the chunk (some writers do it, but some don't)
+            writtenStream.flush();
+
+            if (origStream != writtenStream) {
+                // if MBW replaced the stream, let's make sure to set it in the response context.
+                responseContext.setEntityStream(writtenStream);
+            }
+        } catch (final IOException ioe) {
+            connectionCallback.onDisconnect(asyncContext);
+            throw ioe;
+        } catch (final MappableException mpe) {
+            if (mpe.getCause() instanceof IOException) {
+                connectionCallback.onDisconnect(asyncContext);
+            }
+            throw mpe;
+        }
+    }
+
+    /**
+     * Get the key of the serialized form of a broadcast chunk that can be shared by the chunked outputs with the same key.
+     */
+    private Object getEncodingKey() {
+        final Annotation[] annotations = responseContext.getEntityAnnotations();
+        return Arrays.asList(getType(), responseContext.getMediaType(),
+                annotations == null ? Collections.emptyList() : Arrays.asList(annotations));
+    }
+
+    /**
+     * Serialize the chunk into a byte array, returns {@code null} if the message body writer replaced the output stream.
+     */
+    private byte[] serialize(final T t) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final OutputStream writtenStream = serialize(t, buffer);
+        return writtenStream == buffer ? buffer.toByteArray() : null;
+    }
+
+    private OutputStream serialize(final T t, final OutputStream entityStream) throws IOException {
+        return requestContext.getWorkers().writeTo(
+                t,
+                t.getClass(),
+                getType(),
+                responseContext.getEntityAnnotations(),
+                responseContext.getMediaType(),
+                responseContext.getHeaders(),
+                requestContext.getPropertiesDelegate(),
+                entityStream,
+                // The output stream stored in the response context for this chunked output
+                // is already intercepted as a whole (if there are any interceptors);
+                // no need to intercept the individual chunks.
+                Collections.<WriterInterceptor>emptyList());
+    }
+
     /**
      * Close this response - it will be finalized and underlying connections will be closed
      * or made available for another response.
@@ -350,6 +647,66 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         return closed;
     }
 
+    /**
+     * Get the maximal number of queued chunks.
+     *
+     * @return capacity of the chunk queue or {@code -1} if the queue is unbounded.
+     * @since 2.39
+     */
+    public int getQueueCapacity() {
+        return queuePermits == null ? -1 : queueCapacity;
+    }
+
+    /**
+     * Get the policy applied when a chunk is written into a full queue.
+     *
+     * @return overflow policy. The policy is not applied if the queue is unbounded.
+     * @since 2.39
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Get the number of chunks waiting in the queue to be written to the response.
+     *
+     * @return current depth of the chunk queue.
+     * @since 2.39
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Get the maximal number of chunks that have been waiting in the queue at the same time.
+     *
+     * @return peak depth of the chunk queue.
+     * @since 2.39
+     */
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    /**
+     * Get the number of chunks dropped from a full queue due to the {@link OverflowPolicy#DROP_OLDEST} policy.
+     *
+     * @return number of dropped chunks.
+     * @since 2.39
+     */
+    public long getDroppedChunkCount() {
+        return droppedChunks.sum();
+    }
+
+    /**
+     * Get the number of chunks rejected due to the {@link OverflowPolicy#FAIL} policy.
+     *
+     * @return number of rejected chunks.
+     * @since 2.39
+     */
+    public long getRejectedChunkCount() {
+        return rejectedChunks.sum();
+    }
+
     /**
      * Executed only in case of close being triggered by client.
      * @param e Exception causing the close
@@ -384,18 +741,39 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @param requestContext           request context.
      * @param responseContext          response context.
      * @param connectionCallbackRunner connection callback.
+     * @param executor                 executor used to write chunks written using {@link #writeAsync(Object)}.
      * @throws IOException when encountered any problem during serializing or writing a chunk.
      */
     void setContext(final RequestScope requestScope,
                     final RequestContext requestScopeContext,
                     final ContainerRequest requestContext,
                     final ContainerResponse responseContext,
-                    final ConnectionCallback connectionCallbackRunner) throws IOException {
+                    final ConnectionCallback connectionCallbackRunner,
+                    final Executor executor) throws IOException {
         this.requestScope = requestScope;
         this.requestScopeContext = requestScopeContext;
         this.requestContext = requestContext;
         this.responseContext = responseContext;
         this.connectionCallback = connectionCallbackRunner;
+        this.executor = executor;
         flushQueue();
     }
+
+    /**
+     * Queued chunk.
+     */
+    private static final class Chunk<T> {
+
+        private final T value;
+        // completion of a chunk written asynchronously, null otherwise
+        private final CompletableFuture<Void> completion;
+        // shared serialized form of a broadcast chunk, null otherwise
+        private final BroadcastChunk<T> shared;
+
+        private Chunk(final T value, final CompletableFuture<Void> completion, final BroadcastChunk<T> shared) {
+            this.value = value;
+            this.completion = completion;
+            this.shared = shared;
+        }
+    }
 }
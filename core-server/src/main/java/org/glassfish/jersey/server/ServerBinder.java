@@ -25,6 +25,7 @@ import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.server.internal.JsonWithPaddingInterceptor;
 import org.glassfish.jersey.server.internal.MappableExceptionWrapperInterceptor;
 import org.glassfish.jersey.server.internal.monitoring.MonitoringContainerListener;
+import org.glassfish.jersey.server.internal.routing.ContentNegotiationCounters;
 
 /**
  * Server injection binder.
@@ -37,7 +38,8 @@ class ServerBinder extends AbstractBinder {
     @Override
     protected void configure() {
         install(new MappableExceptionWrapperInterceptor.Binder(),
-                new MonitoringContainerListener.Binder());
+                new MonitoringContainerListener.Binder(),
+                new ContentNegotiationCounters.Binder());
 
         //ChunkedResponseWriter
         bind(ChunkedResponseWriter.class).to(MessageBodyWriter.class).in(Singleton.class);
@@ -27,6 +27,7 @@ import org.glassfish.jersey.spi.ExecutorServiceProvider;
 import org.glassfish.jersey.spi.ScheduledExecutorServiceProvider;
 import org.glassfish.jersey.spi.ScheduledThreadPoolExecutorProvider;
 import org.glassfish.jersey.spi.ThreadPoolExecutorProvider;
+import org.glassfish.jersey.spi.VirtualThreadExecutorProvider;
 
 /**
  * Configurator which initializes and register {@link org.glassfish.jersey.spi.ExecutorServiceProvider} and
@@ -50,7 +51,11 @@ class ServerExecutorProvidersConfigurator extends AbstractExecutorProvidersConfi
                 .qualifiedBy(BackgroundSchedulerLiteral.INSTANCE);
         injectionManager.register(schedulerBinding);
 
-        ExecutorServiceProvider defaultAsyncExecutorProvider = new DefaultManagedAsyncExecutorProvider();
+        final boolean virtualThreads = ServerProperties.getValue(runtimeConfig.getProperties(),
+                ServerProperties.MANAGED_ASYNC_VIRTUAL_THREADS_ENABLED, false, Boolean.class);
+        ExecutorServiceProvider defaultAsyncExecutorProvider = virtualThreads
+                ? new VirtualThreadManagedAsyncExecutorProvider()
+                : new DefaultManagedAsyncExecutorProvider();
         InstanceBinding<ExecutorServiceProvider> executorBinding = Bindings
                 .service(defaultAsyncExecutorProvider)
                 .to(ExecutorServiceProvider.class);
@@ -90,4 +95,19 @@ class ServerExecutorProvidersConfigurator extends AbstractExecutorProvidersConfi
             super("jersey-server-managed-async-executor");
         }
     }
+
+    /**
+     * {@link ExecutorServiceProvider} used on the server side for managed asynchronous request processing when
+     * {@link ServerProperties#MANAGED_ASYNC_VIRTUAL_THREADS_ENABLED} is enabled.
+     */
+    @ManagedAsyncExecutor
+    private static class VirtualThreadManagedAsyncExecutorProvider extends VirtualThreadExecutorProvider {
+
+        /**
+         * Create new instance for the virtual thread managed async executor provider.
+         */
+        public VirtualThreadManagedAsyncExecutorProvider() {
+            super("jersey-server-managed-async-executor");
+        }
+    }
 }
@@ -741,6 +741,77 @@ public final class ServerProperties {
     public static final String UNWRAP_COMPLETION_STAGE_IN_WRITER_ENABLE =
             "jersey.config.server.unwrap.completion.stage.writer.enable";
 
+    /**
+     * If {@code true} then Jersey will invoke resource methods through {@link java.lang.invoke.MethodHandle method handles}
+     * resolved once for each resource method when the resource model is built, instead of invoking them reflectively
+     * using {@link java.lang.reflect.Method#invoke(Object, Object...)} on every request.
+     * <p>
+     * The method handle based invocation is only used when no custom
+     * {@link org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider} provides an invocation
+     * handler for the resource method. Resource methods that are not accessible to Jersey via method handles are still
+     * invoked reflectively.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.39
+     */
+    public static final String RESOURCE_METHOD_INVOCATION_METHOD_HANDLE_ENABLED =
+            "jersey.config.server.resource.method.invocation.methodHandle.enabled";
+
+    /**
+     * If {@code true} then the default executor used to run {@link org.glassfish.jersey.server.ManagedAsync managed
+     * asynchronous} resource methods starts a new virtual thread for each request instead of using a cached thread pool.
+     * <p>
+     * Virtual threads are only available since JDK 21, on older JDKs the property has no effect
+     * (see {@link org.glassfish.jersey.spi.VirtualThreadExecutorProvider}). The property is ignored when a custom
+     * {@link org.glassfish.jersey.spi.ExecutorServiceProvider} annotated with {@link ManagedAsyncExecutor} is registered.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.39
+     */
+    public static final String MANAGED_ASYNC_VIRTUAL_THREADS_ENABLED = "jersey.config.server.managedAsync.virtualThreads.enabled";
+
+    /**
+     * An integer value that defines the size of the content negotiation cache of every set of resource methods bound
+     * to the same path. The cache remembers the resource method and the response media type selected for a combination
+     * of the request HTTP method, {@code Content-Type} and {@code Accept} headers, so that the selection is not repeated
+     * for recurring requests. A value of {@code 0} disables the cache.
+     * <p>
+     * Hit and miss counts of the caches are available in the
+     * {@link org.glassfish.jersey.server.monitoring.MonitoringStatistics#getContentNegotiationStatistics() monitoring
+     * statistics}.
+     * </p>
+     * <p>
+     * The default value is {@value #CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE
+     * @since 2.39
+     */
+    public static final String CONTENT_NEGOTIATION_CACHE_SIZE = "jersey.config.server.contentNegotiation.cache.size";
+
+    /**
+     * The default content negotiation cache size ({@value}).
+     *
+     * @see #CONTENT_NEGOTIATION_CACHE_SIZE
+     * @since 2.39
+     */
+    public static final int CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE = 32;
+
     /**
      * JVM argument to define the value of
      * {@link org.glassfish.jersey.server.internal.monitoring.core.ReservoirConstants#COLLISION_BUFFER_POWER}.
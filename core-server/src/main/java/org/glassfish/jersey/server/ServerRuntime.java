@@ -34,6 +34,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -700,7 +701,8 @@ public class ServerRuntime {
                                     runtime.requestScope.referenceCurrent(),
                                     request,
                                     response,
-                                    connectionCallbackRunner);
+                                    connectionCallbackRunner,
+                                    runtime.managedAsyncExecutor.get());
                         } catch (final IOException ex) {
                             LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), ex);
                             close = true;
@@ -767,7 +769,8 @@ public class ServerRuntime {
             }
         };
 
-        private final Object stateLock = new Object();
+        // not a monitor, so that blocked virtual threads do not pin their carrier threads
+        private final ReentrantLock stateLock = new ReentrantLock();
         private State state = RUNNING;
         private boolean cancelled = false;
 
@@ -800,10 +803,13 @@ public class ServerRuntime {
         public void onTimeout(final ContainerResponseWriter responseWriter) {
             final TimeoutHandler handler = timeoutHandler;
             try {
-                synchronized (stateLock) {
+                stateLock.lock();
+                try {
                     if (state == SUSPENDED) {
                         handler.handleTimeout(this);
                     }
+                } finally {
+                    stateLock.unlock();
                 }
             } catch (final Throwable throwable) {
                 resume(throwable);
@@ -812,8 +818,11 @@ public class ServerRuntime {
 
         @Override
         public void onComplete(final Throwable throwable) {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 state = COMPLETED;
+            } finally {
+                stateLock.unlock();
             }
         }
 
@@ -842,7 +851,8 @@ public class ServerRuntime {
 
         @Override
         public boolean suspend() {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 if (state == RUNNING) {
                     if (responder.processingContext.request().getResponseWriter().suspend(
                             AsyncResponse.NO_TIMEOUT, TimeUnit.SECONDS, this)) {
@@ -850,6 +860,8 @@ public class ServerRuntime {
                         return true;
                     }
                 }
+            } finally {
+                stateLock.unlock();
             }
             return false;
         }
@@ -892,11 +904,14 @@ public class ServerRuntime {
         }
 
         private boolean resume(final Runnable handler) {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 if (state != SUSPENDED) {
                     return false;
                 }
                 state = RESUMED;
+            } finally {
+                stateLock.unlock();
             }
 
             try {
@@ -945,7 +960,8 @@ public class ServerRuntime {
         }
 
         private boolean cancel(final Value<Response> responseValue) {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 if (cancelled) {
                     return true;
                 }
@@ -955,6 +971,8 @@ public class ServerRuntime {
                 }
                 state = RESUMED;
                 cancelled = true;
+            } finally {
+                stateLock.unlock();
             }
 
             responder.runtime.requestScope.runInScope(requestContext, new Runnable() {
@@ -973,29 +991,41 @@ public class ServerRuntime {
         }
 
         public boolean isRunning() {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 return state == RUNNING;
+            } finally {
+                stateLock.unlock();
             }
         }
 
         @Override
         public boolean isSuspended() {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 return state == SUSPENDED;
+            } finally {
+                stateLock.unlock();
             }
         }
 
         @Override
         public boolean isCancelled() {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 return cancelled;
+            } finally {
+                stateLock.unlock();
             }
         }
 
         @Override
         public boolean isDone() {
-            synchronized (stateLock) {
+            stateLock.lock();
+            try {
                 return state == COMPLETED;
+            } finally {
+                stateLock.unlock();
             }
         }
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import org.glassfish.jersey.server.internal.routing.ContentNegotiationCounters;
+import org.glassfish.jersey.server.monitoring.ContentNegotiationStatistics;
+
+/**
+ * Immutable content negotiation statistics.
+ */
+final class ContentNegotiationStatisticsImpl implements ContentNegotiationStatistics {
+
+    /**
+     * Empty statistics used when no content negotiation counters are available.
+     */
+    static final ContentNegotiationStatisticsImpl EMPTY = new ContentNegotiationStatisticsImpl(0, 0);
+
+    /**
+     * This builder does not need to be threadsafe since it's called only from the jersey-background-task-scheduler.
+     */
+    static class Builder {
+
+        private final ContentNegotiationCounters counters;
+
+        private ContentNegotiationStatisticsImpl cached = EMPTY;
+
+        /**
+         * Create a new builder reading the given counters.
+         *
+         * @param counters content negotiation counters, might be {@code null}.
+         */
+        Builder(final ContentNegotiationCounters counters) {
+            this.counters = counters;
+        }
+
+        ContentNegotiationStatisticsImpl build() {
+            if (counters == null) {
+                return EMPTY;
+            }
+
+            final long hits = counters.getHitCount();
+            final long misses = counters.getMissCount();
+            if (hits != cached.hits || misses != cached.misses) {
+                cached = new ContentNegotiationStatisticsImpl(hits, misses);
+            }
+            return cached;
+        }
+    }
+
+    private final long hits;
+    private final long misses;
+
+    private ContentNegotiationStatisticsImpl(final long hits, final long misses) {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return hits;
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        return misses;
+    }
+}
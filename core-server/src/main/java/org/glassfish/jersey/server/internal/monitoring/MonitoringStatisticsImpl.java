@@ -23,9 +23,11 @@ import java.util.TreeMap;
 import java.util.function.Function;
 
 import org.glassfish.jersey.internal.util.collection.Views;
+import org.glassfish.jersey.server.internal.routing.ContentNegotiationCounters;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ContentNegotiationStatistics;
 import org.glassfish.jersey.server.monitoring.ExceptionMapperStatistics;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
 import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
@@ -69,6 +71,7 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
 
         private final ResponseStatisticsImpl.Builder responseStatisticsBuilder;
         private final ExceptionMapperStatisticsImpl.Builder exceptionMapperStatisticsBuilder;
+        private ContentNegotiationStatisticsImpl.Builder contentNegotiationStatisticsBuilder;
 
         private final ResourceMethodStatisticsImpl.Factory methodFactory = new ResourceMethodStatisticsImpl.Factory();
         private final SortedMap<String, ResourceStatisticsImpl.Builder> uriStatistics = new TreeMap<>();
@@ -83,6 +86,7 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         Builder() {
             this.responseStatisticsBuilder = new ResponseStatisticsImpl.Builder();
             this.exceptionMapperStatisticsBuilder = new ExceptionMapperStatisticsImpl.Builder();
+            this.contentNegotiationStatisticsBuilder = new ContentNegotiationStatisticsImpl.Builder(null);
         }
 
         /**
@@ -127,6 +131,15 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             return builder;
         }
 
+        /**
+         * Set the counters the content negotiation statistics are built from.
+         *
+         * @param counters content negotiation counters.
+         */
+        void setContentNegotiationCounters(final ContentNegotiationCounters counters) {
+            this.contentNegotiationStatisticsBuilder = new ContentNegotiationStatisticsImpl.Builder(counters);
+        }
+
         /**
          * Get the exception mapper statistics builder.
          *
@@ -206,13 +219,15 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             return new MonitoringStatisticsImpl(
                     uriStats, classStats, requestStats,
                     responseStatisticsBuilder.build(),
-                    exceptionMapperStatisticsBuilder.build());
+                    exceptionMapperStatisticsBuilder.build(),
+                    contentNegotiationStatisticsBuilder.build());
         }
     }
 
     private final ExecutionStatistics requestStatistics;
     private final ResponseStatistics responseStatistics;
     private final ExceptionMapperStatistics exceptionMapperStatistics;
+    private final ContentNegotiationStatistics contentNegotiationStatistics;
     private final Map<String, ResourceStatistics> uriStatistics;
     private final Map<Class<?>, ResourceStatistics> resourceClassStatistics;
 
@@ -220,12 +235,14 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
                                      final Map<Class<?>, ResourceStatistics> resourceClassStatistics,
                                      final ExecutionStatistics requestStatistics,
                                      final ResponseStatistics responseStatistics,
-                                     final ExceptionMapperStatistics exceptionMapperStatistics) {
+                                     final ExceptionMapperStatistics exceptionMapperStatistics,
+                                     final ContentNegotiationStatistics contentNegotiationStatistics) {
         this.uriStatistics = uriStatistics;
         this.resourceClassStatistics = resourceClassStatistics;
         this.requestStatistics = requestStatistics;
         this.responseStatistics = responseStatistics;
         this.exceptionMapperStatistics = exceptionMapperStatistics;
+        this.contentNegotiationStatistics = contentNegotiationStatistics;
     }
 
     @Override
@@ -263,6 +280,11 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         return exceptionMapperStatistics;
     }
 
+    @Override
+    public ContentNegotiationStatistics getContentNegotiationStatistics() {
+        return contentNegotiationStatistics;
+    }
+
     @Override
     public MonitoringStatistics snapshot() {
         // snapshot is not needed, this object is loosely immutable (see javadoc of Maps getters)
@@ -36,6 +36,7 @@ import org.glassfish.jersey.server.ExtendedResourceContext;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.monitoring.MonitoringEventListener.RequestStats;
+import org.glassfish.jersey.server.internal.routing.ContentNegotiationCounters;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
@@ -74,6 +75,7 @@ final class MonitoringStatisticsProcessor {
         this.monitoringEventListener = monitoringEventListener;
         final ResourceModel resourceModel = injectionManager.getInstance(ExtendedResourceContext.class).getResourceModel();
         this.statisticsBuilder = new MonitoringStatisticsImpl.Builder(resourceModel);
+        this.statisticsBuilder.setContentNegotiationCounters(injectionManager.getInstance(ContentNegotiationCounters.class));
         this.statisticsCallbackList = injectionManager.getAllInstances(MonitoringStatisticsListener.class);
         this.scheduler =
                 injectionManager.getInstance(ScheduledExecutorService.class, BackgroundSchedulerLiteral.INSTANCE);
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+
+/**
+ * Application-wide hit and miss counters of the content negotiation caches of all method selecting routers.
+ */
+public final class ContentNegotiationCounters {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Record a content negotiation cache hit.
+     */
+    void hit() {
+        hits.increment();
+    }
+
+    /**
+     * Record a content negotiation cache miss.
+     */
+    void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Get the count of cache hits.
+     *
+     * @return count of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the count of cache misses.
+     *
+     * @return count of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * A binder that binds the {@link ContentNegotiationCounters}.
+     */
+    public static class Binder extends AbstractBinder {
+        @Override
+        protected void configure() {
+            bindAsContract(ContentNegotiationCounters.class).in(Singleton.class);
+        }
+    }
+}
@@ -27,7 +27,9 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -38,6 +40,7 @@ import javax.ws.rs.NotAllowedException;
 import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -114,6 +117,8 @@ final class MethodSelectingRouter extends ContentTypeDeterminer implements Route
 
     private final Map<String, List<ConsumesProducesAcceptor>> consumesProducesAcceptors;
     private final Router router;
+    private final NegotiationCache negotiationCache;
+    private final ContentNegotiationCounters negotiationCounters;
 
     /**
      * Create a new {@code MethodSelectingRouter} for all the methods on the same path.
@@ -125,8 +130,30 @@ final class MethodSelectingRouter extends ContentTypeDeterminer implements Route
      * @param methodRoutings [method model, method methodAcceptorPair] pairs.
      */
     MethodSelectingRouter(MessageBodyWorkers workers, List<MethodRouting> methodRoutings) {
+        this(workers, methodRoutings, 0, null);
+    }
+
+    /**
+     * Create a new {@code MethodSelectingRouter} for all the methods on the same path that caches the content
+     * negotiation results.
+     *
+     * The router selects the method that best matches the request based on
+     * produce/consume information from the resource method models. The selection made for a combination of request
+     * HTTP method, {@code Content-Type} and {@code Accept} headers is remembered in a bounded cache and reused
+     * for subsequent requests with the same combination.
+     *
+     * @param workers             message body workers.
+     * @param methodRoutings      [method model, method methodAcceptorPair] pairs.
+     * @param cacheSize           maximal number of cached content negotiation results, {@code 0} disables the cache.
+     * @param negotiationCounters content negotiation cache hit and miss counters.
+     */
+    MethodSelectingRouter(MessageBodyWorkers workers, List<MethodRouting> methodRoutings,
+                          int cacheSize, ContentNegotiationCounters negotiationCounters) {
         super(workers);
 
+        this.negotiationCache = cacheSize > 0 ? new NegotiationCache(cacheSize) : null;
+        this.negotiationCounters = negotiationCounters != null ? negotiationCounters : new ContentNegotiationCounters();
+
         this.consumesProducesAcceptors = new HashMap<>();
 
         final Set<String> httpMethods = new HashSet<>();
@@ -403,6 +430,66 @@ final class MethodSelectingRouter extends ContentTypeDeterminer implements Route
 
     private List<Router> getMethodRouter(final RequestProcessingContext context) {
         final ContainerRequest request = context.request();
+
+        NegotiationKey key = null;
+        Negotiation negotiation = null;
+        if (negotiationCache != null) {
+            key = new NegotiationKey(request.getMethod(),
+                    request.getHeaderString(HttpHeaders.CONTENT_TYPE),
+                    request.getHeaderString(HttpHeaders.ACCEPT));
+            negotiation = negotiationCache.get(key);
+        }
+
+        if (negotiation != null) {
+            negotiationCounters.hit();
+        } else {
+            negotiation = negotiate(request, key);
+            if (negotiationCache != null) {
+                negotiationCounters.miss();
+                negotiationCache.put(negotiation);
+            }
+        }
+
+        final Negotiation selected = negotiation;
+        context.push(new Function<ContainerResponse, ContainerResponse>() {
+            @Override
+            public ContainerResponse apply(final ContainerResponse responseContext) {
+                // we only need to compute and set the effective media type if:
+                // - it hasn't been set already, and
+                // - either there is an entity, or we are responding to a HEAD request
+                if (responseContext.getMediaType() == null
+                        && ((responseContext.hasEntity() || HttpMethod.HEAD.equals(request.getMethod())))) {
+
+                    MediaType effectiveResponseType = determineResponseMediaType(
+                            responseContext.getEntityClass(),
+                            responseContext.getEntityType(),
+                            selected);
+
+                    if (MediaTypes.isWildcard(effectiveResponseType)) {
+                        if (effectiveResponseType.isWildcardType()
+                                || "application".equalsIgnoreCase(effectiveResponseType.getType())) {
+                            effectiveResponseType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
+                        } else {
+                            throw new NotAcceptableException();
+                        }
+                    }
+                    responseContext.setMediaType(effectiveResponseType);
+                }
+
+                return responseContext;
+            }
+        });
+        return selected.method.getMethodRouting().routers;
+    }
+
+    /**
+     * Select the resource method for the request.
+     *
+     * @param request request to select the method for.
+     * @param key     content negotiation cache key of the request, {@code null} if the cache is disabled.
+     * @return result of the content negotiation.
+     */
+    private Negotiation negotiate(final ContainerRequest request, final NegotiationKey key) {
         final List<ConsumesProducesAcceptor> acceptors = consumesProducesAcceptors.get(request.getMethod());
         if (acceptors == null) {
             throw new NotAllowedException(
@@ -430,48 +517,40 @@ final class MethodSelectingRouter extends ContentTypeDeterminer implements Route
                 differentInvokableMethods.size() == 1);
 
         if (methodSelector.selected != null) {
-            final RequestSpecificConsumesProducesAcceptor<MethodRouting> selected = methodSelector.selected;
-
             if (methodSelector.sameFitnessAcceptors != null) {
                 reportMethodSelectionAmbiguity(acceptableMediaTypes, methodSelector.selected,
                         methodSelector.sameFitnessAcceptors);
             }
 
-            context.push(new Function<ContainerResponse, ContainerResponse>() {
-                @Override
-                public ContainerResponse apply(final ContainerResponse responseContext) {
-                    // we only need to compute and set the effective media type if:
-                    // - it hasn't been set already, and
-                    // - either there is an entity, or we are responding to a HEAD request
-                    if (responseContext.getMediaType() == null
-                            && ((responseContext.hasEntity() || HttpMethod.HEAD.equals(request.getMethod())))) {
-
-                        MediaType effectiveResponseType = determineResponseMediaType(
-                                responseContext.getEntityClass(),
-                                responseContext.getEntityType(),
-                                methodSelector.selected,
-                                acceptableMediaTypes);
-
-                        if (MediaTypes.isWildcard(effectiveResponseType)) {
-                            if (effectiveResponseType.isWildcardType()
-                                    || "application".equalsIgnoreCase(effectiveResponseType.getType())) {
-                                effectiveResponseType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
-                            } else {
-                                throw new NotAcceptableException();
-                            }
-                        }
-                        responseContext.setMediaType(effectiveResponseType);
-                    }
-
-                    return responseContext;
-                }
-            });
-            return selected.getMethodRouting().routers;
+            return new Negotiation(key, methodSelector.selected, acceptableMediaTypes);
         }
 
         throw new NotAcceptableException();
     }
 
+    /**
+     * Determine the {@link MediaType} of the {@link Response} for the given entity class and content negotiation result.
+     * The response media type determined for the last entity class and type is remembered in the negotiation result.
+     *
+     * @param entityClass entity class to determine the media type for.
+     * @param entityType  entity type for writers.
+     * @param negotiation content negotiation result.
+     * @return media type of the response.
+     */
+    private MediaType determineResponseMediaType(final Class<?> entityClass,
+                                                 final Type entityType,
+                                                 final Negotiation negotiation) {
+        final ResponseMediaType last = negotiation.lastResponseMediaType;
+        if (last != null && last.entityClass == entityClass && Objects.equals(last.entityType, entityType)) {
+            return last.mediaType;
+        }
+
+        final MediaType mediaType = determineResponseMediaType(entityClass, entityType,
+                negotiation.method, negotiation.acceptableMediaTypes);
+        negotiation.lastResponseMediaType = new ResponseMediaType(entityClass, entityType, mediaType);
+        return mediaType;
+    }
+
     /**
      * Determine the {@link MediaType} of the {@link Response} based on writers suitable for the given entity class,
      * pre-selected method and acceptable media types.
@@ -675,4 +754,141 @@ final class MethodSelectingRouter extends ContentTypeDeterminer implements Route
             }
         };
     }
+
+    /**
+     * Content negotiation cache key - request HTTP method, {@code Content-Type} and {@code Accept} header values.
+     * <p>
+     * The raw header values are compared, only the white space between the media types is ignored, so that the headers
+     * do not have to be parsed to find a cached content negotiation result.
+     * </p>
+     */
+    private static final class NegotiationKey {
+
+        private final String httpMethod;
+        private final String contentType;
+        private final String accept;
+        private final int hash;
+
+        private NegotiationKey(final String httpMethod, final String contentType, final String accept) {
+            this.httpMethod = httpMethod;
+            this.contentType = normalize(contentType);
+            this.accept = normalize(accept);
+            this.hash = 31 * (31 * httpMethod.hashCode() + this.contentType.hashCode()) + this.accept.hashCode();
+        }
+
+        private static String normalize(final String value) {
+            if (value == null) {
+                return "";
+            }
+            // quoted parameter values are kept as they are
+            if (value.indexOf('"') >= 0) {
+                return value;
+            }
+
+            StringBuilder normalized = null;
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c == ' ' || c == '\t') {
+                    if (normalized == null) {
+                        normalized = new StringBuilder(value.length()).append(value, 0, i);
+                    }
+                } else if (normalized != null) {
+                    normalized.append(c);
+                }
+            }
+            return normalized == null ? value : normalized.toString();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NegotiationKey)) {
+                return false;
+            }
+
+            final NegotiationKey that = (NegotiationKey) o;
+            return hash == that.hash
+                    && httpMethod.equals(that.httpMethod)
+                    && contentType.equals(that.contentType)
+                    && accept.equals(that.accept);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Result of the content negotiation - the selected resource method acceptor and the acceptable media types it has
+     * been selected for.
+     */
+    private static final class Negotiation {
+
+        private final NegotiationKey key;
+        private final RequestSpecificConsumesProducesAcceptor<MethodRouting> method;
+        private final List<AcceptableMediaType> acceptableMediaTypes;
+
+        private volatile ResponseMediaType lastResponseMediaType;
+
+        private Negotiation(final NegotiationKey key,
+                            final RequestSpecificConsumesProducesAcceptor<MethodRouting> method,
+                            final List<AcceptableMediaType> acceptableMediaTypes) {
+            this.key = key;
+            this.method = method;
+            this.acceptableMediaTypes = acceptableMediaTypes;
+        }
+    }
+
+    /**
+     * Response media type determined for an entity class and type.
+     */
+    private static final class ResponseMediaType {
+
+        private final Class<?> entityClass;
+        private final Type entityType;
+        private final MediaType mediaType;
+
+        private ResponseMediaType(final Class<?> entityClass, final Type entityType, final MediaType mediaType) {
+            this.entityClass = entityClass;
+            this.entityType = entityType;
+            this.mediaType = mediaType;
+        }
+    }
+
+    /**
+     * Bounded, lock-free cache of the content negotiation results.
+     * <p>
+     * The cache is a direct-mapped table, every key maps to a single slot. A newly cached result replaces the result
+     * stored in its slot, so that the recurring combinations of request headers stay cached while the rare ones
+     * get evicted.
+     * </p>
+     */
+    private static final class NegotiationCache {
+
+        private final AtomicReferenceArray<Negotiation> slots;
+        private final int mask;
+
+        private NegotiationCache(final int capacity) {
+            final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        }
+
+        private Negotiation get(final NegotiationKey key) {
+            final Negotiation negotiation = slots.get(index(key));
+            return negotiation != null && key.equals(negotiation.key) ? negotiation : null;
+        }
+
+        private void put(final Negotiation negotiation) {
+            slots.lazySet(index(negotiation.key), negotiation);
+        }
+
+        private int index(final NegotiationKey key) {
+            final int hash = key.hashCode();
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
 }
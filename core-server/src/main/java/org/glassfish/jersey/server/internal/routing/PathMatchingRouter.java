@@ -27,6 +27,11 @@ import org.glassfish.jersey.uri.PathPattern;
 
 /**
  * Matches the un-matched right-hand request path to the configured collection of path pattern matching routes.
+ * <p>
+ * The routes are looked up using a compiled {@link RouteIndex route index} so that only the routes whose literal
+ * path prefix matches the request path are tried. Detailed path matching tracing (which requires every route
+ * to be reported) falls back to trying all the routes one by one.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar
@@ -34,6 +39,7 @@ import org.glassfish.jersey.uri.PathPattern;
 final class PathMatchingRouter implements Router {
 
     private final List<Route> acceptedRoutes;
+    private final RouteIndex routeIndex;
 
     /**
      * Constructs route methodAcceptorPair that uses {@link PathPattern} instances for
@@ -44,6 +50,7 @@ final class PathMatchingRouter implements Router {
      */
     PathMatchingRouter(final List<Route> routes) {
         this.acceptedRoutes = routes;
+        this.routeIndex = RouteIndex.build(routes);
     }
 
     @Override
@@ -55,6 +62,10 @@ final class PathMatchingRouter implements Router {
         final TracingLogger tracingLogger = TracingLogger.getInstance(context.request());
         tracingLogger.log(ServerTraceEvent.MATCH_PATH_FIND, path);
 
+        if (path != null && !tracingLogger.isLogEnabled(ServerTraceEvent.MATCH_PATH_NOT_MATCHED)) {
+            return applyIndexed(context, path, tracingLogger);
+        }
+
         Router.Continuation result = null;
         MatchResult matchResultCandidate = null;
         Route acceptedRouteCandidate = null;
@@ -105,6 +116,38 @@ final class PathMatchingRouter implements Router {
         return result;
     }
 
+    private Router.Continuation applyIndexed(final RequestProcessingContext context, final String path,
+                                             final TracingLogger tracingLogger) {
+        Router.Continuation result = null;
+        MatchResult matchResultCandidate = null;
+        Route acceptedRouteCandidate = null;
+
+        for (final int index : routeIndex.candidates(path)) {
+            final MatchResult matchResult = routeIndex.match(index, path);
+            if (matchResult != null) {
+                final Route acceptedRoute = routeIndex.route(index);
+                if (isLocator(acceptedRoute) && matchResultCandidate != null) {
+                    // see apply(...)
+                    result = matchPathSelected(context, acceptedRouteCandidate, matchResultCandidate, tracingLogger);
+                    break;
+                } else if (isLocator(acceptedRoute) || designatorMatch(acceptedRoute, context)) {
+                    result = matchPathSelected(context, acceptedRoute, matchResult, tracingLogger);
+                    break;
+                } else if (matchResultCandidate == null) {
+                    matchResultCandidate = matchResult;
+                    acceptedRouteCandidate = acceptedRoute;
+                }
+            }
+        }
+
+        if (result == null && acceptedRouteCandidate != null) {
+            //method designator mismatched, but still go the route to get the proper status code
+            result = matchPathSelected(context, acceptedRouteCandidate, matchResultCandidate, tracingLogger);
+        }
+
+        return result == null ? Router.Continuation.of(context) : result;
+    }
+
     private Router.Continuation matchPathSelected(final RequestProcessingContext context, final Route acceptedRoute,
                                                   final MatchResult matchResult, final TracingLogger tracingLogger) {
         // Push match result information and rest of path to match
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+import org.glassfish.jersey.uri.PathPattern;
+
+/**
+ * Compiled index of the routes of a single {@link PathMatchingRouter}.
+ * <p>
+ * The literal prefix of every route routing pattern (i.e. the leading part of the pattern regular expression
+ * that does not contain any regular expression construct) is stored in a prefix tree. Walking the tree along
+ * the matched path yields the (ordered) indexes of the only routes whose pattern may match the path, so the
+ * remaining routes are skipped without running their regular expression.
+ * </p>
+ * <p>
+ * Routes with a purely literal routing pattern (templates without any template variable) are matched by
+ * simple string comparison producing the same {@link MatchResult} as the regular expression would.
+ * </p>
+ * <p>
+ * The index does not change the route ordering, i.e. routes are still tried in the order given by
+ * {@link org.glassfish.jersey.uri.UriTemplate#COMPARATOR}.
+ * </p>
+ */
+final class RouteIndex {
+
+    private static final String OPEN_RIGHT_HAND_PATH = "(/.*)?";
+    private static final String CLOSED_RIGHT_HAND_PATH = "(/)?";
+
+    private final Route[] routes;
+    private final LiteralPattern[] literals;
+    private final Node root;
+
+    private RouteIndex(final Route[] routes, final LiteralPattern[] literals, final Node root) {
+        this.routes = routes;
+        this.literals = literals;
+        this.root = root;
+    }
+
+    /**
+     * Compile the route index for the given ordered list of routes.
+     *
+     * @param routes ordered routes.
+     * @return compiled route index.
+     */
+    static RouteIndex build(final List<Route> routes) {
+        final Route[] routeArray = routes.toArray(new Route[0]);
+        final LiteralPattern[] literals = new LiteralPattern[routeArray.length];
+        final Node root = new Node();
+
+        for (int i = 0; i < routeArray.length; i++) {
+            final PathPattern pattern = routeArray[i].routingPattern();
+            final String regex = pattern.getRegex();
+
+            final StringBuilder prefix = new StringBuilder();
+            final int end = literalPrefix(regex, prefix);
+            literals[i] = LiteralPattern.of(prefix.toString(), regex.substring(end), pattern);
+
+            root.insert(prefix, 0).own.add(i);
+        }
+        root.compile(new int[0]);
+
+        return new RouteIndex(routeArray, literals, root);
+    }
+
+    /**
+     * Get the number of indexed routes.
+     *
+     * @return number of routes.
+     */
+    int size() {
+        return routes.length;
+    }
+
+    /**
+     * Get the route at the given index.
+     *
+     * @param index route index.
+     * @return route at the given index.
+     */
+    Route route(final int index) {
+        return routes[index];
+    }
+
+    /**
+     * Get the ordered indexes of the routes whose routing pattern may match the given path. Routes not returned
+     * are guaranteed not to match the path.
+     *
+     * @param path path to be matched.
+     * @return ordered indexes of the candidate routes. The returned array must not be modified.
+     */
+    int[] candidates(final String path) {
+        Node node = root;
+        int[] candidates = root.candidates;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                break;
+            }
+            candidates = node.candidates;
+        }
+        return candidates;
+    }
+
+    /**
+     * Match the path against the routing pattern of the route at the given index.
+     *
+     * @param index route index.
+     * @param path  path to be matched.
+     * @return match result or {@code null} if the path does not match.
+     */
+    MatchResult match(final int index, final String path) {
+        final LiteralPattern literal = literals[index];
+        return literal == null || path.isEmpty()
+                ? routes[index].routingPattern().match(path)
+                : literal.match(path);
+    }
+
+    /**
+     * Append the literal prefix of the given regular expression to the supplied builder.
+     *
+     * @param regex  regular expression.
+     * @param prefix builder the unescaped literal prefix is appended to.
+     * @return index of the first regular expression character that is not part of the literal prefix.
+     */
+    static int literalPrefix(final String regex, final StringBuilder prefix) {
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    prefix.append(regex.charAt(i + 1));
+                    i += 2;
+                    continue;
+                }
+                break;
+            }
+            if ("()[]{}.*+?|^$".indexOf(c) >= 0) {
+                break;
+            }
+            prefix.append(c);
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Prefix tree node.
+     */
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private List<Integer> own = new ArrayList<>(1);
+        private int[] candidates;
+
+        private Node insert(final CharSequence prefix, final int position) {
+            if (position == prefix.length()) {
+                return this;
+            }
+            final char c = prefix.charAt(position);
+            Node child = child(c);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child.insert(prefix, position + 1);
+        }
+
+        private Node child(final char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private void compile(final int[] inherited) {
+            if (own.isEmpty()) {
+                candidates = inherited;
+            } else {
+                // merge the ordered inherited indexes with the (ordered) indexes of the routes ending in this node
+                candidates = new int[inherited.length + own.size()];
+                int i = 0;
+                int j = 0;
+                int k = 0;
+                while (i < inherited.length || j < own.size()) {
+                    if (j == own.size() || (i < inherited.length && inherited[i] < own.get(j))) {
+                        candidates[k++] = inherited[i++];
+                    } else {
+                        candidates[k++] = own.get(j++);
+                    }
+                }
+            }
+            own = null;
+            for (final Node child : children) {
+                child.compile(candidates);
+            }
+        }
+    }
+
+    /**
+     * Routing pattern without any template variable or regular expression, matched by string comparison.
+     */
+    private static final class LiteralPattern {
+
+        private final String literal;
+        private final boolean open;
+
+        private LiteralPattern(final String literal, final boolean open) {
+            this.literal = literal;
+            this.open = open;
+        }
+
+        private static LiteralPattern of(final String literal, final String rightHandPath, final PathPattern pattern) {
+            if (pattern.getGroupIndexes().length != 0) {
+                return null;
+            }
+            if (OPEN_RIGHT_HAND_PATH.equals(rightHandPath)) {
+                return new LiteralPattern(literal, true);
+            } else if (CLOSED_RIGHT_HAND_PATH.equals(rightHandPath)) {
+                return new LiteralPattern(literal, false);
+            }
+            return null;
+        }
+
+        private MatchResult match(final String path) {
+            if (!path.startsWith(literal)) {
+                return null;
+            }
+            final int length = literal.length();
+            if (path.length() == length) {
+                return new LiteralMatchResult(path, -1);
+            }
+            if (path.charAt(length) != '/') {
+                return null;
+            }
+            if (open) {
+                for (int i = length + 1; i < path.length(); i++) {
+                    if (isLineTerminator(path.charAt(i))) {
+                        // not matched by '.', keep the regular expression semantics
+                        return null;
+                    }
+                }
+            } else if (path.length() != length + 1) {
+                return null;
+            }
+            return new LiteralMatchResult(path, length);
+        }
+
+        private static boolean isLineTerminator(final char c) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+    }
+
+    /**
+     * Match result of a {@link LiteralPattern}. Mimics the result of the regular expression with a single
+     * (optional) right hand path capturing group.
+     */
+    private static final class LiteralMatchResult implements MatchResult {
+
+        private final String path;
+        private final int rightHandPathStart;
+
+        private LiteralMatchResult(final String path, final int rightHandPathStart) {
+            this.path = path;
+            this.rightHandPathStart = rightHandPathStart;
+        }
+
+        @Override
+        public int start() {
+            return 0;
+        }
+
+        @Override
+        public int start(final int group) {
+            checkGroup(group);
+            return group == 0 ? 0 : rightHandPathStart;
+        }
+
+        @Override
+        public int end() {
+            return path.length();
+        }
+
+        @Override
+        public int end(final int group) {
+            checkGroup(group);
+            return group == 0 || rightHandPathStart != -1 ? path.length() : -1;
+        }
+
+        @Override
+        public String group() {
+            return path;
+        }
+
+        @Override
+        public String group(final int group) {
+            checkGroup(group);
+            if (group == 0) {
+                return path;
+            }
+            return rightHandPathStart == -1 ? null : path.substring(rightHandPathStart);
+        }
+
+        @Override
+        public int groupCount() {
+            return 1;
+        }
+
+        private static void checkGroup(final int group) {
+            if (group < 0 || group > 1) {
+                throw new IndexOutOfBoundsException("No group " + group);
+            }
+        }
+    }
+}
@@ -81,6 +81,7 @@ public final class Routing {
         private Function<Class<?>, ?> createServiceFunction;
         private ProcessingProviders processingProviders;
         private ResourceMethodInvoker.Builder resourceMethodInvokerBuilder;
+        private ContentNegotiationCounters contentNegotiationCounters;
 
         private Builder(RuntimeResourceModel resourceModel) {
             if (resourceModel == null) {
@@ -178,6 +179,17 @@ public final class Routing {
             return this;
         }
 
+        /**
+         * Set content negotiation cache counters. If not set, the counters are not shared with the rest of the application.
+         *
+         * @param contentNegotiationCounters content negotiation cache counters.
+         * @return updated routing builder.
+         */
+        public Builder contentNegotiationCounters(ContentNegotiationCounters contentNegotiationCounters) {
+            this.contentNegotiationCounters = contentNegotiationCounters;
+            return this;
+        }
+
         /**
          * Build routing stage.
          *
@@ -218,7 +230,8 @@ public final class Routing {
                     processingProviders,
                     resourceMethodInvokerBuilder,
                     modelProcessors,
-                    createServiceFunction);
+                    createServiceFunction,
+                    contentNegotiationCounters != null ? contentNegotiationCounters : new ContentNegotiationCounters());
 
             return new RoutingStage(runtimeModelBuilder.buildModel(resourceModel, false));
         }
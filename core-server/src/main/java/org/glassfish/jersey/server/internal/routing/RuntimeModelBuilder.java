@@ -27,6 +27,7 @@ import javax.ws.rs.core.Configuration;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.JerseyResourceContext;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.process.Endpoint;
@@ -52,6 +53,8 @@ final class RuntimeModelBuilder {
     private final ResourceMethodInvoker.Builder resourceMethodInvokerBuilder;
     private final MessageBodyWorkers messageBodyWorkers;
     private final ProcessingProviders processingProviders;
+    private final int contentNegotiationCacheSize;
+    private final ContentNegotiationCounters contentNegotiationCounters;
 
     // SubResourceLocator Model Builder.
     private final Value<RuntimeLocatorModelBuilder> locatorBuilder;
@@ -66,6 +69,7 @@ final class RuntimeModelBuilder {
      * @param resourceMethodInvokerBuilder method invoker builder.
      * @param modelProcessors              all registered model processors.
      * @param createServiceFunction        function that is able to create and initialize new service.
+     * @param contentNegotiationCounters   content negotiation cache counters.
      */
     public RuntimeModelBuilder(
             final JerseyResourceContext resourceContext,
@@ -75,11 +79,17 @@ final class RuntimeModelBuilder {
             final ProcessingProviders processingProviders,
             final ResourceMethodInvoker.Builder resourceMethodInvokerBuilder,
             final Iterable<ModelProcessor> modelProcessors,
-            final Function<Class<?>, ?> createServiceFunction) {
+            final Function<Class<?>, ?> createServiceFunction,
+            final ContentNegotiationCounters contentNegotiationCounters) {
 
         this.resourceMethodInvokerBuilder = resourceMethodInvokerBuilder;
         this.messageBodyWorkers = messageBodyWorkers;
         this.processingProviders = processingProviders;
+        this.contentNegotiationCacheSize = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.CONTENT_NEGOTIATION_CACHE_SIZE,
+                ServerProperties.CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE,
+                Integer.class);
+        this.contentNegotiationCounters = contentNegotiationCounters;
         this.locatorBuilder = Values.lazy((Value<RuntimeLocatorModelBuilder>)
                 () -> new RuntimeLocatorModelBuilder(config, messageBodyWorkers, valueSuppliers, resourceContext,
                         RuntimeModelBuilder.this, modelProcessors, createServiceFunction));
@@ -149,7 +159,7 @@ final class RuntimeModelBuilder {
             // resource methods
             if (!resource.getResourceMethods().isEmpty()) {
                 final List<MethodRouting> methodRoutings = createResourceMethodRouters(resource, subResourceMode);
-                final Router methodSelectingRouter = new MethodSelectingRouter(messageBodyWorkers, methodRoutings);
+                final Router methodSelectingRouter = createMethodSelectingRouter(methodRoutings);
                 if (subResourceMode) {
                     currentRouterBuilder = startNextRoute(currentRouterBuilder, PathPattern.END_OF_PATH_PATTERN)
                             .to(resourcePushingRouter)
@@ -178,7 +188,7 @@ final class RuntimeModelBuilder {
                         srRoutedBuilder = startNextRoute(srRoutedBuilder, childClosedPattern)
                                 .to(uriPushingRouter)
                                 .to(childResourcePushingRouter)
-                                .to(new MethodSelectingRouter(messageBodyWorkers, childMethodRoutings));
+                                .to(createMethodSelectingRouter(childMethodRoutings));
                     }
 
                     // sub resource locator
@@ -227,6 +237,11 @@ final class RuntimeModelBuilder {
         return createRootRouter(currentRouterBuilder, subResourceMode);
     }
 
+    private Router createMethodSelectingRouter(final List<MethodRouting> methodRoutings) {
+        return new MethodSelectingRouter(messageBodyWorkers, methodRoutings,
+                contentNegotiationCacheSize, contentNegotiationCounters);
+    }
+
     private PushMatchedTemplateRouter getTemplateRouterForChildLocator(final boolean subResourceMode,
                                                                        final RuntimeResource child) {
         int i = 0;
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.model.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import org.glassfish.jersey.model.Parameter;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Base of the {@link ApplicationEventListener application event listeners} preparing entity providers for the entities
+ * of the resource methods once the application is initialized, so that the first requests do not have to.
+ * <p>
+ * The listener walks the resource model and, for every entity written or read by a resource method, looks up the message
+ * body writer or reader the same way a request would and passes it to {@link #prepareWriting} or {@link #prepareReading}.
+ * The methods generated by Jersey (e.g. {@code OPTIONS}) and the methods returning a {@link Response} are skipped, their
+ * entities are not known in advance, and so are the sub-resources returned by sub-resource locators. Wildcard media types
+ * (or a missing declaration) are replaced by {@code application/json}.
+ * </p>
+ *
+ * @since 2.39
+ */
+public abstract class EntityProviderWarmUpListener implements ApplicationEventListener {
+
+    private final Providers providers;
+
+    /**
+     * Create a new listener.
+     *
+     * @param providers providers used to look up the message body writers and readers.
+     */
+    protected EntityProviderWarmUpListener(final Providers providers) {
+        this.providers = providers;
+    }
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+            prepare(event.getResourceModel().getRootResources());
+        }
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        return null;
+    }
+
+    /**
+     * Prepare the writer for writing the response entity of a resource method.
+     *
+     * @param writer      writer selected for the entity.
+     * @param rawType     raw entity type.
+     * @param type        generic entity type.
+     * @param annotations annotations attached to the entity.
+     * @param mediaType   media type of the entity.
+     */
+    protected abstract void prepareWriting(MessageBodyWriter<?> writer, Class<?> rawType, Type type,
+                                           Annotation[] annotations, MediaType mediaType);
+
+    /**
+     * Prepare the reader for reading the request entity of a resource method.
+     *
+     * @param reader      reader selected for the entity.
+     * @param rawType     raw entity type.
+     * @param type        generic entity type.
+     * @param annotations annotations attached to the entity.
+     * @param mediaType   media type of the entity.
+     */
+    protected abstract void prepareReading(MessageBodyReader<?> reader, Class<?> rawType, Type type,
+                                           Annotation[] annotations, MediaType mediaType);
+
+    private void prepare(final List<Resource> resources) {
+        for (final Resource resource : resources) {
+            for (final ResourceMethod method : resource.getResourceMethods()) {
+                prepare(method);
+            }
+            prepare(resource.getChildResources());
+        }
+    }
+
+    private void prepare(final ResourceMethod method) {
+        final Invocable invocable = method.getInvocable();
+        if (invocable.getHandlingMethod() == null || invocable.isInflector()) {
+            return;
+        }
+        final Class<?> rawType = invocable.getRawRoutingResponseType();
+        if (rawType != null && rawType != void.class && rawType != Void.class && !Response.class.isAssignableFrom(rawType)) {
+            // same annotations as the ones the resource method invoker attaches to the response entity
+            final Annotation[] annotations = invocable.getHandlingMethod().getDeclaredAnnotations();
+            final Type type = invocable.getRoutingResponseType();
+            for (final MediaType mediaType : concrete(method.getProducedTypes())) {
+                final MessageBodyWriter<?> writer = providers.getMessageBodyWriter(rawType, type, annotations, mediaType);
+                if (writer != null) {
+                    prepareWriting(writer, rawType, type, annotations, mediaType);
+                }
+            }
+        }
+        for (final Parameter parameter : invocable.getParameters()) {
+            if (parameter.getSource() != Parameter.Source.ENTITY) {
+                continue;
+            }
+            for (final MediaType mediaType : concrete(method.getConsumedTypes())) {
+                final MessageBodyReader<?> reader = providers.getMessageBodyReader(parameter.getRawType(),
+                        parameter.getType(), parameter.getAnnotations(), mediaType);
+                if (reader != null) {
+                    prepareReading(reader, parameter.getRawType(), parameter.getType(), parameter.getAnnotations(),
+                            mediaType);
+                }
+            }
+        }
+    }
+
+    private static List<MediaType> concrete(final List<MediaType> mediaTypes) {
+        if (mediaTypes.isEmpty()) {
+            return Collections.singletonList(MediaType.APPLICATION_JSON_TYPE);
+        }
+        final List<MediaType> result = new ArrayList<>(mediaTypes.size());
+        for (final MediaType mediaType : mediaTypes) {
+            final MediaType concrete = mediaType.isWildcardType() || mediaType.isWildcardSubtype()
+                    ? MediaType.APPLICATION_JSON_TYPE : mediaType;
+            if (!result.contains(concrete)) {
+                result.add(concrete);
+            }
+        }
+        return result;
+    }
+}
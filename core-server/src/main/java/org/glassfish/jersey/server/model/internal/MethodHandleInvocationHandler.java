@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.model.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@link InvocationHandler Invocation handler} that invokes a resource Java method through a {@link MethodHandle}
+ * resolved once, when the resource model is built, instead of calling {@link Method#invoke(Object, Object...)}
+ * on every request.
+ * <p>
+ * The underlying method handle is adapted to the {@code (Object, Object[])Object} shape so that it can be invoked
+ * using {@link MethodHandle#invokeExact(Object...)} without any further argument boxing or type checks. Any exception
+ * thrown by the resource method is wrapped in an {@link InvocationTargetException} to keep the contract of the
+ * reflective invocation expected by the resource method dispatchers. Arguments that
+ * cannot be passed to the method are rejected with an {@link IllegalArgumentException} before the invocation, as by the
+ * reflective invocation.
+ * </p>
+ */
+final class MethodHandleInvocationHandler implements InvocationHandler {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final Class<?>[] parameterTypes;
+    private final boolean isStatic;
+
+    private MethodHandleInvocationHandler(final Method method, final MethodHandle handle) {
+        this.method = method;
+        this.handle = handle;
+        this.parameterTypes = method.getParameterTypes();
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+    }
+
+    /**
+     * Create a new method handle based invocation handler for the given Java method.
+     *
+     * @param method Java method to be invoked by the handler.
+     * @return new invocation handler or {@code null} if the method is not accessible via method handles.
+     */
+    static InvocationHandler create(final Method method) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            handle = handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+            return new MethodHandleInvocationHandler(method, handle);
+        } catch (IllegalAccessException | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        if (this.method != method && !this.method.equals(method)) {
+            return method.invoke(target, args);
+        }
+        final Object[] arguments = args == null ? EMPTY_ARGS : args;
+        if (arguments.length != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+        if (!isStatic && !this.method.getDeclaringClass().isInstance(target)) {
+            throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+        // the handle would fail to adapt such arguments with an exception indistinguishable from the resource method one
+        for (int i = 0; i < arguments.length; i++) {
+            if (!isAssignable(parameterTypes[i], arguments[i])) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+
+        try {
+            return (Object) handle.invokeExact(target, arguments);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Check whether the argument can be passed to the parameter of the given type the same way as by
+     * {@link Method#invoke(Object, Object...)}, i.e. including unboxing and primitive widening conversions.
+     */
+    private static boolean isAssignable(final Class<?> parameterType, final Object argument) {
+        if (!parameterType.isPrimitive()) {
+            return argument == null || parameterType.isInstance(argument);
+        }
+        if (argument == null) {
+            return false;
+        }
+        final Class<?> argumentType = argument.getClass();
+        if (parameterType == boolean.class) {
+            return argumentType == Boolean.class;
+        }
+        if (argumentType == Boolean.class) {
+            return false;
+        }
+        final int parameterRank = rank(parameterType);
+        final int argumentRank = rank(argumentType);
+        if (argumentRank < 0) {
+            return false;
+        }
+        if (argumentType == Character.class || parameterType == char.class) {
+            // char widens to int and wider only, nothing widens to char
+            return argumentType == Character.class && (parameterType == char.class || parameterRank >= rank(int.class));
+        }
+        return argumentRank <= parameterRank;
+    }
+
+    private static int rank(final Class<?> type) {
+        if (type == byte.class || type == Byte.class) {
+            return 0;
+        } else if (type == short.class || type == Short.class || type == char.class || type == Character.class) {
+            return 1;
+        } else if (type == int.class || type == Integer.class) {
+            return 2;
+        } else if (type == long.class || type == Long.class) {
+            return 3;
+        } else if (type == float.class || type == Float.class) {
+            return 4;
+        } else if (type == double.class || type == Double.class) {
+            return 5;
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodHandleInvocationHandler{" + method + "}";
+    }
+}
@@ -17,6 +17,8 @@
 package org.glassfish.jersey.server.model.internal;
 
 import java.lang.reflect.InvocationHandler;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,6 +30,7 @@ import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.collection.LazyValue;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.model.Invocable;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
@@ -43,6 +46,11 @@ import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerP
  * invocation handler} instance retrieved from the providers. If no custom providers
  * are available, or if none of the providers returns a non-null invocation handler,
  * in such case a default invocation handler provided by the factory is returned.
+ * <p />
+ * The default invocation handler invokes the resource method reflectively. If
+ * {@link ServerProperties#RESOURCE_METHOD_INVOCATION_METHOD_HANDLE_ENABLED} is set to {@code true}, the default
+ * invocation handler is backed by a {@link java.lang.invoke.MethodHandle method handle} resolved once per resource
+ * method instead.
  *
  * @author Marek Potociar
  */
@@ -52,10 +60,17 @@ public final class ResourceMethodInvocationHandlerFactory implements ResourceMet
     private static final InvocationHandler DEFAULT_HANDLER = (target, method, args) -> method.invoke(target, args);
     private static final Logger LOGGER = Logger.getLogger(ResourceMethodInvocationHandlerFactory.class.getName());
     private final LazyValue<Set<ResourceMethodInvocationHandlerProvider>> providers;
+    private final boolean methodHandleEnabled;
 
     ResourceMethodInvocationHandlerFactory(InjectionManager injectionManager) {
+        this(injectionManager, Collections.emptyMap());
+    }
+
+    ResourceMethodInvocationHandlerFactory(InjectionManager injectionManager, Map<String, Object> properties) {
         this.providers = Values.lazy((Value<Set<ResourceMethodInvocationHandlerProvider>>)
                 () -> Providers.getProviders(injectionManager, ResourceMethodInvocationHandlerProvider.class));
+        this.methodHandleEnabled = ServerProperties.getValue(properties,
+                ServerProperties.RESOURCE_METHOD_INVOCATION_METHOD_HANDLE_ENABLED, Boolean.FALSE, Boolean.class);
     }
 
     // ResourceMethodInvocationHandlerProvider
@@ -74,6 +89,13 @@ public final class ResourceMethodInvocationHandlerFactory implements ResourceMet
             }
         }
 
+        if (methodHandleEnabled) {
+            final InvocationHandler handler = MethodHandleInvocationHandler.create(resourceMethod.getDefinitionMethod());
+            if (handler != null) {
+                return handler;
+            }
+        }
+
         return DEFAULT_HANDLER;
     }
 }
@@ -49,7 +49,8 @@ public class ResourceMethodInvokerConfigurator implements BootstrapConfigurator
         ResourceMethodInvoker.Builder builder = new ResourceMethodInvoker.Builder()
                 .injectionManager(injectionManager)
                 .resourceMethodDispatcherFactory(new ResourceMethodDispatcherFactory(providers))
-                .resourceMethodInvocationHandlerFactory(new ResourceMethodInvocationHandlerFactory(injectionManager))
+                .resourceMethodInvocationHandlerFactory(new ResourceMethodInvocationHandlerFactory(injectionManager,
+                        bootstrapBag.getConfiguration().getProperties()))
                 .configuration(bootstrapBag.getConfiguration())
                 .configurationValidator(() -> injectionManager.getInstance(ConfiguredValidator.class));
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * Monitoring statistics of the content negotiation caches used to select a resource method and a response media type
+ * for a request.
+ * <p/>
+ * The counts are measured since the start of the application and cover the caches of all resource methods.
+ *
+ * @see MonitoringStatistics See monitoring statistics for general details about statistics.
+ * @see org.glassfish.jersey.server.ServerProperties#CONTENT_NEGOTIATION_CACHE_SIZE
+ * @since 2.39
+ */
+public interface ContentNegotiationStatistics {
+
+    /**
+     * Get the count of requests for which the resource method has been selected from the content negotiation cache.
+     *
+     * @return Count of cache hits.
+     */
+    public long getCacheHitCount();
+
+    /**
+     * Get the count of requests for which the resource method had to be selected by the full content negotiation.
+     *
+     * @return Count of cache misses.
+     */
+    public long getCacheMissCount();
+}
@@ -113,6 +113,29 @@ public interface MonitoringStatistics {
      */
     public ExceptionMapperStatistics getExceptionMapperStatistics();
 
+    /**
+     * Get statistics of the content negotiation caches.
+     * <p/>
+     * The default implementation, used by the implementations not tracking the content negotiation, returns statistics
+     * with no cache hits and no cache misses.
+     *
+     * @return Content negotiation statistics.
+     * @since 2.39
+     */
+    public default ContentNegotiationStatistics getContentNegotiationStatistics() {
+        return new ContentNegotiationStatistics() {
+            @Override
+            public long getCacheHitCount() {
+                return 0;
+            }
+
+            @Override
+            public long getCacheMissCount() {
+                return 0;
+            }
+        };
+    }
+
     /**
      * Get the immutable consistent snapshot of the monitoring statistics. Working with snapshots might
      * have negative performance impact as snapshot must be created but ensures consistency of data over time.
@@ -78,6 +78,11 @@ public interface ContainerResponseWriter {
      * otherwise -1. I/O containers may use this value to determine whether the
      * {@code "Content-Length"} header can be set or utilize chunked transfer encoding.
      * </p>
+     * <p>
+     * The returned output stream may implement {@link org.glassfish.jersey.spi.ZeroCopyOutput} in order to let Jersey
+     * write {@link java.nio.ByteBuffer byte buffer} and {@link java.io.File file} entities without copying them into
+     * the stream. Otherwise the entity bytes are streamed.
+     * </p>
      *
      * @param contentLength greater or equal to 0 if the content length in bytes
      *     of the entity to be written is known, otherwise -1. Containers
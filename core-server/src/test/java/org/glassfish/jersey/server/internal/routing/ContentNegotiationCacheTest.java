@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test of the content negotiation cache of {@link MethodSelectingRouter}.
+ */
+public class ContentNegotiationCacheTest {
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        @Produces("text/plain")
+        public String plain() {
+            return "plain";
+        }
+
+        @GET
+        @Produces("text/html")
+        public String html() {
+            return "html";
+        }
+
+        @POST
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        public String postPlain(final String entity) {
+            return "plain:" + entity;
+        }
+
+        @POST
+        @Consumes("application/xml")
+        @Produces("text/plain")
+        public String postXml(final String entity) {
+            return "xml:" + entity;
+        }
+
+        @GET
+        @Path("entity")
+        public Response entity(@QueryParam("b") final boolean b) {
+            return Response.ok(b ? new EntityB() : new EntityA()).build();
+        }
+    }
+
+    public static class EntityA {
+    }
+
+    public static class EntityB {
+    }
+
+    @Produces("application/a")
+    public static class EntityAWriter implements MessageBodyWriter<EntityA> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == EntityA.class;
+        }
+
+        @Override
+        public void writeTo(final EntityA entity, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
+            entityStream.write('a');
+        }
+    }
+
+    @Produces("application/b")
+    public static class EntityBWriter implements MessageBodyWriter<EntityB> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == EntityB.class;
+        }
+
+        @Override
+        public void writeTo(final EntityB entity, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
+            entityStream.write('b');
+        }
+    }
+
+    private static ApplicationHandler createApplication(final int cacheSize) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class, EntityAWriter.class, EntityBWriter.class)
+                .property(ServerProperties.CONTENT_NEGOTIATION_CACHE_SIZE, cacheSize));
+    }
+
+    private static ContentNegotiationCounters getCounters(final ApplicationHandler application) {
+        return application.getInjectionManager().getInstance(ContentNegotiationCounters.class);
+    }
+
+    private static ContainerResponse get(final ApplicationHandler application, final String uri, final String accept)
+            throws Exception {
+        return application.apply(RequestContextBuilder.from(uri, "GET").accept(accept).build()).get();
+    }
+
+    private static ContainerResponse post(final ApplicationHandler application, final String contentType)
+            throws Exception {
+        return application.apply(RequestContextBuilder.from("/resource", "POST")
+                .accept("text/plain").type(contentType).entity("e").build()).get();
+    }
+
+    @Test
+    public void testRecurringAcceptHeader() throws Exception {
+        final ApplicationHandler application = createApplication(ServerProperties.CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE);
+        final ContentNegotiationCounters counters = getCounters(application);
+
+        for (int i = 0; i < 3; i++) {
+            ContainerResponse response = get(application, "/resource", "text/plain");
+            assertEquals("plain", response.getEntity());
+            assertEquals(MediaType.TEXT_PLAIN_TYPE, response.getMediaType());
+
+            response = get(application, "/resource", "text/html");
+            assertEquals("html", response.getEntity());
+            assertEquals(MediaType.TEXT_HTML_TYPE, response.getMediaType());
+        }
+
+        assertEquals(2, counters.getMissCount());
+        assertEquals(4, counters.getHitCount());
+    }
+
+    @Test
+    public void testAcceptHeaderWhiteSpaceIgnored() throws Exception {
+        final ApplicationHandler application = createApplication(ServerProperties.CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE);
+        final ContentNegotiationCounters counters = getCounters(application);
+
+        assertEquals("html", get(application, "/resource", "text/plain;q=0.5, text/html").getEntity());
+        assertEquals("html", get(application, "/resource", "text/plain;q=0.5,text/html").getEntity());
+
+        assertEquals(1, counters.getMissCount());
+        assertEquals(1, counters.getHitCount());
+    }
+
+    @Test
+    public void testContentType() throws Exception {
+        final ApplicationHandler application = createApplication(ServerProperties.CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE);
+        final ContentNegotiationCounters counters = getCounters(application);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("plain:e", post(application, "text/plain").getEntity());
+            assertEquals("xml:e", post(application, "application/xml").getEntity());
+        }
+        assertEquals(415, post(application, "application/json").getStatus());
+
+        assertEquals(2, counters.getMissCount());
+        assertEquals(2, counters.getHitCount());
+    }
+
+    @Test
+    public void testResponseMediaTypeDependsOnEntity() throws Exception {
+        final ApplicationHandler application = createApplication(ServerProperties.CONTENT_NEGOTIATION_DEFAULT_CACHE_SIZE);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(MediaType.valueOf("application/a"),
+                    get(application, "/resource/entity", "application/a, application/b").getMediaType());
+            assertEquals(MediaType.valueOf("application/b"),
+                    get(application, "/resource/entity?b=true", "application/a, application/b").getMediaType());
+        }
+    }
+
+    @Test
+    public void testSmallCache() throws Exception {
+        final ApplicationHandler application = createApplication(1);
+        final ContentNegotiationCounters counters = getCounters(application);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("plain", get(application, "/resource", "text/plain").getEntity());
+            assertEquals("html", get(application, "/resource", "text/html").getEntity());
+        }
+
+        assertEquals(4, counters.getMissCount());
+        assertEquals(0, counters.getHitCount());
+    }
+
+    @Test
+    public void testCacheDisabled() throws Exception {
+        final ApplicationHandler application = createApplication(0);
+        final ContentNegotiationCounters counters = getCounters(application);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("plain", get(application, "/resource", "text/plain").getEntity());
+            assertEquals("html", get(application, "/resource", "text/html").getEntity());
+        }
+
+        assertEquals(0, counters.getMissCount());
+        assertEquals(0, counters.getHitCount());
+    }
+}
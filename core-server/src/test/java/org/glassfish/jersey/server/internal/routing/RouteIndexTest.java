@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+import org.glassfish.jersey.uri.PathPattern;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that {@link RouteIndex} matching is equivalent to the regular expression matching of the route patterns.
+ */
+public class RouteIndexTest {
+
+    private static final List<PathPattern> PATTERNS = Arrays.asList(
+            new PathPattern("a/b/c"),
+            new PathPattern("a/b"),
+            new PathPattern("a/{b}"),
+            new PathPattern("a/{b: \\d+}/c"),
+            new PathPattern("a-b.c"),
+            new PathPattern("a:b(x)"),
+            new PathPattern("a%20b"),
+            new PathPattern("a b"),
+            new PathPattern("{x}/b"),
+            new PathPattern("customers"),
+            new PathPattern("customers/{id}"),
+            new PathPattern("customer", PathPattern.RightHandPath.capturingZeroSegments),
+            new PathPattern("customers/", PathPattern.RightHandPath.capturingZeroSegments),
+            PathPattern.END_OF_PATH_PATTERN,
+            PathPattern.OPEN_ROOT_PATH_PATTERN
+    );
+
+    private static final List<String> PATHS = Arrays.asList(
+            "", "/", "/a", "/a/", "/a/b", "/a/b/", "/a/b/c", "/a/b/c/d", "/a/bc", "/a/12/c", "/a-b.c", "/a-bxc",
+            "/a:b(x)", "/a%20b", "/a%20B", "/a b", "/x/b", "/customers", "/customers/", "/customers/42",
+            "/customersx", "/customer", "/customer/", "/customer/x", "/a/b\nc", "//", "a/b"
+    );
+
+    private static RouteIndex buildIndex() {
+        final List<Route> routes = new ArrayList<>();
+        for (final PathPattern pattern : PATTERNS) {
+            routes.add(Route.of(pattern, Collections.emptyList()));
+        }
+        return RouteIndex.build(routes);
+    }
+
+    @Test
+    public void testEquivalentMatching() {
+        final RouteIndex index = buildIndex();
+        assertEquals(PATTERNS.size(), index.size());
+
+        for (final String path : PATHS) {
+            final int[] candidates = index.candidates(path);
+            for (int i = 0; i < PATTERNS.size(); i++) {
+                final MatchResult expected = PATTERNS.get(i).match(path);
+                final int position = Arrays.binarySearch(candidates, i);
+                if (position < 0) {
+                    assertNull(expected, "Route " + PATTERNS.get(i) + " skipped for matching path " + path);
+                    continue;
+                }
+
+                final MatchResult actual = index.match(i, path);
+                final String message = "Pattern " + PATTERNS.get(i) + ", path " + path;
+                if (expected == null) {
+                    assertNull(actual, message);
+                } else {
+                    assertNotNull(actual, message);
+                    assertEquals(expected.groupCount(), actual.groupCount(), message);
+                    for (int g = 0; g <= expected.groupCount(); g++) {
+                        assertEquals(expected.group(g), actual.group(g), message + ", group " + g);
+                        assertEquals(expected.start(g), actual.start(g), message + ", group start " + g);
+                        assertEquals(expected.end(g), actual.end(g), message + ", group end " + g);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCandidatesOrdered() {
+        final RouteIndex index = buildIndex();
+        for (final String path : PATHS) {
+            final int[] candidates = index.candidates(path);
+            for (int i = 1; i < candidates.length; i++) {
+                assertTrue(candidates[i - 1] < candidates[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testLiteralPrefix() {
+        StringBuilder prefix = new StringBuilder();
+        assertEquals(4, RouteIndex.literalPrefix("/a/b(/.*)?", prefix));
+        assertEquals("/a/b", prefix.toString());
+
+        prefix = new StringBuilder();
+        RouteIndex.literalPrefix("/a\\-b\\.c/([^/]+)(/.*)?", prefix);
+        assertEquals("/a-b.c/", prefix.toString());
+
+        prefix = new StringBuilder();
+        RouteIndex.literalPrefix("/a\\d", prefix);
+        assertEquals("/a", prefix.toString());
+        assertFalse(prefix.toString().contains("\\"));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.model.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests resource method invocation via {@link MethodHandleInvocationHandler}.
+ */
+public class MethodHandleInvocationTest {
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        public String get() {
+            return "get";
+        }
+
+        @GET
+        @Path("{a}/{b}")
+        public String params(@PathParam("a") final String a, @PathParam("b") final int b) {
+            return a + b;
+        }
+
+        @POST
+        public void post(final String entity) {
+            // NOOP
+        }
+
+        @GET
+        @Path("wae")
+        public String wae() {
+            throw new WebApplicationException(Response.Status.CONFLICT);
+        }
+
+        public String cast(final Object value) {
+            return (String) value;
+        }
+    }
+
+    private static ApplicationHandler createApplication() {
+        return new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.RESOURCE_METHOD_INVOCATION_METHOD_HANDLE_ENABLED, true));
+    }
+
+    @Test
+    public void testInvocation() throws Exception {
+        final ApplicationHandler app = createApplication();
+
+        ContainerResponse response = app.apply(RequestContextBuilder.from("/", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("get", response.getEntity());
+
+        response = app.apply(RequestContextBuilder.from("/foo/42", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("foo42", response.getEntity());
+
+        response = app.apply(RequestContextBuilder.from("/", "POST").entity("entity").build()).get();
+        assertEquals(204, response.getStatus());
+    }
+
+    @Test
+    public void testTargetException() throws Exception {
+        final ContainerResponse response = createApplication().apply(RequestContextBuilder.from("/wae", "GET").build()).get();
+        assertEquals(409, response.getStatus());
+    }
+
+    @Test
+    public void testHandlerContract() throws Throwable {
+        final Method method = Resource.class.getMethod("wae");
+        final InvocationHandler handler = MethodHandleInvocationHandler.create(method);
+        assertNotNull(handler);
+
+        final InvocationTargetException ite = assertThrows(InvocationTargetException.class,
+                () -> handler.invoke(new Resource(), method, new Object[0]));
+        assertTrue(ite.getCause() instanceof WebApplicationException);
+        assertThrows(IllegalArgumentException.class, () -> handler.invoke(new Object(), method, new Object[0]));
+        assertEquals("get", handler.invoke(new Resource(), Resource.class.getMethod("get"), null));
+    }
+
+    @Test
+    public void testArgumentMismatch() throws Throwable {
+        final Method method = Resource.class.getMethod("params", String.class, int.class);
+        final InvocationHandler handler = MethodHandleInvocationHandler.create(method);
+        final Resource resource = new Resource();
+
+        assertEquals("a7", handler.invoke(resource, method, new Object[] {"a", (short) 7}));
+        assertThrows(IllegalArgumentException.class, () -> handler.invoke(resource, method, new Object[] {1, 7}));
+        assertThrows(IllegalArgumentException.class, () -> handler.invoke(resource, method, new Object[] {"a", null}));
+        assertThrows(IllegalArgumentException.class, () -> handler.invoke(resource, method, new Object[] {"a", 7L}));
+        assertThrows(IllegalArgumentException.class, () -> handler.invoke(resource, method, new Object[] {"a", true}));
+
+        // exceptions thrown by the method itself are still wrapped
+        final Method cast = Resource.class.getMethod("cast", Object.class);
+        final InvocationTargetException ite = assertThrows(InvocationTargetException.class,
+                () -> MethodHandleInvocationHandler.create(cast).invoke(resource, cast, new Object[] {1}));
+        assertTrue(ite.getCause() instanceof ClassCastException);
+    }
+}
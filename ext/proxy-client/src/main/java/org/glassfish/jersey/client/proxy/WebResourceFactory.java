@@ -23,6 +23,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.security.AccessController;
 import java.util.Arrays;
 import java.util.Collection;
@@ -31,6 +33,10 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.CookieParam;
@@ -54,6 +60,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 
@@ -77,6 +84,13 @@ public final class WebResourceFactory implements InvocationHandler {
     private static final Form EMPTY_FORM = new Form();
     private static final List<Class> PARAM_ANNOTATION_CLASSES = Arrays.<Class>asList(PathParam.class, QueryParam.class,
             HeaderParam.class, CookieParam.class, MatrixParam.class, FormParam.class);
+    private static final ClassValue<ConcurrentMap<Method, ResourceMethod>> RESOURCE_METHODS =
+            new ClassValue<ConcurrentMap<Method, ResourceMethod>>() {
+                @Override
+                protected ConcurrentMap<Method, ResourceMethod> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     /**
      * Creates a new client-side representation of a resource described by
@@ -152,28 +166,19 @@ public final class WebResourceFactory implements InvocationHandler {
         // get the interface describing the resource
         final Class<?> proxyIfc = proxy.getClass().getInterfaces()[0];
 
-        // response type
-        final Class<?> responseType = method.getReturnType();
-
-        // determine method name
-        String httpMethod = getHttpMethodName(method);
-        if (httpMethod == null) {
-            for (final Annotation ann : method.getAnnotations()) {
-                httpMethod = getHttpMethodName(ann.annotationType());
-                if (httpMethod != null) {
-                    break;
-                }
-            }
-        }
+        // the reflection work is done once per method
+        final ResourceMethod resourceMethod = RESOURCE_METHODS.get(proxyIfc)
+                .computeIfAbsent(method, m -> new ResourceMethod(proxyIfc, m));
+        final String httpMethod = resourceMethod.httpMethod;
 
         // create a new UriBuilder appending the @Path attached to the method
-        WebTarget newTarget = addPathFromAnnotation(method, target);
+        WebTarget newTarget = resourceMethod.path == null ? target : target.path(resourceMethod.path);
 
         if (httpMethod == null) {
             if (newTarget == target) {
                 // no path annotation on the method -> fail
                 throw new UnsupportedOperationException("Not a resource method.");
-            } else if (!responseType.isInterface()) {
+            } else if (!resourceMethod.responseType.isInterface()) {
                 // the method is a subresource locator, but returns class,
                 // not interface - can't help here
                 throw new UnsupportedOperationException("Return type not an interface");
@@ -186,42 +191,37 @@ public final class WebResourceFactory implements InvocationHandler {
         final LinkedList<Cookie> cookies = new LinkedList<>(this.cookies);
         final Form form = new Form();
         form.asMap().putAll(this.form.asMap());
-        final Annotation[][] paramAnns = method.getParameterAnnotations();
         Object entity = null;
         Type entityType = null;
-        for (int i = 0; i < paramAnns.length; i++) {
-            final Map<Class, Annotation> anns = new HashMap<>();
-            for (final Annotation ann : paramAnns[i]) {
-                anns.put(ann.annotationType(), ann);
-            }
-            Annotation ann;
+        for (int i = 0; i < resourceMethod.parameters.length; i++) {
+            final Parameter parameter = resourceMethod.parameters[i];
             Object value = args[i];
-            if (!hasAnyParamAnnotation(anns)) {
-                entityType = method.getGenericParameterTypes()[i];
+            if (parameter.annotation == null) {
+                entityType = parameter.type;
                 entity = value;
             } else {
-                if (value == null && (ann = anns.get(DefaultValue.class)) != null) {
-                    value = ((DefaultValue) ann).value();
+                if (value == null) {
+                    value = parameter.defaultValue;
                 }
 
                 if (value != null) {
-                    if ((ann = anns.get(PathParam.class)) != null) {
-                        newTarget = newTarget.resolveTemplate(((PathParam) ann).value(), value);
-                    } else if ((ann = anns.get((QueryParam.class))) != null) {
+                    final String name = parameter.name;
+                    if (parameter.annotation == PathParam.class) {
+                        newTarget = newTarget.resolveTemplate(name, value);
+                    } else if (parameter.annotation == QueryParam.class) {
                         if (value instanceof Collection) {
-                            newTarget = newTarget.queryParam(((QueryParam) ann).value(), convert((Collection) value));
+                            newTarget = newTarget.queryParam(name, convert((Collection) value));
                         } else {
-                            newTarget = newTarget.queryParam(((QueryParam) ann).value(), value);
+                            newTarget = newTarget.queryParam(name, value);
                         }
-                    } else if ((ann = anns.get((HeaderParam.class))) != null) {
+                    } else if (parameter.annotation == HeaderParam.class) {
                         if (value instanceof Collection) {
-                            headers.addAll(((HeaderParam) ann).value(), convert((Collection) value));
+                            headers.addAll(name, convert((Collection) value));
                         } else {
-                            headers.addAll(((HeaderParam) ann).value(), value);
+                            headers.addAll(name, value);
                         }
 
-                    } else if ((ann = anns.get((CookieParam.class))) != null) {
-                        final String name = ((CookieParam) ann).value();
+                    } else if (parameter.annotation == CookieParam.class) {
                         Cookie c;
                         if (value instanceof Collection) {
                             for (final Object v : ((Collection) value)) {
@@ -247,19 +247,19 @@ public final class WebResourceFactory implements InvocationHandler {
                                 }
                             }
                         }
-                    } else if ((ann = anns.get((MatrixParam.class))) != null) {
+                    } else if (parameter.annotation == MatrixParam.class) {
                         if (value instanceof Collection) {
-                            newTarget = newTarget.matrixParam(((MatrixParam) ann).value(), convert((Collection) value));
+                            newTarget = newTarget.matrixParam(name, convert((Collection) value));
                         } else {
-                            newTarget = newTarget.matrixParam(((MatrixParam) ann).value(), value);
+                            newTarget = newTarget.matrixParam(name, value);
                         }
-                    } else if ((ann = anns.get((FormParam.class))) != null) {
+                    } else if (parameter.annotation == FormParam.class) {
                         if (value instanceof Collection) {
                             for (final Object v : ((Collection) value)) {
-                                form.param(((FormParam) ann).value(), v.toString());
+                                form.param(name, v.toString());
                             }
                         } else {
-                            form.param(((FormParam) ann).value(), value.toString());
+                            form.param(name, value.toString());
                         }
                     }
                 }
@@ -268,16 +268,9 @@ public final class WebResourceFactory implements InvocationHandler {
 
         if (httpMethod == null) {
             // the method is a subresource locator
-            return WebResourceFactory.newResource(responseType, newTarget, true, headers, cookies, form);
+            return WebResourceFactory.newResource(resourceMethod.responseType, newTarget, true, headers, cookies, form);
         }
 
-        // accepted media types
-        Produces produces = method.getAnnotation(Produces.class);
-        if (produces == null) {
-            produces = proxyIfc.getAnnotation(Produces.class);
-        }
-        final String[] accepts = (produces == null) ? EMPTY : produces.value();
-
         // determine content type
         String contentType = null;
         if (entity != null) {
@@ -285,26 +278,19 @@ public final class WebResourceFactory implements InvocationHandler {
             if ((contentTypeEntries != null) && (!contentTypeEntries.isEmpty())) {
                 contentType = contentTypeEntries.get(0).toString();
             } else {
-                Consumes consumes = method.getAnnotation(Consumes.class);
-                if (consumes == null) {
-                    consumes = proxyIfc.getAnnotation(Consumes.class);
-                }
-                if (consumes != null && consumes.value().length > 0) {
-                    contentType = consumes.value()[0];
-                }
+                contentType = resourceMethod.contentType;
             }
         }
 
+        // if @Produces is defined, propagate values into Accept header; empty array is NO-OP
         Invocation.Builder builder = newTarget.request()
                 .headers(headers) // this resets all headers so do this first
-                .accept(accepts); // if @Produces is defined, propagate values into Accept header; empty array is NO-OP
+                .accept(resourceMethod.accepts);
 
         for (final Cookie c : cookies) {
             builder = builder.cookie(c);
         }
 
-        final Object result;
-
         if (entity == null && !form.asMap().isEmpty()) {
             entity = form;
             contentType = MediaType.APPLICATION_FORM_URLENCODED;
@@ -321,20 +307,28 @@ public final class WebResourceFactory implements InvocationHandler {
             }
         }
 
-        final GenericType responseGenericType = new GenericType(method.getGenericReturnType());
+        Entity<?> requestEntity = null;
         if (entity != null) {
             if (entityType instanceof ParameterizedType) {
                 entity = new GenericEntity(entity, entityType);
             }
-            result = builder.method(httpMethod, Entity.entity(entity, contentType), responseGenericType);
-        } else {
-            result = builder.method(httpMethod, responseGenericType);
+            requestEntity = Entity.entity(entity, contentType);
         }
 
-        return result;
+        if (resourceMethod.async) {
+            // do not block the caller, the response is read once received
+            final CompletionStage<?> result = requestEntity == null
+                    ? builder.rx().method(httpMethod, resourceMethod.responseGenericType)
+                    : builder.rx().method(httpMethod, requestEntity, resourceMethod.responseGenericType);
+            return resourceMethod.responseType == CompletableFuture.class ? result.toCompletableFuture() : result;
+        }
+
+        return requestEntity == null
+                ? builder.method(httpMethod, resourceMethod.responseGenericType)
+                : builder.method(httpMethod, requestEntity, resourceMethod.responseGenericType);
     }
 
-    private boolean hasAnyParamAnnotation(final Map<Class, Annotation> anns) {
+    private static boolean hasAnyParamAnnotation(final Map<Class, Annotation> anns) {
         for (final Class paramAnnotationClass : PARAM_ANNOTATION_CLASSES) {
             if (anns.containsKey(paramAnnotationClass)) {
                 return true;
@@ -364,4 +358,124 @@ public final class WebResourceFactory implements InvocationHandler {
         final HttpMethod a = ae.getAnnotation(HttpMethod.class);
         return a == null ? null : a.value();
     }
+
+    /**
+     * Result of the reflection of a resource interface method, computed once per method.
+     */
+    private static final class ResourceMethod {
+
+        private final String httpMethod;
+        private final String path;
+        private final Class<?> responseType;
+        private final GenericType<?> responseGenericType;
+        private final boolean async;
+        private final String[] accepts;
+        private final String contentType;
+        private final Parameter[] parameters;
+
+        private ResourceMethod(final Class<?> proxyIfc, final Method method) {
+            // determine method name
+            String httpMethod = getHttpMethodName(method);
+            if (httpMethod == null) {
+                for (final Annotation ann : method.getAnnotations()) {
+                    httpMethod = getHttpMethodName(ann.annotationType());
+                    if (httpMethod != null) {
+                        break;
+                    }
+                }
+            }
+            this.httpMethod = httpMethod;
+
+            final Path p = method.getAnnotation(Path.class);
+            this.path = p == null ? null : p.value();
+
+            // response type, CompletionStage<T> and CompletableFuture<T> are read as T asynchronously
+            this.responseType = method.getReturnType();
+            this.async = responseType == CompletionStage.class || responseType == CompletableFuture.class;
+            this.responseGenericType = async
+                    ? new GenericType<>(getCompletionStageType(method.getGenericReturnType()))
+                    : new GenericType<>(method.getGenericReturnType());
+
+            // accepted media types
+            Produces produces = method.getAnnotation(Produces.class);
+            if (produces == null) {
+                produces = proxyIfc.getAnnotation(Produces.class);
+            }
+            this.accepts = (produces == null) ? EMPTY : produces.value();
+
+            // default content type
+            Consumes consumes = method.getAnnotation(Consumes.class);
+            if (consumes == null) {
+                consumes = proxyIfc.getAnnotation(Consumes.class);
+            }
+            this.contentType = consumes != null && consumes.value().length > 0 ? consumes.value()[0] : null;
+
+            final Annotation[][] paramAnns = method.getParameterAnnotations();
+            final Type[] paramTypes = method.getGenericParameterTypes();
+            this.parameters = new Parameter[paramAnns.length];
+            for (int i = 0; i < paramAnns.length; i++) {
+                parameters[i] = new Parameter(paramAnns[i], paramTypes[i]);
+            }
+        }
+
+        private static Type getCompletionStageType(final Type type) {
+            if (type instanceof ParameterizedType) {
+                final Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+                if (!(argument instanceof WildcardType) && !(argument instanceof TypeVariable)) {
+                    return argument;
+                }
+            }
+            // raw or unbound completion stage
+            return Response.class;
+        }
+    }
+
+    /**
+     * Resource method parameter.
+     */
+    private static final class Parameter {
+
+        /**
+         * Parameter annotation type, {@code null} for the entity parameter.
+         */
+        private final Class<? extends Annotation> annotation;
+        private final String name;
+        private final String defaultValue;
+        private final Type type;
+
+        private Parameter(final Annotation[] annotations, final Type type) {
+            final Map<Class, Annotation> anns = new HashMap<>();
+            for (final Annotation ann : annotations) {
+                anns.put(ann.annotationType(), ann);
+            }
+            this.type = type;
+
+            if (!hasAnyParamAnnotation(anns)) {
+                this.annotation = null;
+                this.name = null;
+                this.defaultValue = null;
+                return;
+            }
+
+            final DefaultValue defaultValue = (DefaultValue) anns.get(DefaultValue.class);
+            this.defaultValue = defaultValue == null ? null : defaultValue.value();
+
+            Annotation ann;
+            if ((ann = anns.get(PathParam.class)) != null) {
+                this.name = ((PathParam) ann).value();
+            } else if ((ann = anns.get(QueryParam.class)) != null) {
+                this.name = ((QueryParam) ann).value();
+            } else if ((ann = anns.get(HeaderParam.class)) != null) {
+                this.name = ((HeaderParam) ann).value();
+            } else if ((ann = anns.get(CookieParam.class)) != null) {
+                this.name = ((CookieParam) ann).value();
+            } else if ((ann = anns.get(MatrixParam.class)) != null) {
+                this.name = ((MatrixParam) ann).value();
+            } else {
+                ann = anns.get(FormParam.class);
+                this.name = ((FormParam) ann).value();
+            }
+            this.annotation = ann.annotationType();
+        }
+    }
 }
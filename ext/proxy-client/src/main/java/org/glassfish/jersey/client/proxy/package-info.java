@@ -58,5 +58,17 @@
  * MyBean responseFromPost = resource.postEcho(myBeanInstance);
  * String responseFromGetById = resource.getById("abc");
  * </pre>
+ *
+ * <p>
+ * Resource methods returning {@code CompletionStage<T>} or {@code CompletableFuture<T>} are invoked asynchronously
+ * using the {@link javax.ws.rs.client.Invocation.Builder#rx() reactive} client API, the calling thread is not blocked
+ * and the stage is completed with the response entity of type {@code T} once the response is received:
+ * </p>
+ *
+ * <pre>
+ * &#064;GET
+ * &#064;Produces("text/plain")
+ * CompletionStage&lt;String&gt; getAsync();
+ * </pre>
  */
 package org.glassfish.jersey.client.proxy;
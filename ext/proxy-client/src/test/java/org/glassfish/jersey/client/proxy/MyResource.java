@@ -23,6 +23,8 @@ import javax.ws.rs.core.MediaType;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public class MyResource implements MyResourceIfc {
 
@@ -163,4 +165,14 @@ public class MyResource implements MyResourceIfc {
     public String putIt(MyBean dummyBean) {
         return headers.getHeaderString(HttpHeaders.CONTENT_TYPE);
     }
+
+    @Override
+    public CompletableFuture<String> getIdAsync(String id) {
+        return CompletableFuture.completedFuture(id);
+    }
+
+    @Override
+    public CompletionStage<MyBean> postItAsync(MyBean entity) {
+        return CompletableFuture.completedFuture(entity);
+    }
 }
@@ -19,6 +19,8 @@ package org.glassfish.jersey.client.proxy;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.CookieParam;
@@ -171,4 +173,15 @@ public interface MyResourceIfc {
     @PUT
     @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     String putIt(MyBean dummyBean);
+
+    @Path("async/{id}")
+    @GET
+    @Produces(MediaType.TEXT_PLAIN)
+    CompletableFuture<String> getIdAsync(@PathParam("id") String id);
+
+    @Path("async")
+    @POST
+    @Consumes({MediaType.APPLICATION_XML})
+    @Produces({MediaType.APPLICATION_XML})
+    CompletionStage<MyBean> postItAsync(MyBean entity);
 }
@@ -23,6 +23,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.core.Cookie;
 import javax.ws.rs.core.Form;
@@ -87,6 +90,22 @@ public class WebResourceFactoryTest extends JerseyTest {
         assertEquals("Ahoj", resource.postIt(Collections.singletonList(bean)).get(0).name);
     }
 
+    @Test
+    public void testPathParamAsync() throws Exception {
+        final CompletableFuture<String> response = resource.getIdAsync("jouda");
+        assertEquals("jouda", response.get(10, TimeUnit.SECONDS));
+        // the cached resource method is reused by another proxy
+        assertEquals("jiri", resource2.getIdAsync("jiri").get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPostItAsync() throws Exception {
+        final MyBean bean = new MyBean();
+        bean.name = "Ahoj";
+        final CompletionStage<MyBean> response = resource.postItAsync(bean);
+        assertEquals("Ahoj", response.toCompletableFuture().get(10, TimeUnit.SECONDS).name);
+    }
+
     @Test
     public void testPostValid() {
         final MyBean bean = new MyBean();
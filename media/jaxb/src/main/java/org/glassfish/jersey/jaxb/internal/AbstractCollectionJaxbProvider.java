@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.jaxb.internal;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -30,11 +31,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
 import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.InternalServerErrorException;
@@ -56,6 +64,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
 import org.glassfish.jersey.message.internal.EntityInputStream;
+import org.glassfish.jersey.message.internal.ReaderWriter;
 
 /**
  * An abstract provider for {@code T[]}, {@code Collection&lt;T&gt;},
@@ -70,6 +79,12 @@ import org.glassfish.jersey.message.internal.EntityInputStream;
  * </ul>
  * {@code T} must be a JAXB type annotated with {@link XmlRootElement}.
  * <p>
+ * {@link Stream Stream&lt;T&gt;} and {@link Iterator Iterator&lt;T&gt;} entities are supported as well. Such entities
+ * are read lazily, each element is unmarshalled only when it is requested, and written incrementally as the elements
+ * are provided, so that the whole collection does not need to be held in memory. The returned {@code Stream} or
+ * {@code Iterator} has to be consumed or closed before the entity input stream is closed.
+ * </p>
+ * <p>
  * Implementing classes may extend this class to provide specific marshalling
  * and unmarshalling behaviour.
  * </p>
@@ -131,7 +146,7 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
 
     @Override
     public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
-        if (verifyCollectionSubclass(type)) {
+        if (verifyCollectionSubclass(type) || Stream.class == type || Iterator.class == type) {
             return verifyGenericType(genericType) && isSupported(mediaType);
         } else {
             return type.isArray() && verifyArrayType(type) && isSupported(mediaType);
@@ -140,13 +155,17 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
 
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
-        if (Collection.class.isAssignableFrom(type)) {
+        if (Collection.class.isAssignableFrom(type) || isStreamingType(type)) {
             return verifyGenericType(genericType) && isSupported(mediaType);
         } else {
             return type.isArray() && verifyArrayType(type) && isSupported(mediaType);
         }
     }
 
+    private static boolean isStreamingType(Class<?> type) {
+        return Stream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type);
+    }
+
     public static boolean verifyCollectionSubclass(Class<?> type) {
         try {
             if (Collection.class.isAssignableFrom(type)) {
@@ -233,21 +252,29 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
-        try {
-            final Collection c = (type.isArray())
-                    ? Arrays.asList((Object[]) t)
-                    : (Collection) t;
-            final Class elementType = getElementClass(type, genericType);
+        final Class elementType = getElementClass(type, genericType);
+        try (JaxbContextCache.Lease<Marshaller> lease = borrowMarshaller(elementType, mediaType)) {
             final Charset charset = getCharset(mediaType);
             final String charsetName = charset.name();
 
-            final Marshaller m = getMarshaller(elementType, mediaType);
+            final Marshaller m = lease.get();
             m.setProperty(Marshaller.JAXB_FRAGMENT, true);
             if (charset != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
             }
             setHeader(m, annotations);
-            writeCollection(elementType, c, mediaType, charset, m, entityStream);
+            if (t instanceof Stream) {
+                try (Stream<?> stream = (Stream<?>) t) {
+                    writeElements(elementType, stream.iterator(), mediaType, charset, m, entityStream);
+                }
+            } else if (t instanceof Iterator) {
+                writeElements(elementType, (Iterator<?>) t, mediaType, charset, m, entityStream);
+            } else {
+                final Collection c = (type.isArray())
+                        ? Arrays.asList((Object[]) t)
+                        : (Collection) t;
+                writeCollection(elementType, c, mediaType, charset, m, entityStream);
+            }
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
         }
@@ -270,8 +297,36 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
                                          Marshaller m, OutputStream entityStream)
             throws JAXBException, IOException;
 
+    /**
+     * Write JAXB objects provided by a {@link Stream} or an {@link Iterator} entity as child elements of the root element.
+     * <p>
+     * The default implementation collects the elements and passes them to
+     * {@link #writeCollection(Class, Collection, MediaType, Charset, Marshaller, OutputStream)}. Implementing classes
+     * may override this method to marshal the elements incrementally as they are provided by the iterator.
+     * </p>
+     *
+     * @param elementType  the element type.
+     * @param elements     the elements to marshall.
+     * @param mediaType    the media type
+     * @param c            the charset
+     * @param m            the marshaller
+     * @param entityStream the output stream to marshall the elements
+     * @throws javax.xml.bind.JAXBException in case the marshalling of elements fails.
+     * @throws IOException                  in case of any other I/O error while marshalling the JAXB objects.
+     * @since 2.39
+     */
+    protected void writeElements(Class<?> elementType, Iterator<?> elements,
+                                 MediaType mediaType, Charset c,
+                                 Marshaller m, OutputStream entityStream)
+            throws JAXBException, IOException {
+        final List<Object> collection = new ArrayList<>();
+        while (elements.hasNext()) {
+            collection.add(elements.next());
+        }
+        writeCollection(elementType, collection, mediaType, c, m, entityStream);
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
     public final Object readFrom(
             Class<Object> type,
             Type genericType,
@@ -285,82 +340,93 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             throw new NoContentException(LocalizationMessages.ERROR_READING_ENTITY_MISSING());
         }
 
-        try {
-            final Class<?> elementType = getElementClass(type, genericType);
-            final Unmarshaller u = getUnmarshaller(elementType, mediaType);
-            final XMLStreamReader r = getXMLStreamReader(elementType, mediaType, u, entityStream);
-            boolean jaxbElement = false;
-
-            Collection<Object> l = null;
-            if (type.isArray()) {
-                l = new ArrayList<Object>();
-            } else {
-                try {
-                    l = (Collection<Object>) type.newInstance();
-                } catch (Exception e) {
-                    for (Class<?> c : DEFAULT_IMPLS) {
-                        if (type.isAssignableFrom(c)) {
-                            try {
-                                l = (Collection<Object>) c.newInstance();
-                                break;
-                            } catch (InstantiationException ex) {
-                                LOGGER.log(Level.WARNING, LocalizationMessages.UNABLE_TO_INSTANTIATE_CLASS(c.getName()), ex);
-                            } catch (IllegalAccessException ex) {
-                                LOGGER.log(Level.WARNING, LocalizationMessages.UNABLE_TO_INSTANTIATE_CLASS(c.getName()), ex);
-                            } catch (SecurityException ex) {
-                                LOGGER.log(Level.WARNING, LocalizationMessages.UNABLE_TO_INSTANTIATE_CLASS(c.getName()), ex);
-                            }
-                        }
-                    }
-                }
-            }
-            if (l == null) {
-                l = new ArrayList<Object>();
-            }
-
-            // Move to root element
-            int event = r.next();
-            while (event != XMLStreamReader.START_ELEMENT) {
-                event = r.next();
-            }
-
-            // Move to first child (if any)
-            event = r.next();
-            while (event != XMLStreamReader.START_ELEMENT
-                    && event != XMLStreamReader.END_DOCUMENT) {
-                event = r.next();
-            }
+        final Class<?> elementType = getElementClass(type, genericType);
+        if (isStreamingType(type)) {
+            return readElements(type, elementType, mediaType, entityStream);
+        }
 
-            while (event != XMLStreamReader.END_DOCUMENT) {
-                if (elementType.isAnnotationPresent(XmlRootElement.class)) {
-                    l.add(u.unmarshal(r));
-                } else if (elementType.isAnnotationPresent(XmlType.class)) {
-                    l.add(u.unmarshal(r, elementType).getValue());
-                } else {
-                    l.add(u.unmarshal(r, elementType));
-                    jaxbElement = true;
-                }
+        try (JaxbContextCache.Lease<Unmarshaller> lease = borrowUnmarshaller(elementType, mediaType)) {
+            final Unmarshaller u = lease.get();
+            final ElementIterator elements = new ElementIterator(
+                    elementType, u, getXMLStreamReader(elementType, mediaType, u, entityStream), null, null);
 
-                // Move to next peer (if any)
-                event = r.getEventType();
-                while (event != XMLStreamReader.START_ELEMENT
-                        && event != XMLStreamReader.END_DOCUMENT) {
-                    event = r.next();
-                }
+            final Collection<Object> l = newCollection(type);
+            while (elements.hasNext()) {
+                l.add(elements.next());
             }
 
             return (type.isArray())
-                    ? createArray(l, jaxbElement ? JAXBElement.class : elementType)
+                    ? createArray(l, elements.jaxbElement ? JAXBElement.class : elementType)
                     : l;
-        } catch (UnmarshalException ex) {
+        } catch (XMLStreamException ex) {
             throw new BadRequestException(ex);
+        } catch (JAXBException ex) {
+            throw new InternalServerErrorException(ex);
+        }
+    }
+
+    private Object readElements(Class<?> type, Class<?> elementType, MediaType mediaType, InputStream entityStream) {
+        JaxbContextCache.Lease<Unmarshaller> lease = null;
+        try {
+            lease = borrowUnmarshaller(elementType, mediaType);
+            final Unmarshaller u = lease.get();
+            final ElementIterator elements = new ElementIterator(
+                    elementType, u, getXMLStreamReader(elementType, mediaType, u, entityStream), lease, entityStream);
+
+            return (Iterator.class == type) ? elements : elements.stream();
         } catch (XMLStreamException ex) {
+            closeUnread(lease, entityStream);
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
+            closeUnread(lease, entityStream);
             throw new InternalServerErrorException(ex);
+        } catch (RuntimeException ex) {
+            closeUnread(lease, entityStream);
+            throw ex;
         }
     }
 
+    /**
+     * Return the unmarshaller and close the entity stream if the element iterator, which owns them, has not been created.
+     */
+    private static void closeUnread(JaxbContextCache.Lease<Unmarshaller> lease, InputStream entityStream) {
+        if (lease != null) {
+            lease.close();
+        }
+        ReaderWriter.safelyClose(entityStream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> newCollection(Class<?> type) {
+        Collection<Object> l = null;
+        if (type.isArray()) {
+            l = new ArrayList<Object>();
+        } else {
+            try {
+                l = (Collection<Object>) type.newInstance();
+            } catch (Exception e) {
+                for (Class<?> c : DEFAULT_IMPLS) {
+                    if (type.isAssignableFrom(c)) {
+                        try {
+                            l = (Collection<Object>) c.newInstance();
+                            break;
+                        } catch (InstantiationException ex) {
+                            LOGGER.log(Level.WARNING, LocalizationMessages.UNABLE_TO_INSTANTIATE_CLASS(c.getName()), ex);
+                        } catch (IllegalAccessException ex) {
+                            LOGGER.log(Level.WARNING, LocalizationMessages.UNABLE_TO_INSTANTIATE_CLASS(c.getName()), ex);
+                        } catch (SecurityException ex) {
+                            LOGGER.log(Level.WARNING, LocalizationMessages.UNABLE_TO_INSTANTIATE_CLASS(c.getName()), ex);
+                        }
+                    }
+                }
+            }
+        }
+        if (l == null) {
+            l = new ArrayList<Object>();
+        }
+        return l;
+    }
+
     private static Object createArray(Collection<?> collection, Class componentType) {
         Object array = Array.newInstance(componentType, collection.size());
         int i = 0;
@@ -384,6 +450,108 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
                                                           InputStream entityStream)
             throws XMLStreamException;
 
+    /**
+     * Iterator unmarshalling the child elements of the root element one by one as they are requested.
+     */
+    private static final class ElementIterator implements Iterator<Object>, Closeable {
+
+        private final Class<?> elementType;
+        private final Unmarshaller unmarshaller;
+        private final XMLStreamReader reader;
+        private final InputStream entityStream;
+        private JaxbContextCache.Lease<Unmarshaller> lease;
+        private int event;
+        private boolean jaxbElement;
+
+        private ElementIterator(Class<?> elementType, Unmarshaller unmarshaller, XMLStreamReader reader,
+                                JaxbContextCache.Lease<Unmarshaller> lease, InputStream entityStream)
+                throws XMLStreamException {
+            this.elementType = elementType;
+            this.unmarshaller = unmarshaller;
+            this.reader = reader;
+            this.lease = lease;
+            this.entityStream = entityStream;
+
+            // Move to root element
+            event = reader.next();
+            while (event != XMLStreamReader.START_ELEMENT) {
+                event = reader.next();
+            }
+
+            // Move to first child (if any)
+            event = reader.next();
+            moveToElement();
+        }
+
+        private void moveToElement() throws XMLStreamException {
+            while (event != XMLStreamReader.START_ELEMENT
+                    && event != XMLStreamReader.END_DOCUMENT) {
+                event = reader.next();
+            }
+            if (event == XMLStreamReader.END_DOCUMENT) {
+                release();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return event != XMLStreamReader.END_DOCUMENT;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                final Object element;
+                if (elementType.isAnnotationPresent(XmlRootElement.class)) {
+                    element = unmarshaller.unmarshal(reader);
+                } else if (elementType.isAnnotationPresent(XmlType.class)) {
+                    element = unmarshaller.unmarshal(reader, elementType).getValue();
+                } else {
+                    element = unmarshaller.unmarshal(reader, elementType);
+                    jaxbElement = true;
+                }
+
+                // Move to next peer (if any)
+                event = reader.getEventType();
+                moveToElement();
+                return element;
+            } catch (UnmarshalException ex) {
+                close();
+                throw new BadRequestException(ex);
+            } catch (XMLStreamException ex) {
+                close();
+                throw new BadRequestException(ex);
+            } catch (JAXBException ex) {
+                close();
+                throw new InternalServerErrorException(ex);
+            }
+        }
+
+        private Stream<Object> stream() {
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(this::close);
+        }
+
+        private void release() {
+            if (lease != null) {
+                lease.close();
+                lease = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+            if (entityStream != null) {
+                ReaderWriter.safelyClose(entityStream);
+            }
+        }
+    }
+
     protected static Class getElementClass(Class<?> type, Type genericType) {
         Type ta;
         if (genericType instanceof ParameterizedType) {
@@ -110,7 +110,9 @@ public abstract class AbstractJaxbElementProvider extends AbstractJaxbProvider<J
         final Class ta = (Class) pt.getActualTypeArguments()[0];
 
         try {
-            return readFrom(ta, mediaType, getUnmarshaller(ta, mediaType), entityStream);
+            try (JaxbContextCache.Lease<Unmarshaller> u = borrowUnmarshaller(ta, mediaType)) {
+                return readFrom(ta, mediaType, u.get(), entityStream);
+            }
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
@@ -143,8 +145,8 @@ public abstract class AbstractJaxbElementProvider extends AbstractJaxbProvider<J
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
-        try {
-            final Marshaller m = getMarshaller(t.getDeclaredType(), mediaType);
+        try (JaxbContextCache.Lease<Marshaller> lease = borrowMarshaller(t.getDeclaredType(), mediaType)) {
+            final Marshaller m = lease.get();
             final Charset c = getCharset(mediaType);
             if (c != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, c.name());
@@ -18,9 +18,6 @@ package org.glassfish.jersey.jaxb.internal;
 
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
-import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -55,8 +52,6 @@ import org.xml.sax.InputSource;
  */
 public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWriterProvider<T> {
 
-    private static final Map<Class<?>, WeakReference<JAXBContext>> jaxbContexts =
-            new WeakHashMap<Class<?>, WeakReference<JAXBContext>>();
     private final Providers jaxrsProviders;
     private final boolean fixedResolverMediaType;
     private final Value<ContextResolver<JAXBContext>> mtContext;
@@ -159,34 +154,40 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case retrieving the unmarshaller fails with a JAXB exception.
      */
     protected final Unmarshaller getUnmarshaller(Class type, MediaType mediaType) throws JAXBException {
-        if (fixedResolverMediaType) {
-            return getUnmarshaller(type);
-        }
-
-        final ContextResolver<Unmarshaller> unmarshallerResolver =
-                jaxrsProviders.getContextResolver(Unmarshaller.class, mediaType);
-        if (unmarshallerResolver != null) {
-            Unmarshaller u = unmarshallerResolver.getContext(type);
-            if (u != null) {
-                return u;
-            }
+        final Unmarshaller u = getResolvedUnmarshaller(type, mediaType);
+        if (u != null) {
+            return u;
         }
 
         final JAXBContext ctx = getJAXBContext(type, mediaType);
         return (ctx == null) ? null : ctx.createUnmarshaller();
     }
 
-    private Unmarshaller getUnmarshaller(Class type) throws JAXBException {
-        final ContextResolver<Unmarshaller> resolver = mtUnmarshaller.get();
-        if (resolver != null) {
-            Unmarshaller u = resolver.getContext(type);
-            if (u != null) {
-                return u;
-            }
+    /**
+     * Borrow the JAXB unmarshaller for the given class and media type. Unmarshallers created from the JAXB context
+     * {@link #getStoredJaxbContext(Class) stored} by Jersey are pooled, the lease has to be closed once the unmarshaller
+     * is no longer used.
+     *
+     * @param type      Java type to be unmarshalled.
+     * @param mediaType entity media type.
+     * @return lease of the JAXB unmarshaller for the requested Java type, media type combination.
+     * @throws JAXBException in case retrieving the unmarshaller fails with a JAXB exception.
+     */
+    final JaxbContextCache.Lease<Unmarshaller> borrowUnmarshaller(Class type, MediaType mediaType) throws JAXBException {
+        final Unmarshaller u = getResolvedUnmarshaller(type, mediaType);
+        if (u != null) {
+            return JaxbContextCache.Lease.of(u);
         }
 
-        final JAXBContext ctx = getJAXBContext(type);
-        return (ctx == null) ? null : ctx.createUnmarshaller();
+        final JAXBContext ctx = getJAXBContext(type, mediaType);
+        return (ctx == null) ? JaxbContextCache.Lease.<Unmarshaller>of(null) : JaxbContextCache.borrowUnmarshaller(type, ctx);
+    }
+
+    private Unmarshaller getResolvedUnmarshaller(Class type, MediaType mediaType) {
+        final ContextResolver<Unmarshaller> resolver = fixedResolverMediaType
+                ? mtUnmarshaller.get()
+                : jaxrsProviders.getContextResolver(Unmarshaller.class, mediaType);
+        return (resolver == null) ? null : resolver.getContext(type);
     }
 
     /**
@@ -202,46 +203,54 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case retrieving the marshaller fails with a JAXB exception.
      */
     protected final Marshaller getMarshaller(Class type, MediaType mediaType) throws JAXBException {
-        if (fixedResolverMediaType) {
-            return getMarshaller(type);
+        final Marshaller m = getResolvedMarshaller(type, mediaType);
+        if (m != null) {
+            return m;
         }
 
-        final ContextResolver<Marshaller> mcr = jaxrsProviders.getContextResolver(Marshaller.class, mediaType);
-        if (mcr != null) {
-            Marshaller m = mcr.getContext(type);
-            if (m != null) {
-                return m;
-            }
+        final JAXBContext ctx = getJAXBContext(type, mediaType);
+        return (ctx == null) ? null : configure(ctx.createMarshaller());
+    }
+
+    /**
+     * Borrow the JAXB marshaller for the given class and media type. Marshallers created from the JAXB context
+     * {@link #getStoredJaxbContext(Class) stored} by Jersey are pooled, the lease has to be closed once the marshaller
+     * is no longer used.
+     *
+     * @param type      Java type to be marshalled.
+     * @param mediaType entity media type.
+     * @return lease of the JAXB marshaller for the requested Java type, media type combination.
+     * @throws JAXBException in case retrieving the marshaller fails with a JAXB exception.
+     */
+    final JaxbContextCache.Lease<Marshaller> borrowMarshaller(Class type, MediaType mediaType) throws JAXBException {
+        final Marshaller m = getResolvedMarshaller(type, mediaType);
+        if (m != null) {
+            return JaxbContextCache.Lease.of(m);
         }
 
         final JAXBContext ctx = getJAXBContext(type, mediaType);
         if (ctx == null) {
-            return null;
+            return JaxbContextCache.Lease.of(null);
         }
 
-        Marshaller m = ctx.createMarshaller();
-        if (formattedOutput.get()) {
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
+        final JaxbContextCache.Lease<Marshaller> lease = JaxbContextCache.borrowMarshaller(type, ctx);
+        try {
+            configure(lease.get());
+        } catch (JAXBException | RuntimeException e) {
+            lease.close();
+            throw e;
         }
-        return m;
-
+        return lease;
     }
 
-    private Marshaller getMarshaller(Class type) throws JAXBException {
-        final ContextResolver<Marshaller> resolver = mtMarshaller.get();
-        if (resolver != null) {
-            Marshaller u = resolver.getContext(type);
-            if (u != null) {
-                return u;
-            }
-        }
-
-        final JAXBContext ctx = getJAXBContext(type);
-        if (ctx == null) {
-            return null;
-        }
+    private Marshaller getResolvedMarshaller(Class type, MediaType mediaType) {
+        final ContextResolver<Marshaller> resolver = fixedResolverMediaType
+                ? mtMarshaller.get()
+                : jaxrsProviders.getContextResolver(Marshaller.class, mediaType);
+        return (resolver == null) ? null : resolver.getContext(type);
+    }
 
-        Marshaller m = ctx.createMarshaller();
+    private Marshaller configure(Marshaller m) throws JAXBException {
         if (formattedOutput.get()) {
             m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
         }
@@ -249,7 +258,9 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
     }
 
     private JAXBContext getJAXBContext(Class type, MediaType mt) throws JAXBException {
-        final ContextResolver<JAXBContext> cr = jaxrsProviders.getContextResolver(JAXBContext.class, mt);
+        final ContextResolver<JAXBContext> cr = fixedResolverMediaType
+                ? mtContext.get()
+                : jaxrsProviders.getContextResolver(JAXBContext.class, mt);
         if (cr != null) {
             JAXBContext c = cr.getContext(type);
             if (c != null) {
@@ -260,18 +271,6 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         return getStoredJaxbContext(type);
     }
 
-    private JAXBContext getJAXBContext(Class type) throws JAXBException {
-        final ContextResolver<JAXBContext> resolver = mtContext.get();
-        if (resolver != null) {
-            JAXBContext c = resolver.getContext(type);
-            if (c != null) {
-                return c;
-            }
-        }
-
-        return getStoredJaxbContext(type);
-    }
-
     /**
      * Retrieve cached JAXB context capable of handling the given Java type.
      *
@@ -280,15 +279,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case the JAXB context retrieval fails.
      */
     protected JAXBContext getStoredJaxbContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            final WeakReference<JAXBContext> ref = jaxbContexts.get(type);
-            JAXBContext c = (ref != null) ? ref.get() : null;
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, new WeakReference<JAXBContext>(c));
-            }
-            return c;
-        }
+        return JaxbContextCache.getContext(type);
     }
 
     /**
@@ -109,7 +109,9 @@ public abstract class AbstractRootElementJaxbProvider extends AbstractJaxbProvid
             if (entityStream.isEmpty()) {
                 throw new NoContentException(LocalizationMessages.ERROR_READING_ENTITY_MISSING());
             }
-            return readFrom(type, mediaType, getUnmarshaller(type, mediaType), entityStream);
+            try (JaxbContextCache.Lease<Unmarshaller> u = borrowUnmarshaller(type, mediaType)) {
+                return readFrom(type, mediaType, u.get(), entityStream);
+            }
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
@@ -148,8 +150,8 @@ public abstract class AbstractRootElementJaxbProvider extends AbstractJaxbProvid
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
-        try {
-            final Marshaller m = getMarshaller(type, mediaType);
+        try (JaxbContextCache.Lease<Marshaller> lease = borrowMarshaller(type, mediaType)) {
+            final Marshaller m = lease.get();
             final Charset c = getCharset(mediaType);
             if (c != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, c.name());
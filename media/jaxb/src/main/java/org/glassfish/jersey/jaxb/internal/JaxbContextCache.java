@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jaxb.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.PropertyException;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * Cache of the JAXB contexts created by Jersey for a single Java type, together with bounded pools of marshallers and
+ * unmarshallers created from these contexts.
+ * <p>
+ * The cache entries are attached to the Java type by a {@link ClassValue}, therefore retrieving a context does not
+ * require any global lock and a cached context does not prevent the class loader of the type from being collected.
+ * Only marshallers and unmarshallers created from a cached context are pooled, instances provided by a registered
+ * {@link javax.ws.rs.ext.ContextResolver} or created from a context provided by a resolver are never reused.
+ * </p>
+ *
+ * @since 2.39
+ */
+public final class JaxbContextCache {
+
+    /**
+     * Maximum number of idle marshallers (and unmarshallers) kept per JAXB context.
+     */
+    static final int MAX_IDLE = 16;
+
+    private static final String[] XML_HEADERS_PROPERTIES = {
+            "com.sun.xml.bind.xmlHeaders", "com.sun.xml.internal.bind.xmlHeaders"};
+
+    private static final ClassValue<Entry> ENTRIES = new ClassValue<Entry>() {
+        @Override
+        protected Entry computeValue(final Class<?> type) {
+            return new Entry(type);
+        }
+    };
+
+    /**
+     * Prevents instantiation.
+     */
+    private JaxbContextCache() {
+    }
+
+    /**
+     * Get the cached JAXB context for the Java type. The context is created on the first invocation.
+     *
+     * @param type Java type supported by the JAXB context.
+     * @return JAXB context associated with the Java type.
+     * @throws JAXBException in case the JAXB context creation fails.
+     */
+    static JAXBContext getContext(final Class<?> type) throws JAXBException {
+        return ENTRIES.get(type).getContext();
+    }
+
+    /**
+     * Borrow a marshaller created from the given context. The marshaller is taken from the pool in case the context is
+     * the context cached for the Java type, a new marshaller is created otherwise.
+     *
+     * @param type    Java type to be marshalled.
+     * @param context JAXB context to create the marshaller from.
+     * @return lease of the marshaller, to be closed once the marshaller is no longer used.
+     * @throws JAXBException in case the marshaller creation fails.
+     */
+    static Lease<Marshaller> borrowMarshaller(final Class<?> type, final JAXBContext context) throws JAXBException {
+        final Entry entry = ENTRIES.get(type);
+        return entry.context == context
+                ? entry.marshallers.borrow(context)
+                : new Lease<Marshaller>(context.createMarshaller(), null);
+    }
+
+    /**
+     * Borrow an unmarshaller created from the given context. The unmarshaller is taken from the pool in case the context is
+     * the context cached for the Java type, a new unmarshaller is created otherwise.
+     *
+     * @param type    Java type to be unmarshalled.
+     * @param context JAXB context to create the unmarshaller from.
+     * @return lease of the unmarshaller, to be closed once the unmarshaller is no longer used.
+     * @throws JAXBException in case the unmarshaller creation fails.
+     */
+    static Lease<Unmarshaller> borrowUnmarshaller(final Class<?> type, final JAXBContext context) throws JAXBException {
+        final Entry entry = ENTRIES.get(type);
+        return entry.context == context
+                ? entry.unmarshallers.borrow(context)
+                : new Lease<Unmarshaller>(context.createUnmarshaller(), null);
+    }
+
+    /**
+     * Get statistics of the pool of marshallers created from the JAXB context cached for the Java type.
+     *
+     * @param type Java type.
+     * @return marshaller pool statistics.
+     */
+    public static PoolStatistics getMarshallerStatistics(final Class<?> type) {
+        return ENTRIES.get(type).marshallers;
+    }
+
+    /**
+     * Get statistics of the pool of unmarshallers created from the JAXB context cached for the Java type.
+     *
+     * @param type Java type.
+     * @return unmarshaller pool statistics.
+     */
+    public static PoolStatistics getUnmarshallerStatistics(final Class<?> type) {
+        return ENTRIES.get(type).unmarshallers;
+    }
+
+    /**
+     * Statistics of a pool of marshallers or unmarshallers.
+     */
+    public interface PoolStatistics {
+
+        /**
+         * Get the number of instances created because the pool was empty.
+         *
+         * @return number of created instances.
+         */
+        long getCreatedCount();
+
+        /**
+         * Get the number of times an idle instance was reused.
+         *
+         * @return number of reused instances.
+         */
+        long getReusedCount();
+
+        /**
+         * Get the number of returned instances that were not kept in the pool, either because the pool was full or
+         * because the state of the instance could not be reset.
+         *
+         * @return number of discarded instances.
+         */
+        long getDiscardedCount();
+
+        /**
+         * Get the current number of idle instances in the pool.
+         *
+         * @return number of idle instances.
+         */
+        int getIdleCount();
+    }
+
+    /**
+     * Marshaller or unmarshaller borrowed from a pool. Closing the lease returns the pooled instance back to the pool.
+     *
+     * @param <T> marshaller or unmarshaller type.
+     */
+    static final class Lease<T> implements AutoCloseable {
+
+        private final T instance;
+        private final Pool<T> pool;
+
+        private Lease(final T instance, final Pool<T> pool) {
+            this.instance = instance;
+            this.pool = pool;
+        }
+
+        /**
+         * Create a lease of an instance that is not pooled.
+         *
+         * @param instance marshaller or unmarshaller, may be {@code null}.
+         * @param <T>      marshaller or unmarshaller type.
+         * @return lease that does nothing on close.
+         */
+        static <T> Lease<T> of(final T instance) {
+            return new Lease<T>(instance, null);
+        }
+
+        /**
+         * Get the borrowed instance.
+         *
+         * @return marshaller or unmarshaller.
+         */
+        T get() {
+            return instance;
+        }
+
+        @Override
+        public void close() {
+            if (pool != null) {
+                pool.release(instance);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Class<?> type;
+        private volatile JAXBContext context;
+
+        private final Pool<Marshaller> marshallers = new Pool<Marshaller>() {
+            @Override
+            Marshaller create(final JAXBContext context) throws JAXBException {
+                return context.createMarshaller();
+            }
+
+            @Override
+            boolean reset(final Marshaller marshaller) {
+                try {
+                    marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+                    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+                    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, false);
+                    marshaller.setEventHandler(null);
+                    marshaller.setListener(null);
+                    marshaller.setSchema(null);
+                } catch (final JAXBException | RuntimeException e) {
+                    return false;
+                }
+                for (final String property : XML_HEADERS_PROPERTIES) {
+                    try {
+                        if (marshaller.getProperty(property) != null) {
+                            // the custom XML header cannot be unset
+                            return false;
+                        }
+                    } catch (final PropertyException e) {
+                        // headers not supported by the JAXB implementation, hence never set
+                    }
+                }
+                return true;
+            }
+        };
+
+        private final Pool<Unmarshaller> unmarshallers = new Pool<Unmarshaller>() {
+            @Override
+            Unmarshaller create(final JAXBContext context) throws JAXBException {
+                return context.createUnmarshaller();
+            }
+
+            @Override
+            boolean reset(final Unmarshaller unmarshaller) {
+                try {
+                    unmarshaller.setEventHandler(null);
+                    unmarshaller.setListener(null);
+                    unmarshaller.setSchema(null);
+                } catch (final JAXBException | RuntimeException e) {
+                    return false;
+                }
+                return true;
+            }
+        };
+
+        private Entry(final Class<?> type) {
+            this.type = type;
+        }
+
+        private JAXBContext getContext() throws JAXBException {
+            JAXBContext c = context;
+            if (c == null) {
+                synchronized (this) {
+                    c = context;
+                    if (c == null) {
+                        c = JAXBContext.newInstance(type);
+                        context = c;
+                    }
+                }
+            }
+            return c;
+        }
+    }
+
+    private abstract static class Pool<T> implements PoolStatistics {
+
+        private final Queue<T> idle = new ConcurrentLinkedQueue<T>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong reused = new AtomicLong();
+        private final AtomicLong discarded = new AtomicLong();
+
+        abstract T create(JAXBContext context) throws JAXBException;
+
+        abstract boolean reset(T instance);
+
+        Lease<T> borrow(final JAXBContext context) throws JAXBException {
+            T instance = idle.poll();
+            if (instance != null) {
+                idleCount.decrementAndGet();
+                reused.incrementAndGet();
+            } else {
+                instance = create(context);
+                created.incrementAndGet();
+            }
+            return new Lease<T>(instance, this);
+        }
+
+        void release(final T instance) {
+            if (!reset(instance)) {
+                discarded.incrementAndGet();
+                return;
+            }
+            if (idleCount.incrementAndGet() > MAX_IDLE) {
+                idleCount.decrementAndGet();
+                discarded.incrementAndGet();
+                return;
+            }
+            idle.offer(instance);
+        }
+
+        @Override
+        public long getCreatedCount() {
+            return created.get();
+        }
+
+        @Override
+        public long getReusedCount() {
+            return reused.get();
+        }
+
+        @Override
+        public long getDiscardedCount() {
+            return discarded.get();
+        }
+
+        @Override
+        public int getIdleCount() {
+            return idleCount.get();
+        }
+    }
+}
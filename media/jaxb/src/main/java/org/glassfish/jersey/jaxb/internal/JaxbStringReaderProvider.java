@@ -18,8 +18,6 @@ package org.glassfish.jersey.jaxb.internal;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Context;
@@ -53,7 +51,6 @@ import org.xml.sax.InputSource;
  */
 public class JaxbStringReaderProvider {
 
-    private static final Map<Class, JAXBContext> jaxbContexts = new WeakHashMap<Class, JAXBContext>();
     private final Value<ContextResolver<JAXBContext>> mtContext;
     private final Value<ContextResolver<Unmarshaller>> mtUnmarshaller;
 
@@ -97,6 +94,25 @@ public class JaxbStringReaderProvider {
         return getJAXBContext(type).createUnmarshaller();
     }
 
+    /**
+     * Borrow JAXB unmarshaller for the type. Unmarshallers created from the {@link #getStoredJAXBContext(Class) stored}
+     * JAXB context are pooled, the lease has to be closed once the unmarshaller is no longer used.
+     *
+     * @param type Java type to be unmarshalled.
+     * @return lease of the JAXB unmarshaller for the given type.
+     * @throws JAXBException in case there's an error retrieving the unmarshaller.
+     */
+    final JaxbContextCache.Lease<Unmarshaller> borrowUnmarshaller(Class type) throws JAXBException {
+        final ContextResolver<Unmarshaller> unmarshallerContextResolver = mtUnmarshaller.get();
+        if (unmarshallerContextResolver != null) {
+            Unmarshaller u = unmarshallerContextResolver.getContext(type);
+            if (u != null) {
+                return JaxbContextCache.Lease.of(u);
+            }
+        }
+        return JaxbContextCache.borrowUnmarshaller(type, getJAXBContext(type));
+    }
+
     private JAXBContext getJAXBContext(Class type) throws JAXBException {
         final ContextResolver<JAXBContext> jaxbContextContextResolver = mtContext.get();
         if (jaxbContextContextResolver != null) {
@@ -116,14 +132,7 @@ public class JaxbStringReaderProvider {
      * @throws JAXBException in case JAXB context retrieval fails.
      */
     protected JAXBContext getStoredJAXBContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            JAXBContext c = jaxbContexts.get(type);
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, c);
-            }
-            return c;
-        }
+        return JaxbContextCache.getContext(type);
     }
 
     /**
@@ -157,12 +166,12 @@ public class JaxbStringReaderProvider {
 
                 @Override
                 public T fromString(String value) {
-                    try {
+                    try (JaxbContextCache.Lease<Unmarshaller> lease = borrowUnmarshaller(rawType)) {
                         final SAXSource source = new SAXSource(
                                 spfProvider.get().newSAXParser().getXMLReader(),
                                 new InputSource(new java.io.StringReader(value)));
 
-                        final Unmarshaller u = getUnmarshaller(rawType);
+                        final Unmarshaller u = lease.get();
                         if (rawType.isAnnotationPresent(XmlRootElement.class)) {
                             return rawType.cast(u.unmarshal(source));
                         } else {
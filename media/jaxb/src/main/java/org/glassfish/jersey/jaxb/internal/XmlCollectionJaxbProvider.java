@@ -21,6 +21,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -127,6 +128,14 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
                                       MediaType mediaType, Charset c,
                                       Marshaller m, OutputStream entityStream)
             throws JAXBException, IOException {
+        writeElements(elementType, t.iterator(), mediaType, c, m, entityStream);
+    }
+
+    @Override
+    protected final void writeElements(Class<?> elementType, Iterator<?> elements,
+                                       MediaType mediaType, Charset c,
+                                       Marshaller m, OutputStream entityStream)
+            throws JAXBException, IOException {
         final String rootElement = getRootElementName(elementType);
         final String cName = c.name();
 
@@ -156,8 +165,8 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
             entityStream.write(header.getBytes(cName));
         }
         entityStream.write(String.format("<%s>", rootElement).getBytes(cName));
-        for (Object o : t) {
-            m.marshal(o, entityStream);
+        while (elements.hasNext()) {
+            m.marshal(elements.next(), entityStream);
         }
 
         entityStream.write(String.format("</%s>", rootElement).getBytes(cName));
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jaxb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.glassfish.jersey.message.MessageProperties;
+import org.glassfish.jersey.message.XmlHeader;
+import org.glassfish.jersey.model.internal.CommonConfig;
+import org.glassfish.jersey.model.internal.ComponentBag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link JaxbContextCache} and of the pooling of marshallers and unmarshallers by the JAXB providers.
+ */
+public class JaxbContextCacheTest {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    @XmlRootElement
+    public static class CachedBean {
+        public String value;
+    }
+
+    @XmlRootElement
+    public static class PooledBean {
+        public String value;
+    }
+
+    @XmlRootElement
+    public static class FormattedBean {
+        public String value;
+    }
+
+    @XmlRootElement
+    public static class HeaderBean {
+        public String value;
+    }
+
+    @XmlRootElement
+    public static class ResolvedBean {
+        public String value;
+    }
+
+    @XmlHeader("<!-- header -->")
+    private static void annotated() {
+    }
+
+    private static class TestProviders implements Providers {
+
+        private final ContextResolver<Marshaller> marshallerResolver;
+
+        TestProviders(final ContextResolver<Marshaller> marshallerResolver) {
+            this.marshallerResolver = marshallerResolver;
+        }
+
+        @Override
+        public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> type, Type genericType, Annotation[] annotations,
+                                                             MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> type, Type genericType, Annotation[] annotations,
+                                                             MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(Class<T> type) {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ContextResolver<T> getContextResolver(Class<T> contextType, MediaType mediaType) {
+            return contextType == Marshaller.class ? (ContextResolver<T>) marshallerResolver : null;
+        }
+    }
+
+    private static XmlRootElementJaxbProvider createProvider(final boolean formatted,
+                                                             final ContextResolver<Marshaller> marshallerResolver) {
+        final CommonConfig config = new CommonConfig(RuntimeType.SERVER, ComponentBag.INCLUDE_ALL);
+        config.property(MessageProperties.XML_FORMAT_OUTPUT, formatted);
+        return new XmlRootElementJaxbProvider.App(SAXParserFactory::newInstance, new TestProviders(marshallerResolver), config);
+    }
+
+    private static String write(final XmlRootElementJaxbProvider provider, final Object bean, final Annotation[] annotations)
+            throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(bean, bean.getClass(), bean.getClass(), annotations, MediaType.APPLICATION_XML_TYPE, null, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object read(final XmlRootElementJaxbProvider provider, final Class<?> type, final String xml)
+            throws Exception {
+        return provider.readFrom((Class<Object>) type, type, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE, null,
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testContextCached() throws Exception {
+        final JAXBContext context = JaxbContextCache.getContext(CachedBean.class);
+
+        assertSame(context, JaxbContextCache.getContext(CachedBean.class));
+        assertSame(context, createProvider(false, null).getStoredJaxbContext(CachedBean.class));
+    }
+
+    @Test
+    public void testMarshallersAndUnmarshallersReused() throws Exception {
+        final XmlRootElementJaxbProvider provider = createProvider(false, null);
+        final PooledBean bean = new PooledBean();
+
+        for (int i = 0; i < 3; i++) {
+            bean.value = "value" + i;
+            final String xml = write(provider, bean, NO_ANNOTATIONS);
+            assertEquals(bean.value, ((PooledBean) read(provider, PooledBean.class, xml)).value);
+        }
+
+        final JaxbContextCache.PoolStatistics marshallers = JaxbContextCache.getMarshallerStatistics(PooledBean.class);
+        assertEquals(1, marshallers.getCreatedCount());
+        assertEquals(2, marshallers.getReusedCount());
+        assertEquals(1, marshallers.getIdleCount());
+
+        final JaxbContextCache.PoolStatistics unmarshallers = JaxbContextCache.getUnmarshallerStatistics(PooledBean.class);
+        assertEquals(1, unmarshallers.getCreatedCount());
+        assertEquals(2, unmarshallers.getReusedCount());
+        assertEquals(1, unmarshallers.getIdleCount());
+    }
+
+    @Test
+    public void testPoolBounded() throws Exception {
+        final JaxbContextCache.Lease<?>[] leases = new JaxbContextCache.Lease<?>[JaxbContextCache.MAX_IDLE + 2];
+        final JAXBContext context = JaxbContextCache.getContext(CachedBean.class);
+        for (int i = 0; i < leases.length; i++) {
+            leases[i] = JaxbContextCache.borrowUnmarshaller(CachedBean.class, context);
+        }
+        for (JaxbContextCache.Lease<?> lease : leases) {
+            lease.close();
+        }
+
+        final JaxbContextCache.PoolStatistics statistics = JaxbContextCache.getUnmarshallerStatistics(CachedBean.class);
+        assertEquals(JaxbContextCache.MAX_IDLE, statistics.getIdleCount());
+        assertEquals(2, statistics.getDiscardedCount());
+    }
+
+    @Test
+    public void testFormattedOutputNotShared() throws Exception {
+        final FormattedBean bean = new FormattedBean();
+        bean.value = "value";
+
+        assertTrue(write(createProvider(true, null), bean, NO_ANNOTATIONS).contains("\n"));
+        assertFalse(write(createProvider(false, null), bean, NO_ANNOTATIONS).contains("\n"));
+        assertEquals(1, JaxbContextCache.getMarshallerStatistics(FormattedBean.class).getReusedCount());
+    }
+
+    @Test
+    public void testXmlHeaderReset() throws Exception {
+        final XmlRootElementJaxbProvider provider = createProvider(false, null);
+        final HeaderBean bean = new HeaderBean();
+        final Annotation[] headerAnnotations = JaxbContextCacheTest.class.getDeclaredMethod("annotated").getAnnotations();
+
+        assertTrue(write(provider, bean, headerAnnotations).contains("<!-- header -->"));
+        assertFalse(write(provider, bean, NO_ANNOTATIONS).contains("<!-- header -->"));
+
+        final JaxbContextCache.PoolStatistics statistics = JaxbContextCache.getMarshallerStatistics(HeaderBean.class);
+        assertEquals(2, statistics.getCreatedCount());
+        assertEquals(1, statistics.getDiscardedCount());
+    }
+
+    @Test
+    public void testResolvedMarshallerNotPooled() throws Exception {
+        final Marshaller marshaller;
+        try {
+            marshaller = JAXBContext.newInstance(ResolvedBean.class).createMarshaller();
+        } catch (JAXBException e) {
+            throw new AssertionError(e);
+        }
+        final XmlRootElementJaxbProvider provider = createProvider(false, type -> marshaller);
+        final ResolvedBean bean = new ResolvedBean();
+
+        write(provider, bean, NO_ANNOTATIONS);
+        write(provider, bean, NO_ANNOTATIONS);
+
+        final JaxbContextCache.PoolStatistics statistics = JaxbContextCache.getMarshallerStatistics(ResolvedBean.class);
+        assertEquals(0, statistics.getCreatedCount());
+        assertEquals(0, statistics.getIdleCount());
+    }
+}
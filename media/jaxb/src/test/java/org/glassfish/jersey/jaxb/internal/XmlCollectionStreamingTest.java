@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jaxb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLInputFactory;
+
+import org.glassfish.jersey.model.internal.CommonConfig;
+import org.glassfish.jersey.model.internal.ComponentBag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of reading and writing {@link Stream} and {@link Iterator} entities by {@link XmlCollectionJaxbProvider}.
+ */
+public class XmlCollectionStreamingTest {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final Type STREAM_TYPE = new GenericType<Stream<Item>>() { }.getType();
+    private static final Type ITERATOR_TYPE = new GenericType<Iterator<Item>>() { }.getType();
+    private static final Type LIST_TYPE = new GenericType<List<Item>>() { }.getType();
+
+    @XmlRootElement
+    public static class Item {
+        public int value;
+
+        public Item() {
+        }
+
+        public Item(final int value) {
+            this.value = value;
+        }
+    }
+
+    @XmlRootElement
+    public static class IteratorItem {
+        public int value;
+
+        public IteratorItem() {
+        }
+
+        public IteratorItem(final int value) {
+            this.value = value;
+        }
+    }
+
+    @XmlRootElement
+    public static class MalformedItem {
+        public int value;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+        private boolean closed;
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static XmlCollectionJaxbProvider createProvider() {
+        return new XmlCollectionJaxbProvider.App(XMLInputFactory::newInstance, new Providers() {
+            @Override
+            public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> type, Type genericType, Annotation[] annotations,
+                                                                 MediaType mediaType) {
+                return null;
+            }
+
+            @Override
+            public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> type, Type genericType, Annotation[] annotations,
+                                                                 MediaType mediaType) {
+                return null;
+            }
+
+            @Override
+            public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(Class<T> type) {
+                return null;
+            }
+
+            @Override
+            public <T> ContextResolver<T> getContextResolver(Class<T> contextType, MediaType mediaType) {
+                return null;
+            }
+        }, new CommonConfig(RuntimeType.SERVER, ComponentBag.INCLUDE_ALL));
+    }
+
+    private static byte[] write(final Object entity, final Class<?> type, final Type genericType) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        createProvider().writeTo(entity, type, genericType, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE, null, out);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object read(final Class<?> type, final Type genericType, final InputStream in) throws IOException {
+        return createProvider().readFrom((Class<Object>) type, genericType, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE,
+                null, in);
+    }
+
+    private static byte[] items(final int count) throws IOException {
+        return write(IntStream.range(0, count).mapToObj(Item::new), Stream.class, STREAM_TYPE);
+    }
+
+    @Test
+    public void testStreamingTypesSupported() {
+        final XmlCollectionJaxbProvider provider = createProvider();
+
+        assertTrue(provider.isReadable(Stream.class, STREAM_TYPE, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE));
+        assertTrue(provider.isReadable(Iterator.class, ITERATOR_TYPE, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE));
+        assertTrue(provider.isWriteable(Stream.class, STREAM_TYPE, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE));
+        assertTrue(provider.isWriteable(Iterator.class, ITERATOR_TYPE, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE));
+    }
+
+    @Test
+    public void testWrittenStreamReadAsList() throws IOException {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Stream<Item> stream = Stream.of(new Item(1), new Item(2)).onClose(() -> closed.set(true));
+
+        final byte[] xml = write(stream, Stream.class, STREAM_TYPE);
+        final Iterator<Item> iterator = Arrays.asList(new Item(1), new Item(2)).iterator();
+
+        assertTrue(closed.get());
+        assertEquals(new String(write(iterator, Iterator.class, ITERATOR_TYPE), StandardCharsets.UTF_8),
+                new String(xml, StandardCharsets.UTF_8));
+
+        @SuppressWarnings("unchecked")
+        final List<Item> items = (List<Item>) read(List.class, LIST_TYPE, new ByteArrayInputStream(xml));
+        assertEquals(2, items.size());
+        assertEquals(2, items.get(1).value);
+    }
+
+    @Test
+    public void testStreamReadLazily() throws IOException {
+        final byte[] xml = items(20000);
+        final CountingInputStream in = new CountingInputStream(new ByteArrayInputStream(xml));
+
+        @SuppressWarnings("unchecked")
+        final Stream<Item> stream = (Stream<Item>) read(Stream.class, STREAM_TYPE, in);
+        final Iterator<Item> iterator = stream.iterator();
+        assertEquals(0, iterator.next().value);
+        assertTrue(in.count < xml.length / 2, "Read " + in.count + " bytes of " + xml.length);
+
+        assertEquals(1, iterator.next().value);
+        stream.close();
+        assertTrue(in.closed);
+    }
+
+    @Test
+    public void testIteratorRead() throws IOException {
+        final byte[] xml = write(IntStream.range(0, 100).mapToObj(IteratorItem::new), Stream.class,
+                new GenericType<Stream<IteratorItem>>() { }.getType());
+
+        @SuppressWarnings("unchecked")
+        final Iterator<IteratorItem> iterator = (Iterator<IteratorItem>) read(Iterator.class,
+                new GenericType<Iterator<IteratorItem>>() { }.getType(), new ByteArrayInputStream(xml));
+
+        final JaxbContextCache.PoolStatistics statistics = JaxbContextCache.getUnmarshallerStatistics(IteratorItem.class);
+        int count = 0;
+        while (iterator.hasNext()) {
+            assertEquals(0, statistics.getIdleCount());
+            assertEquals(count++, iterator.next().value);
+        }
+        assertEquals(100, count);
+        assertEquals(1, statistics.getIdleCount());
+    }
+
+    @Test
+    public void testEmptyStream() throws IOException {
+        @SuppressWarnings("unchecked")
+        final Stream<Item> stream = (Stream<Item>) read(Stream.class, STREAM_TYPE, new ByteArrayInputStream(items(0)));
+
+        assertEquals(0, stream.collect(Collectors.toList()).size());
+    }
+
+    @Test
+    public void testMalformedEntityReleased() {
+        final CountingInputStream in = new CountingInputStream(
+                new ByteArrayInputStream("<malformedItems><<malformedItem/></malformedItems>".getBytes(StandardCharsets.UTF_8)));
+
+        assertThrows(BadRequestException.class, () -> read(Stream.class,
+                new GenericType<Stream<MalformedItem>>() { }.getType(), in));
+
+        assertTrue(in.closed);
+        assertEquals(1, JaxbContextCache.getUnmarshallerStatistics(MalformedItem.class).getIdleCount());
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.jsonb;
 
+import javax.ws.rs.RuntimeType;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
@@ -25,6 +26,7 @@ import org.glassfish.jersey.internal.InternalProperties;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.jsonb.internal.JsonBindingAutoDiscoverable;
 import org.glassfish.jersey.jsonb.internal.JsonBindingProvider;
+import org.glassfish.jersey.jsonb.internal.JsonBindingResourceModelListener;
 
 /**
  * Feature used to register JSON-B providers.
@@ -45,6 +47,11 @@ import org.glassfish.jersey.jsonb.internal.JsonBindingProvider;
  *      }
  * }
  * </pre>
+ * The {@code ContextResolver<Jsonb>} is asked only once per entity type, the returned {@code Jsonb} instance is cached
+ * and used for all the subsequent entities of that type. A resolver therefore cannot return a different {@code Jsonb}
+ * for the same type later on (e.g. depending on the current request). On the server, the JSON-B mappings of the entity
+ * types of the resource methods can be built when the application is initialized, see
+ * {@link CommonProperties#JSON_BINDING_WARM_UP}.
  *
  * @author Adam Lindenthal
  */
@@ -72,6 +79,12 @@ public class JsonBindingFeature implements Feature {
 
         context.register(JsonBindingProvider.class);
 
+        if (config.getRuntimeType() == RuntimeType.SERVER
+                && CommonProperties.getValue(config.getProperties(), RuntimeType.SERVER,
+                        CommonProperties.JSON_BINDING_WARM_UP, Boolean.FALSE, Boolean.class)) {
+            context.register(JsonBindingResourceModelListener.class);
+        }
+
         return true;
     }
 }
@@ -16,11 +16,32 @@
 
 package org.glassfish.jersey.jsonb.internal;
 
+import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.security.AccessController;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
@@ -34,16 +55,37 @@ import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Provider;
 import javax.ws.rs.ext.Providers;
 
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbBuilder;
 import javax.json.bind.JsonbException;
+import javax.json.bind.annotation.JsonbCreator;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
 
+import org.eclipse.yasson.YassonJsonb;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.util.IteratorPublisher;
+import org.glassfish.jersey.internal.util.PublisherIterator;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.jsonb.LocalizationMessages;
 import org.glassfish.jersey.message.internal.AbstractMessageReaderWriterProvider;
 import org.glassfish.jersey.message.internal.EntityInputStream;
+import org.glassfish.jersey.message.internal.ReaderWriter;
 
 /**
  * Entity provider (reader and writer) for JSONB.
+ * <p>
+ * {@link Stream Stream&lt;T&gt;}, {@link Iterator Iterator&lt;T&gt;} and {@link Flow.Publisher Flow.Publisher&lt;T&gt;}
+ * entities are written incrementally, element by element, and read lazily, so that large collections are not held in
+ * memory. The elements are written as a JSON array, or as newline delimited JSON values in case of the
+ * {@code application/x-ndjson} media type. The elements of a read publisher are read as they are requested by the
+ * subscriber, in the requesting thread; the elements of a written publisher are requested as they are written.
+ * </p>
  *
  * @author Adam Lindenthal
  */
@@ -54,8 +96,20 @@ public class JsonBindingProvider extends AbstractMessageReaderWriterProvider<Obj
 
     private static final String JSON = "json";
     private static final String PLUS_JSON = "+json";
+    private static final String NDJSON = "x-ndjson";
+    // number of the elements of a written publisher requested in advance
+    private static final int PREFETCH = 16;
+
+    private static final Logger LOGGER = Logger.getLogger(JsonBindingProvider.class.getName());
 
     private final Providers providers;
+    // attached to the entity classes, does not prevent their class loaders from being collected
+    private final ClassValue<Jsonb> jsonbs = new ClassValue<Jsonb>() {
+        @Override
+        protected Jsonb computeValue(Class<?> type) {
+            return resolveJsonb(type);
+        }
+    };
 
     @Inject
     public JsonBindingProvider(Providers providers) {
@@ -81,6 +135,16 @@ public class JsonBindingProvider extends AbstractMessageReaderWriterProvider<Obj
 
         Jsonb jsonb = getJsonb(type);
 
+        final Class<?> rawType = type;
+        if (Stream.class == rawType || Iterator.class == rawType || Flow.Publisher.class == rawType) {
+            final ElementIterator elements = new ElementIterator(jsonb, getElementType(genericType), entityStream,
+                    isNdjson(mediaType), AbstractMessageReaderWriterProvider.getCharset(mediaType));
+            if (Flow.Publisher.class == rawType) {
+                return new IteratorPublisher<>(elements, elements);
+            }
+            return (Iterator.class == rawType) ? elements : elements.stream();
+        }
+
         try {
             return jsonb.fromJson(entityStream, genericType);
         } catch (JsonbException e) {
@@ -100,6 +164,18 @@ public class JsonBindingProvider extends AbstractMessageReaderWriterProvider<Obj
                         MultivaluedMap<String, Object> httpHeaders,
                         OutputStream entityStream) throws IOException, WebApplicationException {
         Jsonb jsonb = getJsonb(type);
+        if (o instanceof Stream || o instanceof Iterator) {
+            writeElements(jsonb, o, getElementType(genericType), isNdjson(mediaType),
+                    AbstractMessageReaderWriterProvider.getCharset(mediaType), entityStream);
+            return;
+        }
+        if (o instanceof Flow.Publisher) {
+            try (PublisherIterator<?> elements = new PublisherIterator<>((Flow.Publisher<?>) o, PREFETCH)) {
+                writeElements(jsonb, elements, getElementType(genericType), isNdjson(mediaType),
+                        AbstractMessageReaderWriterProvider.getCharset(mediaType), entityStream);
+            }
+            return;
+        }
         try {
             entityStream.write(jsonb.toJson(o).getBytes(AbstractMessageReaderWriterProvider.getCharset(mediaType)));
             entityStream.flush();
@@ -108,21 +184,379 @@ public class JsonBindingProvider extends AbstractMessageReaderWriterProvider<Obj
         }
     }
 
+    /**
+     * Write the elements of a {@link Stream} or an {@link Iterator} one by one, either as a JSON array or as newline
+     * delimited JSON values. A written {@code Stream} is closed afterwards.
+     */
+    private static void writeElements(Jsonb jsonb, Object o, Type elementType, boolean ndjson, Charset charset,
+                                      OutputStream entityStream) {
+        final Stream<?> stream = (o instanceof Stream) ? (Stream<?>) o : null;
+        final Iterator<?> elements = (stream != null) ? stream.iterator() : (Iterator<?>) o;
+        final byte[] separator = (ndjson ? "\n" : ",").getBytes(charset);
+        try {
+            if (!ndjson) {
+                entityStream.write("[".getBytes(charset));
+            }
+            boolean first = true;
+            while (elements.hasNext()) {
+                if (!first && !ndjson) {
+                    entityStream.write(separator);
+                }
+                final Object element = elements.next();
+                final String json = (elementType == Object.class) ? jsonb.toJson(element) : jsonb.toJson(element, elementType);
+                entityStream.write(json.getBytes(charset));
+                if (ndjson) {
+                    entityStream.write(separator);
+                }
+                first = false;
+            }
+            if (!ndjson) {
+                entityStream.write("]".getBytes(charset));
+            }
+            entityStream.flush();
+        } catch (IOException e) {
+            throw new ProcessingException(LocalizationMessages.ERROR_JSONB_SERIALIZATION(), e);
+        } finally {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+
+    private static Type getElementType(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            return ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    private static boolean isNdjson(MediaType mediaType) {
+        return NDJSON.equals(mediaType.getSubtype());
+    }
+
+    /**
+     * Get the {@link Jsonb} for the entity type. The {@code ContextResolver<Jsonb>} is asked once per entity type, the
+     * resolved instance is used for all the subsequent entities of that type.
+     */
     private Jsonb getJsonb(Class<?> type) {
+        return jsonbs.get(type);
+    }
+
+    private Jsonb resolveJsonb(Class<?> type) {
         final ContextResolver<Jsonb> contextResolver = providers.getContextResolver(Jsonb.class, MediaType.APPLICATION_JSON_TYPE);
         if (contextResolver != null) {
-            return contextResolver.getContext(type);
-        } else {
-            return JsonbSingleton.INSTANCE.getInstance();
+            final Jsonb jsonb = contextResolver.getContext(type);
+            if (jsonb != null) {
+                return jsonb;
+            }
+        }
+        return JsonbSingleton.INSTANCE.getInstance();
+    }
+
+    /**
+     * Resolve the {@link Jsonb} for the given entity type and let it build the mapping of the entity class (or of the
+     * element class of a collection, array, {@code Stream} or {@code Iterator} entity) ahead of the first request, by
+     * deserializing an empty JSON object. The mapped class is therefore instantiated once. Classes that cannot be
+     * deserialized from an empty object, i.e. classes without an accessible no-argument constructor or with a
+     * {@link JsonbCreator}, are skipped.
+     *
+     * @param type        entity type.
+     * @param genericType generic entity type.
+     */
+    void warmUp(Class<?> type, Type genericType) {
+        final Jsonb jsonb = getJsonb(type);
+        final Class<?> mapped = getMappedClass(type, genericType);
+        if (mapped == null) {
+            return;
+        }
+        try {
+            jsonb.fromJson("{}", mapped);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.WARNING_JSONB_WARM_UP_FAILED(mapped.getName()), e);
+        }
+    }
+
+    /**
+     * Get the class the mapping of which is built by Yasson for the given entity type, or {@code null} if the class is
+     * not a bean class.
+     */
+    private static Class<?> getMappedClass(Class<?> type, Type genericType) {
+        Class<?> mapped = type;
+        if (type.isArray()) {
+            mapped = type.getComponentType();
+        } else if (Collection.class.isAssignableFrom(type) || Stream.class.isAssignableFrom(type)
+                || Iterator.class.isAssignableFrom(type) || Flow.Publisher.class.isAssignableFrom(type)
+                || Optional.class == type) {
+            final Type elementType = getElementType(genericType);
+            mapped = (elementType instanceof Class) ? (Class<?>) elementType : null;
+        }
+        if (mapped == null || mapped.isPrimitive() || mapped.isArray() || mapped.isEnum() || mapped.isInterface()
+                || Modifier.isAbstract(mapped.getModifiers()) || mapped.getName().startsWith("java.")
+                || mapped.getName().startsWith("javax.") || !hasDefaultConstructor(mapped)) {
+            return null;
+        }
+        return mapped;
+    }
+
+    private static boolean hasDefaultConstructor(Class<?> type) {
+        try {
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                if (constructor.isAnnotationPresent(JsonbCreator.class)) {
+                    return false;
+                }
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(JsonbCreator.class)) {
+                    return false;
+                }
+            }
+            // Yasson does not make the constructors accessible, only the public or protected ones of public classes are used
+            final int modifiers = type.getDeclaredConstructor().getModifiers();
+            return Modifier.isPublic(type.getModifiers()) && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers));
+        } catch (NoSuchMethodException | SecurityException e) {
+            return false;
         }
     }
 
     /**
-     * @return true for all media types of the pattern *&#47;json and
-     * *&#47;*+json.
+     * @return true for all media types of the pattern *&#47;json, *&#47;*+json and
+     * *&#47;x-ndjson.
      */
     private static boolean supportsMediaType(final MediaType mediaType) {
-        return mediaType.getSubtype().equals(JSON) || mediaType.getSubtype().endsWith(PLUS_JSON);
+        return mediaType.getSubtype().equals(JSON) || mediaType.getSubtype().endsWith(PLUS_JSON) || isNdjson(mediaType);
+    }
+
+    /**
+     * Iterator deserializing the elements of a JSON array, or the lines of a newline delimited JSON entity, one by one as
+     * they are requested.
+     * <p>
+     * Yasson deserializes the array elements right from the entity parser. Other JSON-B implementations cannot continue
+     * the parsing of an entity stream, so each element is parsed to a {@code JsonValue} first and its text is parsed
+     * again by the {@code Jsonb}.
+     * </p>
+     */
+    private static final class ElementIterator implements Iterator<Object>, Closeable {
+
+        private final Jsonb jsonb;
+        private final Type elementType;
+        private final PushbackParser parser;
+        private final BufferedReader reader;
+        private String line;
+        private boolean ready;
+        private boolean done;
+
+        private ElementIterator(Jsonb jsonb, Type elementType, InputStream entityStream, boolean ndjson, Charset charset) {
+            this.jsonb = jsonb;
+            this.elementType = elementType;
+            if (ndjson) {
+                this.parser = null;
+                this.reader = new BufferedReader(new InputStreamReader(entityStream, charset));
+            } else {
+                this.reader = null;
+                this.parser = new PushbackParser(Json.createParser(entityStream));
+                try {
+                    if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                        throw new ProcessingException(LocalizationMessages.ERROR_JSONB_DESERIALIZATION());
+                    }
+                } catch (JsonException e) {
+                    throw new ProcessingException(LocalizationMessages.ERROR_JSONB_DESERIALIZATION(), e);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready && !done) {
+                try {
+                    done = (parser != null) ? !nextElement() : (line = nextLine()) == null;
+                } catch (IOException | JsonException e) {
+                    close();
+                    throw new ProcessingException(LocalizationMessages.ERROR_JSONB_DESERIALIZATION(), e);
+                }
+                ready = !done;
+            }
+            return !done;
+        }
+
+        private boolean nextElement() {
+            final JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.END_ARRAY) {
+                return false;
+            }
+            // the element is deserialized starting with its first event
+            parser.pushBack(event);
+            return true;
+        }
+
+        private String nextLine() throws IOException {
+            String line = reader.readLine();
+            while (line != null && line.trim().isEmpty()) {
+                line = reader.readLine();
+            }
+            return line;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            try {
+                if (parser == null) {
+                    return jsonb.fromJson(line, elementType);
+                }
+                if (YassonElements.isYasson(jsonb)) {
+                    return YassonElements.fromJson(jsonb, parser, elementType);
+                }
+                parser.next();
+                return jsonb.fromJson(parser.getValue().toString(), elementType);
+            } catch (JsonbException | JsonException e) {
+                close();
+                throw new ProcessingException(LocalizationMessages.ERROR_JSONB_DESERIALIZATION(), e);
+            }
+        }
+
+        private Stream<Object> stream() {
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                    .onClose(this::close);
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            if (parser != null) {
+                parser.close();
+            } else {
+                ReaderWriter.safelyClose(reader);
+            }
+        }
+    }
+
+    /**
+     * Deserialization of the elements by Yasson, the only Yasson classes used are referenced from here, so that the
+     * provider works with any other JSON-B implementation.
+     */
+    private static final class YassonElements {
+
+        private static final Class<?> YASSON_JSONB = AccessController.doPrivileged(
+                ReflectionHelper.classForNamePA("org.eclipse.yasson.YassonJsonb", JsonBindingProvider.class.getClassLoader()));
+
+        private static boolean isYasson(Jsonb jsonb) {
+            return YASSON_JSONB != null && YASSON_JSONB.isInstance(jsonb);
+        }
+
+        private static Object fromJson(Jsonb jsonb, JsonParser parser, Type type) {
+            return ((YassonJsonb) jsonb).fromJson(parser, type);
+        }
+    }
+
+    /**
+     * Parser returning an event pushed back (the first event of an array element) before the events of the underlying
+     * parser.
+     */
+    private static final class PushbackParser implements JsonParser {
+
+        private final JsonParser parser;
+        private Event pushedBack;
+
+        private PushbackParser(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        private void pushBack(Event event) {
+            pushedBack = event;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pushedBack != null || parser.hasNext();
+        }
+
+        @Override
+        public Event next() {
+            final Event event = pushedBack;
+            if (event != null) {
+                pushedBack = null;
+                return event;
+            }
+            return parser.next();
+        }
+
+        @Override
+        public String getString() {
+            return parser.getString();
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            return parser.isIntegralNumber();
+        }
+
+        @Override
+        public int getInt() {
+            return parser.getInt();
+        }
+
+        @Override
+        public long getLong() {
+            return parser.getLong();
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            return parser.getBigDecimal();
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return parser.getLocation();
+        }
+
+        @Override
+        public JsonObject getObject() {
+            return parser.getObject();
+        }
+
+        @Override
+        public JsonValue getValue() {
+            return parser.getValue();
+        }
+
+        @Override
+        public JsonArray getArray() {
+            return parser.getArray();
+        }
+
+        @Override
+        public Stream<JsonValue> getArrayStream() {
+            return parser.getArrayStream();
+        }
+
+        @Override
+        public Stream<Map.Entry<String, JsonValue>> getObjectStream() {
+            return parser.getObjectStream();
+        }
+
+        @Override
+        public Stream<JsonValue> getValueStream() {
+            return parser.getValueStream();
+        }
+
+        @Override
+        public void skipArray() {
+            parser.skipArray();
+        }
+
+        @Override
+        public void skipObject() {
+            parser.skipObject();
+        }
+
+        @Override
+        public void close() {
+            parser.close();
+        }
     }
 
     private enum JsonbSingleton {
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jsonb.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import javax.inject.Inject;
+
+import org.glassfish.jersey.server.model.internal.EntityProviderWarmUpListener;
+
+/**
+ * Server-side listener that, once the application is initialized, lets the {@link JsonBindingProvider} build the JSON-B
+ * mappings of the entity types of the resource methods it reads or writes. Registered by
+ * {@link org.glassfish.jersey.jsonb.JsonBindingFeature} if {@link org.glassfish.jersey.CommonProperties#JSON_BINDING_WARM_UP}
+ * is enabled.
+ *
+ * @since 2.39
+ */
+public class JsonBindingResourceModelListener extends EntityProviderWarmUpListener {
+
+    @Inject
+    public JsonBindingResourceModelListener(final Providers providers) {
+        super(providers);
+    }
+
+    @Override
+    protected void prepareWriting(final MessageBodyWriter<?> writer, final Class<?> rawType, final Type type,
+                                  final Annotation[] annotations, final MediaType mediaType) {
+        if (writer instanceof JsonBindingProvider) {
+            ((JsonBindingProvider) writer).warmUp(rawType, type);
+        }
+    }
+
+    @Override
+    protected void prepareReading(final MessageBodyReader<?> reader, final Class<?> rawType, final Type type,
+                                  final Annotation[] annotations, final MediaType mediaType) {
+        if (reader instanceof JsonBindingProvider) {
+            ((JsonBindingProvider) reader).warmUp(rawType, type);
+        }
+    }
+}
@@ -19,15 +19,32 @@ package org.glassfish.jersey.jsonb.internal;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
@@ -38,8 +55,19 @@ import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Providers;
 
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.annotation.JsonbCreator;
+import javax.json.bind.annotation.JsonbProperty;
+
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.util.IteratorPublisher;
+
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit Test for {@link JsonBindingProvider}.
@@ -48,6 +76,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
  */
 public final class JsonBindingProviderTest {
 
+    private static final MediaType NDJSON_TYPE = new MediaType("application", "x-ndjson");
+    private static final Type ITEM_STREAM = new GenericType<Stream<Item>>() { }.getType();
+    private static final Type ITEM_ITERATOR = new GenericType<Iterator<Item>>() { }.getType();
+    private static final Type ITEM_PUBLISHER = new GenericType<Flow.Publisher<Item>>() { }.getType();
+
     @Test
     public final void shouldThrowNoContentException() throws IOException {
         assertThrows(NoContentException.class, () -> {
@@ -64,10 +97,323 @@ public final class JsonBindingProviderTest {
         });
     }
 
+    @Test
+    public final void shouldWriteStreamAsArray() throws IOException {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Stream<Item> items = IntStream.range(0, 3).mapToObj(Item::new).onClose(() -> closed.set(true));
+
+        assertEquals("[{\"value\":0},{\"value\":1},{\"value\":2}]", write(items, Stream.class, ITEM_STREAM,
+                APPLICATION_JSON_TYPE));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public final void shouldWriteIteratorAsNdjson() throws IOException {
+        final Iterator<Item> items = Arrays.asList(new Item(0), new Item(1)).iterator();
+
+        assertEquals("{\"value\":0}\n{\"value\":1}\n", write(items, Iterator.class, ITEM_ITERATOR, NDJSON_TYPE));
+    }
+
+    @Test
+    public final void shouldReadStreamLazily() throws IOException {
+        final List<Item> read = new ArrayList<>();
+        try (Stream<Item> items = read(Stream.class, ITEM_STREAM, APPLICATION_JSON_TYPE,
+                "[{\"value\":0},{\"value\":1},{\"value\":2},]")) {
+            // the trailing comma is only detected once the last element is requested
+            final Iterator<Item> iterator = items.iterator();
+            read.add(iterator.next());
+            read.add(iterator.next());
+            read.add(iterator.next());
+            assertThrows(ProcessingException.class, iterator::hasNext);
+        }
+        assertEquals(2, read.get(2).value);
+    }
+
+    @Test
+    public final void shouldReadArrayElementsFromEntityParser() throws IOException {
+        final Iterator<Object> elements = read(Iterator.class, Iterator.class, APPLICATION_JSON_TYPE,
+                "[{\"value\":1,\"values\":[2,{}]},[3],4,\"five\",true]");
+
+        assertEquals(Arrays.asList(Collections.singletonMap("value", 1), Collections.singletonList(3), 4, "five", true),
+                normalize(elements));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public final void shouldReadArrayElementsByOtherJsonb() throws IOException {
+        // not a Yasson Jsonb, the elements are parsed again from their text
+        final Jsonb yasson = JsonbBuilder.create();
+        final Jsonb jsonb = (Jsonb) Proxy.newProxyInstance(Jsonb.class.getClassLoader(), new Class<?>[] {Jsonb.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(yasson, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        final Iterator<Item> items = (Iterator<Item>) new JsonBindingProvider(new JsonbProviders(jsonb)).readFrom(
+                (Class) Iterator.class, ITEM_ITERATOR, new Annotation[0], APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(),
+                new ByteArrayInputStream("[{\"value\":1},{\"value\":2}]".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, items.next().value);
+        assertEquals(2, items.next().value);
+        assertFalse(items.hasNext());
+    }
+
+    /**
+     * Convert the deserialized elements to comparable values, the nested values of the objects are dropped except
+     * the {@code value} number.
+     */
+    private static List<Object> normalize(final Iterator<Object> elements) {
+        final List<Object> normalized = new ArrayList<>();
+        elements.forEachRemaining(element -> {
+            if (element instanceof Map) {
+                element = Collections.singletonMap("value", ((Number) ((Map<?, ?>) element).get("value")).intValue());
+            } else if (element instanceof List) {
+                element = Collections.singletonList(((Number) ((List<?>) element).get(0)).intValue());
+            } else if (element instanceof Number) {
+                element = ((Number) element).intValue();
+            }
+            normalized.add(element);
+        });
+        return normalized;
+    }
+
+    @Test
+    public final void shouldReadNdjsonIterator() throws IOException {
+        final Iterator<Item> items = read(Iterator.class, ITEM_ITERATOR, NDJSON_TYPE, "{\"value\":1}\n\n{\"value\":2}\n");
+
+        assertEquals(1, items.next().value);
+        assertEquals(2, items.next().value);
+        assertFalse(items.hasNext());
+    }
+
+    @Test
+    public final void shouldWritePublisherAsArray() throws IOException {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Flow.Publisher<Item> items = new IteratorPublisher<>(Arrays.asList(new Item(0), new Item(1)).iterator(),
+                () -> closed.set(true));
+
+        assertEquals("[{\"value\":0},{\"value\":1}]", write(items, Flow.Publisher.class, ITEM_PUBLISHER,
+                APPLICATION_JSON_TYPE));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public final void shouldReadPublisherOnDemand() throws IOException {
+        final Flow.Publisher<Item> items = read(Flow.Publisher.class, ITEM_PUBLISHER, NDJSON_TYPE,
+                "{\"value\":1}\n{\"value\":2}\n");
+        final List<Object> signals = new ArrayList<>();
+        final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        items.subscribe(new Flow.Subscriber<Item>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription s) {
+                subscription.set(s);
+            }
+
+            @Override
+            public void onNext(final Item item) {
+                signals.add(item.value);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                signals.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+            }
+        });
+
+        assertTrue(signals.isEmpty());
+        subscription.get().request(1);
+        assertEquals(Collections.singletonList(1), signals);
+        subscription.get().request(2);
+        assertEquals(Arrays.asList(1, 2, "complete"), signals);
+    }
+
+    @Test
+    public final void shouldResolveJsonbOncePerType() throws IOException {
+        final CountingProviders providers = new CountingProviders();
+        final JsonBindingProvider provider = new JsonBindingProvider(providers);
+
+        for (int i = 0; i < 3; i++) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            provider.writeTo(new Item(i), Item.class, Item.class, new Annotation[0], APPLICATION_JSON_TYPE,
+                    new MultivaluedHashMap<>(), out);
+            final Item item = (Item) provider.readFrom((Class) Item.class, Item.class, new Annotation[0], APPLICATION_JSON_TYPE,
+                    new MultivaluedHashMap<>(), new ByteArrayInputStream(out.toByteArray()));
+            assertEquals(i, item.value);
+        }
+        assertEquals(1, providers.resolved.size());
+
+        provider.writeTo(new Foo(), Foo.class, Foo.class, new Annotation[0], APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<>(), new ByteArrayOutputStream());
+        assertEquals(Arrays.asList(Item.class, Foo.class), providers.resolved);
+    }
+
+    @Test
+    public final void shouldWarmUp() throws IOException {
+        final CountingProviders providers = new CountingProviders();
+        final JsonBindingProvider provider = new JsonBindingProvider(providers);
+
+        final List<LogRecord> logged = new ArrayList<>();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final Logger yassonLogger = Logger.getLogger("org.eclipse.yasson");
+        yassonLogger.addHandler(handler);
+        try {
+            provider.warmUp(List.class, new GenericType<List<Item>>() { }.getType());
+            provider.warmUp(Item[].class, Item[].class);
+            // no default constructor, skipped
+            provider.warmUp(Bar.class, Bar.class);
+            // created by the JSON-B creator only, skipped
+            provider.warmUp(Baz.class, Baz.class);
+            provider.warmUp(String.class, String.class);
+        } finally {
+            yassonLogger.removeHandler(handler);
+        }
+        assertEquals(Arrays.asList(List.class, Item[].class, Bar.class, Baz.class, String.class), providers.resolved);
+        assertEquals(0, Baz.CREATED.get());
+        assertTrue(logged.isEmpty(), () -> logged.get(0).getMessage());
+
+        assertEquals("[{\"value\":1}]", write(Collections.singletonList(new Item(1)), List.class,
+                new GenericType<List<Item>>() { }.getType(), APPLICATION_JSON_TYPE));
+    }
+
+    private static String write(final Object entity, final Class<?> type, final Type genericType, final MediaType mediaType)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonBindingProvider(new EmptyProviders()).writeTo(entity, type, genericType, new Annotation[0], mediaType,
+                new MultivaluedHashMap<>(), out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T read(final Class<?> type, final Type genericType, final MediaType mediaType, final String entity)
+            throws IOException {
+        return (T) new JsonBindingProvider(new EmptyProviders()).readFrom((Class<Object>) type, genericType, new Annotation[0],
+                mediaType, new MultivaluedHashMap<>(), new ByteArrayInputStream(entity.getBytes(StandardCharsets.UTF_8)));
+    }
+
     private static final class Foo {
         // no members
     }
 
+    public static final class Item {
+        public int value;
+
+        public Item() {
+        }
+
+        Item(final int value) {
+            this.value = value;
+        }
+    }
+
+    public static final class Bar {
+        public final int value;
+
+        Bar(final int value) {
+            this.value = value;
+        }
+    }
+
+    public static final class Baz {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        public final int value;
+
+        @JsonbCreator
+        public Baz(@JsonbProperty("value") final int value) {
+            CREATED.incrementAndGet();
+            this.value = value;
+        }
+    }
+
+    /**
+     * Providers with a {@code ContextResolver<Jsonb>} recording the types it is asked for.
+     */
+    private static final class CountingProviders implements Providers {
+
+        private final List<Class<?>> resolved = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public <T> MessageBodyReader<T> getMessageBodyReader(final Class<T> type, final Type genericType,
+                final Annotation[] annotations, final MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T> MessageBodyWriter<T> getMessageBodyWriter(final Class<T> type, final Type genericType,
+                final Annotation[] annotations, final MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(final Class<T> type) {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ContextResolver<T> getContextResolver(final Class<T> contextType, final MediaType mediaType) {
+            return (ContextResolver<T>) (ContextResolver<Jsonb>) type -> {
+                resolved.add(type);
+                return JsonbBuilder.create();
+            };
+        }
+    }
+
+    /**
+     * Providers with a {@code ContextResolver<Jsonb>} providing the given instance.
+     */
+    private static final class JsonbProviders implements Providers {
+
+        private final Jsonb jsonb;
+
+        private JsonbProviders(final Jsonb jsonb) {
+            this.jsonb = jsonb;
+        }
+
+        @Override
+        public <T> MessageBodyReader<T> getMessageBodyReader(final Class<T> type, final Type genericType,
+                final Annotation[] annotations, final MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T> MessageBodyWriter<T> getMessageBodyWriter(final Class<T> type, final Type genericType,
+                final Annotation[] annotations, final MediaType mediaType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(final Class<T> type) {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ContextResolver<T> getContextResolver(final Class<T> contextType, final MediaType mediaType) {
+            return (ContextResolver<T>) (ContextResolver<Jsonb>) type -> jsonb;
+        }
+    }
+
     private static final class EmptyProviders implements Providers {
 
         @Override
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jsonb.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.jsonb.JsonBindingFeature;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of building the JSON-B mappings of the resource model entity types when the application is initialized.
+ */
+public class JsonBindingWarmUpTest {
+
+    public static class Item {
+        public int value;
+    }
+
+    public static class Order {
+        public String name;
+    }
+
+    @Path("items")
+    public static class ItemResource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        public List<Item> list() {
+            return Collections.emptyList();
+        }
+
+        @POST
+        @Consumes(MediaType.APPLICATION_JSON)
+        @Produces(MediaType.TEXT_PLAIN)
+        public String post(final Order order) {
+            return order.name;
+        }
+    }
+
+    public static class RecordingResolver implements ContextResolver<Jsonb> {
+
+        private final List<Class<?>> resolved = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Jsonb getContext(final Class<?> type) {
+            resolved.add(type);
+            return JsonbBuilder.create();
+        }
+    }
+
+    private static RecordingResolver initialize(final boolean warmUp) {
+        final RecordingResolver resolver = new RecordingResolver();
+        new ApplicationHandler(new ResourceConfig(ItemResource.class)
+                .register(JsonBindingFeature.class)
+                .register(resolver)
+                .property(CommonProperties.FEATURE_AUTO_DISCOVERY_DISABLE, true)
+                .property(CommonProperties.JSON_BINDING_WARM_UP, warmUp));
+        return resolver;
+    }
+
+    @Test
+    public void testWarmUp() {
+        final RecordingResolver resolver = initialize(true);
+        assertEquals(2, resolver.resolved.size(), resolver.resolved.toString());
+        assertTrue(resolver.resolved.contains(List.class));
+        assertTrue(resolver.resolved.contains(Order.class));
+    }
+
+    @Test
+    public void testWarmUpDisabledByDefault() {
+        assertTrue(initialize(false).resolved.isEmpty());
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.jackson;
 
+import javax.ws.rs.RuntimeType;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
@@ -28,6 +29,7 @@ import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.jackson.internal.DefaultJacksonJaxbJsonProvider;
 import org.glassfish.jersey.jackson.internal.FilteringJacksonJaxbJsonProvider;
 import org.glassfish.jersey.jackson.internal.JacksonFilteringFeature;
+import org.glassfish.jersey.jackson.internal.JacksonResourceModelListener;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.base.JsonMappingExceptionMapper;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.base.JsonParseExceptionMapper;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.json.JacksonJaxbJsonProvider;
@@ -106,6 +108,11 @@ public class JacksonFeature implements Feature {
             } else {
                 context.register(DefaultJacksonJaxbJsonProvider.class, MessageBodyReader.class, MessageBodyWriter.class);
             }
+
+            if (config.getRuntimeType() == RuntimeType.SERVER) {
+                // resolve the provider's read and write plans for the resource method entity types ahead of the first request
+                context.register(JacksonResourceModelListener.class);
+            }
         }
 
         return true;
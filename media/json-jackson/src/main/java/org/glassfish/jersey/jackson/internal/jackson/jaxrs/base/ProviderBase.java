@@ -4,14 +4,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -21,6 +31,9 @@ import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.util.IteratorPublisher;
+import org.glassfish.jersey.internal.util.PublisherIterator;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.AnnotationBundleKey;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.Annotations;
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.EndpointConfigBase;
@@ -43,6 +56,7 @@ import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 
@@ -66,6 +80,20 @@ public abstract class ProviderBase<
 
     private final static String NO_CONTENT_MESSAGE = "No content (empty input stream)";
 
+    /**
+     * Sub-type of the newline delimited JSON media type ("application/x-ndjson"); {@link Stream},
+     * {@link Iterator} and {@link Flow.Publisher} values are written one JSON value per line instead of a JSON
+     * array for this media type.
+     *
+     * @since 2.39
+     */
+    protected final static String NDJSON_SUBTYPE = "x-ndjson";
+
+    /**
+     * Number of the elements of a written {@link Flow.Publisher} requested in advance.
+     */
+    private final static int PUBLISHER_PREFETCH = 16;
+
     /**
      * Looks like we need to worry about accidental
      *   data binding for types we shouldn't be handling. This is
@@ -195,6 +223,39 @@ public abstract class ProviderBase<
     protected final LRUMap<AnnotationBundleKey, EP_CONFIG> _writers
             = new LRUMap<AnnotationBundleKey, EP_CONFIG>(16, 120);
 
+    /**
+     * Maximum number of entity types for which read (or write) plans are cached.
+     *
+     * @since 2.39
+     */
+    protected final static int MAX_PLANNED_TYPES = 1000;
+
+    /**
+     * Maximum number of read (or write) plans cached for a single entity type,
+     * that is, distinct combinations of generic type, annotations and media type.
+     *
+     * @since 2.39
+     */
+    protected final static int MAX_PLANS_PER_TYPE = 16;
+
+    /**
+     * Cache of fully resolved {@link ReadPlan}s per entity type; only used if
+     * {@link JaxRSFeature#CACHE_ENDPOINT_READERS} is enabled.
+     *
+     * @since 2.39
+     */
+    protected final ConcurrentHashMap<Class<?>, EntityPlan<?>[]> _readPlans
+            = new ConcurrentHashMap<Class<?>, EntityPlan<?>[]>();
+
+    /**
+     * Cache of fully resolved {@link WritePlan}s per entity type; only used if
+     * {@link JaxRSFeature#CACHE_ENDPOINT_WRITERS} is enabled.
+     *
+     * @since 2.39
+     */
+    protected final ConcurrentHashMap<Class<?>, EntityPlan<?>[]> _writePlans
+            = new ConcurrentHashMap<Class<?>, EntityPlan<?>[]>();
+
     /*
     /**********************************************************
     /* Life-cycle
@@ -430,6 +491,160 @@ public abstract class ProviderBase<
         return _this();
     }
 
+    /*
+    /**********************************************************
+    /* Entity plans
+    /**********************************************************
+     */
+
+    /**
+     * Method that can be called to resolve and cache the {@link WritePlan} (endpoint
+     * configuration and the {@link ObjectWriter} with root type already applied) for writing
+     * entities of given type ahead of time, for example when the resource model is built,
+     * so that the first response does not need to resolve it.
+     * Does nothing if {@link JaxRSFeature#CACHE_ENDPOINT_WRITERS} is disabled.
+     *
+     * @since 2.39
+     */
+    public void prepareWriting(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+    {
+        if (!isEnabled(JaxRSFeature.CACHE_ENDPOINT_WRITERS)) {
+            return;
+        }
+        WritePlan<EP_CONFIG> plan = _writePlanFor(null, type, genericType, annotations, mediaType, null);
+        // Actual classes of containers are only known when writing (and get their own plans),
+        // but serializers of the contents are shared through the mapper: let's resolve them now
+        JavaType contentType = plan.getElementType();
+        if (contentType == null && genericType != null) {
+            contentType = plan.getEndpoint().getWriter().getTypeFactory().constructType(genericType);
+        }
+        while (contentType != null && contentType.isContainerType()) {
+            contentType = contentType.getContentType();
+        }
+        if (contentType != null && !contentType.isJavaLangObject()) {
+            plan.getEndpoint().getWriter().forType(contentType);
+        }
+    }
+
+    /**
+     * Method that can be called to resolve and cache the {@link ReadPlan} (endpoint
+     * configuration and the {@link ObjectReader} for the resolved type) for reading
+     * entities of given type ahead of time, for example when the resource model is built,
+     * so that the first request does not need to resolve it.
+     * Does nothing if {@link JaxRSFeature#CACHE_ENDPOINT_READERS} is disabled.
+     *
+     * @since 2.39
+     */
+    @SuppressWarnings("unchecked")
+    public void prepareReading(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+    {
+        if (isEnabled(JaxRSFeature.CACHE_ENDPOINT_READERS)) {
+            _readPlanFor((Class<Object>) type, genericType, annotations, mediaType, null);
+        }
+    }
+
+    /**
+     * Base class for the state resolved once per combination of entity type, generic type,
+     * annotations and media type. Like the cached endpoint configurations, plans are not
+     * invalidated, so provider has to be fully configured before it is first used.
+     *
+     * @since 2.39
+     */
+    protected abstract static class EntityPlan<EP_CONFIG>
+    {
+        protected final Type _genericType;
+        protected final Annotation[] _annotations;
+        protected final MediaType _mediaType;
+        protected final EP_CONFIG _endpoint;
+
+        protected EntityPlan(Type genericType, Annotation[] annotations, MediaType mediaType, EP_CONFIG endpoint)
+        {
+            _genericType = genericType;
+            _annotations = (annotations == null) ? null : annotations.clone();
+            _mediaType = mediaType;
+            _endpoint = endpoint;
+        }
+
+        public EP_CONFIG getEndpoint() {
+            return _endpoint;
+        }
+
+        /**
+         * Check whether the plan applies to given generic type, annotations and media type;
+         * annotations are compared by content, in the same order.
+         */
+        public boolean matches(Type genericType, Annotation[] annotations, MediaType mediaType)
+        {
+            return Objects.equals(_genericType, genericType)
+                    && (_annotations == annotations || Arrays.equals(_annotations, annotations))
+                    && Objects.equals(_mediaType, mediaType);
+        }
+    }
+
+    /**
+     * Resolved state used for writing entities: endpoint configuration, writer with the
+     * root type forced (if any) and the element type of {@link Stream}, {@link Iterator} and
+     * {@link Flow.Publisher} entities.
+     *
+     * @since 2.39
+     */
+    protected final static class WritePlan<EP_CONFIG> extends EntityPlan<EP_CONFIG>
+    {
+        protected final ObjectWriter _rootWriter;
+        protected final JavaType _elementType;
+
+        protected WritePlan(Type genericType, Annotation[] annotations, MediaType mediaType, EP_CONFIG endpoint,
+                ObjectWriter rootWriter, JavaType elementType)
+        {
+            super(genericType, annotations, mediaType, endpoint);
+            _rootWriter = rootWriter;
+            _elementType = elementType;
+        }
+
+        /**
+         * Writer to use for non-null values; same as the endpoint writer if no root type is forced.
+         */
+        public ObjectWriter getRootWriter() {
+            return _rootWriter;
+        }
+
+        /**
+         * Element type of {@link Stream}, {@link Iterator} and {@link Flow.Publisher} entities, if known;
+         * null otherwise.
+         */
+        public JavaType getElementType() {
+            return _elementType;
+        }
+    }
+
+    /**
+     * Resolved state used for reading entities: endpoint configuration, resolved entity type and
+     * reader for the resolved type (or the value type for multi-valued entities).
+     *
+     * @since 2.39
+     */
+    protected final static class ReadPlan<EP_CONFIG> extends EntityPlan<EP_CONFIG>
+    {
+        protected final JavaType _resolvedType;
+        protected final ObjectReader _reader;
+
+        protected ReadPlan(Type genericType, Annotation[] annotations, MediaType mediaType, EP_CONFIG endpoint,
+                JavaType resolvedType, ObjectReader reader)
+        {
+            super(genericType, annotations, mediaType, endpoint);
+            _resolvedType = resolvedType;
+            _reader = reader;
+        }
+
+        public JavaType getResolvedType() {
+            return _resolvedType;
+        }
+
+        public ObjectReader getReader() {
+            return _reader;
+        }
+    }
+
     /*
     /**********************************************************
     /* Abstract methods sub-classes need to implement
@@ -582,8 +797,9 @@ public abstract class ProviderBase<
             MultivaluedMap<String,Object> httpHeaders, OutputStream entityStream) 
         throws IOException
     {
-        EP_CONFIG endpoint = _endpointForWriting(value, type, genericType, annotations,
+        WritePlan<EP_CONFIG> plan = _writePlanFor(value, type, genericType, annotations,
                 mediaType, httpHeaders);
+        EP_CONFIG endpoint = plan.getEndpoint();
 
         // Any headers we should write?
         _modifyHeaders(value, type, genericType, annotations, httpHeaders, endpoint);
@@ -600,39 +816,21 @@ public abstract class ProviderBase<
             if (writer.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
                 g.useDefaultPrettyPrinter();
             }
-            JavaType rootType = null;
-
-            if ((genericType != null) && (value != null)) {
-                // 10-Jan-2011, tatu: as per [JACKSON-456], it's not safe to just force root
-                //    type since it prevents polymorphic type serialization. Since we really
-                //    just need this for generics, let's only use generic type if it's truly generic.
-
-                if (!(genericType instanceof Class<?>)) { // generic types are other impls of 'java.lang.reflect.Type'
-                    // This is still not exactly right; should root type be further
-                    // specialized with 'value.getClass()'? Let's see how well this works before
-                    // trying to come up with more complete solution.
-
-                    // 18-Mar-2015, tatu: As per [#60], there is now a problem with non-polymorphic lists,
-                    //    since forcing of type will then force use of content serializer, which is
-                    //    generally not the intent. Fix may require addition of functionality in databind
-
-                    TypeFactory typeFactory = writer.getTypeFactory();
-                    JavaType baseType = typeFactory.constructType(genericType);
-                    rootType = typeFactory.constructSpecializedType(baseType, type);
-                    /* 26-Feb-2011, tatu: To help with [JACKSON-518], we better recognize cases where
-                     *    type degenerates back into "Object.class" (as is the case with plain TypeVariable,
-                     *    for example), and not use that.
-                     */
-                    if (rootType.getRawClass() == Object.class) {
-                        rootType = null;
-                    }
+            // Streams, iterators and publishers are written incrementally, element by element
+            if (value instanceof Stream || value instanceof Iterator || value instanceof Flow.Publisher) {
+                ObjectWriterModifier mod = ObjectWriterInjector.getAndClear();
+                if (mod != null) {
+                    writer = mod.modify(endpoint, httpHeaders, value, writer, g);
                 }
+                _writeValues(writer, g, value, plan.getElementType(),
+                        mediaType != null && NDJSON_SUBTYPE.equalsIgnoreCase(mediaType.getSubtype()));
+                ok = true;
+                return;
             }
-
             // Most of the configuration now handled through EndpointConfig, ObjectWriter
-            // but we may need to force root type:
-            if (rootType != null) {
-                writer = writer.forType(rootType);
+            // but we may need to force root type (resolved once per plan)
+            if (value != null) {
+                writer = plan.getRootWriter();
             }
             value = endpoint.modifyBeforeWrite(value);
 
@@ -655,6 +853,79 @@ public abstract class ProviderBase<
         }
     }
 
+    /**
+     * Overridable helper method called to write the elements of a {@link Stream}, an {@link Iterator}
+     * or a {@link Flow.Publisher} value one by one, either as a JSON array or as newline delimited JSON
+     * values. The generator is not flushed after each element; a written {@code Stream} is closed
+     * afterwards. The elements of a {@code Flow.Publisher} are requested as they are written, the
+     * subscription is cancelled if writing fails.
+     *
+     * @since 2.39
+     */
+    protected void _writeValues(ObjectWriter writer, JsonGenerator g, Object value, JavaType elementType,
+            boolean lineDelimited)
+        throws IOException
+    {
+        writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (elementType != null) {
+            writer = writer.forType(elementType);
+        }
+        final Stream<?> stream = (value instanceof Stream) ? (Stream<?>) value : null;
+        final PublisherIterator<?> published = (value instanceof Flow.Publisher)
+                ? new PublisherIterator<>((Flow.Publisher<?>) value, PUBLISHER_PREFETCH) : null;
+        final Iterator<?> it = (stream != null) ? stream.iterator()
+                : (published != null) ? published : (Iterator<?>) value;
+        try {
+            if (lineDelimited) {
+                boolean empty = true;
+                try (SequenceWriter sw = writer.withRootValueSeparator("\n").writeValues(g)) {
+                    while (it.hasNext()) {
+                        sw.write(it.next());
+                        empty = false;
+                    }
+                }
+                if (!empty) {
+                    g.writeRaw('\n');
+                }
+            } else {
+                try (SequenceWriter sw = writer.writeValuesAsArray(g)) {
+                    while (it.hasNext()) {
+                        sw.write(it.next());
+                    }
+                }
+            }
+        } finally {
+            if (stream != null) {
+                stream.close();
+            }
+            if (published != null) {
+                published.close();
+            }
+        }
+    }
+
+    /**
+     * Helper method for finding the element type of a {@link Stream}, an {@link Iterator} or
+     * a {@link Flow.Publisher} entity type; returns null if the element type is not known.
+     *
+     * @since 2.39
+     */
+    protected JavaType _findElementType(TypeFactory typeFactory, Class<?> type, Type genericType)
+    {
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+        final JavaType resolvedType = typeFactory.constructType(genericType);
+        final Class<?> rawType = resolvedType.getRawClass();
+        final JavaType[] contents = typeFactory.findTypeParameters(resolvedType,
+                Stream.class.isAssignableFrom(rawType) ? Stream.class
+                        : Flow.Publisher.class.isAssignableFrom(rawType) ? Flow.Publisher.class : Iterator.class);
+        if (contents == null || contents.length == 0 || contents[0].getRawClass() == Object.class) {
+            return null;
+        }
+        return contents[0];
+    }
+
     /**
      * Helper method to use for determining desired output encoding.
      * For now, will always just use UTF-8...
@@ -720,6 +991,76 @@ public abstract class ProviderBase<
         return endpoint;
     }
 
+    /**
+     * Helper method that returns the {@link WritePlan} for given entity type, generic type,
+     * annotations and media type: cached one, if {@link JaxRSFeature#CACHE_ENDPOINT_WRITERS}
+     * is enabled and the plan has been resolved already, otherwise a newly resolved one.
+     *
+     * @since 2.39
+     */
+    protected WritePlan<EP_CONFIG> _writePlanFor(Object value, Class<?> type, Type genericType,
+            Annotation[] annotations, MediaType mediaType, MultivaluedMap<String,Object> httpHeaders)
+    {
+        final boolean cache = isEnabled(JaxRSFeature.CACHE_ENDPOINT_WRITERS);
+        if (cache) {
+            WritePlan<EP_CONFIG> plan = _findPlan(_writePlans, type, genericType, annotations, mediaType);
+            if (plan != null) {
+                return plan;
+            }
+        }
+        EP_CONFIG endpoint = _endpointForWriting(value, type, genericType, annotations, mediaType, httpHeaders);
+        ObjectWriter writer = endpoint.getWriter();
+        TypeFactory typeFactory = writer.getTypeFactory();
+        JavaType rootType = _findRootType(typeFactory, type, genericType);
+        JavaType elementType = null;
+        if (Stream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)
+                || Flow.Publisher.class.isAssignableFrom(type)) {
+            elementType = _findElementType(typeFactory, type, genericType);
+        }
+        WritePlan<EP_CONFIG> plan = new WritePlan<EP_CONFIG>(genericType, annotations, mediaType, endpoint,
+                (rootType == null) ? writer : writer.forType(rootType), elementType);
+        if (cache) {
+            _addPlan(_writePlans, type, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Helper method for finding the root type to force for values of given type
+     * (with given generic type) when writing; returns null if no root type is to be forced.
+     *
+     * @since 2.39
+     */
+    protected JavaType _findRootType(TypeFactory typeFactory, Class<?> type, Type genericType)
+    {
+        // 10-Jan-2011, tatu: as per [JACKSON-456], it's not safe to just force root
+        //    type since it prevents polymorphic type serialization. Since we really
+        //    just need this for generics, let's only use generic type if it's truly generic.
+
+        // generic types are other impls of 'java.lang.reflect.Type'
+        if ((genericType == null) || (genericType instanceof Class<?>)) {
+            return null;
+        }
+        // This is still not exactly right; should root type be further
+        // specialized with 'value.getClass()'? Let's see how well this works before
+        // trying to come up with more complete solution.
+
+        // 18-Mar-2015, tatu: As per [#60], there is now a problem with non-polymorphic lists,
+        //    since forcing of type will then force use of content serializer, which is
+        //    generally not the intent. Fix may require addition of functionality in databind
+
+        JavaType baseType = typeFactory.constructType(genericType);
+        JavaType rootType = typeFactory.constructSpecializedType(baseType, type);
+        /* 26-Feb-2011, tatu: To help with [JACKSON-518], we better recognize cases where
+         *    type degenerates back into "Object.class" (as is the case with plain TypeVariable,
+         *    for example), and not use that.
+         */
+        if (rootType.getRawClass() == Object.class) {
+            return null;
+        }
+        return rootType;
+    }
+
     /*
     /**********************************************************
     /* MessageBodyReader impl
@@ -782,8 +1123,9 @@ public abstract class ProviderBase<
                            InputStream entityStream)
             throws IOException
     {
-        EP_CONFIG endpoint = _endpointForReading(type, genericType, annotations,
+        ReadPlan<EP_CONFIG> plan = _readPlanFor(type, genericType, annotations,
                 mediaType, httpHeaders);
+        EP_CONFIG endpoint = plan.getEndpoint();
 
         ObjectReader reader = endpoint.getReader();
         JsonParser p = _createParser(reader, entityStream);
@@ -804,19 +1146,16 @@ public abstract class ProviderBase<
         if (rawType == JsonParser.class) {
             return p;
         }
-        final TypeFactory tf = reader.getTypeFactory();
-        final JavaType resolvedType = tf.constructType(genericType);
-
         // 09-Jul-2015, tatu: As per [jaxrs-providers#69], handle MappingIterator too
         boolean multiValued = (rawType == MappingIterator.class);
-
-        if (multiValued) {
-            JavaType[] contents = tf.findTypeParameters(resolvedType, MappingIterator.class);
-            JavaType valueType = (contents == null || contents.length == 0)
-                    ? tf.constructType(Object.class) : contents[0];
-            reader = reader.forType(valueType);
-        } else {
-            reader = reader.forType(resolvedType);
+        // Stream, Iterator and Flow.Publisher are read lazily from a root-level JSON array or a sequence of root values
+        final boolean streaming = (rawType == Stream.class || rawType == Iterator.class || rawType == Flow.Publisher.class);
+        final JavaType resolvedType = plan.getResolvedType();
+
+        // reader for the resolved (or, if multi-valued, the value) type is resolved once per plan
+        reader = plan.getReader();
+        if (streaming && p.isExpectedStartArrayToken()) {
+            p.clearCurrentToken();
         }
 
         // [Issue#32]: allow modification by filter-injectable thing
@@ -825,6 +1164,28 @@ public abstract class ProviderBase<
             reader = mod.modify(endpoint, httpHeaders, resolvedType, reader, p);
         }
 
+        if (streaming) {
+            final MappingIterator<Object> values = reader.readValues(p);
+            if (rawType == Iterator.class) {
+                return values;
+            }
+            if (rawType == Flow.Publisher.class) {
+                // values are read as they are requested by the subscriber
+                return new IteratorPublisher<>(values, () -> {
+                    values.close();
+                    entityStream.close();
+                });
+            }
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED), false)
+                    .onClose(() -> {
+                        try {
+                            values.close();
+                            entityStream.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
         if (multiValued) {
             return reader.readValues(p);
         }
@@ -881,6 +1242,46 @@ public abstract class ProviderBase<
         return endpoint;
     }
 
+    /**
+     * Helper method that returns the {@link ReadPlan} for given entity type, generic type,
+     * annotations and media type: cached one, if {@link JaxRSFeature#CACHE_ENDPOINT_READERS}
+     * is enabled and the plan has been resolved already, otherwise a newly resolved one.
+     *
+     * @since 2.39
+     */
+    protected ReadPlan<EP_CONFIG> _readPlanFor(Class<Object> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String,String> httpHeaders)
+    {
+        final boolean cache = isEnabled(JaxRSFeature.CACHE_ENDPOINT_READERS);
+        if (cache) {
+            ReadPlan<EP_CONFIG> plan = _findPlan(_readPlans, type, genericType, annotations, mediaType);
+            if (plan != null) {
+                return plan;
+            }
+        }
+        EP_CONFIG endpoint = _endpointForReading(type, genericType, annotations, mediaType, httpHeaders);
+        ObjectReader reader = endpoint.getReader();
+        final TypeFactory tf = reader.getTypeFactory();
+        final JavaType resolvedType = tf.constructType(genericType);
+        final Class<?> rawType = type;
+
+        if (rawType == Stream.class || rawType == Iterator.class || rawType == Flow.Publisher.class
+                || rawType == MappingIterator.class) {
+            JavaType[] contents = tf.findTypeParameters(resolvedType, rawType);
+            JavaType valueType = (contents == null || contents.length == 0)
+                    ? tf.constructType(Object.class) : contents[0];
+            reader = reader.forType(valueType);
+        } else if (rawType != JsonParser.class) {
+            reader = reader.forType(resolvedType);
+        }
+        ReadPlan<EP_CONFIG> plan = new ReadPlan<EP_CONFIG>(genericType, annotations, mediaType, endpoint,
+                resolvedType, reader);
+        if (cache) {
+            _addPlan(_readPlans, type, plan);
+        }
+        return plan;
+    }
+
     /*
     /**********************************************************
     /* Overridable helper methods
@@ -958,7 +1359,8 @@ public abstract class ProviderBase<
      * @since 2.2
      */
     protected boolean _isSpecialReadable(Class<?> type) {
-        return JsonParser.class == type;
+        return JsonParser.class == type || Stream.class == type || Iterator.class == type
+                || Flow.Publisher.class == type;
     }
 
     /**
@@ -995,6 +1397,45 @@ public abstract class ProviderBase<
     /**********************************************************
      */
 
+    @SuppressWarnings("unchecked")
+    protected static <P extends EntityPlan<?>> P _findPlan(ConcurrentHashMap<Class<?>, EntityPlan<?>[]> plans,
+            Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+    {
+        EntityPlan<?>[] candidates = plans.get(type);
+        if (candidates != null) {
+            for (EntityPlan<?> plan : candidates) {
+                if (plan.matches(genericType, annotations, mediaType)) {
+                    return (P) plan;
+                }
+            }
+        }
+        return null;
+    }
+
+    protected static void _addPlan(ConcurrentHashMap<Class<?>, EntityPlan<?>[]> plans, Class<?> type,
+            EntityPlan<?> plan)
+    {
+        if (plans.size() >= MAX_PLANNED_TYPES && !plans.containsKey(type)) {
+            return;
+        }
+        plans.compute(type, (t, current) -> {
+            if (current == null) {
+                return new EntityPlan<?>[] { plan };
+            }
+            if (current.length >= MAX_PLANS_PER_TYPE) {
+                return current;
+            }
+            for (EntityPlan<?> existing : current) {
+                if (existing.matches(plan._genericType, plan._annotations, plan._mediaType)) {
+                    return current;
+                }
+            }
+            EntityPlan<?>[] result = Arrays.copyOf(current, current.length + 1);
+            result[current.length] = plan;
+            return result;
+        });
+    }
+
     protected static boolean _containedIn(Class<?> mainType, HashSet<ClassKey> set)
     {
         if (set != null) {
@@ -169,6 +169,7 @@ public class JacksonJsonProvider
      * {@link MediaType#getSubtype} returns "json" or something
      * ending with "+json".
      * Or "text/x-json" (since 2.3)
+     * Or "application/x-ndjson" (since 2.39)
      * 
      * @since 2.2
      */
@@ -191,6 +192,7 @@ public class JacksonJsonProvider
                    // apparently Microsoft once again has interesting alternative types?
                    || "x-javascript".equals(subtype)
                    || "x-json".equals(subtype) // [Issue#40]
+                   || NDJSON_SUBTYPE.equals(subtype)
                    ;
         }
         /* Not sure if this can happen; but it seems reasonable
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jackson.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.JaxRSFeature;
+import org.glassfish.jersey.jackson.internal.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the read and write plans of the Jackson provider and of their preparation from the resource model.
+ */
+public final class JacksonEntityPlanTest extends JerseyTest {
+
+    private PlanProvider provider;
+
+    public static final class Item {
+        public int value;
+
+        public Item() {
+        }
+
+        Item(final int value) {
+            this.value = value;
+        }
+    }
+
+    public static final class Other {
+        public String name;
+    }
+
+    public static final class PlanProvider extends JacksonJaxbJsonProvider {
+
+        int writePlans(final Class<?> type) {
+            return _writePlans.containsKey(type) ? _writePlans.get(type).length : 0;
+        }
+
+        int readPlans(final Class<?> type) {
+            return _readPlans.containsKey(type) ? _readPlans.get(type).length : 0;
+        }
+    }
+
+    @Path("/items")
+    public static final class ItemResource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        public Item get() {
+            return new Item(1);
+        }
+
+        @GET
+        @Path("list")
+        @Produces(MediaType.APPLICATION_JSON)
+        public List<Item> list() {
+            return Arrays.asList(new Item(1), new Item(2));
+        }
+
+        @POST
+        @Consumes(MediaType.APPLICATION_JSON)
+        @Produces(MediaType.APPLICATION_JSON)
+        public Item post(final Item item) {
+            return new Item(item.value + 1);
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        provider = new PlanProvider();
+        return new ResourceConfig(ItemResource.class)
+                .register(provider)
+                .register(JacksonResourceModelListener.class)
+                .property(CommonProperties.FEATURE_AUTO_DISCOVERY_DISABLE, true);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(JacksonFeature.class);
+    }
+
+    @Test
+    public void testPlansPreparedFromResourceModel() {
+        // one per resource method, the annotations of the methods differ
+        assertEquals(2, provider.writePlans(Item.class));
+        assertEquals(1, provider.readPlans(Item.class));
+        assertEquals(0, provider.writePlans(Other.class));
+    }
+
+    @Test
+    public void testPreparedPlansReused() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, target("items").request().get(Item.class).value);
+            assertEquals(3, target("items").request().post(Entity.json(new Item(2)), Item.class).value);
+        }
+        assertEquals(2, provider.writePlans(Item.class));
+        assertEquals(1, provider.readPlans(Item.class));
+    }
+
+    @Test
+    public void testGenericRootType() {
+        for (int i = 0; i < 3; i++) {
+            final List<Item> items = target("items/list").request().get(new GenericType<List<Item>>() { });
+            assertEquals(2, items.size());
+            assertEquals(2, items.get(1).value);
+        }
+    }
+
+    @Test
+    public void testPlansNotCachedIfEndpointCachingDisabled() throws Exception {
+        final PlanProvider plans = new PlanProvider();
+        plans.disable(JaxRSFeature.CACHE_ENDPOINT_WRITERS, JaxRSFeature.CACHE_ENDPOINT_READERS);
+
+        final Other other = new Other();
+        other.name = "other";
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        plans.writeTo(other, Other.class, Other.class, new Annotation[0], MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<>(), out);
+        assertEquals("{\"name\":\"other\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        plans.prepareReading(Other.class, Other.class, new Annotation[0], MediaType.APPLICATION_JSON_TYPE);
+        final Object read = plans.readFrom((Class) Other.class, Other.class, new Annotation[0],
+                MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("other", ((Other) read).name);
+
+        assertEquals(0, plans.writePlans(Other.class));
+        assertEquals(0, plans.readPlans(Other.class));
+    }
+
+    @Test
+    public void testPlanPerMediaTypeAndAnnotations() throws Exception {
+        final PlanProvider plans = new PlanProvider();
+        final Annotation[] annotations = ItemResource.class.getMethod("get").getDeclaredAnnotations();
+
+        for (int i = 0; i < 2; i++) {
+            plans.writeTo(new Item(i), Item.class, Item.class, annotations, MediaType.APPLICATION_JSON_TYPE,
+                    new MultivaluedHashMap<>(), new ByteArrayOutputStream());
+            // equal annotations, different array instance
+            plans.writeTo(new Item(i), Item.class, Item.class, annotations.clone(), MediaType.APPLICATION_JSON_TYPE,
+                    new MultivaluedHashMap<>(), new ByteArrayOutputStream());
+            plans.writeTo(new Item(i), Item.class, Item.class, new Annotation[0], MediaType.valueOf("text/json"),
+                    new MultivaluedHashMap<>(), new ByteArrayOutputStream());
+        }
+        assertEquals(2, plans.writePlans(Item.class));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jackson.internal;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.util.IteratorPublisher;
+import org.glassfish.jersey.internal.util.PublisherIterator;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of writing and reading {@link Stream}, {@link Iterator} and {@link Flow.Publisher} entities by the Jackson
+ * provider.
+ */
+public final class JacksonStreamingTest extends JerseyTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final AtomicBoolean CLOSED = new AtomicBoolean();
+
+    public static final class Item {
+        public int value;
+
+        public Item() {
+        }
+
+        Item(final int value) {
+            this.value = value;
+        }
+    }
+
+    @Path("/items")
+    public static final class ItemResource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        public Stream<Item> array() {
+            return IntStream.range(0, 3).mapToObj(Item::new).onClose(() -> CLOSED.set(true));
+        }
+
+        @GET
+        @Path("ndjson")
+        @Produces(NDJSON)
+        public Stream<Item> ndjson() {
+            return IntStream.range(0, 3).mapToObj(Item::new);
+        }
+
+        @POST
+        @Path("sum")
+        @Consumes({MediaType.APPLICATION_JSON, NDJSON})
+        @Produces(MediaType.TEXT_PLAIN)
+        public String sum(final Iterator<Item> items) {
+            int sum = 0;
+            while (items.hasNext()) {
+                sum += items.next().value;
+            }
+            return Integer.toString(sum);
+        }
+
+        @GET
+        @Path("publisher")
+        @Produces(MediaType.APPLICATION_JSON)
+        public Flow.Publisher<Item> publisher() {
+            return new IteratorPublisher<>(IntStream.range(0, 3).mapToObj(Item::new).iterator(), () -> CLOSED.set(true));
+        }
+
+        @POST
+        @Path("publisher/sum")
+        @Consumes({MediaType.APPLICATION_JSON, NDJSON})
+        @Produces(MediaType.TEXT_PLAIN)
+        public String publisherSum(final Flow.Publisher<Item> items) {
+            try (PublisherIterator<Item> iterator = new PublisherIterator<>(items, 1)) {
+                return sum(iterator);
+            }
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(ItemResource.class).register(JacksonFeature.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(JacksonFeature.class);
+    }
+
+    @Test
+    public void testWriteArray() {
+        CLOSED.set(false);
+
+        assertEquals("[{\"value\":0},{\"value\":1},{\"value\":2}]", target("items").request().get(String.class));
+        assertTrue(CLOSED.get());
+    }
+
+    @Test
+    public void testWriteNdjson() {
+        assertEquals("{\"value\":0}\n{\"value\":1}\n{\"value\":2}\n",
+                target("items/ndjson").request().get(String.class));
+    }
+
+    @Test
+    public void testReadStream() {
+        for (String path : new String[] {"items", "items/ndjson"}) {
+            try (Stream<Item> items = target(path).request().get(new GenericType<Stream<Item>>() { })) {
+                assertEquals("0,1,2", items.map(item -> Integer.toString(item.value)).collect(Collectors.joining(",")));
+            }
+        }
+    }
+
+    @Test
+    public void testWritePublisher() {
+        CLOSED.set(false);
+
+        assertEquals("[{\"value\":0},{\"value\":1},{\"value\":2}]", target("items/publisher").request().get(String.class));
+        assertTrue(CLOSED.get());
+    }
+
+    @Test
+    public void testReadPublisher() {
+        assertEquals("6", target("items/publisher/sum").request()
+                .post(Entity.entity("[{\"value\":1},{\"value\":2},{\"value\":3}]", MediaType.APPLICATION_JSON), String.class));
+        assertEquals("6", target("items/publisher/sum").request()
+                .post(Entity.entity("{\"value\":1}\n{\"value\":2}\n{\"value\":3}\n", NDJSON), String.class));
+    }
+
+    @Test
+    public void testReadIterator() {
+        assertEquals("6", target("items/sum").request()
+                .post(Entity.entity("[{\"value\":1},{\"value\":2},{\"value\":3}]", MediaType.APPLICATION_JSON), String.class));
+        assertEquals("6", target("items/sum").request()
+                .post(Entity.entity("{\"value\":1}\n{\"value\":2}\n{\"value\":3}\n", NDJSON), String.class));
+        assertEquals("0", target("items/sum").request()
+                .post(Entity.entity("[]", MediaType.APPLICATION_JSON), String.class));
+    }
+}
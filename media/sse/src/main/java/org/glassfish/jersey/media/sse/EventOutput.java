@@ -39,4 +39,15 @@ public class EventOutput extends ChunkedOutput<OutboundEvent> {
     public EventOutput() {
         super(SSE_EVENT_DELIMITER);
     }
+
+    /**
+     * Create new outbound Server-Sent Events channel with a bounded event queue.
+     *
+     * @param queueCapacity  maximal number of queued events. The queue is unbounded if the value is not positive.
+     * @param overflowPolicy policy applied when an event is written into a full queue.
+     * @since 2.39
+     */
+    public EventOutput(final int queueCapacity, final OverflowPolicy overflowPolicy) {
+        super(SSE_EVENT_DELIMITER, queueCapacity, overflowPolicy);
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.media.sse;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 import javax.ws.rs.core.GenericEntity;
@@ -24,6 +25,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.sse.OutboundSseEvent;
 
 import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.message.internal.EncodedForms;
 
 /**
  * Representation of a single outbound SSE event.
@@ -40,6 +42,8 @@ public final class OutboundEvent implements OutboundSseEvent {
     private final MediaType mediaType;
     private final Object data;
     private final long reconnectDelay;
+    // serialized forms of the event keyed by the media type of the event stream, null if the event is not encoded once
+    private final EncodedForms<MediaType> encoded;
 
     /**
      * Used for creating {@link OutboundEvent} instances.
@@ -53,6 +57,7 @@ public final class OutboundEvent implements OutboundSseEvent {
         private GenericType type;
         private Object data;
         private MediaType mediaType = MediaType.TEXT_PLAIN_TYPE;
+        private boolean encodeOnce;
 
         /**
          * Set event name.
@@ -223,6 +228,28 @@ public final class OutboundEvent implements OutboundSseEvent {
             return data(ReflectionHelper.genericTypeFor(data), data);
         }
 
+        /**
+         * Set whether the event should be serialized only once per media type of the event streams it is written to.
+         * <p>
+         * If set, the event is serialized lazily when it is first written to an event stream and the resulting immutable
+         * byte form is reused whenever the event is written to another event stream of the same media type, instead of
+         * serializing the event data using a {@link javax.ws.rs.ext.MessageBodyWriter} again. This is useful for events
+         * sent to many event streams, the event data must not be modified once the event is written. The entity annotations
+         * of the event stream the event is first written to are used to serialize the event data.
+         * </p>
+         * <p>
+         * This information is optional. The default value is {@code false}.
+         * </p>
+         *
+         * @param encodeOnce {@code true} if the serialized event should be reused.
+         * @return updated builder instance.
+         * @since 2.39
+         */
+        public Builder encodeOnce(final boolean encodeOnce) {
+            this.encodeOnce = encodeOnce;
+            return this;
+        }
+
         /**
          * Build {@link OutboundEvent}.
          * <p>
@@ -244,7 +271,7 @@ public final class OutboundEvent implements OutboundSseEvent {
                 throw new IllegalStateException(LocalizationMessages.OUT_EVENT_NOT_BUILDABLE());
             }
 
-            return new OutboundEvent(name, id, reconnectDelay, type, mediaType, data, comment);
+            return new OutboundEvent(name, id, reconnectDelay, type, mediaType, data, comment, encodeOnce);
         }
     }
 
@@ -258,6 +285,7 @@ public final class OutboundEvent implements OutboundSseEvent {
      * @param mediaType      {@link MediaType} of events data.
      * @param data           events data.
      * @param comment        comment.
+     * @param encodeOnce     {@code true} if the serialized event should be reused.
      */
     OutboundEvent(final String name,
                   final String id,
@@ -265,7 +293,8 @@ public final class OutboundEvent implements OutboundSseEvent {
                   final GenericType type,
                   final MediaType mediaType,
                   final Object data,
-                  final String comment) {
+                  final String comment,
+                  final boolean encodeOnce) {
         this.name = name;
         this.comment = comment;
         this.id = id;
@@ -273,6 +302,7 @@ public final class OutboundEvent implements OutboundSseEvent {
         this.type = type;
         this.mediaType = mediaType;
         this.data = data;
+        this.encoded = encodeOnce ? new EncodedForms<>(2) : null;
     }
 
     /**
@@ -392,4 +422,40 @@ public final class OutboundEvent implements OutboundSseEvent {
     public Object getData() {
         return data;
     }
+
+    /**
+     * Check if the event is serialized only once per media type of the event streams it is written to.
+     *
+     * @return {@code true} if the serialized event is reused, {@code false} otherwise.
+     * @see Builder#encodeOnce(boolean)
+     * @since 2.39
+     */
+    public boolean isEncodeOnce() {
+        return encoded != null;
+    }
+
+    /**
+     * Get an event that is serialized only once per media type of the event streams it is written to.
+     *
+     * @return this event if it is {@link #isEncodeOnce() serialized only once} already, otherwise a new event with the same
+     * properties that is serialized only once.
+     * @see Builder#encodeOnce(boolean)
+     * @since 2.39
+     */
+    public OutboundEvent encodeOnce() {
+        return isEncodeOnce() ? this : new OutboundEvent(name, id, reconnectDelay, type, mediaType, data, comment, true);
+    }
+
+    /**
+     * Get the serialized form of the event for the media type of an event stream. The event is serialized using the encoder
+     * when first requested for the media type.
+     *
+     * @param streamMediaType media type of the event stream.
+     * @param encoder         event encoder.
+     * @return serialized event.
+     * @throws IOException in case the event cannot be serialized.
+     */
+    byte[] getEncoded(final MediaType streamMediaType, final EncodedForms.Encoder encoder) throws IOException {
+        return encoded.get(streamMediaType, encoder);
+    }
 }
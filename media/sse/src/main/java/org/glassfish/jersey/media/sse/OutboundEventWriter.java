@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.media.sse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
@@ -75,7 +76,6 @@ class OutboundEventWriter implements MessageBodyWriter<OutboundSseEvent> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void writeTo(final OutboundSseEvent outboundEvent,
                         final Class<?> type,
                         final Type genericType,
@@ -84,6 +84,24 @@ class OutboundEventWriter implements MessageBodyWriter<OutboundSseEvent> {
                         final MultivaluedMap<String, Object> httpHeaders,
                         final OutputStream entityStream) throws IOException, WebApplicationException {
 
+        if (outboundEvent instanceof OutboundEvent && ((OutboundEvent) outboundEvent).isEncodeOnce()) {
+            final OutboundEvent event = (OutboundEvent) outboundEvent;
+            entityStream.write(event.getEncoded(mediaType, () -> {
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                writeEvent(event, annotations, mediaType, httpHeaders, buffer);
+                return buffer.toByteArray();
+            }));
+        } else {
+            writeEvent(outboundEvent, annotations, mediaType, httpHeaders, entityStream);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeEvent(final OutboundSseEvent outboundEvent,
+                            final Annotation[] annotations,
+                            final MediaType mediaType,
+                            final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
         final Charset charset = MessageUtils.getCharset(mediaType);
         if (outboundEvent.getComment() != null) {
             for (final String comment : outboundEvent.getComment().split("\n")) {
@@ -16,6 +16,8 @@
 
 package org.glassfish.jersey.media.sse;
 
+import java.util.concurrent.Executor;
+
 import org.glassfish.jersey.server.Broadcaster;
 
 /**
@@ -37,6 +39,36 @@ public class SseBroadcaster extends Broadcaster<OutboundEvent> {
         this(SseBroadcaster.class);
     }
 
+    /**
+     * Creates a new instance partitioning the registered {@link EventOutput} instances into the given number of shards
+     * that are broadcast to in parallel using the executor. Each broadcast event is serialized only once for all
+     * the event outputs.
+     *
+     * @param executor executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                 in the thread invoking {@link #broadcast(Object)}.
+     * @param shards   number of shards, must be positive.
+     * @see Broadcaster#Broadcaster(Executor, int)
+     * @since 2.39
+     */
+    public SseBroadcaster(final Executor executor, final int shards) {
+        this(SseBroadcaster.class, executor, shards, false);
+    }
+
+    /**
+     * Creates a new instance partitioning the registered {@link EventOutput} instances into the given number of shards
+     * that are broadcast to in parallel using the executor, optionally writing the events asynchronously.
+     *
+     * @param executor    executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                    in the thread invoking {@link #broadcast(Object)}.
+     * @param shards      number of shards, must be positive.
+     * @param asyncWrites {@code true} to write the events asynchronously, {@code false} to write them synchronously.
+     * @see Broadcaster#Broadcaster(Executor, int, boolean)
+     * @since 2.39
+     */
+    public SseBroadcaster(final Executor executor, final int shards, final boolean asyncWrites) {
+        this(SseBroadcaster.class, executor, shards, asyncWrites);
+    }
+
     /**
      * Can be used by subclasses to override the default functionality of adding self to the set of
      * {@link org.glassfish.jersey.server.BroadcasterListener listeners}.
@@ -50,4 +82,39 @@ public class SseBroadcaster extends Broadcaster<OutboundEvent> {
     protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass) {
         super(subclass);
     }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link org.glassfish.jersey.server.BroadcasterListener listeners} when creating a sharded broadcaster.
+     *
+     * @param subclass subclass of SseBroadcaster that should not be registered as a listener - if creating a direct instance
+     *                 of this subclass, this constructor will not register the new instance as a listener.
+     * @param executor executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                 in the thread invoking {@link #broadcast(Object)}.
+     * @param shards   number of shards, must be positive.
+     * @see #SseBroadcaster(Executor, int)
+     * @since 2.39
+     */
+    protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass, final Executor executor, final int shards) {
+        this(subclass, executor, shards, false);
+    }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link org.glassfish.jersey.server.BroadcasterListener listeners} when creating a sharded broadcaster, optionally
+     * writing the events asynchronously.
+     *
+     * @param subclass    subclass of SseBroadcaster that should not be registered as a listener - if creating a direct
+     *                    instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param executor    executor running the broadcast to the shards, {@code null} to broadcast to all the shards
+     *                    in the thread invoking {@link #broadcast(Object)}.
+     * @param shards      number of shards, must be positive.
+     * @param asyncWrites {@code true} to write the events asynchronously, {@code false} to write them synchronously.
+     * @see #SseBroadcaster(Executor, int, boolean)
+     * @since 2.39
+     */
+    protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass, final Executor executor, final int shards,
+                             final boolean asyncWrites) {
+        super(subclass, executor, shards, asyncWrites);
+    }
 }
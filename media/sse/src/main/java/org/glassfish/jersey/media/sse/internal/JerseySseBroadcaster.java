@@ -31,6 +31,7 @@ import javax.ws.rs.sse.SseEventSink;
 import org.glassfish.jersey.internal.jsr166.Flow;
 import org.glassfish.jersey.internal.util.JerseyPublisher;
 import org.glassfish.jersey.media.sse.LocalizationMessages;
+import org.glassfish.jersey.media.sse.OutboundEvent;
 
 /**
  * Used for broadcasting SSE to multiple {@link javax.ws.rs.sse.SseEventSink} instances.
@@ -104,7 +105,9 @@ class JerseySseBroadcaster extends JerseyPublisher<OutboundSseEvent> implements
             throw new IllegalArgumentException(LocalizationMessages.PARAM_NULL("event"));
         }
 
-        return CompletableFuture.completedFuture(publish(event));
+        // serialize the event only once for all the subscribers
+        final OutboundSseEvent broadcastEvent = event instanceof OutboundEvent ? ((OutboundEvent) event).encodeOnce() : event;
+        return CompletableFuture.completedFuture(publish(broadcastEvent));
     }
 
     private void notifyOnCompleteHandlers(Flow.Subscriber<? super OutboundSseEvent> subscriber) {
@@ -17,16 +17,20 @@
 package org.glassfish.jersey.media.sse;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 
 import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.message.internal.EncodedForms;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -128,4 +132,28 @@ public class OutboundEventTest {
         assertEquals(new GenericEntity<ArrayList<String>>(new ArrayList<String>()) {
         }.getType(), event.getGenericType());
     }
+
+    @Test
+    public void testEncodeOnce() throws Exception {
+        final OutboundEvent event = new OutboundEvent.Builder().id("id").name("name").data("data").build();
+        assertFalse(event.isEncodeOnce());
+
+        final OutboundEvent encodeOnce = event.encodeOnce();
+        assertNotSame(event, encodeOnce);
+        assertTrue(encodeOnce.isEncodeOnce());
+        assertSame(encodeOnce, encodeOnce.encodeOnce());
+        assertEquals("id", encodeOnce.getId());
+        assertEquals("name", encodeOnce.getName());
+        assertEquals("data", encodeOnce.getData());
+        assertEquals(String.class, encodeOnce.getType());
+        assertTrue(new OutboundEvent.Builder().encodeOnce(true).data("data").build().isEncodeOnce());
+
+        final AtomicInteger encoded = new AtomicInteger();
+        final EncodedForms.Encoder encoder = () -> new byte[] {(byte) encoded.incrementAndGet()};
+        final MediaType utf8 = SseFeature.SERVER_SENT_EVENTS_TYPE.withCharset("UTF-8");
+        final byte[] first = encodeOnce.getEncoded(SseFeature.SERVER_SENT_EVENTS_TYPE, encoder);
+        assertSame(first, encodeOnce.getEncoded(SseFeature.SERVER_SENT_EVENTS_TYPE, encoder));
+        assertEquals(2, encodeOnce.getEncoded(utf8, encoder)[0]);
+        assertEquals(2, encoded.get());
+    }
 }
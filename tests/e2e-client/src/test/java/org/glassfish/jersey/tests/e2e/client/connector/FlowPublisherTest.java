@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.client.connector;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.GenericType;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.jdk.connector.JdkConnectorProvider;
+import org.glassfish.jersey.netty.connector.NettyConnectorProvider;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.spi.NonBlockingInput;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.spi.TestHelper;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link Flow.Publisher} response entities read without blocking by the connectors providing
+ * a {@link NonBlockingInput} entity stream.
+ */
+public class FlowPublisherTest {
+
+    private static final int ITEMS = 20;
+    private static final int SIZE = 1000000;
+
+    public static List<ConnectorProvider> testData() {
+        return Arrays.asList(
+                new JdkConnectorProvider(),
+                new NettyConnectorProvider()
+        );
+    }
+
+    @TestFactory
+    public Collection<DynamicContainer> generateTests() {
+        Collection<DynamicContainer> tests = new ArrayList<>();
+        for (ConnectorProvider provider : testData()) {
+            FlowPublisherTemplateTest test = new FlowPublisherTemplateTest(provider) {};
+            DynamicContainer container = TestHelper.toTestContainer(test,
+                    String.format("flowPublisherTest (%s)", provider.getClass().getSimpleName()));
+            tests.add(container);
+        }
+        return tests;
+    }
+
+    @Path("/publisher")
+    public static class PublisherResource {
+
+        @GET
+        @Path("items")
+        @Produces("application/x-ndjson")
+        public ChunkedOutput<String> items() {
+            final ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < ITEMS; i++) {
+                        output.write("item-" + i + "\n");
+                        Thread.sleep(10);
+                    }
+                    output.close();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }).start();
+            return output;
+        }
+
+        @GET
+        @Path("bytes")
+        @Produces("application/octet-stream")
+        public byte[] bytes() {
+            final byte[] data = new byte[SIZE];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) i;
+            }
+            return data;
+        }
+    }
+
+    public abstract static class FlowPublisherTemplateTest extends JerseyTest {
+
+        private final ConnectorProvider connectorProvider;
+        private final AtomicReference<Object> entityStream = new AtomicReference<>();
+
+        public FlowPublisherTemplateTest(ConnectorProvider connectorProvider) {
+            this.connectorProvider = connectorProvider;
+        }
+
+        @Override
+        protected Application configure() {
+            return new ResourceConfig(PublisherResource.class);
+        }
+
+        @Override
+        protected void configureClient(ClientConfig config) {
+            config.connectorProvider(connectorProvider);
+            config.register((ClientResponseFilter) (request, response) -> entityStream.set(response.getEntityStream()));
+        }
+
+        @Test
+        public void testItems() throws Exception {
+            final Flow.Publisher<String> publisher = target("publisher/items").request().rx()
+                    .get(new GenericType<Flow.Publisher<String>>() {
+                    }).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            final List<String> items = collect(publisher);
+            assertEquals(ITEMS, items.size());
+            for (int i = 0; i < ITEMS; i++) {
+                assertEquals("item-" + i, items.get(i));
+            }
+            assertTrue(entityStream.get() instanceof NonBlockingInput);
+        }
+
+        @Test
+        public void testChunks() throws Exception {
+            final Flow.Publisher<ByteBuffer> publisher = target("publisher/bytes").request()
+                    .get(new GenericType<Flow.Publisher<ByteBuffer>>() {
+                    });
+
+            int position = 0;
+            for (ByteBuffer chunk : collect(publisher)) {
+                while (chunk.hasRemaining()) {
+                    assertEquals((byte) position++, chunk.get());
+                }
+            }
+            assertEquals(SIZE, position);
+            assertTrue(entityStream.get() instanceof NonBlockingInput);
+        }
+    }
+
+    private static <T> List<T> collect(final Flow.Publisher<T> publisher) throws Exception {
+        final List<T> items = new ArrayList<>();
+        final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(items);
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -19,6 +19,11 @@ package org.glassfish.jersey.tests.e2e.common.message.internal;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,12 +34,19 @@ import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.message.internal.CommittingOutputStream;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
+import org.glassfish.jersey.message.internal.ReaderWriter;
 import org.glassfish.jersey.model.internal.CommonConfig;
 import org.glassfish.jersey.model.internal.ComponentBag;
+import org.glassfish.jersey.spi.OutputBufferPool;
+import org.glassfish.jersey.spi.StripedOutputBufferPool;
+import org.glassfish.jersey.spi.ZeroCopyOutput;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -355,7 +367,234 @@ public class CommittingOutputStreamTest {
         }
     }
 
-}
+    @Test
+    public void testPooledBufferReleasedOnCommit() throws IOException {
+        final RecordingPool pool = new RecordingPool();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> {
+            assertEquals(2, contentLength);
+            return baos;
+        });
+        cos.enableBuffering(3, pool);
+        assertEquals(1, pool.acquired);
+
+        cos.write(new byte[]{1, 2});
+        assertEquals(0, pool.released);
+        cos.close();
+
+        check(baos, new byte[]{1, 2});
+        assertEquals(1, pool.released);
+    }
+
+    @Test
+    public void testPooledBufferReleasedOnOverflow() throws IOException {
+        final RecordingPool pool = new RecordingPool();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> {
+            assertEquals(-1, contentLength);
+            return baos;
+        });
+        cos.enableBuffering(3, pool);
+
+        cos.write(new byte[]{1, 2});
+        cos.write(new byte[]{3, 4});
+        assertEquals(1, pool.released);
+        cos.close();
+
+        check(baos, new byte[]{1, 2, 3, 4});
+        assertEquals(1, pool.released);
+    }
+
+    @Test
+    public void testPooledBufferHandoff() throws IOException {
+        final RecordingPool pool = new RecordingPool();
+        final HandoffOutputStream out = new HandoffOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> out);
+        cos.enableBuffering(8, pool);
+
+        cos.write(new byte[]{1, 2, 3});
+        cos.commit();
+
+        assertSame(pool, out.pool);
+        assertEquals(3, out.length);
+        assertEquals(0, pool.released);
+        out.pool.release(out.buffer);
+        assertEquals(1, pool.released);
+        cos.close();
+        assertEquals(1, pool.released);
+    }
+
+    @Test
+    public void testPropertiesWithMessageContextBufferPool() throws IOException {
+        final RecordingPool pool = new RecordingPool();
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(CommonProperties.OUTBOUND_CONTENT_LENGTH_BUFFER_POOL, pool);
+
+        checkBufferSize(CommittingOutputStream.DEFAULT_BUFFER_SIZE, properties, RuntimeType.SERVER);
+        assertEquals(1, pool.acquired);
+        assertEquals(1, pool.released);
+    }
+
+    @Test
+    public void testStripedOutputBufferPool() {
+        final OutputBufferPool pool = new StripedOutputBufferPool(2, 100);
+        final byte[] buffer = pool.acquire(10);
+        assertEquals(10, buffer.length);
+        pool.release(buffer);
+        assertSame(buffer, pool.acquire(5));
+        assertNotSame(buffer, pool.acquire(5));
+
+        final byte[] large = pool.acquire(200);
+        pool.release(large);
+        assertNotSame(large, pool.acquire(200));
+    }
+
+    @Test
+    public void testZeroCopyBufferFitsIntoBuffer() throws IOException {
+        final ZeroCopyOutputStream out = new ZeroCopyOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> {
+            assertEquals(4, contentLength);
+            return out;
+        });
+        cos.enableBuffering(8);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        ReaderWriter.writeTo(buffer, cos);
+        assertEquals(0, buffer.position());
+        cos.write(4);
+        cos.close();
+
+        assertNull(out.buffer);
+        check(out, new byte[]{1, 2, 3, 4});
+    }
 
+    @Test
+    public void testZeroCopyBufferDelegated() throws IOException {
+        final ZeroCopyOutputStream out = new ZeroCopyOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> {
+            assertEquals(-1, contentLength);
+            return out;
+        });
+        cos.enableBuffering(3);
+
+        cos.write(1);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(4).put(new byte[]{2, 3, 4, 5});
+        buffer.flip();
+        ReaderWriter.writeTo(buffer, cos);
+        cos.close();
+
+        check(out, new byte[]{1});
+        assertEquals(4, out.buffer.remaining());
+        assertEquals(2, out.buffer.get(0));
+    }
+
+    @Test
+    public void testZeroCopyBufferFallback() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(contentLength -> baos);
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(3).put(new byte[]{1, 2, 3});
+        buffer.flip();
+        ReaderWriter.writeTo(buffer, cos);
+        cos.close();
+
+        check(baos, new byte[]{1, 2, 3});
+    }
+
+    @Test
+    public void testFileRegion() throws IOException {
+        final Path file = Files.createTempFile("committing", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // region fits into the buffer
+                ZeroCopyOutputStream out = new ZeroCopyOutputStream();
+                CommittingOutputStream cos = new CommittingOutputStream();
+                cos.setStreamProvider(contentLength -> {
+                    assertEquals(3, contentLength);
+                    return out;
+                });
+                cos.enableBuffering(4);
+                ReaderWriter.writeTo(channel, 2, 3, cos);
+                cos.close();
+                assertEquals(0, out.transferred);
+                check(out, new byte[]{3, 4, 5});
+
+                // region is delegated
+                final ZeroCopyOutputStream delegate = new ZeroCopyOutputStream();
+                cos = new CommittingOutputStream();
+                cos.setStreamProvider(contentLength -> delegate);
+                cos.enableBuffering(4);
+                ReaderWriter.writeTo(channel, 1, 6, cos);
+                cos.close();
+                assertEquals(6, delegate.transferred);
+
+                // region is streamed
+                final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                cos = new CommittingOutputStream();
+                cos.setStreamProvider(contentLength -> baos);
+                cos.enableBuffering(4);
+                ReaderWriter.writeTo(channel, 1, 6, cos);
+                cos.close();
+                check(baos, new byte[]{2, 3, 4, 5, 6, 7});
+
+                assertEquals(0, channel.position());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
 
+    private static class RecordingPool implements OutputBufferPool {
 
+        private int acquired;
+        private int released;
+
+        @Override
+        public byte[] acquire(int minSize) {
+            acquired++;
+            return new byte[minSize];
+        }
+
+        @Override
+        public void release(byte[] buffer) {
+            released++;
+        }
+    }
+
+    private static class HandoffOutputStream extends ByteArrayOutputStream implements OutputBufferPool.Handoff {
+
+        private byte[] buffer;
+        private int length;
+        private OutputBufferPool pool;
+
+        @Override
+        public void writePooled(byte[] buffer, int length, OutputBufferPool pool) {
+            this.buffer = buffer;
+            this.length = length;
+            this.pool = pool;
+        }
+    }
+
+    private static class ZeroCopyOutputStream extends ByteArrayOutputStream implements ZeroCopyOutput {
+
+        private ByteBuffer buffer;
+        private long transferred;
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void transferFrom(FileChannel channel, long position, long count) {
+            transferred += count;
+        }
+    }
+}
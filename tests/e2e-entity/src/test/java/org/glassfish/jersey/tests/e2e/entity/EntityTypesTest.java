@@ -24,6 +24,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -37,12 +40,15 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Application;
@@ -71,6 +77,7 @@ import javax.xml.transform.stream.StreamSource;
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
 import org.glassfish.jersey.jettison.JettisonFeature;
+import org.glassfish.jersey.message.FileRange;
 import org.glassfish.jersey.message.internal.FileProvider;
 import org.glassfish.jersey.server.ResourceConfig;
 
@@ -84,6 +91,7 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -431,6 +439,51 @@ public class EntityTypesTest extends AbstractTypeTester {
         _test(in, FileResource.class);
     }
 
+    @Path("ByteBufferResource")
+    public static class ByteBufferResource extends AResource<ByteBuffer> {
+    }
+
+    @Test
+    @Execution(ExecutionMode.CONCURRENT)
+    public void testByteBufferRepresentation() {
+        _test(ByteBuffer.wrap("CONTENT".getBytes()), ByteBufferResource.class);
+    }
+
+    @Path("FileRangeResource")
+    public static class FileRangeResource {
+
+        @GET
+        public Response get(@QueryParam("file") final String file,
+                            @QueryParam("offset") final long offset,
+                            @QueryParam("length") final long length) {
+            return Response.status(206).entity(FileRange.of(Paths.get(file), offset, length)).build();
+        }
+    }
+
+    @Test
+    @Execution(ExecutionMode.CONCURRENT)
+    public void testFileRangeRepresentation() throws IOException {
+        final byte[] content = new byte[300 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        final File file = Files.write(Files.createTempFile("jersey-range", ".bin"), content).toFile();
+        file.deleteOnExit();
+
+        final int[][] ranges = {{0, content.length}, {1000, 10}, {5, 200 * 1024}, {content.length, 0}};
+        for (final int[] range : ranges) {
+            final Response response = target("FileRangeResource")
+                    .queryParam("file", file.getAbsolutePath())
+                    .queryParam("offset", range[0])
+                    .queryParam("length", range[1])
+                    .request().get();
+            assertEquals(206, response.getStatus());
+            final byte[] entity = range[1] == 0 ? new byte[0] : response.readEntity(byte[].class);
+            assertArrayEquals(Arrays.copyOfRange(content, range[0], range[0] + range[1]), entity);
+            response.close();
+        }
+    }
+
     @Produces("application/x-www-form-urlencoded")
     @Consumes("application/x-www-form-urlencoded")
     @Path("FormResource")
@@ -895,6 +948,20 @@ public class EntityTypesTest extends AbstractTypeTester {
             }
             return beans;
         }
+
+        @POST
+        @Path("stream")
+        public Stream<JaxbBean> postStream(final Stream<JaxbBean> l) {
+            return l.collect(Collectors.toList()).stream();
+        }
+
+        @POST
+        @Path("iterator")
+        public Iterator<JaxbBean> postIterator(final Iterator<JaxbBean> l) {
+            final List<JaxbBean> beans = new ArrayList<>();
+            l.forEachRemaining(beans::add);
+            return beans.iterator();
+        }
     }
 
     @Path("JAXBArrayResource")
@@ -1010,6 +1077,30 @@ public class EntityTypesTest extends AbstractTypeTester {
         assertEquals(a, b);
     }
 
+    @Test
+    @Execution(ExecutionMode.CONCURRENT)
+    public void testJAXBStreamRepresentation() {
+        final WebTarget target = target("JAXBListResource");
+        final Collection<JaxbBean> a = target.request().get(new GenericType<Collection<JaxbBean>>() {
+        });
+
+        final Stream<JaxbBean> b = target.path("stream").request().post(
+                Entity.entity(new GenericEntity<Stream<JaxbBean>>(a.stream()) {
+                }, "application/xml"), new GenericType<Stream<JaxbBean>>() {
+                });
+        try (Stream<JaxbBean> stream = b) {
+            assertEquals(new ArrayList<>(a), stream.collect(Collectors.toList()));
+        }
+
+        final Iterator<JaxbBean> c = target.path("iterator").request().post(
+                Entity.entity(new GenericEntity<Iterator<JaxbBean>>(a.iterator()) {
+                }, "application/xml"), new GenericType<Iterator<JaxbBean>>() {
+                });
+        final List<JaxbBean> l = new ArrayList<>();
+        c.forEachRemaining(l::add);
+        assertEquals(new ArrayList<>(a), l);
+    }
+
     @Test
     @Execution(ExecutionMode.CONCURRENT)
     public void testJAXBListRepresentationError() {
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.e2e.sse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseBroadcaster;
+import javax.ws.rs.sse.SseEventSink;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.media.sse.EventInput;
+import org.glassfish.jersey.media.sse.SseFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test that the data of an event broadcast by the JAX-RS {@link SseBroadcaster} are serialized only once.
+ */
+public class BroadcasterEncodeOnceTest extends JerseyTest {
+
+    private static final int CLIENTS = 5;
+    private static final int MESSAGES = 3;
+
+    private static final AtomicInteger SERIALIZED_MESSAGES = new AtomicInteger();
+
+    public static class Message {
+
+        private final String text;
+
+        public Message(final String text) {
+            this.text = text;
+        }
+    }
+
+    @Produces(MediaType.APPLICATION_JSON)
+    public static class MessageWriter implements MessageBodyWriter<Message> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == Message.class;
+        }
+
+        @Override
+        public void writeTo(final Message message, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
+            SERIALIZED_MESSAGES.incrementAndGet();
+            entityStream.write(("{\"text\":\"" + message.text + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Path("events")
+    @Singleton
+    public static class SseResource {
+
+        private final Sse sse;
+        private final SseBroadcaster broadcaster;
+
+        public SseResource(@Context final Sse sse) {
+            this.sse = sse;
+            this.broadcaster = sse.newBroadcaster();
+        }
+
+        @GET
+        @Produces(MediaType.SERVER_SENT_EVENTS)
+        public void getServerSentEvents(@Context final SseEventSink eventSink) {
+            eventSink.send(sse.newEvent("welcome"));
+            broadcaster.register(eventSink);
+        }
+
+        @GET
+        @Path("push/{msg}")
+        public String push(@PathParam("msg") final String message) {
+            broadcaster.broadcast(sse.newEventBuilder()
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(Message.class, new Message(message))
+                    .build());
+            return "Message added.";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(SseResource.class, MessageWriter.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(SseFeature.class);
+    }
+
+    @Test
+    public void testBroadcastEventSerializedOnce() {
+        final List<EventInput> inputs = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            final EventInput input = target("events").request().get(EventInput.class);
+            assertEquals("welcome", input.read().readData());
+            inputs.add(input);
+        }
+
+        for (int i = 0; i < MESSAGES; i++) {
+            assertEquals("Message added.", target("events/push/msg" + i).request().get(String.class));
+        }
+
+        for (final EventInput input : inputs) {
+            for (int i = 0; i < MESSAGES; i++) {
+                assertEquals("{\"text\":\"msg" + i + "\"}", input.read().readData());
+            }
+            input.close();
+        }
+
+        assertEquals(MESSAGES, SERIALIZED_MESSAGES.get());
+    }
+}
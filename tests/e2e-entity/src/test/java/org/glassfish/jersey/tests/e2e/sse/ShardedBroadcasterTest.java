@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.e2e.sse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.media.sse.EventInput;
+import org.glassfish.jersey.media.sse.EventOutput;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.glassfish.jersey.media.sse.SseBroadcaster;
+import org.glassfish.jersey.media.sse.SseFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of the sharded {@link SseBroadcaster} broadcasting events to the event outputs in parallel.
+ */
+public class ShardedBroadcasterTest extends JerseyTest {
+
+    private static final int SHARDS = 4;
+    private static final int CLIENTS = 8;
+    private static final int MESSAGES = 3;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(SHARDS);
+    private static final AtomicInteger SERIALIZED_MESSAGES = new AtomicInteger();
+
+    public static class Message {
+
+        private final String text;
+
+        public Message(final String text) {
+            this.text = text;
+        }
+    }
+
+    @Produces(MediaType.TEXT_PLAIN)
+    public static class MessageWriter implements MessageBodyWriter<Message> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == Message.class;
+        }
+
+        @Override
+        public void writeTo(final Message message, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
+            SERIALIZED_MESSAGES.incrementAndGet();
+            entityStream.write(message.text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Path("events")
+    @Singleton
+    public static class SseResource {
+
+        private final SseBroadcaster broadcaster = new SseBroadcaster(EXECUTOR, SHARDS);
+
+        @GET
+        @Produces(SseFeature.SERVER_SENT_EVENTS)
+        public EventOutput getServerSentEvents() throws IOException {
+            final EventOutput output = new EventOutput();
+            output.write(new OutboundEvent.Builder().data("welcome").build());
+            broadcaster.add(output);
+            return output;
+        }
+
+        @GET
+        @Path("push/{msg}")
+        public String push(@PathParam("msg") final String message) {
+            broadcaster.broadcast(new OutboundEvent.Builder()
+                    .mediaType(MediaType.TEXT_PLAIN_TYPE)
+                    .data(Message.class, new Message(message))
+                    .build());
+            return "Message added.";
+        }
+
+        @GET
+        @Path("statistics")
+        public String statistics() {
+            return Long.toString(broadcaster.getFanOutStatistics().getBroadcastCount());
+        }
+
+        @GET
+        @Path("close")
+        public String close() {
+            broadcaster.closeAll();
+            return "Closed.";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(SseResource.class, MessageWriter.class, SseFeature.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(SseFeature.class);
+    }
+
+    @AfterAll
+    public static void shutdownExecutor() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void testShardedBroadcast() throws InterruptedException {
+        final List<EventInput> inputs = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            final EventInput input = target("events").request().get(EventInput.class);
+            assertEquals("welcome", input.read().readData());
+            inputs.add(input);
+        }
+
+        for (int i = 0; i < MESSAGES; i++) {
+            assertEquals("Message added.", target("events/push/msg" + i).request().get(String.class));
+        }
+
+        for (final EventInput input : inputs) {
+            for (int i = 0; i < MESSAGES; i++) {
+                assertEquals("msg" + i, input.read().readData());
+            }
+        }
+
+        // each event has been serialized once for all the event outputs
+        assertEquals(MESSAGES, SERIALIZED_MESSAGES.get());
+
+        String broadcasts = null;
+        for (int i = 0; i < 50 && !Integer.toString(MESSAGES).equals(broadcasts); i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+            broadcasts = target("events/statistics").request().get(String.class);
+        }
+        assertEquals(Integer.toString(MESSAGES), broadcasts);
+
+        target("events/close").request().get(String.class);
+        for (final EventInput input : inputs) {
+            assertTrue(input.read() == null || input.isClosed());
+            input.close();
+        }
+    }
+}
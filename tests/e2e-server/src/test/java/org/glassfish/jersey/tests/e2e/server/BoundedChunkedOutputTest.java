@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.glassfish.jersey.client.ChunkedInput;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link ChunkedOutput} with a bounded chunk queue and of its asynchronous writes.
+ */
+public class BoundedChunkedOutputTest extends JerseyTest {
+
+    private static final Logger LOGGER = Logger.getLogger(BoundedChunkedOutputTest.class.getName());
+
+    private static volatile ChunkedOutput<?> lastOutput;
+    private static volatile List<CompletableFuture<Void>> lastStages;
+
+    private static final CountDownLatch WRITING = new CountDownLatch(1);
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    /**
+     * Chunk whose serialization blocks until released.
+     */
+    public static class SlowChunk {
+
+        private final String value;
+
+        public SlowChunk(final String value) {
+            this.value = value;
+        }
+    }
+
+    @Produces(MediaType.TEXT_PLAIN)
+    public static class SlowChunkWriter implements MessageBodyWriter<SlowChunk> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == SlowChunk.class;
+        }
+
+        @Override
+        public void writeTo(final SlowChunk chunk, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
+            if ("chunk0".equals(chunk.value)) {
+                WRITING.countDown();
+                try {
+                    RELEASE.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            entityStream.write(chunk.value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Path("/test")
+    public static class TestResource {
+
+        @GET
+        @Path("close")
+        @Produces(MediaType.TEXT_PLAIN)
+        public ChunkedOutput<SlowChunk> close() {
+            final ChunkedOutput<SlowChunk> output =
+                    new ChunkedOutput<>(SlowChunk.class, "\r\n".getBytes(), 1, ChunkedOutput.OverflowPolicy.BLOCK);
+            new Thread(() -> {
+                final List<CompletableFuture<Void>> stages = new ArrayList<>();
+                try {
+                    // the first chunk is being written, the second one fills the queue, the third one blocks
+                    stages.add(output.writeAsync(new SlowChunk("chunk0")).toCompletableFuture());
+                    WRITING.await(10, TimeUnit.SECONDS);
+                    stages.add(output.writeAsync(new SlowChunk("chunk1")).toCompletableFuture());
+                    final CompletableFuture<Void> blocked = new CompletableFuture<>();
+                    stages.add(blocked);
+                    final Thread writer = new Thread(() -> output.writeAsync(new SlowChunk("chunk2"))
+                            .whenComplete((result, exception) -> {
+                                if (exception == null) {
+                                    blocked.complete(null);
+                                } else {
+                                    blocked.completeExceptionally(exception);
+                                }
+                            }));
+                    writer.start();
+                    while (writer.getState() != Thread.State.WAITING && writer.isAlive()) {
+                        Thread.sleep(10);
+                    }
+
+                    // the response ends once the output is closed
+                    lastOutput = output;
+                    lastStages = stages;
+                    output.close();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.SEVERE, "Chunks have not been written.", e);
+                } finally {
+                    RELEASE.countDown();
+                    closeWhenWritten(output, stages);
+                }
+            }).start();
+            return output;
+        }
+
+        @GET
+        @Path("async")
+        public ChunkedOutput<String> async() {
+            final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+            new Thread(() -> {
+                final List<CompletableFuture<Void>> stages = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    stages.add(output.writeAsync("chunk" + i).toCompletableFuture());
+                }
+                closeWhenWritten(output, stages);
+            }).start();
+            return output;
+        }
+
+        @GET
+        @Path("drop")
+        public ChunkedOutput<String> drop() {
+            final ChunkedOutput<String> output =
+                    new ChunkedOutput<>(String.class, "\r\n".getBytes(), 2, ChunkedOutput.OverflowPolicy.DROP_OLDEST);
+            // nothing is written to the response until the resource method returns
+            final List<CompletableFuture<Void>> stages = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                stages.add(output.writeAsync("chunk" + i).toCompletableFuture());
+            }
+            new Thread(() -> closeWhenWritten(output, stages)).start();
+            return output;
+        }
+
+        @GET
+        @Path("block")
+        public ChunkedOutput<String> block() throws IOException {
+            final ChunkedOutput<String> output =
+                    new ChunkedOutput<>(String.class, "\r\n".getBytes(), 2, ChunkedOutput.OverflowPolicy.BLOCK);
+            // the queue cannot be freed until the resource method returns, the writes must not block
+            final List<CompletableFuture<Void>> stages = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                stages.add(output.writeAsync("chunk" + i).toCompletableFuture());
+            }
+            output.write("chunk4");
+            new Thread(() -> closeWhenWritten(output, stages)).start();
+            return output;
+        }
+
+        @GET
+        @Path("fail")
+        public ChunkedOutput<String> fail() throws IOException {
+            final ChunkedOutput<String> output =
+                    new ChunkedOutput<>(String.class, "\r\n".getBytes(), 1, ChunkedOutput.OverflowPolicy.FAIL);
+            final List<CompletableFuture<Void>> stages = new ArrayList<>();
+            stages.add(output.writeAsync("chunk0").toCompletableFuture());
+            stages.add(output.writeAsync("chunk1").toCompletableFuture());
+            try {
+                output.write("chunk2");
+            } catch (final IOException e) {
+                stages.add(CompletableFuture.completedFuture(null));
+            }
+            new Thread(() -> closeWhenWritten(output, stages)).start();
+            return output;
+        }
+
+        private static void closeWhenWritten(final ChunkedOutput<?> output,
+                                             final List<CompletableFuture<Void>> stages) {
+            try {
+                CompletableFuture.allOf(stages.stream()
+                        .map(stage -> stage.handle((result, exception) -> null))
+                        .toArray(CompletableFuture[]::new))
+                        .get(10, TimeUnit.SECONDS);
+            } catch (final Exception e) {
+                LOGGER.log(Level.SEVERE, "Chunks have not been written.", e);
+            } finally {
+                lastOutput = output;
+                lastStages = stages;
+                try {
+                    output.close();
+                } catch (final IOException e) {
+                    LOGGER.log(Level.INFO, "Error closing chunked output.", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(TestResource.class, SlowChunkWriter.class);
+    }
+
+    private List<String> readChunks(final String path) {
+        final ChunkedInput<String> input = target().path("test").path(path).request()
+                .get(new GenericType<ChunkedInput<String>>() {
+                });
+        final List<String> chunks = new ArrayList<>();
+        String chunk;
+        while ((chunk = input.read()) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    @Test
+    public void testWriteAsync() {
+        assertEquals(5, readChunks("async").size());
+
+        for (final CompletionStage<Void> stage : lastStages) {
+            assertTrue(stage.toCompletableFuture().isDone() && !stage.toCompletableFuture().isCompletedExceptionally());
+        }
+        assertEquals(-1, lastOutput.getQueueCapacity());
+        assertEquals(0, lastOutput.getQueueDepth());
+        assertTrue(lastOutput.isClosed());
+    }
+
+    @Test
+    public void testDropOldest() {
+        assertArrayEquals(new String[]{"chunk3", "chunk4"}, readChunks("drop").toArray());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(lastStages.get(i).isCancelled(), "Chunk " + i + " has not been dropped.");
+        }
+        assertTrue(lastStages.get(3).isDone() && !lastStages.get(3).isCompletedExceptionally());
+        assertEquals(2, lastOutput.getQueueCapacity());
+        assertEquals(2, lastOutput.getPeakQueueDepth());
+        assertEquals(0, lastOutput.getQueueDepth());
+        assertEquals(3, lastOutput.getDroppedChunkCount());
+        assertEquals(0, lastOutput.getRejectedChunkCount());
+    }
+
+    @Test
+    public void testBlockBeforeResponse() {
+        assertEquals(5, readChunks("block").size());
+
+        for (final CompletionStage<Void> stage : lastStages) {
+            assertTrue(stage.toCompletableFuture().isDone() && !stage.toCompletableFuture().isCompletedExceptionally());
+        }
+        assertEquals(5, lastOutput.getPeakQueueDepth());
+        assertEquals(0, lastOutput.getQueueDepth());
+        assertEquals(0, lastOutput.getDroppedChunkCount());
+        assertEquals(0, lastOutput.getRejectedChunkCount());
+    }
+
+    @Test
+    public void testCloseWithBlockedWrite() throws Exception {
+        final List<String> chunks = readChunks("close");
+        assertTrue(chunks.size() >= 2, "Chunks have not been written: " + chunks);
+
+        // the blocked chunk is either written or failed, but never left behind
+        for (final CompletableFuture<Void> stage : lastStages) {
+            stage.handle((result, exception) -> null).get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(chunks.size() == 3, !lastStages.get(2).isCompletedExceptionally());
+        assertEquals(0, lastOutput.getQueueDepth());
+    }
+
+    @Test
+    public void testFail() {
+        assertArrayEquals(new String[]{"chunk0"}, readChunks("fail").toArray());
+
+        assertEquals(3, lastStages.size(), "Synchronous write has not been rejected.");
+        assertTrue(lastStages.get(0).isDone() && !lastStages.get(0).isCompletedExceptionally());
+        assertThrows(Exception.class, () -> lastStages.get(1).getNow(null));
+        assertEquals(2, lastOutput.getRejectedChunkCount());
+        assertEquals(0, lastOutput.getDroppedChunkCount());
+    }
+
+    @Test
+    public void testWriteAsyncToClosedOutput() throws IOException {
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
+        output.close();
+        assertTrue(output.writeAsync("chunk").toCompletableFuture().isCompletedExceptionally());
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
@@ -47,7 +48,16 @@ public class BroadcasterTest extends JerseyTest {
         }
     };
 
+    static Broadcaster<String> asyncBroadcaster = new Broadcaster<String>(null, 1, true) {
+        @Override
+        public void onClose(ChunkedOutput<String> stringChunkedOutput) {
+            asyncClosedOutputs.add(stringChunkedOutput);
+        }
+    };
+
     static List<ChunkedOutput<String>> outputs = new ArrayList<>();
+    static List<ChunkedOutput<String>> asyncOutputs = new ArrayList<>();
+    static List<ChunkedOutput<String>> asyncClosedOutputs = new CopyOnWriteArrayList<>();
     static List<ChunkedOutput<String>> closedOutputs = new ArrayList<>();
     static int listenerClosed = 0;
 
@@ -74,6 +84,23 @@ public class BroadcasterTest extends JerseyTest {
             broadcaster.broadcast(text);
             return text;
         }
+
+        @GET
+        @Path("async")
+        public ChunkedOutput<String> getAsync() throws IOException {
+            ChunkedOutput<String> result = new ChunkedOutput<String>() {};
+            result.write("firstChunk");
+            asyncOutputs.add(result);
+            asyncBroadcaster.add(result);
+            return result;
+        }
+
+        @POST
+        @Path("async")
+        public String postAsync(String text) {
+            asyncBroadcaster.broadcast(text);
+            return text;
+        }
     }
 
     @Override
@@ -126,6 +153,26 @@ public class BroadcasterTest extends JerseyTest {
         checkStream("text3", is3, is4);
     }
 
+    @Test
+    public void testAsyncBroadcaster() throws Exception {
+        InputStream is1 = target("test/async").request().get(InputStream.class);
+        InputStream is2 = target("test/async").request().get(InputStream.class);
+
+        target("test/async").request().post(Entity.text("text1"));
+        checkStream("firstChunktext1", is1, is2);
+
+        asyncOutputs.remove(0).close();
+        target("test/async").request().post(Entity.text("text2"));
+        checkStream("text2", is2);
+        // the closed output is removed once the asynchronous write completes
+        for (int i = 0; i < 100 && asyncClosedOutputs.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, asyncClosedOutputs.size());
+
+        asyncBroadcaster.closeAll();
+    }
+
     private InputStream getChunkStream() {
         return target("test").request().get(InputStream.class);
     }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.server.monitoring;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+
+import javax.inject.Provider;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.monitoring.ContentNegotiationStatistics;
+import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test that the content negotiation cache hits and misses are available in {@link MonitoringStatistics}.
+ */
+public class ContentNegotiationStatisticsTest extends JerseyTest {
+
+    @Override
+    protected Application configure() {
+        final ResourceConfig resourceConfig = new ResourceConfig(StatisticsResource.class);
+        resourceConfig.property(ServerProperties.MONITORING_STATISTICS_ENABLED, true);
+        resourceConfig.property(ServerProperties.MONITORING_STATISTICS_REFRESH_INTERVAL, 100);
+        return resourceConfig;
+    }
+
+    @Path("resource")
+    public static class StatisticsResource {
+
+        @Context
+        Provider<MonitoringStatistics> statistics;
+
+        @GET
+        @Produces("text/plain")
+        public String plain() {
+            return "plain";
+        }
+
+        @GET
+        @Produces("text/html")
+        public String html() {
+            return "html";
+        }
+
+        @GET
+        @Path("statistics")
+        @Produces("text/plain")
+        public String getStatistics() {
+            final ContentNegotiationStatistics negotiationStatistics = statistics.get().getContentNegotiationStatistics();
+            return negotiationStatistics.getCacheHitCount() + ":" + negotiationStatistics.getCacheMissCount();
+        }
+    }
+
+    @Test
+    public void testContentNegotiationStatistics() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("plain", target("resource").request(MediaType.TEXT_PLAIN_TYPE).get(String.class));
+            assertEquals("html", target("resource").request(MediaType.TEXT_HTML_TYPE).get(String.class));
+        }
+
+        String hitsAndMisses = null;
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(200);
+            hitsAndMisses = target("resource/statistics").request().get(String.class);
+            if (!hitsAndMisses.startsWith("0:")) {
+                break;
+            }
+        }
+
+        final String[] counts = hitsAndMisses.split(":");
+        assertTrue(Long.parseLong(counts[0]) >= 8, "Cache hits: " + counts[0]);
+        assertTrue(Long.parseLong(counts[1]) >= 2, "Cache misses: " + counts[1]);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.e2e.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.FileRange;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.grizzly.GrizzlyTestContainerFactory;
+import org.glassfish.jersey.test.jdkhttp.JdkHttpServerTestContainerFactory;
+import org.glassfish.jersey.test.jetty.JettyTestContainerFactory;
+import org.glassfish.jersey.test.netty.NettyTestContainerFactory;
+import org.glassfish.jersey.test.simple.SimpleTestContainerFactory;
+import org.glassfish.jersey.test.spi.TestContainerFactory;
+import org.glassfish.jersey.test.spi.TestHelper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test of the file, file range and {@link ByteBuffer} entities, written without copying by the containers supporting it
+ * (Grizzly, Jetty and Netty) and streamed by the others.
+ */
+public class ZeroCopyEntityTest {
+
+    // larger than the region mapped at once by the Grizzly and Jetty containers
+    private static final int SIZE = 9 * 1024 * 1024 + 17;
+    private static final int RANGE_OFFSET = 4 * 1024 * 1024 - 5;
+    private static final int RANGE_LENGTH = 4 * 1024 * 1024 + 11;
+
+    // the in-memory container does not write the entity to an HTTP connection
+    private static final List<TestContainerFactory> FACTORIES = Arrays.asList(
+            new GrizzlyTestContainerFactory(),
+            new JettyTestContainerFactory(),
+            new NettyTestContainerFactory(),
+            new JdkHttpServerTestContainerFactory(),
+            new SimpleTestContainerFactory());
+
+    private static byte[] content;
+    private static Path file;
+
+    @BeforeAll
+    public static void createFile() throws IOException {
+        content = new byte[SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        file = Files.createTempFile("zero-copy", ".bin");
+        Files.write(file, content);
+    }
+
+    @AfterAll
+    public static void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * The entity length is declared by the resources, as the entity writers do not determine the {@code Content-Length}
+     * of the entities larger than the outbound content length buffer.
+     */
+    @javax.ws.rs.Path("/")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public static class Resource {
+
+        @GET
+        @javax.ws.rs.Path("file")
+        public Response getFile() {
+            return Response.ok(file.toFile()).header(HttpHeaders.CONTENT_LENGTH, SIZE).build();
+        }
+
+        @GET
+        @javax.ws.rs.Path("file/chunked")
+        public File getChunkedFile() {
+            return file.toFile();
+        }
+
+        @GET
+        @javax.ws.rs.Path("range")
+        public Response getRange() {
+            return Response.ok(FileRange.of(file, RANGE_OFFSET, RANGE_LENGTH))
+                    .header(HttpHeaders.CONTENT_LENGTH, RANGE_LENGTH)
+                    .build();
+        }
+
+        @GET
+        @javax.ws.rs.Path("buffer")
+        public Response getBuffer() {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+            buffer.put(content).flip();
+            return Response.ok(buffer).header(HttpHeaders.CONTENT_LENGTH, SIZE).build();
+        }
+    }
+
+    @TestFactory
+    public Collection<DynamicContainer> generateTests() {
+        Collection<DynamicContainer> tests = new ArrayList<>();
+        FACTORIES.forEach(testContainerFactory -> {
+            ZeroCopyEntityTemplateTest test = new ZeroCopyEntityTemplateTest(testContainerFactory) {};
+            tests.add(TestHelper.toTestContainer(test, testContainerFactory.getClass().getSimpleName()));
+        });
+        return tests;
+    }
+
+    public abstract static class ZeroCopyEntityTemplateTest extends JerseyContainerTest {
+
+        public ZeroCopyEntityTemplateTest(TestContainerFactory testContainerFactory) {
+            super(testContainerFactory);
+        }
+
+        @Override
+        protected Application configure() {
+            return new ResourceConfig(Resource.class);
+        }
+
+        @Test
+        public void testFile() {
+            assertEntity("file", content, true);
+        }
+
+        @Test
+        public void testChunkedFile() {
+            assertEntity("file/chunked", content, false);
+        }
+
+        @Test
+        public void testFileRange() {
+            assertEntity("range", Arrays.copyOfRange(content, RANGE_OFFSET, RANGE_OFFSET + RANGE_LENGTH), true);
+        }
+
+        @Test
+        public void testByteBuffer() {
+            assertEntity("buffer", content, true);
+        }
+
+        private void assertEntity(final String path, final byte[] expected, final boolean declaredLength) {
+            final Response response = target(path).request().get();
+
+            assertEquals(200, response.getStatus());
+            if (declaredLength) {
+                assertEquals(String.valueOf(expected.length), response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+            }
+            assertArrayEquals(expected, response.readEntity(byte[].class));
+        }
+    }
+}
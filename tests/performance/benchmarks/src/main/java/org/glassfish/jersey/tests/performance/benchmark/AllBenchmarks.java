@@ -34,7 +34,9 @@ public class AllBenchmarks {
                 // Register our benchmarks.
                 .include(ClientBenchmark.class.getSimpleName())
                 .include(JacksonBenchmark.class.getSimpleName())
+                .include(JsonBindingBenchmark.class.getSimpleName())
                 .include(LocatorBenchmark.class.getSimpleName())
+                .include(ResourceMethodInvocationBenchmark.class.getSimpleName())
                 .include(JerseyUriBuilderBenchmark.class.getSimpleName())
                 .include(HeadersServerBenchmark.class.getName())
                 // Measure throughput in seconds (ops/s).
@@ -35,6 +35,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -194,6 +195,8 @@ public class HeadersClientBenchmark {
         final Options opt = new OptionsBuilder()
                 // Register our benchmarks.
                 .include(HeadersClientBenchmark.class.getSimpleName())
+                // Allocation rate of the per-request header storage (same as -prof gc)
+                .addProfiler(GCProfiler.class)
 //               .addProfiler(org.openjdk.jmh.profile.JavaFlightRecorderProfiler.class)
                 .build();
 
@@ -34,6 +34,7 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -153,6 +154,8 @@ public class HeadersServerBenchmark {
         final Options opt = new OptionsBuilder()
                 // Register our benchmarks.
                 .include(HeadersServerBenchmark.class.getSimpleName())
+                // Allocation rate of the per-request header storage (same as -prof gc)
+                .addProfiler(GCProfiler.class)
 //                .addProfiler(org.openjdk.jmh.profile.JavaFlightRecorderProfiler.class)
                 .build();
 
@@ -84,6 +84,20 @@ public class JacksonBenchmark {
         return handler.apply(request).get();
     }
 
+    /**
+     * Measure the application initialization together with the first request, i.e. including the resolution of the
+     * Jackson provider's read and write plans which are prepared from the resource model during the initialization.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 16, batchSize = 1)
+    @Measurement(iterations = 32, batchSize = 1)
+    public ContainerResponse measureFirstRequest() throws Exception {
+        final ApplicationHandler application = new ApplicationHandler(new JacksonApplication(Boolean.valueOf(filtering)));
+        return application.apply(ContainerRequestBuilder.from(path, "GET", application.getConfiguration()).build()).get();
+    }
+
     public static void main(final String[] args) throws Exception {
         final Options opt = new OptionsBuilder()
                 // Register our benchmarks.
@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.tests.performance.benchmark.entity.json;
 
+import org.glassfish.jersey.internal.InternalProperties;
 import org.glassfish.jersey.jackson.JacksonFeature;
 import org.glassfish.jersey.message.filtering.EntityFilteringFeature;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -33,6 +34,8 @@ public class JacksonApplication extends ResourceConfig {
             register(EntityFilteringFeature.class);
         }
         register(JacksonFeature.class);
+        // JSON-B provider is on the classpath too.
+        property(InternalProperties.JSON_FEATURE_SERVER, JacksonFeature.class.getSimpleName());
 
         // Turn off Monitoring to not affect benchmarks.
         property(ServerProperties.MONITORING_ENABLED, false);
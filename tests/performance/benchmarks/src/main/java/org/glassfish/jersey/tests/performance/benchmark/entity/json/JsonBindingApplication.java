@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.performance.benchmark.entity.json;
+
+import javax.ws.rs.ext.ContextResolver;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.internal.InternalProperties;
+import org.glassfish.jersey.jsonb.JsonBindingFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+/**
+ * Application serving {@link Project projects} using the JSON-B provider.
+ */
+public class JsonBindingApplication extends ResourceConfig {
+
+    /**
+     * {@code ContextResolver<Jsonb>} creating a custom configured {@code Jsonb} whenever asked for one.
+     */
+    public static class JsonbContextResolver implements ContextResolver<Jsonb> {
+
+        @Override
+        public Jsonb getContext(final Class<?> type) {
+            return JsonbBuilder.create(new JsonbConfig().withNullValues(false));
+        }
+    }
+
+    public JsonBindingApplication(final boolean contextResolver, final boolean warmUp) {
+        register(ProjectsResource.class);
+
+        register(JsonBindingFeature.class);
+        // Jackson provider is on the classpath too.
+        property(InternalProperties.JSON_FEATURE_SERVER, JsonBindingFeature.class.getSimpleName());
+        if (contextResolver) {
+            register(JsonbContextResolver.class);
+        }
+        property(CommonProperties.JSON_BINDING_WARM_UP, warmUp);
+
+        // Turn off Monitoring to not affect benchmarks.
+        property(ServerProperties.MONITORING_ENABLED, false);
+        property(ServerProperties.MONITORING_STATISTICS_ENABLED, false);
+        property(ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, false);
+    }
+}
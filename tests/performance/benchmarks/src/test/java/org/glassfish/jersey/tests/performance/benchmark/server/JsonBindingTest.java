@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.performance.benchmark.server;
+
+import java.util.List;
+
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.tests.performance.benchmark.entity.json.JsonBindingApplication;
+import org.glassfish.jersey.tests.performance.benchmark.entity.json.Project;
+
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test of the application used by {@link org.glassfish.jersey.tests.performance.benchmark.JsonBindingBenchmark}.
+ */
+public class JsonBindingTest extends JerseyTest {
+
+    @Override
+    protected ResourceConfig configure() {
+        return new JsonBindingApplication(true, true);
+    }
+
+    @Test
+    public void testResourceMethod() {
+        final Response response = target().path("projects/basic").request().get();
+
+        assertThat("Wrong HTTP response code returned.", response.getStatus(), is(200));
+        final List<Project> projects = response.readEntity(new GenericType<List<Project>>() { });
+        assertThat(projects.size(), is(2));
+        assertThat(projects.get(0).getName(), is("foo"));
+    }
+}
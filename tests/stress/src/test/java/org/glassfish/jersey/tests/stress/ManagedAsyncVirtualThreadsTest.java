@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.stress;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.spi.VirtualThreadExecutorProvider;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs thousands of concurrent {@link ManagedAsync managed asynchronous} requests with the virtual thread executors
+ * enabled on both the server and the client side.
+ */
+public class ManagedAsyncVirtualThreadsTest extends JerseyTest {
+
+    private static final Logger LOGGER = Logger.getLogger(ManagedAsyncVirtualThreadsTest.class.getName());
+
+    private static final int REQUEST_COUNT = 2_000;
+    private static final int BLOCKING_MILLIS = 500;
+    private static final int TIMEOUT_SECONDS = 120;
+
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+    private static final AtomicInteger PEAK = new AtomicInteger();
+    private static final AtomicInteger PLATFORM_THREADS = new AtomicInteger();
+
+    @Path("blocking")
+    public static class BlockingResource {
+
+        @Context
+        private UriInfo uriInfo;
+
+        @GET
+        @ManagedAsync
+        @Path("{id}")
+        public String get(@PathParam("id") final String id) throws InterruptedException {
+            final int running = RUNNING.incrementAndGet();
+            PEAK.accumulateAndGet(running, Math::max);
+            if (!isVirtual(Thread.currentThread())) {
+                PLATFORM_THREADS.incrementAndGet();
+            }
+            try {
+                // simulates a blocking downstream call
+                Thread.sleep(BLOCKING_MILLIS);
+                // request scoped proxy must still resolve to this request
+                return uriInfo.getPathParameters().getFirst("id");
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(BlockingResource.class)
+                .property(ServerProperties.MANAGED_ASYNC_VIRTUAL_THREADS_ENABLED, true);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.property(ClientProperties.ASYNC_VIRTUAL_THREADS_ENABLED, true);
+    }
+
+    @Test
+    public void testConcurrentManagedAsyncRequests() throws Exception {
+        final long start = System.nanoTime();
+
+        final List<CompletableFuture<Response>> responses = new ArrayList<>(REQUEST_COUNT);
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            final CompletionStage<Response> response = target("blocking").path(String.valueOf(i)).request().rx().get();
+            responses.add(response.toCompletableFuture());
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            final Response response = responses.get(i).get();
+            assertEquals(200, response.getStatus());
+            assertEquals(String.valueOf(i), response.readEntity(String.class));
+        }
+
+        LOGGER.info(String.format("%d requests processed in %d ms, peak concurrency %d, virtual threads supported: %b",
+                REQUEST_COUNT, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), PEAK.get(),
+                VirtualThreadExecutorProvider.isVirtualThreadSupported()));
+
+        // the blocking resource methods are not bound by the size of a thread pool
+        assertTrue(PEAK.get() > 100, "Peak concurrency: " + PEAK.get());
+        if (VirtualThreadExecutorProvider.isVirtualThreadSupported()) {
+            assertEquals(0, PLATFORM_THREADS.get());
+        }
+    }
+
+    private static boolean isVirtual(final Thread thread) {
+        try {
+            final Method isVirtual = Thread.class.getMethod("isVirtual");
+            return (Boolean) isVirtual.invoke(thread);
+        } catch (final ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}